@@ -1,14 +1,20 @@
 package co.com;
 
 import co.com.config.ConfiguracionTemporada;
+import co.com.dto.CarreraCalendario;
 import co.com.model.Carrera;
 import co.com.model.Circuito;
 import co.com.model.Piloto;
 import co.com.model.Resultado;
+import co.com.service.BusquedaService;
 import co.com.service.F1Servicio;
+import co.com.service.FantasyService;
+import co.com.service.PrediccionService;
 import co.com.service.ResultadoService;
 import co.com.service.ResultadoService.ResultadoDTO;
+import co.com.service.SesionService;
 import co.com.service.TemporadaService;
+import co.com.service.TrayectoriaService;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +29,8 @@ public class Main {
     private static final F1Servicio servicio = new F1Servicio();
     private static final ResultadoService resultadoService = new ResultadoService();
     private static final TemporadaService temporadaService = new TemporadaService();
+    private static final TrayectoriaService trayectoriaService = new TrayectoriaService();
+    private static final SesionService sesionService = new SesionService();
     private static final Scanner scanner = new Scanner(System.in);
     private static final String SEPARADOR_GRUESO = "=".repeat(100);
     private static final String SEPARADOR_FINO = "-".repeat(100);
@@ -30,6 +38,14 @@ public class Main {
     private static int temporadaActual = 2024;
 
     public static void main(String[] args) {
+        resultadoService.completarConstructoresPendientes();
+        resultadoService.completarTiemposPendientes();
+        resultadoService.reconstruirResumenesSiDesincronizados();
+        trayectoriaService.reconstruirSiDesincronizada();
+        sesionService.reconstruirCifrasParrillaSiDesincronizadas();
+        FantasyService.activar();
+        PrediccionService.activar();
+        BusquedaService.precargar();
         seleccionarTemporada();
 
         boolean salir = false;
@@ -117,7 +133,7 @@ public class Main {
     // ============================================================================
 
     private static void mostrarCalendario(int anio) {
-        List<Carrera> carreras = servicio.getCarreras(anio);
+        List<CarreraCalendario> carreras = servicio.getCalendario(anio);
 
         if (carreras.isEmpty()) {
             imprimirMensaje("No hay carreras registradas para " + anio + ".", "ADVERTENCIA");
@@ -125,18 +141,20 @@ public class Main {
         }
 
         imprimirEncabezado("CALENDARIO DE CARRERAS " + anio);
-        System.out.printf("%-5s %-35s %-15s %-8s %-30s%n",
-                "GP#", "Nombre del Gran Premio", "Fecha", "ID", "Circuito");
+        System.out.printf("%-5s %-30s %-12s %-6s %-25s %-20s%n",
+                "GP#", "Nombre del Gran Premio", "Fecha", "ID", "Circuito", "Ganador");
         System.out.println(SEPARADOR_FINO);
 
-        for (Carrera c : carreras) {
-            String circuito = c.getCircuito() != null ? c.getCircuito().getNombre() : "N/A";
-            System.out.printf("%-5d %-35s %-15s %-8d %-30s%n",
+        for (CarreraCalendario c : carreras) {
+            String circuito = c.getCircuito() != null ? c.getCircuito() : "N/A";
+            String ganador = c.tieneResultados() ? c.getGanador() : "-";
+            System.out.printf("%-5d %-30s %-12s %-6d %-25s %-20s%n",
                     c.getGpNumero(),
-                    truncar(c.getNombreGp(), 35),
+                    truncar(c.getNombreGp(), 30),
                     c.getFecha(),
-                    c.getId(),
-                    truncar(circuito, 30));
+                    c.getCarreraId(),
+                    truncar(circuito, 25),
+                    truncar(ganador, 20));
         }
 
         System.out.println(SEPARADOR_GRUESO);
@@ -231,8 +249,8 @@ public class Main {
         System.out.println(SEPARADOR_FINO);
 
         for (Resultado r : resultados) {
-            String constructor = r.getPiloto().getConstructor() != null ?
-                    r.getPiloto().getConstructor().getNombre() : "N/A";
+            String constructor = r.getConstructor() != null ?
+                    r.getConstructor().getNombre() : "N/A";
             String estado = r.getRetirado() ? "RETIRADO" : "Finalizado";
 
             System.out.printf("%-5d %-30s %-25s %-10s %-10s %-15s %-20s%n",
@@ -0,0 +1,162 @@
+package co.com.cache;
+
+import co.com.config.ConfiguracionTemporada;
+import co.com.dao.CarreraDAO;
+import co.com.dao.ResultadoDAO;
+import co.com.dao.SelloTemporadaDAO;
+import co.com.model.Carrera;
+import co.com.model.Resultado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archivo en memoria de temporadas congeladas.
+ * Las temporadas anteriores a {@link ConfiguracionTemporada#FECHA_CONGELACION} no admiten cambios,
+ * así que se construyen una sola vez desde la base de datos y después se sirven sin consultarla.
+ * Las temporadas posteriores a la congelación siguen el camino en vivo de los DAOs.
+ *
+ * <p>La primera construcción de cada temporada guarda su checksum como sello en la base de datos.
+ * En los arranques siguientes el archivo reconstruido solo se sirve si coincide con el sello;
+ * si no, los datos congelados cambiaron y se sigue por el camino en vivo. Los cambios legítimos,
+ * como los rellenos de constructores y tiempos, deben llamar a {@link #invalidarTodo()}.
+ */
+public final class ArchivoTemporadas {
+    private static final Logger logger = LoggerFactory.getLogger(ArchivoTemporadas.class);
+
+    private static final Map<Integer, TemporadaArchivada> archivo = new ConcurrentHashMap<>();
+    private static final CarreraDAO carreraDAO = new CarreraDAO();
+    private static final ResultadoDAO resultadoDAO = new ResultadoDAO();
+    private static final SelloTemporadaDAO selloDAO = new SelloTemporadaDAO();
+
+    // Se incrementa en cada invalidación; un archivo construido antes no se sella ni se guarda
+    private static final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private ArchivoTemporadas() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene el archivo de una temporada congelada, construyéndolo en el primer acceso.
+     * La construcción consulta la base de datos fuera del mapa; si dos hilos la lanzan a la vez
+     * se queda el primer archivo guardado. El archivo se compara con el sello de la temporada,
+     * que se crea con su checksum si la temporada aún no estaba sellada.
+     *
+     * @param anio Año de la temporada
+     * @return Optional con el archivo, vacío si la temporada sigue viva, no tiene carreras
+     * o el archivo no coincide con el sello
+     */
+    public static Optional<TemporadaArchivada> obtener(int anio) {
+        if (!ConfiguracionTemporada.esTemporadaCongelada(anio)) {
+            return Optional.empty();
+        }
+        TemporadaArchivada existente = archivo.get(anio);
+        if (existente != null) {
+            return Optional.of(existente);
+        }
+
+        long generacionInicial = generacion.get();
+        TemporadaArchivada nueva = construir(anio);
+        if (nueva == null || generacion.get() != generacionInicial) {
+            // Sin carreras, o una invalidación cambió los datos durante la construcción
+            return Optional.empty();
+        }
+        String sello = selloDAO.sellar(anio, nueva.getChecksum());
+        if (!nueva.verificarIntegridad(sello)) {
+            // Se sigue por el camino en vivo y se reintenta en el siguiente acceso
+            logger.error("El archivo de la temporada {} no coincide con su sello ({} frente a {}); no se guarda",
+                    anio, nueva.getChecksum(), sello);
+            return Optional.empty();
+        }
+        existente = archivo.putIfAbsent(anio, nueva);
+        if (existente != null) {
+            return Optional.of(existente);
+        }
+        if (generacion.get() != generacionInicial) {
+            archivo.remove(anio, nueva);
+        }
+        return Optional.of(nueva);
+    }
+
+    /**
+     * Descarta todos los archivos y sus sellos tras un cambio legítimo en temporadas congeladas.
+     * Cada temporada se reconstruye y se vuelve a sellar en su próximo acceso.
+     */
+    public static void invalidarTodo() {
+        generacion.incrementAndGet();
+        archivo.clear();
+        int sellos = selloDAO.eliminarTodos();
+        logger.info("Archivo de temporadas invalidado; {} sellos eliminados", sellos);
+    }
+
+    /**
+     * Busca una carrera entre las temporadas ya archivadas.
+     *
+     * @param carreraId ID de la carrera
+     * @return Optional con la carrera si pertenece a una temporada archivada
+     */
+    public static Optional<Carrera> buscarCarrera(Long carreraId) {
+        return buscarTemporada(carreraId).map(t -> t.getCarrera(carreraId));
+    }
+
+    /**
+     * Busca los resultados de una carrera entre las temporadas ya archivadas.
+     *
+     * @param carreraId ID de la carrera
+     * @return Optional con los resultados si la carrera pertenece a una temporada archivada
+     */
+    public static Optional<List<Resultado>> buscarResultados(Long carreraId) {
+        return buscarTemporada(carreraId).map(t -> t.getResultados(carreraId));
+    }
+
+    /**
+     * Indica si una temporada ya está construida en el archivo.
+     *
+     * @param anio Año de la temporada
+     * @return true si está archivada
+     */
+    public static boolean estaArchivada(int anio) {
+        return archivo.containsKey(anio);
+    }
+
+    private static Optional<TemporadaArchivada> buscarTemporada(Long carreraId) {
+        for (TemporadaArchivada temporada : archivo.values()) {
+            if (temporada.contieneCarrera(carreraId)) {
+                return Optional.of(temporada);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static TemporadaArchivada construir(int anio) {
+        logger.info("Construyendo archivo inmutable de la temporada congelada {}", anio);
+        long inicio = System.nanoTime();
+
+        List<Carrera> carreras = carreraDAO.findByTemporadaConDetalle(anio);
+        if (carreras.isEmpty()) {
+            // No se archiva: si luego se cargan datos históricos deben verse
+            logger.debug("La temporada {} no tiene carreras, no se archiva", anio);
+            return null;
+        }
+
+        TemporadaArchivada temporada = new TemporadaArchivada(
+                anio,
+                carreras,
+                resultadoDAO.findByTemporada(anio),
+                resultadoDAO.getClasificacionPilotos(anio),
+                resultadoDAO.getClasificacionConstructores(anio)
+        );
+
+        logger.info("Temporada {} archivada: {} carreras, checksum {} ({} ms)",
+                anio, carreras.size(), temporada.getChecksum(), (System.nanoTime() - inicio) / 1_000_000);
+        return temporada;
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.cache;
+
+import co.com.dao.ResultadoDAO;
+import co.com.dto.MatrizCompaneros;
+import co.com.event.EventosResultados;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de las matrices de compañeros de equipo por temporada.
+ * Cada matriz se construye con una sola lectura de los resultados de la temporada
+ * y se invalida cuando se publica un cambio de resultados de esa temporada.
+ */
+public final class CompanerosCache {
+    private static final Logger logger = LoggerFactory.getLogger(CompanerosCache.class);
+
+    private static final Map<Integer, MatrizCompaneros> matrices = new ConcurrentHashMap<>();
+    private static final ResultadoDAO resultadoDAO = new ResultadoDAO();
+    // Aumenta con cada invalidación; una matriz leída antes de una invalidación no se guarda
+    private static final AtomicLong generacion = new AtomicLong();
+
+    static {
+        EventosResultados.registrar(cambio -> {
+            // La matriz solo usa resultados de carrera
+            if (!cambio.isSprint()) {
+                invalidar(cambio.getAnio());
+            }
+        });
+    }
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private CompanerosCache() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene la matriz de compañeros de una temporada, construyéndola si no está en caché.
+     * Los resultados se leen fuera del mapa; si dos hilos construyen a la vez se guarda la primera.
+     *
+     * @param anio Año de la temporada
+     * @return Matriz de la temporada
+     */
+    public static MatrizCompaneros obtener(int anio) {
+        MatrizCompaneros existente = matrices.get(anio);
+        if (existente != null) {
+            return existente;
+        }
+        long leida = generacion.get();
+        MatrizCompaneros construida = construir(anio);
+        if (generacion.get() != leida) {
+            // Cambiaron resultados durante la lectura: se usa esta vez pero no se cachea
+            return construida;
+        }
+        existente = matrices.putIfAbsent(anio, construida);
+        if (existente != null) {
+            return existente;
+        }
+        if (generacion.get() != leida) {
+            // Invalidación entre la comprobación y el guardado
+            matrices.remove(anio, construida);
+        }
+        return construida;
+    }
+
+    /**
+     * Descarta la matriz de una temporada tras escribir resultados en ella.
+     *
+     * @param anio Año de la temporada
+     */
+    public static void invalidar(int anio) {
+        generacion.incrementAndGet();
+        if (matrices.remove(anio) != null) {
+            logger.debug("Matriz de compañeros de {} invalidada", anio);
+        }
+    }
+
+    private static MatrizCompaneros construir(int anio) {
+        long inicio = System.nanoTime();
+        MatrizCompaneros matriz = new MatrizCompaneros(anio, resultadoDAO.findFilasByTemporada(anio));
+        logger.info("Matriz de compañeros de {} construida: {} pilotos ({} ms)",
+                anio, matriz.getTamano(), (System.nanoTime() - inicio) / 1_000_000);
+        return matriz;
+    }
+}
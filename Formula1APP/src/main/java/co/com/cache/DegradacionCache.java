@@ -0,0 +1,83 @@
+package co.com.cache;
+
+import co.com.dao.NeumaticoDAO;
+import co.com.estrategia.AjusteDegradacion;
+import co.com.estrategia.ModelosCircuito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de los modelos de degradación por circuito.
+ * Cada modelo se ajusta con una sola lectura del histórico del circuito
+ * y se invalida cuando se guardan stints de una carrera en él.
+ */
+public final class DegradacionCache {
+    private static final Logger logger = LoggerFactory.getLogger(DegradacionCache.class);
+
+    private static final Map<Long, ModelosCircuito> modelos = new ConcurrentHashMap<>();
+    private static final NeumaticoDAO neumaticoDAO = new NeumaticoDAO();
+    // Aumenta con cada invalidación; un ajuste leído antes de una invalidación no se guarda
+    private static final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private DegradacionCache() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene los modelos de un circuito, ajustándolos si no están en caché.
+     * El histórico se lee fuera del mapa; si dos hilos ajustan a la vez se guarda el primero.
+     *
+     * @param circuitoId ID del circuito
+     * @return Modelos del circuito
+     */
+    public static ModelosCircuito obtener(long circuitoId) {
+        ModelosCircuito existentes = modelos.get(circuitoId);
+        if (existentes != null) {
+            return existentes;
+        }
+        long leida = generacion.get();
+        ModelosCircuito ajustados = ajustar(circuitoId);
+        if (generacion.get() != leida) {
+            // Se guardaron stints durante el ajuste: se usa esta vez pero no se cachea
+            return ajustados;
+        }
+        existentes = modelos.putIfAbsent(circuitoId, ajustados);
+        if (existentes != null) {
+            return existentes;
+        }
+        if (generacion.get() != leida) {
+            // Invalidación entre la comprobación y el guardado
+            modelos.remove(circuitoId, ajustados);
+        }
+        return ajustados;
+    }
+
+    /**
+     * Descarta los modelos de un circuito tras guardar stints nuevos.
+     *
+     * @param circuitoId ID del circuito
+     */
+    public static void invalidar(long circuitoId) {
+        generacion.incrementAndGet();
+        if (modelos.remove(circuitoId) != null) {
+            logger.debug("Modelos de degradación del circuito {} invalidados", circuitoId);
+        }
+    }
+
+    private static ModelosCircuito ajustar(long circuitoId) {
+        long inicio = System.nanoTime();
+        AjusteDegradacion ajuste = new AjusteDegradacion();
+        neumaticoDAO.leerHistorico(circuitoId, ajuste);
+        ModelosCircuito ajustados = ajuste.construir(circuitoId);
+        logger.info("Modelos de degradación ajustados ({} ms): {}",
+                (System.nanoTime() - inicio) / 1_000_000, ajustados);
+        return ajustados;
+    }
+}
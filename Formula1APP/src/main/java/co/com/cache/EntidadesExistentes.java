@@ -0,0 +1,85 @@
+package co.com.cache;
+
+import co.com.dao.CarreraDAO;
+import co.com.dao.PilotoDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria de los IDs de pilotos y carreras que se sabe que existen.
+ * La usan las ingestas por lotes para validar las claves foráneas al recibir cada fila,
+ * sin consultar la base de datos en cada envío. Solo guarda respuestas positivas,
+ * así que un ID creado después de una consulta fallida se acepta en cuanto existe;
+ * los DAO la avisan al borrar.
+ */
+public final class EntidadesExistentes {
+    private static final Logger logger = LoggerFactory.getLogger(EntidadesExistentes.class);
+
+    private static final Set<Long> pilotos = ConcurrentHashMap.newKeySet();
+    private static final Set<Long> carreras = ConcurrentHashMap.newKeySet();
+    private static final PilotoDAO pilotoDAO = new PilotoDAO();
+    private static final CarreraDAO carreraDAO = new CarreraDAO();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private EntidadesExistentes() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * @param pilotoId ID del piloto
+     * @return true si el piloto existe
+     */
+    public static boolean existePiloto(long pilotoId) {
+        if (pilotos.contains(pilotoId)) {
+            return true;
+        }
+        // Se consulta fuera del conjunto: dos hilos pueden repetir la consulta, pero ninguno bloquea al otro
+        if (pilotoId > 0 && pilotoDAO.existe(pilotoId)) {
+            pilotos.add(pilotoId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @return true si la carrera existe
+     */
+    public static boolean existeCarrera(long carreraId) {
+        if (carreras.contains(carreraId)) {
+            return true;
+        }
+        if (carreraId > 0 && carreraDAO.existe(carreraId)) {
+            carreras.add(carreraId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Olvida un piloto tras eliminarlo.
+     *
+     * @param pilotoId ID del piloto
+     */
+    public static void pilotoEliminado(Long pilotoId) {
+        if (pilotos.remove(pilotoId)) {
+            logger.debug("Piloto {} eliminado de la caché de existentes", pilotoId);
+        }
+    }
+
+    /**
+     * Olvida una carrera tras eliminarla.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public static void carreraEliminada(Long carreraId) {
+        if (carreras.remove(carreraId)) {
+            logger.debug("Carrera {} eliminada de la caché de existentes", carreraId);
+        }
+    }
+}
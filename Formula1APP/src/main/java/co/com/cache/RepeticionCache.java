@@ -0,0 +1,80 @@
+package co.com.cache;
+
+import co.com.dao.TiempoVueltaDAO;
+import co.com.timing.RepeticionCarrera;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de las repeticiones de carrera.
+ * Cada repetición se construye con una sola lectura de los tiempos de vuelta
+ * y se invalida cuando la ingesta escribe vueltas de esa carrera.
+ */
+public final class RepeticionCache {
+    private static final Logger logger = LoggerFactory.getLogger(RepeticionCache.class);
+
+    private static final Map<Long, RepeticionCarrera> repeticiones = new ConcurrentHashMap<>();
+    private static final TiempoVueltaDAO tiempoVueltaDAO = new TiempoVueltaDAO();
+    // Aumenta con cada invalidación; una repetición leída antes de una invalidación no se guarda
+    private static final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private RepeticionCache() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene la repetición de una carrera, construyéndola si no está en caché.
+     * Los tiempos se leen fuera del mapa; si dos hilos construyen a la vez se guarda la primera.
+     *
+     * @param carreraId ID de la carrera
+     * @return Repetición de la carrera
+     */
+    public static RepeticionCarrera obtener(long carreraId) {
+        RepeticionCarrera existente = repeticiones.get(carreraId);
+        if (existente != null) {
+            return existente;
+        }
+        long leida = generacion.get();
+        RepeticionCarrera construida = construir(carreraId);
+        if (generacion.get() != leida) {
+            // Se escribieron vueltas durante la lectura: se usa esta vez pero no se cachea
+            return construida;
+        }
+        existente = repeticiones.putIfAbsent(carreraId, construida);
+        if (existente != null) {
+            return existente;
+        }
+        if (generacion.get() != leida) {
+            // Invalidación entre la comprobación y el guardado
+            repeticiones.remove(carreraId, construida);
+        }
+        return construida;
+    }
+
+    /**
+     * Descarta la repetición de una carrera tras escribir vueltas en ella.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public static void invalidar(long carreraId) {
+        generacion.incrementAndGet();
+        if (repeticiones.remove(carreraId) != null) {
+            logger.debug("Repetición de la carrera {} invalidada", carreraId);
+        }
+    }
+
+    private static RepeticionCarrera construir(long carreraId) {
+        long inicio = System.nanoTime();
+        RepeticionCarrera repeticion = new RepeticionCarrera(carreraId, tiempoVueltaDAO.leerTiemposCarrera(carreraId));
+        logger.info("Repetición de la carrera {} construida: {} vueltas ({} ms)",
+                carreraId, repeticion.getVueltasCarrera(), (System.nanoTime() - inicio) / 1_000_000);
+        return repeticion;
+    }
+}
@@ -0,0 +1,59 @@
+package co.com.cache;
+
+import co.com.dto.ResumenTemporada;
+import co.com.event.EventosResultados;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria de los resúmenes de temporada.
+ * Cada entrada se invalida cuando se publica un cambio de resultados de esa temporada.
+ */
+public final class ResumenTemporadaCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResumenTemporadaCache.class);
+
+    private static final Map<Integer, ResumenTemporada> resumenes = new ConcurrentHashMap<>();
+
+    static {
+        // Mientras la clase no se carga no hay nada que invalidar
+        EventosResultados.registrar(cambio -> invalidar(cambio.getAnio()));
+    }
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private ResumenTemporadaCache() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    public static Optional<ResumenTemporada> obtener(int anio) {
+        return Optional.ofNullable(resumenes.get(anio));
+    }
+
+    public static void guardar(ResumenTemporada resumen) {
+        resumenes.put(resumen.getAnio(), resumen);
+    }
+
+    /**
+     * Descarta el resumen de una temporada tras escribir resultados en ella.
+     *
+     * @param anio Año de la temporada
+     */
+    public static void invalidar(int anio) {
+        if (resumenes.remove(anio) != null) {
+            logger.debug("Resumen de temporada {} invalidado", anio);
+        }
+    }
+
+    /**
+     * Descarta todos los resúmenes. Se usa cuando no se conoce la temporada afectada.
+     */
+    public static void invalidarTodo() {
+        resumenes.clear();
+        logger.debug("Caché de resúmenes de temporada vaciada");
+    }
+}
@@ -0,0 +1,470 @@
+package co.com.cache;
+
+import co.com.dto.CarreraCalendario;
+import co.com.model.Carrera;
+import co.com.model.Circuito;
+import co.com.model.Constructor;
+import co.com.model.Piloto;
+import co.com.model.Resultado;
+import co.com.model.Temporada;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo de lectura inmutable de una temporada congelada.
+ * Contiene calendario, resultados, clasificaciones y circuitos tal como estaban al construirse,
+ * junto con un checksum SHA-256 que se compara con el sello guardado en la base de datos
+ * para detectar cambios posteriores a la congelación.
+ *
+ * <p>Las entidades recibidas se copian al construir en instantáneas inmutables, sin proxies
+ * ni referencias a la sesión de Hibernate. Los métodos que devuelven entidades crean copias
+ * nuevas en cada llamada, de modo que quien las modifique no altera el archivo.
+ */
+public final class TemporadaArchivada {
+
+    private final int anio;
+    private final List<CarreraArchivada> carreras;
+    private final Map<Long, List<ResultadoArchivado>> resultadosPorCarrera;
+    private final List<Map<String, Object>> clasificacionPilotos;
+    private final List<Map<String, Object>> clasificacionConstructores;
+    private final List<CircuitoArchivado> circuitos;
+    private final List<CarreraCalendario> calendario;
+    private final String checksum;
+    private final LocalDateTime fechaConstruccion;
+
+    public TemporadaArchivada(int anio,
+                              List<Carrera> carreras,
+                              List<Resultado> resultados,
+                              List<Map<String, Object>> clasificacionPilotos,
+                              List<Map<String, Object>> clasificacionConstructores) {
+        this.anio = anio;
+        this.carreras = copiarCarreras(carreras);
+        this.resultadosPorCarrera = agruparPorCarrera(resultados);
+        this.clasificacionPilotos = copiarClasificacion(clasificacionPilotos);
+        this.clasificacionConstructores = copiarClasificacion(clasificacionConstructores);
+        this.circuitos = extraerCircuitos(this.carreras);
+        this.calendario = construirCalendario();
+        this.checksum = calcularChecksum();
+        this.fechaConstruccion = LocalDateTime.now();
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    /**
+     * @return Copias de las carreras de la temporada
+     */
+    public List<Carrera> getCarreras() {
+        List<Carrera> copia = new ArrayList<>(carreras.size());
+        for (CarreraArchivada carrera : carreras) {
+            copia.add(carrera.aEntidad());
+        }
+        return copia;
+    }
+
+    public List<CarreraCalendario> getCalendario() {
+        return calendario;
+    }
+
+    /**
+     * @return Copias de los circuitos de la temporada
+     */
+    public List<Circuito> getCircuitos() {
+        List<Circuito> copia = new ArrayList<>(circuitos.size());
+        for (CircuitoArchivado circuito : circuitos) {
+            copia.add(circuito.aEntidad());
+        }
+        return copia;
+    }
+
+    public List<Map<String, Object>> getClasificacionPilotos() {
+        return clasificacionPilotos;
+    }
+
+    public List<Map<String, Object>> getClasificacionConstructores() {
+        return clasificacionConstructores;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public LocalDateTime getFechaConstruccion() {
+        return fechaConstruccion;
+    }
+
+    /**
+     * Indica si la carrera pertenece a esta temporada.
+     *
+     * @param carreraId ID de la carrera
+     * @return true si la carrera está archivada aquí
+     */
+    public boolean contieneCarrera(Long carreraId) {
+        return resultadosPorCarrera.containsKey(carreraId);
+    }
+
+    /**
+     * Obtiene la carrera archivada con el ID indicado.
+     *
+     * @param carreraId ID de la carrera
+     * @return Copia de la carrera o null si no pertenece a esta temporada
+     */
+    public Carrera getCarrera(Long carreraId) {
+        CarreraArchivada carrera = buscarCarrera(carreraId);
+        return carrera != null ? carrera.aEntidad() : null;
+    }
+
+    /**
+     * Obtiene los resultados archivados de una carrera ordenados por posición final.
+     *
+     * @param carreraId ID de la carrera
+     * @return Copias de los resultados (lista vacía si la carrera no tuvo resultados)
+     */
+    public List<Resultado> getResultados(Long carreraId) {
+        List<ResultadoArchivado> resultados = resultadosPorCarrera.getOrDefault(carreraId, List.of());
+        if (resultados.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Carrera carrera = buscarCarrera(carreraId).aEntidad();
+        List<Resultado> copia = new ArrayList<>(resultados.size());
+        for (ResultadoArchivado resultado : resultados) {
+            copia.add(resultado.aEntidad(carrera));
+        }
+        return copia;
+    }
+
+    /**
+     * Compara el checksum del archivo con el sello guardado cuando la temporada se archivó
+     * por primera vez. Como la temporada está congelada, cualquier diferencia indica que
+     * sus datos cambiaron en la base de datos después de sellarla.
+     *
+     * @param sello Checksum guardado de la temporada
+     * @return true si el contenido coincide con el sellado
+     */
+    public boolean verificarIntegridad(String sello) {
+        return checksum.equals(sello);
+    }
+
+    private CarreraArchivada buscarCarrera(Long carreraId) {
+        for (CarreraArchivada carrera : carreras) {
+            if (carrera.id.equals(carreraId)) {
+                return carrera;
+            }
+        }
+        return null;
+    }
+
+    private static List<CarreraArchivada> copiarCarreras(List<Carrera> carreras) {
+        List<CarreraArchivada> copia = new ArrayList<>(carreras.size());
+        for (Carrera carrera : carreras) {
+            copia.add(new CarreraArchivada(carrera));
+        }
+        return List.copyOf(copia);
+    }
+
+    private Map<Long, List<ResultadoArchivado>> agruparPorCarrera(List<Resultado> resultados) {
+        Map<Long, List<ResultadoArchivado>> agrupados = new LinkedHashMap<>();
+        for (CarreraArchivada carrera : carreras) {
+            agrupados.put(carrera.id, new ArrayList<>());
+        }
+        for (Resultado resultado : resultados) {
+            // Solo se archivan resultados de carreras de la temporada
+            List<ResultadoArchivado> lista = agrupados.get(resultado.getCarrera().getId());
+            if (lista != null) {
+                lista.add(new ResultadoArchivado(resultado));
+            }
+        }
+        agrupados.replaceAll((id, lista) -> List.copyOf(lista));
+        return Collections.unmodifiableMap(agrupados);
+    }
+
+    private static List<Map<String, Object>> copiarClasificacion(List<Map<String, Object>> clasificacion) {
+        List<Map<String, Object>> copia = new ArrayList<>(clasificacion.size());
+        for (Map<String, Object> fila : clasificacion) {
+            // Map.copyOf no admite valores null (p. ej. pilotos sin constructor)
+            copia.add(Collections.unmodifiableMap(new HashMap<>(fila)));
+        }
+        return Collections.unmodifiableList(copia);
+    }
+
+    private static List<CircuitoArchivado> extraerCircuitos(List<CarreraArchivada> carreras) {
+        Map<Long, CircuitoArchivado> circuitos = new LinkedHashMap<>();
+        for (CarreraArchivada carrera : carreras) {
+            if (carrera.circuito != null) {
+                circuitos.putIfAbsent(carrera.circuito.id, carrera.circuito);
+            }
+        }
+        return List.copyOf(circuitos.values());
+    }
+
+    private List<CarreraCalendario> construirCalendario() {
+        List<CarreraCalendario> filas = new ArrayList<>(carreras.size());
+        for (CarreraArchivada c : carreras) {
+            String[] podio = new String[3];
+            String vueltaRapida = null;
+            int retiros = 0;
+
+            List<ResultadoArchivado> resultados = resultadosPorCarrera.get(c.id);
+            for (ResultadoArchivado r : resultados) {
+                Integer posicion = r.posicionFinal;
+                if (posicion != null && posicion >= 1 && posicion <= 3) {
+                    podio[posicion - 1] = r.piloto.nombre;
+                }
+                if (Boolean.TRUE.equals(r.vueltaRapida)) {
+                    vueltaRapida = r.piloto.nombre;
+                }
+                if (Boolean.TRUE.equals(r.retirado)) {
+                    retiros++;
+                }
+            }
+
+            filas.add(new CarreraCalendario(
+                    c.id,
+                    c.gpNumero,
+                    c.nombreGp,
+                    c.fecha,
+                    c.circuito != null ? c.circuito.nombre : null,
+                    podio[0], podio[1], podio[2],
+                    vueltaRapida,
+                    resultados.isEmpty() ? null : retiros
+            ));
+        }
+        return List.copyOf(filas);
+    }
+
+    private String calcularChecksum() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(anio).append('\n');
+
+        for (CarreraArchivada c : carreras) {
+            sb.append("C|").append(c.id)
+                    .append('|').append(c.gpNumero)
+                    .append('|').append(c.nombreGp)
+                    .append('|').append(c.fecha)
+                    .append('|').append(c.circuito != null ? c.circuito.id : null)
+                    .append('\n');
+        }
+
+        for (Map.Entry<Long, List<ResultadoArchivado>> entrada : resultadosPorCarrera.entrySet()) {
+            for (ResultadoArchivado r : entrada.getValue()) {
+                sb.append("R|").append(r.id)
+                        .append('|').append(entrada.getKey())
+                        .append('|').append(r.piloto.id)
+                        .append('|').append(r.constructor != null ? r.constructor.id : null)
+                        .append('|').append(r.posicionFinal)
+                        .append('|').append(r.posicionSalida)
+                        .append('|').append(r.puntosObtenidos)
+                        .append('|').append(r.vueltas)
+                        .append('|').append(r.tiempo)
+                        .append('|').append(r.tiempoMs)
+                        .append('|').append(r.diferenciaMs)
+                        .append('|').append(r.vueltasPerdidas)
+                        .append('|').append(r.retirado)
+                        .append('|').append(r.motivoRetiro)
+                        .append('|').append(r.vueltaRapida)
+                        .append('\n');
+            }
+        }
+
+        agregarClasificacion(sb, "P", clasificacionPilotos);
+        agregarClasificacion(sb, "K", clasificacionConstructores);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void agregarClasificacion(StringBuilder sb, String tipo, List<Map<String, Object>> clasificacion) {
+        for (Map<String, Object> fila : clasificacion) {
+            sb.append(tipo).append('|').append(fila.get("posicion"))
+                    .append('|').append(fila.get("id"))
+                    .append('|').append(fila.get("puntos"))
+                    .append('|').append(fila.get("victorias"))
+                    .append('|').append(fila.get("podios"))
+                    .append('\n');
+        }
+    }
+
+    private static final class CircuitoArchivado {
+        private final Long id;
+        private final String nombre;
+        private final String ubicacion;
+
+        private CircuitoArchivado(Circuito circuito) {
+            this.id = circuito.getId();
+            this.nombre = circuito.getNombre();
+            this.ubicacion = circuito.getUbicacion();
+        }
+
+        private Circuito aEntidad() {
+            Circuito circuito = new Circuito(nombre, ubicacion);
+            circuito.setId(id);
+            return circuito;
+        }
+    }
+
+    private static final class ConstructorArchivado {
+        private final Long id;
+        private final String nombre;
+        private final String nacionalidad;
+
+        private ConstructorArchivado(Constructor constructor) {
+            this.id = constructor.getId();
+            this.nombre = constructor.getNombre();
+            this.nacionalidad = constructor.getNacionalidad();
+        }
+
+        private static ConstructorArchivado de(Constructor constructor) {
+            return constructor != null ? new ConstructorArchivado(constructor) : null;
+        }
+
+        private Constructor aEntidad() {
+            Constructor constructor = new Constructor(nombre, nacionalidad);
+            constructor.setId(id);
+            return constructor;
+        }
+    }
+
+    private static final class PilotoArchivado {
+        private final Long id;
+        private final String nombre;
+        private final String nacionalidad;
+        private final String dorsal;
+        private final ConstructorArchivado constructor;
+
+        private PilotoArchivado(Piloto piloto) {
+            this.id = piloto.getId();
+            this.nombre = piloto.getNombre();
+            this.nacionalidad = piloto.getNacionalidad();
+            this.dorsal = piloto.getDorsal();
+            this.constructor = ConstructorArchivado.de(piloto.getConstructor());
+        }
+
+        private Piloto aEntidad() {
+            Piloto piloto = new Piloto(nombre, nacionalidad, dorsal);
+            piloto.setId(id);
+            piloto.setConstructor(constructor != null ? constructor.aEntidad() : null);
+            return piloto;
+        }
+    }
+
+    private static final class CarreraArchivada {
+        private final Long id;
+        private final String nombreGp;
+        private final LocalDate fecha;
+        private final LocalTime horaInicio;
+        private final Integer gpNumero;
+        private final CircuitoArchivado circuito;
+        private final Long temporadaId;
+        private final Integer temporadaAnio;
+
+        private CarreraArchivada(Carrera carrera) {
+            this.id = carrera.getId();
+            this.nombreGp = carrera.getNombreGp();
+            this.fecha = carrera.getFecha();
+            this.horaInicio = carrera.getHoraInicio();
+            this.gpNumero = carrera.getGpNumero();
+            this.circuito = carrera.getCircuito() != null ? new CircuitoArchivado(carrera.getCircuito()) : null;
+            this.temporadaId = carrera.getTemporada() != null ? carrera.getTemporada().getId() : null;
+            this.temporadaAnio = carrera.getTemporada() != null ? carrera.getTemporada().getAnio() : null;
+        }
+
+        private Carrera aEntidad() {
+            Carrera carrera = new Carrera(nombreGp, fecha, gpNumero);
+            carrera.setId(id);
+            carrera.setHoraInicio(horaInicio);
+            carrera.setCircuito(circuito != null ? circuito.aEntidad() : null);
+            if (temporadaId != null) {
+                Temporada temporada = new Temporada(temporadaAnio);
+                temporada.setId(temporadaId);
+                carrera.setTemporada(temporada);
+            }
+            return carrera;
+        }
+    }
+
+    private static final class ResultadoArchivado {
+        private final Long id;
+        private final PilotoArchivado piloto;
+        private final ConstructorArchivado constructor;
+        private final Integer posicionFinal;
+        private final Integer posicionSalida;
+        private final BigDecimal puntosObtenidos;
+        private final Integer vueltas;
+        private final String tiempo;
+        private final Long tiempoMs;
+        private final Long diferenciaMs;
+        private final Integer vueltasPerdidas;
+        private final Boolean retirado;
+        private final String motivoRetiro;
+        private final Boolean vueltaRapida;
+
+        private ResultadoArchivado(Resultado resultado) {
+            this.id = resultado.getId();
+            this.piloto = new PilotoArchivado(resultado.getPiloto());
+            this.constructor = ConstructorArchivado.de(resultado.getConstructor());
+            this.posicionFinal = resultado.getPosicionFinal();
+            this.posicionSalida = resultado.getPosicionSalida();
+            this.puntosObtenidos = resultado.getPuntosObtenidos();
+            this.vueltas = resultado.getVueltas();
+            this.tiempo = resultado.getTiempo();
+            this.tiempoMs = resultado.getTiempoMs();
+            this.diferenciaMs = resultado.getDiferenciaMs();
+            this.vueltasPerdidas = resultado.getVueltasPerdidas();
+            this.retirado = resultado.getRetirado();
+            this.motivoRetiro = resultado.getMotivoRetiro();
+            this.vueltaRapida = resultado.getVueltaRapida();
+        }
+
+        private Resultado aEntidad(Carrera carrera) {
+            Resultado resultado = new Resultado();
+            resultado.setId(id);
+            resultado.setCarrera(carrera);
+            resultado.setPiloto(piloto.aEntidad());
+            resultado.setConstructor(constructor != null ? constructor.aEntidad() : null);
+            resultado.setPosicionFinal(posicionFinal);
+            resultado.setPosicionSalida(posicionSalida);
+            resultado.setPuntosObtenidos(puntosObtenidos);
+            resultado.setVueltas(vueltas);
+            resultado.setTiempo(tiempo);
+            resultado.setTiempoMs(tiempoMs);
+            resultado.setDiferenciaMs(diferenciaMs);
+            resultado.setVueltasPerdidas(vueltasPerdidas);
+            resultado.setRetirado(retirado);
+            resultado.setMotivoRetiro(motivoRetiro);
+            resultado.setVueltaRapida(vueltaRapida);
+            return resultado;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TemporadaArchivada{" +
+                "anio=" + anio +
+                ", carreras=" + carreras.size() +
+                ", checksum='" + checksum + '\'' +
+                ", fechaConstruccion=" + fechaConstruccion +
+                '}';
+    }
+}
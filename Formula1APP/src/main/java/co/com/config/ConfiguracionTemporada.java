@@ -33,6 +33,17 @@ public class ConfiguracionTemporada {
         return esDespuesDeCongelacion(fechaCarrera) || fechaCarrera.equals(FECHA_CONGELACION);
     }
 
+    /**
+     * Verifica si una temporada completa quedó antes de la fecha de congelación.
+     * Sus carreras ya no admiten cambios, por lo que puede servirse desde el archivo inmutable.
+     *
+     * @param anio Año de la temporada
+     * @return true si todas sus fechas son anteriores a la congelación
+     */
+    public static boolean esTemporadaCongelada(int anio) {
+        return LocalDate.of(anio, 12, 31).isBefore(FECHA_CONGELACION);
+    }
+
     /**
      * Obtiene un mensaje sobre el estado de congelación.
      *
@@ -22,6 +22,12 @@ public class F1PointsSystem {
         POINTS_MAP.put(10, new BigDecimal("1"));   // 10mo lugar
     }
 
+    // Sistema de puntos del sprint para las primeras 8 posiciones
+    private static final BigDecimal[] SPRINT_POINTS = {
+            new BigDecimal("8"), new BigDecimal("7"), new BigDecimal("6"), new BigDecimal("5"),
+            new BigDecimal("4"), new BigDecimal("3"), new BigDecimal("2"), new BigDecimal("1")
+    };
+
     // Punto extra por vuelta rápida (si termina en top 10)
     public static final BigDecimal FASTEST_LAP_POINTS = new BigDecimal("1");
 
@@ -53,6 +59,16 @@ public class F1PointsSystem {
         return basePoints;
     }
 
+    /**
+     * Obtiene los puntos de una posición en el sprint (no hay punto por vuelta rápida).
+     *
+     * @param position Posición final (1-8 dan puntos, resto 0)
+     * @return Puntos obtenidos
+     */
+    public static BigDecimal getSprintPointsForPosition(int position) {
+        return position >= 1 && position <= SPRINT_POINTS.length ? SPRINT_POINTS[position - 1] : BigDecimal.ZERO;
+    }
+
     /**
      * Verifica si una posición otorga puntos.
      *
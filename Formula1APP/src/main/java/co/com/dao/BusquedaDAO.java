@@ -0,0 +1,58 @@
+package co.com.dao;
+
+import co.com.dto.Sugerencia;
+import co.com.util.JDBCUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO de lectura para los índices de búsqueda.
+ */
+public class BusquedaDAO {
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaDAO.class);
+
+    /**
+     * Lee en una sola consulta el ID y el nombre de todos los pilotos, constructores,
+     * circuitos y carreras, sin cargar entidades.
+     *
+     * @return Un elemento por entidad, sin errores
+     */
+    public List<Sugerencia> findNombres() {
+        String sql = """
+            SELECT 'PILOTO' AS tipo, id, nombre FROM piloto
+            UNION ALL
+            SELECT 'CONSTRUCTOR', id, nombre FROM constructor
+            UNION ALL
+            SELECT 'CIRCUITO', id, nombre FROM circuito
+            UNION ALL
+            SELECT 'CARRERA', id, nombre_gp FROM carrera
+        """;
+
+        List<Sugerencia> nombres = new ArrayList<>();
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                nombres.add(new Sugerencia(
+                        Sugerencia.Tipo.valueOf(rs.getString("tipo")),
+                        rs.getLong("id"),
+                        rs.getString("nombre"),
+                        0
+                ));
+            }
+            return nombres;
+
+        } catch (Exception e) {
+            logger.error("Error al leer los nombres para el autocompletado", e);
+            throw new RuntimeException("Error al leer los nombres para el autocompletado", e);
+        }
+    }
+}
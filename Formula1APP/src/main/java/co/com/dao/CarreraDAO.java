@@ -1,6 +1,11 @@
 package co.com.dao;
 
+import co.com.cache.EntidadesExistentes;
+import co.com.dto.Sugerencia;
+import co.com.event.EventosNombres;
+import co.com.index.IndiceTextos;
 import co.com.model.Carrera;
+import co.com.prediccion.CierrePredicciones;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -8,6 +13,7 @@ import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -65,6 +71,31 @@ public class CarreraDAO {
         }
     }
 
+    /**
+     * Obtiene las carreras de una temporada con circuito y temporada ya inicializados.
+     * Pensado para construir modelos de lectura que se usan fuera del EntityManager.
+     *
+     * @param anio Año de la temporada
+     * @return Lista de carreras de esa temporada ordenadas por número de GP
+     */
+    public List<Carrera> findByTemporadaConDetalle(Integer anio) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Carrera> query = em.createQuery(
+                    "SELECT c FROM Carrera c JOIN FETCH c.circuito JOIN FETCH c.temporada t " +
+                            "WHERE t.anio = :anio ORDER BY c.gpNumero",
+                    Carrera.class
+            );
+            query.setParameter("anio", anio);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar carreras con detalle por temporada: " + anio, e);
+            throw new RuntimeException("Error al obtener carreras de la temporada", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
     /**
      * Busca una carrera por su ID.
      *
@@ -94,19 +125,26 @@ public class CarreraDAO {
     }
 
     /**
-     * Busca carreras por nombre de GP (búsqueda parcial, case-insensitive).
+     * Busca carreras por nombre de GP sin distinguir mayúsculas ni acentos.
+     * Las palabras se resuelven en el índice de texto {@link IndiceTextos} y la base de datos
+     * solo recibe los IDs encontrados. La última palabra puede estar incompleta ("brit" encuentra
+     * "British Grand Prix"), pero las demás deben ser palabras completas.
      *
-     * @param nombre Nombre o parte del nombre del GP
-     * @return Lista de carreras que coinciden
+     * @param nombre Palabras del nombre del GP
+     * @return Lista de carreras que coinciden, ordenadas por fecha
      */
     public List<Carrera> findByNombreGp(String nombre) {
+        long[] ids = IndiceTextos.getInstancia().buscarCarreras(nombre);
+        if (ids.length == 0) {
+            return List.of();
+        }
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Carrera> query = em.createQuery(
-                    "SELECT c FROM Carrera c WHERE LOWER(c.nombreGp) LIKE LOWER(:nombre) ORDER BY c.fecha",
+                    "SELECT c FROM Carrera c WHERE c.id IN :ids ORDER BY c.fecha",
                     Carrera.class
             );
-            query.setParameter("nombre", "%" + nombre + "%");
+            query.setParameter("ids", Arrays.stream(ids).boxed().toList());
             return query.getResultList();
         } catch (Exception e) {
             logger.error("Error al buscar carreras por nombre: " + nombre, e);
@@ -128,6 +166,8 @@ public class CarreraDAO {
             em.getTransaction().begin();
             em.persist(carrera);
             em.getTransaction().commit();
+            IndiceTextos.carreraGuardada(carrera);
+            EventosNombres.publicar(Sugerencia.Tipo.CARRERA, carrera.getId(), carrera.getNombreGp());
             logger.info("Carrera guardada exitosamente: {} (ID: {})",
                     carrera.getNombreGp(), carrera.getId());
             return carrera;
@@ -154,6 +194,10 @@ public class CarreraDAO {
             em.getTransaction().begin();
             Carrera updated = em.merge(carrera);
             em.getTransaction().commit();
+            // La fecha o la hora de salida pueden haber cambiado
+            CierrePredicciones.invalidar(updated.getId());
+            IndiceTextos.carreraGuardada(updated);
+            EventosNombres.publicar(Sugerencia.Tipo.CARRERA, updated.getId(), updated.getNombreGp());
             logger.info("Carrera actualizada exitosamente: {} (ID: {})",
                     updated.getNombreGp(), updated.getId());
             return updated;
@@ -182,6 +226,10 @@ public class CarreraDAO {
             if (carrera != null) {
                 em.remove(carrera);
                 em.getTransaction().commit();
+                CierrePredicciones.invalidar(id);
+                EntidadesExistentes.carreraEliminada(id);
+                IndiceTextos.carreraEliminada(id);
+                EventosNombres.publicar(Sugerencia.Tipo.CARRERA, id, null);
                 logger.info("Carrera eliminada: {} (ID: {})", carrera.getNombreGp(), id);
                 return true;
             } else {
@@ -220,4 +268,27 @@ public class CarreraDAO {
             JPAUtil.close(em);
         }
     }
+
+    /**
+     * Comprueba si existe una carrera sin cargarla.
+     *
+     * @param id ID de la carrera
+     * @return true si existe
+     */
+    public boolean existe(Long id) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Long> query = em.createQuery(
+                    "SELECT COUNT(c) FROM Carrera c WHERE c.id = :id",
+                    Long.class
+            );
+            query.setParameter("id", id);
+            return query.getSingleResult() > 0;
+        } catch (Exception e) {
+            logger.error("Error al comprobar carrera con ID: " + id, e);
+            throw new RuntimeException("Error al comprobar carrera", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package co.com.dao;
 
+import co.com.dto.Sugerencia;
+import co.com.event.EventosNombres;
+import co.com.index.IndiceTextos;
 import co.com.model.Circuito;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
@@ -7,6 +10,7 @@ import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -93,46 +97,49 @@ public class CircuitoDAO {
     }
 
     /**
-     * Busca circuitos por nombre (búsqueda parcial, case-insensitive).
+     * Busca circuitos por nombre sin distinguir mayúsculas ni acentos, usando el índice de texto
+     * {@link IndiceTextos}. La última palabra puede estar incompleta; las demás deben ser completas.
      *
-     * @param nombre Nombre o parte del nombre del circuito
-     * @return Lista de circuitos que coinciden
+     * @param nombre Palabras del nombre del circuito
+     * @return Lista de circuitos que coinciden, ordenados por nombre
      */
     public List<Circuito> findByNombre(String nombre) {
-        EntityManager em = JPAUtil.getEntityManager();
         try {
-            TypedQuery<Circuito> query = em.createQuery(
-                    "SELECT c FROM Circuito c WHERE LOWER(c.nombre) LIKE LOWER(:nombre) ORDER BY c.nombre",
-                    Circuito.class
-            );
-            query.setParameter("nombre", "%" + nombre + "%");
-            return query.getResultList();
+            return findByIds(IndiceTextos.getInstancia().buscarCircuitosPorNombre(nombre));
         } catch (Exception e) {
             logger.error("Error al buscar circuitos por nombre: " + nombre, e);
             throw new RuntimeException("Error al buscar circuitos por nombre", e);
-        } finally {
-            JPAUtil.close(em);
         }
     }
 
     /**
-     * Busca circuitos por ubicación.
+     * Busca circuitos por ubicación sin distinguir mayúsculas ni acentos ("sao paulo" encuentra
+     * "São Paulo"), usando el índice de texto {@link IndiceTextos}.
      *
-     * @param ubicacion Ubicación del circuito
-     * @return Lista de circuitos en esa ubicación
+     * @param ubicacion Palabras de la ubicación del circuito
+     * @return Lista de circuitos en esa ubicación, ordenados por nombre
      */
     public List<Circuito> findByUbicacion(String ubicacion) {
+        try {
+            return findByIds(IndiceTextos.getInstancia().buscarCircuitosPorUbicacion(ubicacion));
+        } catch (Exception e) {
+            logger.error("Error al buscar circuitos por ubicación: " + ubicacion, e);
+            throw new RuntimeException("Error al buscar circuitos por ubicación", e);
+        }
+    }
+
+    private List<Circuito> findByIds(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Circuito> query = em.createQuery(
-                    "SELECT c FROM Circuito c WHERE LOWER(c.ubicacion) LIKE LOWER(:ubicacion) ORDER BY c.nombre",
+                    "SELECT c FROM Circuito c WHERE c.id IN :ids ORDER BY c.nombre",
                     Circuito.class
             );
-            query.setParameter("ubicacion", "%" + ubicacion + "%");
+            query.setParameter("ids", Arrays.stream(ids).boxed().toList());
             return query.getResultList();
-        } catch (Exception e) {
-            logger.error("Error al buscar circuitos por ubicación: " + ubicacion, e);
-            throw new RuntimeException("Error al buscar circuitos por ubicación", e);
         } finally {
             JPAUtil.close(em);
         }
@@ -150,6 +157,8 @@ public class CircuitoDAO {
             em.getTransaction().begin();
             em.persist(circuito);
             em.getTransaction().commit();
+            IndiceTextos.circuitoGuardado(circuito);
+            EventosNombres.publicar(Sugerencia.Tipo.CIRCUITO, circuito.getId(), circuito.getNombre());
             logger.info("Circuito guardado exitosamente: {} (ID: {})",
                     circuito.getNombre(), circuito.getId());
             return circuito;
@@ -176,6 +185,8 @@ public class CircuitoDAO {
             em.getTransaction().begin();
             Circuito updated = em.merge(circuito);
             em.getTransaction().commit();
+            IndiceTextos.circuitoGuardado(updated);
+            EventosNombres.publicar(Sugerencia.Tipo.CIRCUITO, updated.getId(), updated.getNombre());
             logger.info("Circuito actualizado exitosamente: {} (ID: {})",
                     updated.getNombre(), updated.getId());
             return updated;
@@ -204,6 +215,8 @@ public class CircuitoDAO {
             if (circuito != null) {
                 em.remove(circuito);
                 em.getTransaction().commit();
+                IndiceTextos.circuitoEliminado(id);
+                EventosNombres.publicar(Sugerencia.Tipo.CIRCUITO, id, null);
                 logger.info("Circuito eliminado: {} (ID: {})", circuito.getNombre(), id);
                 return true;
             } else {
@@ -1,5 +1,7 @@
 package co.com.dao;
 
+import co.com.dto.Sugerencia;
+import co.com.event.EventosNombres;
 import co.com.model.Constructor;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
@@ -140,6 +142,7 @@ public class ConstructorDAO {
             em.getTransaction().begin();
             em.persist(constructor);
             em.getTransaction().commit();
+            EventosNombres.publicar(Sugerencia.Tipo.CONSTRUCTOR, constructor.getId(), constructor.getNombre());
             logger.info("Constructor guardado exitosamente: {} (ID: {})",
                     constructor.getNombre(), constructor.getId());
             return constructor;
@@ -166,6 +169,7 @@ public class ConstructorDAO {
             em.getTransaction().begin();
             Constructor updated = em.merge(constructor);
             em.getTransaction().commit();
+            EventosNombres.publicar(Sugerencia.Tipo.CONSTRUCTOR, updated.getId(), updated.getNombre());
             logger.info("Constructor actualizado exitosamente: {} (ID: {})",
                     updated.getNombre(), updated.getId());
             return updated;
@@ -195,6 +199,7 @@ public class ConstructorDAO {
             if (constructor != null) {
                 em.remove(constructor);
                 em.getTransaction().commit();
+                EventosNombres.publicar(Sugerencia.Tipo.CONSTRUCTOR, id, null);
                 logger.info("Constructor eliminado: {} (ID: {})", constructor.getNombre(), id);
                 return true;
             } else {
@@ -0,0 +1,191 @@
+package co.com.dao;
+
+import co.com.model.EtapaPiloto;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO para gestionar las etapas de pilotos en constructores.
+ */
+public class EtapaPilotoDAO {
+    private static final Logger logger = LoggerFactory.getLogger(EtapaPilotoDAO.class);
+
+    /**
+     * Obtiene todas las etapas con piloto y constructor cargados.
+     *
+     * @return Lista de etapas ordenadas por fecha de inicio
+     */
+    public List<EtapaPiloto> findAll() {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<EtapaPiloto> query = em.createQuery(
+                    "SELECT e FROM EtapaPiloto e JOIN FETCH e.piloto JOIN FETCH e.constructor " +
+                            "ORDER BY e.fechaInicio",
+                    EtapaPiloto.class
+            );
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar etapas de pilotos", e);
+            throw new RuntimeException("Error al obtener etapas de pilotos", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Busca una etapa por su ID con piloto y constructor cargados.
+     *
+     * @param id ID de la etapa
+     * @return Optional con la etapa si existe
+     */
+    public Optional<EtapaPiloto> findById(Long id) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<EtapaPiloto> query = em.createQuery(
+                    "SELECT e FROM EtapaPiloto e JOIN FETCH e.piloto JOIN FETCH e.constructor WHERE e.id = :id",
+                    EtapaPiloto.class
+            );
+            query.setParameter("id", id);
+            return query.getResultStream().findFirst();
+        } catch (Exception e) {
+            logger.error("Error al buscar etapa por ID: " + id, e);
+            return Optional.empty();
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Busca una etapa por su ID dentro de una transacción en curso, con piloto y constructor cargados.
+     *
+     * @param em EntityManager de la transacción
+     * @param id ID de la etapa
+     * @return Optional con la etapa si existe
+     */
+    public Optional<EtapaPiloto> findById(EntityManager em, Long id) {
+        return em.createQuery(
+                        "SELECT e FROM EtapaPiloto e JOIN FETCH e.piloto JOIN FETCH e.constructor WHERE e.id = :id",
+                        EtapaPiloto.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Etapas de un piloto que se solapan con un intervalo, leídas dentro de una transacción en curso.
+     * Quien llama debe tener bloqueada la fila del piloto para que ninguna otra transacción
+     * inserte una etapa solapada entre esta lectura y su escritura.
+     *
+     * @param em EntityManager de la transacción
+     * @param pilotoId ID del piloto
+     * @param fechaInicio Primer día del intervalo
+     * @param fechaFin Último día del intervalo, o null si sigue abierto
+     * @param excluirId ID de la etapa que se está modificando, o null si es nueva
+     * @return Etapas en conflicto ordenadas por fecha de inicio
+     */
+    public List<EtapaPiloto> findSolapes(EntityManager em, Long pilotoId, LocalDate fechaInicio,
+                                         LocalDate fechaFin, Long excluirId) {
+        return em.createQuery(
+                        "SELECT e FROM EtapaPiloto e " +
+                                "WHERE e.piloto.id = :pilotoId " +
+                                "AND (e.fechaFin IS NULL OR e.fechaFin >= :fechaInicio) " +
+                                "AND (:fechaFin IS NULL OR e.fechaInicio <= :fechaFin) " +
+                                "AND (:excluirId IS NULL OR e.id <> :excluirId) " +
+                                "ORDER BY e.fechaInicio",
+                        EtapaPiloto.class)
+                .setParameter("pilotoId", pilotoId)
+                .setParameter("fechaInicio", fechaInicio)
+                .setParameter("fechaFin", fechaFin)
+                .setParameter("excluirId", excluirId)
+                .getResultList();
+    }
+
+    /**
+     * Guarda una nueva etapa.
+     *
+     * @param etapa Etapa a guardar
+     * @return Etapa guardada con ID asignado
+     */
+    public EtapaPiloto save(EtapaPiloto etapa) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(etapa);
+            em.getTransaction().commit();
+            logger.info("Etapa guardada: {}", etapa);
+            return etapa;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al guardar etapa", e);
+            throw new RuntimeException("Error al guardar etapa", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Actualiza una etapa existente.
+     *
+     * @param etapa Etapa con datos actualizados
+     * @return Etapa actualizada
+     */
+    public EtapaPiloto update(EtapaPiloto etapa) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            EtapaPiloto updated = em.merge(etapa);
+            em.getTransaction().commit();
+            logger.info("Etapa actualizada: {}", updated);
+            return updated;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al actualizar etapa: " + etapa.getId(), e);
+            throw new RuntimeException("Error al actualizar etapa", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Elimina una etapa por su ID.
+     *
+     * @param id ID de la etapa
+     * @return true si se eliminó, false si no existía
+     */
+    public boolean delete(Long id) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            EtapaPiloto etapa = em.find(EtapaPiloto.class, id);
+            if (etapa != null) {
+                em.remove(etapa);
+                em.getTransaction().commit();
+                logger.info("Etapa eliminada (ID: {})", id);
+                return true;
+            } else {
+                em.getTransaction().rollback();
+                logger.warn("No se encontró etapa con ID: {}", id);
+                return false;
+            }
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al eliminar etapa con ID: " + id, e);
+            throw new RuntimeException("Error al eliminar etapa", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+}
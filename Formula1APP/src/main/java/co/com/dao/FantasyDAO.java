@@ -0,0 +1,324 @@
+package co.com.dao;
+
+import co.com.fantasy.LoteEquipos;
+import co.com.fantasy.TotalesEquipos;
+import co.com.model.EquipoFantasy;
+import co.com.util.JDBCUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DAO del juego de fantasía.
+ * La puntuación de una carrera lee y escribe los equipos por rangos de ID con JDBC puro:
+ * cada rango usa su propia conexión, por lo que varios rangos pueden procesarse en paralelo.
+ */
+public class FantasyDAO {
+    private static final Logger logger = LoggerFactory.getLogger(FantasyDAO.class);
+
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Obtiene el rango de IDs de los equipos de una temporada, para repartir la puntuación.
+     *
+     * @param anio Año de la temporada
+     * @return Array con: [id mínimo, id máximo, número de equipos], o vacío si no hay equipos
+     */
+    public long[] obtenerRangoEquipos(int anio) {
+        String sql = "SELECT MIN(id), MAX(id), COUNT(*) FROM equipo_fantasy WHERE anio = ?";
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, anio);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && rs.getObject(1) != null) {
+                    return new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+                }
+                return new long[0];
+            }
+        } catch (Exception e) {
+            logger.error("Error al obtener rango de equipos de fantasía de " + anio, e);
+            throw new RuntimeException("Error al obtener rango de equipos de fantasía", e);
+        }
+    }
+
+    /**
+     * Lee los equipos de una temporada cuyo ID está en el rango indicado,
+     * junto con los puntos que ya tuvieran guardados para la carrera.
+     *
+     * @param anio Año de la temporada
+     * @param carreraId ID de la carrera que se puntúa
+     * @param desde ID de equipo inicial (inclusive)
+     * @param hasta ID de equipo final (inclusive)
+     * @return Lote con los equipos del rango
+     */
+    public LoteEquipos leerLote(int anio, long carreraId, long desde, long hasta) {
+        String sql = """
+            SELECT e.id, e.piloto_1_id, e.piloto_2_id, e.piloto_3_id, e.piloto_4_id, e.piloto_5_id,
+                   e.constructor_id, p.puntos
+            FROM equipo_fantasy e
+            LEFT JOIN puntuacion_fantasy p ON p.equipo_id = e.id AND p.carrera_id = ?
+            WHERE e.anio = ? AND e.id BETWEEN ? AND ?
+        """;
+
+        LoteEquipos lote = new LoteEquipos(Math.toIntExact(hasta - desde + 1));
+        long[] pilotos = new long[EquipoFantasy.PILOTOS_POR_EQUIPO];
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, carreraId);
+            stmt.setInt(2, anio);
+            stmt.setLong(3, desde);
+            stmt.setLong(4, hasta);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    // getLong devuelve 0 con NULL: una plaza vacía no suma
+                    for (int k = 0; k < pilotos.length; k++) {
+                        pilotos[k] = rs.getLong(2 + k);
+                    }
+                    long constructorId = rs.getLong(7);
+                    int anterior = rs.getInt(8);
+                    lote.agregar(rs.getLong(1), pilotos, constructorId,
+                            rs.wasNull() ? LoteEquipos.SIN_PUNTUAR : anterior);
+                }
+            }
+            return lote;
+
+        } catch (Exception e) {
+            logger.error("Error al leer equipos de fantasía " + desde + "-" + hasta, e);
+            throw new RuntimeException("Error al leer equipos de fantasía", e);
+        }
+    }
+
+    /**
+     * Escribe los puntos de un lote ya puntuado en una transacción: un upsert por equipo
+     * en puntuacion_fantasy y la diferencia sobre el total del equipo.
+     * Los equipos cuyos puntos no cambiaron no se escriben, así que repuntuar una carrera
+     * sin cambios no toca la base de datos.
+     *
+     * @param carreraId ID de la carrera
+     * @param lote Lote puntuado
+     * @return Número de equipos escritos
+     */
+    public int escribirLote(long carreraId, LoteEquipos lote) {
+        String upsert = """
+            INSERT INTO puntuacion_fantasy (equipo_id, carrera_id, puntos)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE puntos = VALUES(puntos)
+        """;
+        String total = "UPDATE equipo_fantasy SET puntos_totales = puntos_totales + ? WHERE id = ?";
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmtPuntos = conn.prepareStatement(upsert);
+                 PreparedStatement stmtTotal = conn.prepareStatement(total)) {
+                int escritos = 0;
+                int pendientes = 0;
+                for (int i = 0; i < lote.getTamano(); i++) {
+                    if (!lote.cambio(i)) {
+                        continue;
+                    }
+                    long equipoId = lote.getEquipoId(i);
+                    stmtPuntos.setLong(1, equipoId);
+                    stmtPuntos.setLong(2, carreraId);
+                    stmtPuntos.setInt(3, lote.getPuntos(i));
+                    stmtPuntos.addBatch();
+
+                    int delta = lote.getDelta(i);
+                    if (delta != 0) {
+                        stmtTotal.setInt(1, delta);
+                        stmtTotal.setLong(2, equipoId);
+                        stmtTotal.addBatch();
+                    }
+                    escritos++;
+
+                    if (++pendientes == TAMANO_LOTE) {
+                        stmtPuntos.executeBatch();
+                        stmtTotal.executeBatch();
+                        pendientes = 0;
+                    }
+                }
+                if (pendientes > 0) {
+                    stmtPuntos.executeBatch();
+                    stmtTotal.executeBatch();
+                }
+                conn.commit();
+                return escritos;
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error al escribir puntos de fantasía de la carrera " + carreraId, e);
+            throw new RuntimeException("Error al escribir puntos de fantasía", e);
+        }
+    }
+
+    /**
+     * Registra el inicio de la puntuación de una carrera incrementando la versión de los puntos
+     * de la temporada. Se llama antes de escribir, de modo que una instantánea guardada con
+     * la versión anterior deja de coincidir aunque la puntuación se interrumpa.
+     *
+     * @param anio Año de la temporada
+     * @param carreraId ID de la carrera que se va a puntuar
+     * @return Nueva versión de los puntos de la temporada
+     */
+    public long registrarPuntuacion(int anio, long carreraId) {
+        String incrementar = """
+            INSERT INTO temporada_fantasy (anio, version, ultima_carrera_id)
+            VALUES (?, 1, ?)
+            ON DUPLICATE KEY UPDATE version = version + 1, ultima_carrera_id = VALUES(ultima_carrera_id)
+        """;
+        String leer = "SELECT version FROM temporada_fantasy WHERE anio = ?";
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmtIncrementar = conn.prepareStatement(incrementar);
+                 PreparedStatement stmtLeer = conn.prepareStatement(leer)) {
+                stmtIncrementar.setInt(1, anio);
+                stmtIncrementar.setLong(2, carreraId);
+                stmtIncrementar.executeUpdate();
+
+                stmtLeer.setInt(1, anio);
+                long version;
+                try (ResultSet rs = stmtLeer.executeQuery()) {
+                    rs.next();
+                    version = rs.getLong(1);
+                }
+                conn.commit();
+                return version;
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error al registrar la puntuación de fantasía de la carrera " + carreraId, e);
+            throw new RuntimeException("Error al registrar la puntuación de fantasía", e);
+        }
+    }
+
+    /**
+     * Obtiene la marca de los totales de una temporada, para validar una instantánea
+     * de la clasificación sin leer todos los equipos. Los equipos no se eliminan,
+     * así que el número de equipos identifica el conjunto y la versión identifica los puntos.
+     *
+     * @param anio Año de la temporada
+     * @return Array con: [versión de los puntos, última carrera puntuada, número de equipos];
+     * versión y carrera son 0 si la temporada nunca se ha puntuado
+     */
+    public long[] obtenerMarcaTotales(int anio) {
+        String sql = """
+            SELECT (SELECT version FROM temporada_fantasy WHERE anio = ?),
+                   (SELECT ultima_carrera_id FROM temporada_fantasy WHERE anio = ?),
+                   (SELECT COUNT(*) FROM equipo_fantasy WHERE anio = ?)
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, anio);
+            stmt.setInt(2, anio);
+            stmt.setInt(3, anio);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+            }
+        } catch (Exception e) {
+            logger.error("Error al obtener la marca de totales de fantasía de " + anio, e);
+            throw new RuntimeException("Error al obtener la marca de totales de fantasía", e);
+        }
+    }
+
+    /**
+     * Lee los puntos totales de todos los equipos de una temporada en orden de ID.
+     *
+     * @param anio Año de la temporada
+     * @return Totales de los equipos
+     */
+    public TotalesEquipos leerTotales(int anio) {
+        String sql = "SELECT id, puntos_totales FROM equipo_fantasy WHERE anio = ? ORDER BY id";
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, anio);
+
+            long[] ids = new long[TAMANO_LOTE];
+            int[] puntos = new int[TAMANO_LOTE];
+            int n = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (n == ids.length) {
+                        ids = Arrays.copyOf(ids, n * 2);
+                        puntos = Arrays.copyOf(puntos, n * 2);
+                    }
+                    ids[n] = rs.getLong(1);
+                    puntos[n] = rs.getInt(2);
+                    n++;
+                }
+            }
+            return new TotalesEquipos(Arrays.copyOf(ids, n), Arrays.copyOf(puntos, n));
+
+        } catch (Exception e) {
+            logger.error("Error al leer totales de fantasía de " + anio, e);
+            throw new RuntimeException("Error al leer totales de fantasía", e);
+        }
+    }
+
+    /**
+     * Obtiene los miembros de todas las ligas privadas de una temporada.
+     *
+     * @param anio Año de la temporada
+     * @return Mapa de ID de liga a IDs de equipo en orden ascendente
+     */
+    public Map<Long, long[]> findMiembrosLigas(int anio) {
+        String sql = """
+            SELECT m.liga_id, m.equipo_id
+            FROM miembro_liga_fantasy m
+            JOIN liga_fantasy l ON l.id = m.liga_id
+            WHERE l.anio = ?
+            ORDER BY m.liga_id, m.equipo_id
+        """;
+
+        Map<Long, long[]> ligas = new HashMap<>();
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, anio);
+            try (ResultSet rs = stmt.executeQuery()) {
+                long ligaActual = 0;
+                long[] miembros = new long[16];
+                int n = 0;
+                while (rs.next()) {
+                    long ligaId = rs.getLong(1);
+                    if (ligaId != ligaActual && n > 0) {
+                        ligas.put(ligaActual, Arrays.copyOf(miembros, n));
+                        n = 0;
+                    }
+                    ligaActual = ligaId;
+                    if (n == miembros.length) {
+                        miembros = Arrays.copyOf(miembros, n * 2);
+                    }
+                    miembros[n++] = rs.getLong(2);
+                }
+                if (n > 0) {
+                    ligas.put(ligaActual, Arrays.copyOf(miembros, n));
+                }
+            }
+            return ligas;
+
+        } catch (Exception e) {
+            logger.error("Error al leer miembros de ligas de fantasía de " + anio, e);
+            throw new RuntimeException("Error al leer miembros de ligas de fantasía", e);
+        }
+    }
+}
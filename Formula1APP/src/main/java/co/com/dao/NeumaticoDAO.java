@@ -0,0 +1,192 @@
+package co.com.dao;
+
+import co.com.estrategia.AjusteDegradacion;
+import co.com.model.Compuesto;
+import co.com.model.ParadaBoxes;
+import co.com.model.StintNeumatico;
+import co.com.util.JDBCUtil;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DAO de stints de neumáticos y paradas en boxes.
+ */
+public class NeumaticoDAO {
+    private static final Logger logger = LoggerFactory.getLogger(NeumaticoDAO.class);
+
+    /**
+     * Obtiene los stints de una carrera con el piloto cargado.
+     *
+     * @param carreraId ID de la carrera
+     * @return Stints ordenados por piloto y número de stint
+     */
+    public List<StintNeumatico> findStintsByCarrera(Long carreraId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<StintNeumatico> query = em.createQuery(
+                    "SELECT s FROM StintNeumatico s " +
+                            "JOIN FETCH s.piloto " +
+                            "WHERE s.carrera.id = :carreraId " +
+                            "ORDER BY s.piloto.id, s.numeroStint",
+                    StintNeumatico.class
+            );
+            query.setParameter("carreraId", carreraId);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar stints de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener stints de neumáticos", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene las paradas en boxes de una carrera con el piloto cargado.
+     *
+     * @param carreraId ID de la carrera
+     * @return Paradas ordenadas por piloto y vuelta
+     */
+    public List<ParadaBoxes> findParadasByCarrera(Long carreraId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ParadaBoxes> query = em.createQuery(
+                    "SELECT p FROM ParadaBoxes p " +
+                            "JOIN FETCH p.piloto " +
+                            "WHERE p.carrera.id = :carreraId " +
+                            "ORDER BY p.piloto.id, p.vuelta",
+                    ParadaBoxes.class
+            );
+            query.setParameter("carreraId", carreraId);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar paradas de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener paradas en boxes", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Reemplaza los stints y paradas de un piloto en una carrera.
+     * Carrera y piloto de cada registro solo necesitan tener el ID asignado.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param stints Stints nuevos
+     * @param paradas Paradas nuevas
+     */
+    public void reemplazar(Long carreraId, Long pilotoId, List<StintNeumatico> stints, List<ParadaBoxes> paradas) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM StintNeumatico s WHERE s.carrera.id = :carreraId AND s.piloto.id = :pilotoId")
+                    .setParameter("carreraId", carreraId)
+                    .setParameter("pilotoId", pilotoId)
+                    .executeUpdate();
+            em.createQuery("DELETE FROM ParadaBoxes p WHERE p.carrera.id = :carreraId AND p.piloto.id = :pilotoId")
+                    .setParameter("carreraId", carreraId)
+                    .setParameter("pilotoId", pilotoId)
+                    .executeUpdate();
+            for (StintNeumatico stint : stints) {
+                em.persist(stint);
+            }
+            for (ParadaBoxes parada : paradas) {
+                em.persist(parada);
+            }
+            em.getTransaction().commit();
+            logger.info("Guardados {} stints y {} paradas del piloto {} en la carrera {}",
+                    stints.size(), paradas.size(), pilotoId, carreraId);
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al guardar stints del piloto " + pilotoId + " en la carrera " + carreraId, e);
+            throw new RuntimeException("Error al guardar stints y paradas", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Carga en el ajuste las vueltas de todos los stints y las paradas disputados en un circuito.
+     * Las vueltas de salida y de entrada a boxes de cada stint no se leen.
+     *
+     * @param circuitoId ID del circuito
+     * @param ajuste Ajuste a llenar
+     */
+    public void leerHistorico(long circuitoId, AjusteDegradacion ajuste) {
+        String sqlVueltas = """
+            SELECT s.id, s.carrera_id, s.compuesto,
+                   s.edad_inicial + (v.numero_vuelta - s.vuelta_inicio) AS edad, v.tiempo_ms
+            FROM stint_neumatico s
+            JOIN carrera c ON c.id = s.carrera_id
+            JOIN tiempo_vuelta v ON v.carrera_id = s.carrera_id AND v.piloto_id = s.piloto_id
+                AND v.numero_vuelta > s.vuelta_inicio AND v.numero_vuelta < s.vuelta_fin
+            WHERE c.circuito_id = ?
+            ORDER BY s.id, v.numero_vuelta
+        """;
+        String sqlParadas = """
+            SELECT p.perdida_ms
+            FROM parada_boxes p
+            JOIN carrera c ON c.id = p.carrera_id
+            WHERE c.circuito_id = ? AND p.perdida_ms IS NOT NULL
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sqlVueltas)) {
+                stmt.setLong(1, circuitoId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    long stintActual = -1;
+                    long carreraId = 0;
+                    Compuesto compuesto = null;
+                    int[] edades = new int[64];
+                    int[] tiempos = new int[64];
+                    int n = 0;
+                    while (rs.next()) {
+                        long stintId = rs.getLong(1);
+                        if (stintId != stintActual) {
+                            if (n > 0) {
+                                ajuste.agregarStint(carreraId, compuesto, edades, tiempos, n);
+                            }
+                            stintActual = stintId;
+                            carreraId = rs.getLong(2);
+                            compuesto = Compuesto.valueOf(rs.getString(3));
+                            n = 0;
+                        }
+                        if (n == edades.length) {
+                            edades = Arrays.copyOf(edades, n * 2);
+                            tiempos = Arrays.copyOf(tiempos, n * 2);
+                        }
+                        edades[n] = rs.getInt(4);
+                        tiempos[n] = rs.getInt(5);
+                        n++;
+                    }
+                    if (n > 0) {
+                        ajuste.agregarStint(carreraId, compuesto, edades, tiempos, n);
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sqlParadas)) {
+                stmt.setLong(1, circuitoId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ajuste.agregarParada(rs.getInt(1));
+                    }
+                }
+            }
+
+        } catch (Exception e) {
+            logger.error("Error al leer el histórico de neumáticos del circuito: " + circuitoId, e);
+            throw new RuntimeException("Error al leer el histórico de neumáticos", e);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package co.com.dao;
+
+import co.com.model.ParrillaTemporada;
+import co.com.model.Resultado;
+import co.com.model.TipoSesion;
+import co.com.util.JDBCUtil;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * DAO de las cifras de parrilla por piloto y temporada.
+ * Las escrituras son sumas atómicas (INSERT ... ON DUPLICATE KEY UPDATE col = col + ?)
+ * sobre la conexión de la transacción que escribe los resultados, así que no hace falta
+ * bloquear ni leer las filas antes.
+ */
+public class ParrillaTemporadaDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ParrillaTemporadaDAO.class);
+
+    private static final int POLES = 0;
+    private static final int POLES_SPRINT = 1;
+    private static final int COMPARADAS = 2;
+    private static final int GANADAS = 3;
+
+    /** Resultados de carrera que cuentan para las posiciones ganadas: terminados con salida conocida */
+    private static final String RESULTADO_COMPARABLE =
+            "r.posicion_salida IS NOT NULL AND r.posicion_final IS NOT NULL AND (r.retirado IS NULL OR NOT r.retirado)";
+
+    /**
+     * Pilotos de una temporada con más poles.
+     *
+     * @param anio Año de la temporada
+     * @param limite Número máximo de pilotos
+     * @return Cifras con el piloto cargado, de más a menos poles
+     */
+    public List<ParrillaTemporada> findLideresPoles(Integer anio, int limite) {
+        return findLideres(anio, "p.poles", limite);
+    }
+
+    /**
+     * Pilotos de una temporada que más posiciones ganaron entre la salida y la meta.
+     *
+     * @param anio Año de la temporada
+     * @param limite Número máximo de pilotos
+     * @return Cifras con el piloto cargado, de más a menos posiciones ganadas
+     */
+    public List<ParrillaTemporada> findLideresPosicionesGanadas(Integer anio, int limite) {
+        return findLideres(anio, "p.posicionesGanadas", limite);
+    }
+
+    private List<ParrillaTemporada> findLideres(Integer anio, String orden, int limite) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ParrillaTemporada> query = em.createQuery(
+                    "SELECT p FROM ParrillaTemporada p " +
+                            "JOIN FETCH p.piloto " +
+                            "WHERE p.anio = :anio " +
+                            "ORDER BY " + orden + " DESC",
+                    ParrillaTemporada.class
+            );
+            query.setParameter("anio", anio);
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar cifras de parrilla de la temporada: " + anio, e);
+            throw new RuntimeException("Error al obtener cifras de parrilla", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Aplica la diferencia de puestos ganados entre los resultados de carrera anteriores y los nuevos.
+     * Solo cuentan los resultados terminados con puesto de salida conocido.
+     * Debe llamarse dentro de la transacción que escribe los resultados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param anio Año de la temporada
+     * @param anteriores Resultados que dejan de existir
+     * @param nuevos Resultados que se acaban de escribir
+     */
+    public void aplicarResultados(EntityManager em, int anio, List<Resultado> anteriores, List<Resultado> nuevos) {
+        Map<Long, int[]> deltas = new HashMap<>();
+        acumular(deltas, anteriores, -1);
+        acumular(deltas, nuevos, 1);
+        escribir(em, anio, deltas);
+    }
+
+    /**
+     * Mueve una pole de un piloto a otro tras reescribir una clasificación.
+     * Debe llamarse dentro de la transacción que escribe la clasificación.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param anio Año de la temporada
+     * @param anterior Piloto que tenía la pole (null si no había)
+     * @param nueva Piloto que la tiene ahora (null si ya no hay)
+     * @param sprint true si es la pole del sprint
+     */
+    public void cambiarPole(EntityManager em, int anio, Long anterior, Long nueva, boolean sprint) {
+        int columna = sprint ? POLES_SPRINT : POLES;
+        Map<Long, int[]> deltas = new HashMap<>();
+        if (anterior != null) {
+            deltas.computeIfAbsent(anterior, k -> new int[4])[columna]--;
+        }
+        if (nueva != null) {
+            deltas.computeIfAbsent(nueva, k -> new int[4])[columna]++;
+        }
+        escribir(em, anio, deltas);
+    }
+
+    private void acumular(Map<Long, int[]> deltas, List<Resultado> resultados, int signo) {
+        for (Resultado r : resultados) {
+            if (r.getPosicionSalida() == null || r.getPosicionFinal() == null
+                    || Boolean.TRUE.equals(r.getRetirado())) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(r.getPiloto().getId(), k -> new int[4]);
+            delta[COMPARADAS] += signo;
+            delta[GANADAS] += signo * (r.getPosicionSalida() - r.getPosicionFinal());
+        }
+    }
+
+    private void escribir(EntityManager em, int anio, Map<Long, int[]> deltas) {
+        deltas.values().removeIf(d -> d[POLES] == 0 && d[POLES_SPRINT] == 0 && d[COMPARADAS] == 0 && d[GANADAS] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO parrilla_temporada
+                (piloto_id, anio, poles, poles_sprint, carreras_comparadas, posiciones_ganadas)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                poles = poles + VALUES(poles),
+                poles_sprint = poles_sprint + VALUES(poles_sprint),
+                carreras_comparadas = carreras_comparadas + VALUES(carreras_comparadas),
+                posiciones_ganadas = posiciones_ganadas + VALUES(posiciones_ganadas)
+        """;
+
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Long, int[]> entrada : deltas.entrySet()) {
+                    int[] d = entrada.getValue();
+                    stmt.setLong(1, entrada.getKey());
+                    stmt.setInt(2, anio);
+                    stmt.setInt(3, d[POLES]);
+                    stmt.setInt(4, d[POLES_SPRINT]);
+                    stmt.setInt(5, d[COMPARADAS]);
+                    stmt.setInt(6, d[GANADAS]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        });
+        logger.debug("Cifras de parrilla de {} actualizadas para {} pilotos", anio, deltas.size());
+    }
+
+    /**
+     * Comprueba que las cifras de parrilla cuadran con los datos guardados: tantas carreras
+     * comparadas y posiciones ganadas como resultados terminados con salida conocida, y tantas
+     * poles como clasificaciones o shootouts con alguna etapa escrita. No cuadran si la tabla
+     * nunca se llenó o se escribieron resultados sin mantenerla.
+     *
+     * @return true si las cifras están al día
+     */
+    public boolean estaSincronizada() {
+        String sql = """
+            SELECT (SELECT COUNT(*) FROM resultado r WHERE %1$s)
+                     = (SELECT COALESCE(SUM(carreras_comparadas), 0) FROM parrilla_temporada)
+               AND (SELECT COALESCE(SUM(r.posicion_salida - r.posicion_final), 0) FROM resultado r WHERE %1$s)
+                     = (SELECT COALESCE(SUM(posiciones_ganadas), 0) FROM parrilla_temporada)
+               AND (SELECT COUNT(DISTINCT rs.carrera_id, %2$s) FROM resultado_sesion rs WHERE rs.tipo IN (%3$s))
+                     = (SELECT COALESCE(SUM(poles + poles_sprint), 0) FROM parrilla_temporada)
+        """.formatted(RESULTADO_COMPARABLE, tiposSesion(true), tiposSesion(null));
+
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getBoolean(1);
+
+        } catch (Exception e) {
+            logger.error("Error al comprobar las cifras de parrilla", e);
+            throw new RuntimeException("Error al comprobar las cifras de parrilla", e);
+        }
+    }
+
+    /**
+     * Reconstruye las cifras de parrilla de todas las temporadas a partir de los datos guardados:
+     * posiciones ganadas de resultado.posicion_salida y posicion_final, y poles de la clasificación
+     * por etapas (el mejor puesto de la última etapa disputada, como en la parrilla de salida).
+     * Útil para poblar la tabla con los datos anteriores al mantenimiento incremental.
+     * Pone las cifras a cero y las vuelve a escribir en una sola transacción.
+     *
+     * @return Número de filas insertadas o actualizadas
+     */
+    public int reconstruirTodas() {
+        String reiniciar = """
+            UPDATE parrilla_temporada
+            SET poles = 0, poles_sprint = 0, carreras_comparadas = 0, posiciones_ganadas = 0
+        """;
+        String sql = """
+            INSERT INTO parrilla_temporada
+                (piloto_id, anio, poles, poles_sprint, carreras_comparadas, posiciones_ganadas)
+            SELECT x.piloto_id, x.anio, SUM(x.poles), SUM(x.poles_sprint), SUM(x.comparadas), SUM(x.ganadas)
+            FROM (
+                SELECT r.piloto_id, t.anio, 0 AS poles, 0 AS poles_sprint, 1 AS comparadas,
+                       r.posicion_salida - r.posicion_final AS ganadas
+                FROM resultado r
+                JOIN carrera c ON r.carrera_id = c.id
+                JOIN temporada t ON c.temporada_id = t.id
+                WHERE %4$s
+                UNION ALL
+                SELECT q.piloto_id, q.anio, 1 - q.sprint, q.sprint, 0, 0
+                FROM (
+                    SELECT rs.piloto_id, t.anio, %1$s AS sprint,
+                           ROW_NUMBER() OVER (PARTITION BY rs.carrera_id, %1$s
+                                              ORDER BY %2$s DESC, rs.posicion IS NULL, rs.posicion) AS puesto
+                    FROM resultado_sesion rs
+                    JOIN carrera c ON rs.carrera_id = c.id
+                    JOIN temporada t ON c.temporada_id = t.id
+                    WHERE rs.tipo IN (%3$s)
+                ) q
+                WHERE q.puesto = 1
+            ) x
+            GROUP BY x.piloto_id, x.anio
+            ON DUPLICATE KEY UPDATE
+                poles = VALUES(poles),
+                poles_sprint = VALUES(poles_sprint),
+                carreras_comparadas = VALUES(carreras_comparadas),
+                posiciones_ganadas = VALUES(posiciones_ganadas)
+        """.formatted(tiposSesion(true), etapaSesion(), tiposSesion(null), RESULTADO_COMPARABLE);
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            int filas;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(reiniciar);
+                filas = stmt.executeUpdate(sql);
+                conn.commit();
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            logger.info("Cifras de parrilla reconstruidas ({} filas afectadas)", filas);
+            return filas;
+
+        } catch (Exception e) {
+            logger.error("Error al reconstruir cifras de parrilla", e);
+            throw new RuntimeException("Error al reconstruir cifras de parrilla", e);
+        }
+    }
+
+    /**
+     * @param sprint true para el shootout, false para la clasificación, null para ambas
+     * @return Condición SQL sobre rs.tipo para las etapas de clasificación
+     */
+    private static String tiposSesion(Boolean sprint) {
+        StringJoiner tipos = new StringJoiner(", ");
+        for (TipoSesion tipo : TipoSesion.values()) {
+            if (tipo.isClasificacion() && (sprint == null || tipo.isSprint() == sprint)) {
+                tipos.add("'" + tipo.name() + "'");
+            }
+        }
+        return sprint == null ? tipos.toString() : "rs.tipo IN (" + tipos + ")";
+    }
+
+    /**
+     * @return Expresión SQL con la etapa de rs.tipo
+     */
+    private static String etapaSesion() {
+        StringBuilder caso = new StringBuilder("CASE rs.tipo");
+        for (TipoSesion tipo : TipoSesion.values()) {
+            caso.append(" WHEN '").append(tipo.name()).append("' THEN ").append(tipo.getEtapa());
+        }
+        return caso.append(" END").toString();
+    }
+}
@@ -1,5 +1,8 @@
 package co.com.dao;
 
+import co.com.cache.EntidadesExistentes;
+import co.com.dto.Sugerencia;
+import co.com.event.EventosNombres;
 import co.com.model.Piloto;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
@@ -7,7 +10,10 @@ import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -71,6 +77,36 @@ public class PilotoDAO {
         }
     }
 
+    /**
+     * Busca varios pilotos por ID en una sola consulta, con su constructor cargado.
+     *
+     * @param ids IDs de los pilotos
+     * @return Pilotos encontrados por ID (los IDs inexistentes se omiten)
+     */
+    public Map<Long, Piloto> findByIds(Collection<Long> ids) {
+        Map<Long, Piloto> pilotos = new HashMap<>();
+        if (ids.isEmpty()) {
+            return pilotos;
+        }
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Piloto> query = em.createQuery(
+                    "SELECT p FROM Piloto p LEFT JOIN FETCH p.constructor WHERE p.id IN :ids",
+                    Piloto.class
+            );
+            query.setParameter("ids", ids);
+            for (Piloto piloto : query.getResultList()) {
+                pilotos.put(piloto.getId(), piloto);
+            }
+            return pilotos;
+        } catch (Exception e) {
+            logger.error("Error al buscar pilotos por IDs", e);
+            throw new RuntimeException("Error al buscar pilotos", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
     /**
      * Busca un piloto por nombre (búsqueda parcial, case-insensitive).
      *
@@ -186,6 +222,7 @@ public class PilotoDAO {
             em.getTransaction().begin();
             em.persist(piloto);
             em.getTransaction().commit();
+            EventosNombres.publicar(Sugerencia.Tipo.PILOTO, piloto.getId(), piloto.getNombre());
             logger.info("Piloto guardado exitosamente: {} (ID: {})", piloto.getNombre(), piloto.getId());
             return piloto;
         } catch (Exception e) {
@@ -211,6 +248,7 @@ public class PilotoDAO {
             em.getTransaction().begin();
             Piloto updated = em.merge(piloto);
             em.getTransaction().commit();
+            EventosNombres.publicar(Sugerencia.Tipo.PILOTO, updated.getId(), updated.getNombre());
             logger.info("Piloto actualizado exitosamente: {} (ID: {})", updated.getNombre(), updated.getId());
             return updated;
         } catch (Exception e) {
@@ -238,6 +276,8 @@ public class PilotoDAO {
             if (piloto != null) {
                 em.remove(piloto);
                 em.getTransaction().commit();
+                EntidadesExistentes.pilotoEliminado(id);
+                EventosNombres.publicar(Sugerencia.Tipo.PILOTO, id, null);
                 logger.info("Piloto eliminado: {} (ID: {})", piloto.getNombre(), id);
                 return true;
             } else {
@@ -276,4 +316,27 @@ public class PilotoDAO {
             JPAUtil.close(em);
         }
     }
+
+    /**
+     * Comprueba si existe un piloto sin cargarlo.
+     *
+     * @param id ID del piloto
+     * @return true si existe
+     */
+    public boolean existe(Long id) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Long> query = em.createQuery(
+                    "SELECT COUNT(p) FROM Piloto p WHERE p.id = :id",
+                    Long.class
+            );
+            query.setParameter("id", id);
+            return query.getSingleResult() > 0;
+        } catch (Exception e) {
+            logger.error("Error al comprobar piloto con ID: " + id, e);
+            throw new RuntimeException("Error al comprobar piloto", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
 }
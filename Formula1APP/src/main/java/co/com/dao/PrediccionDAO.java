@@ -0,0 +1,175 @@
+package co.com.dao;
+
+import co.com.model.PrediccionPodio;
+import co.com.prediccion.LotePredicciones;
+import co.com.prediccion.TramoPredicciones;
+import co.com.util.JDBCUtil;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * DAO de predicciones de podio.
+ * Los envíos y las puntuaciones van por lotes JDBC; solo la consulta individual usa JPA.
+ */
+public class PrediccionDAO {
+    private static final Logger logger = LoggerFactory.getLogger(PrediccionDAO.class);
+
+    /**
+     * Obtiene la predicción de un usuario para una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @param usuario Usuario
+     * @return Optional con la predicción, con los tres pilotos cargados
+     */
+    public Optional<PrediccionPodio> findByCarreraUsuario(Long carreraId, String usuario) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return Optional.of(em.createQuery(
+                            "SELECT p FROM PrediccionPodio p " +
+                                    "JOIN FETCH p.primero JOIN FETCH p.segundo JOIN FETCH p.tercero " +
+                                    "WHERE p.carrera.id = :carreraId AND p.usuario = :usuario",
+                            PrediccionPodio.class)
+                    .setParameter("carreraId", carreraId)
+                    .setParameter("usuario", usuario)
+                    .getSingleResult());
+        } catch (NoResultException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            logger.error("Error al buscar predicción de " + usuario + " para la carrera " + carreraId, e);
+            throw new RuntimeException("Error al obtener predicción", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Escribe un lote de envíos ya deduplicado en una transacción.
+     * Un envío de un usuario que ya tenía predicción para la carrera la sustituye y borra sus puntos.
+     *
+     * @param lote Lote con un solo envío por usuario y carrera
+     */
+    public void insertarLote(LotePredicciones lote) {
+        String sql = """
+            INSERT INTO prediccion_podio (carrera_id, usuario, primero_id, segundo_id, tercero_id, enviada)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                primero_id = VALUES(primero_id),
+                segundo_id = VALUES(segundo_id),
+                tercero_id = VALUES(tercero_id),
+                enviada = VALUES(enviada),
+                puntos = NULL
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < lote.getTamano(); i++) {
+                    stmt.setLong(1, lote.getCarreraId(i));
+                    stmt.setString(2, lote.getUsuario(i));
+                    stmt.setLong(3, lote.getPrimeroId(i));
+                    stmt.setLong(4, lote.getSegundoId(i));
+                    stmt.setLong(5, lote.getTerceroId(i));
+                    stmt.setTimestamp(6, new Timestamp(lote.getEnviada(i)));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            logger.debug("Lote de {} predicciones escrito", lote.getTamano());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error al escribir lote de predicciones", e);
+        }
+    }
+
+    /**
+     * Lee el siguiente tramo de predicciones de una carrera en orden de ID.
+     *
+     * @param carreraId ID de la carrera
+     * @param despuesDe Último ID ya leído (0 para empezar)
+     * @param tramo Tramo a llenar (se vacía antes)
+     * @return Número de predicciones leídas; 0 cuando no quedan
+     */
+    public int leerTramo(long carreraId, long despuesDe, TramoPredicciones tramo) {
+        String sql = """
+            SELECT id, primero_id, segundo_id, tercero_id, puntos
+            FROM prediccion_podio
+            WHERE carrera_id = ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+        """;
+
+        tramo.limpiar();
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, carreraId);
+            stmt.setLong(2, despuesDe);
+            stmt.setInt(3, tramo.getCapacidad());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int anterior = rs.getInt(5);
+                    tramo.agregar(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            rs.wasNull() ? TramoPredicciones.SIN_PUNTUAR : anterior);
+                }
+            }
+            return tramo.getTamano();
+
+        } catch (Exception e) {
+            logger.error("Error al leer predicciones de la carrera " + carreraId, e);
+            throw new RuntimeException("Error al leer predicciones", e);
+        }
+    }
+
+    /**
+     * Escribe los puntos de un tramo puntuado. Las predicciones cuyos puntos no cambiaron no se escriben.
+     *
+     * @param tramo Tramo puntuado
+     * @return Número de predicciones escritas
+     */
+    public int actualizarPuntos(TramoPredicciones tramo) {
+        String sql = "UPDATE prediccion_podio SET puntos = ? WHERE id = ?";
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int escritas = 0;
+                for (int i = 0; i < tramo.getTamano(); i++) {
+                    if (tramo.cambio(i)) {
+                        stmt.setInt(1, tramo.getPuntos(i));
+                        stmt.setLong(2, tramo.getId(i));
+                        stmt.addBatch();
+                        escritas++;
+                    }
+                }
+                if (escritas > 0) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+                return escritas;
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error al escribir puntos de predicciones", e);
+            throw new RuntimeException("Error al escribir puntos de predicciones", e);
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package co.com.dao;
 
+import co.com.event.FilaResultado;
+import co.com.index.IndiceTextos;
 import co.com.model.Resultado;
+import co.com.timing.TiempoCarrera;
 import co.com.util.JPAUtil;
 import co.com.util.JDBCUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +27,8 @@ import java.util.Map;
 public class ResultadoDAO {
     private static final Logger logger = LoggerFactory.getLogger(ResultadoDAO.class);
 
+    private static final int TAMANO_RANGO_ASIGNACION = 5000;
+
     public List<Resultado> findByCarrera(Long carreraId) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
@@ -26,6 +36,7 @@ public class ResultadoDAO {
                     "SELECT r FROM Resultado r " +
                             "JOIN FETCH r.piloto p " +
                             "LEFT JOIN FETCH p.constructor " +
+                            "LEFT JOIN FETCH r.constructor " +
                             "WHERE r.carrera.id = :carreraId " +
                             "ORDER BY r.posicionFinal",
                     Resultado.class
@@ -40,24 +51,147 @@ public class ResultadoDAO {
         }
     }
 
-    public void save(Resultado resultado) {
+    /**
+     * Obtiene los resultados clasificados de una carrera ordenados por tiempo.
+     * El orden (vueltas perdidas, diferencia) sale del índice idx_resultado_carrera_tiempo
+     * en lugar de comparar los tiempos en texto. Los empates, como los pilotos doblados sin
+     * diferencia, se resuelven por la posición final para que el orden sea estable.
+     *
+     * @param carreraId ID de la carrera
+     * @return Resultados con tiempo interpretable, del ganador al último
+     */
+    public List<Resultado> findByCarreraOrdenTiempo(Long carreraId) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            em.getTransaction().begin();
-            em.persist(resultado);
-            em.getTransaction().commit();
-            logger.info("Resultado guardado");
+            TypedQuery<Resultado> query = em.createQuery(
+                    "SELECT r FROM Resultado r " +
+                            "JOIN FETCH r.piloto p " +
+                            "LEFT JOIN FETCH r.constructor " +
+                            "WHERE r.carrera.id = :carreraId " +
+                            "AND r.vueltasPerdidas >= 0 " +
+                            "ORDER BY r.vueltasPerdidas, r.diferenciaMs, r.posicionFinal",
+                    Resultado.class
+            );
+            query.setParameter("carreraId", carreraId);
+            return query.getResultList();
         } catch (Exception e) {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            logger.error("Error al guardar resultado", e);
-            throw new RuntimeException("Error al guardar resultado", e);
+            logger.error("Error al listar resultados por tiempo de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener resultados por tiempo", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene todos los resultados de una temporada en una sola consulta,
+     * con piloto y constructores ya cargados.
+     *
+     * @param anio Año de la temporada
+     * @return Resultados ordenados por GP y posición final
+     */
+    public List<Resultado> findByTemporada(Integer anio) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Resultado> query = em.createQuery(
+                    "SELECT r FROM Resultado r " +
+                            "JOIN FETCH r.carrera c " +
+                            "JOIN FETCH r.piloto p " +
+                            "LEFT JOIN FETCH p.constructor " +
+                            "LEFT JOIN FETCH r.constructor " +
+                            "WHERE c.temporada.anio = :anio " +
+                            "ORDER BY c.gpNumero, r.posicionFinal",
+                    Resultado.class
+            );
+            query.setParameter("anio", anio);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar resultados por temporada: " + anio, e);
+            throw new RuntimeException("Error al obtener resultados de la temporada", e);
         } finally {
             JPAUtil.close(em);
         }
     }
 
+    /**
+     * Busca los resultados de carrera cuyo motivo de retiro contiene las palabras indicadas,
+     * sin distinguir mayúsculas ni acentos. Los IDs salen del índice de texto {@link IndiceTextos};
+     * como los IDs crecen con el tiempo, se piden a la base de datos solo los más recientes.
+     *
+     * @param motivo Palabras del motivo (la última puede estar incompleta, p. ej. "hidraul")
+     * @param limite Número máximo de resultados
+     * @return Resultados con carrera, piloto y constructor cargados, del más reciente al más antiguo
+     */
+    public List<Resultado> findByMotivoRetiro(String motivo, int limite) {
+        long[] ids = IndiceTextos.getInstancia().buscarRetiros(motivo);
+        if (ids.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        List<Long> recientes = new ArrayList<>(Math.min(limite, ids.length));
+        for (int i = ids.length - 1; i >= 0 && recientes.size() < limite; i--) {
+            recientes.add(ids[i]);
+        }
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<Resultado> query = em.createQuery(
+                    "SELECT r FROM Resultado r " +
+                            "JOIN FETCH r.carrera c " +
+                            "JOIN FETCH r.piloto p " +
+                            "LEFT JOIN FETCH r.constructor " +
+                            "WHERE r.id IN :ids " +
+                            "ORDER BY c.fecha DESC, r.posicionFinal",
+                    Resultado.class
+            );
+            query.setParameter("ids", recientes);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al buscar resultados por motivo de retiro: " + motivo, e);
+            throw new RuntimeException("Error al buscar resultados por motivo de retiro", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Reescribe posición, puntos y columnas de tiempo de resultados ya guardados con una sentencia
+     * JDBC por lotes sobre la conexión de la transacción en curso. Solo deben pasarse las filas
+     * que cambiaron, para no tocar el resto de la clasificación.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param resultados Resultados con ID asignado
+     */
+    public void actualizarClasificacion(EntityManager em, List<Resultado> resultados) {
+        if (resultados.isEmpty()) {
+            return;
+        }
+        String sql = """
+            UPDATE resultado
+            SET posicion_final = ?, puntos_obtenidos = ?, tiempo = ?, tiempo_ms = ?, diferencia_ms = ?,
+                retirado = ?, motivo_retiro = ?, vuelta_rapida = ?
+            WHERE id = ?
+        """;
+
+        em.flush();
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Resultado r : resultados) {
+                    stmt.setObject(1, r.getPosicionFinal(), Types.INTEGER);
+                    stmt.setBigDecimal(2, r.getPuntosObtenidos());
+                    stmt.setString(3, r.getTiempo());
+                    stmt.setObject(4, r.getTiempoMs(), Types.BIGINT);
+                    stmt.setObject(5, r.getDiferenciaMs(), Types.BIGINT);
+                    stmt.setBoolean(6, Boolean.TRUE.equals(r.getRetirado()));
+                    stmt.setString(7, r.getMotivoRetiro());
+                    stmt.setBoolean(8, Boolean.TRUE.equals(r.getVueltaRapida()));
+                    stmt.setLong(9, r.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        });
+        logger.debug("Reescritos {} resultados por lotes", resultados.size());
+    }
+
     // Usando JDBC para consultas optimizadas de clasificación
     public List<Map<String, Object>> getClasificacionPilotos(Integer anio) {
         String sql = """
@@ -141,47 +275,52 @@ public class ResultadoDAO {
         }
     }
 
+    /**
+     * Clasificación de constructores a partir del constructor guardado en cada resultado.
+     * Agrega primero sobre las tablas de resultados (cubiertas por sus índices) y solo
+     * después une con la tabla de constructores.
+     */
     public List<Map<String, Object>> getClasificacionConstructores(Integer anio) {
         String sql = """
-            SELECT 
-                combined.id,
-                combined.nombre,
-                combined.nacionalidad,
-                SUM(combined.puntos) AS total_puntos,
-                SUM(combined.victorias) AS victorias,
-                SUM(combined.podios) AS podios
+            SELECT
+                con.id,
+                con.nombre,
+                con.nacionalidad,
+                agregado.total_puntos,
+                agregado.victorias,
+                agregado.podios
             FROM (
-                SELECT 
-                    con.id,
-                    con.nombre,
-                    con.nacionalidad,
-                    r.puntos_obtenidos AS puntos,
-                    CASE WHEN r.posicion_final = 1 THEN 1 ELSE 0 END AS victorias,
-                    CASE WHEN r.posicion_final <= 3 THEN 1 ELSE 0 END AS podios
-                FROM constructor con 
-                JOIN piloto p ON p.constructor_id = con.id 
-                JOIN resultado r ON r.piloto_id = p.id 
-                JOIN carrera c ON r.carrera_id = c.id 
-                JOIN temporada t ON c.temporada_id = t.id 
-                WHERE t.anio = ?
-                UNION ALL
-                SELECT 
-                    con.id,
-                    con.nombre,
-                    con.nacionalidad,
-                    rs.puntos_obtenidos AS puntos,
-                    0 AS victorias,
-                    0 AS podios
-                FROM constructor con 
-                JOIN piloto p ON p.constructor_id = con.id 
-                JOIN resultado_sprint rs ON rs.piloto_id = p.id 
-                JOIN carrera c ON rs.carrera_id = c.id 
-                JOIN temporada t ON c.temporada_id = t.id 
-                WHERE t.anio = ?
-            ) AS combined 
-            GROUP BY combined.id, combined.nombre, combined.nacionalidad
-            HAVING total_puntos > 0
-            ORDER BY total_puntos DESC, victorias DESC, podios DESC
+                SELECT
+                    combined.constructor_id,
+                    SUM(combined.puntos) AS total_puntos,
+                    SUM(combined.victorias) AS victorias,
+                    SUM(combined.podios) AS podios
+                FROM (
+                    SELECT
+                        r.constructor_id,
+                        r.puntos_obtenidos AS puntos,
+                        CASE WHEN r.posicion_final = 1 THEN 1 ELSE 0 END AS victorias,
+                        CASE WHEN r.posicion_final <= 3 THEN 1 ELSE 0 END AS podios
+                    FROM resultado r
+                    JOIN carrera c ON r.carrera_id = c.id
+                    JOIN temporada t ON c.temporada_id = t.id
+                    WHERE t.anio = ?
+                    UNION ALL
+                    SELECT
+                        rs.constructor_id,
+                        rs.puntos_obtenidos AS puntos,
+                        0 AS victorias,
+                        0 AS podios
+                    FROM resultado_sprint rs
+                    JOIN carrera c ON rs.carrera_id = c.id
+                    JOIN temporada t ON c.temporada_id = t.id
+                    WHERE t.anio = ?
+                ) AS combined
+                GROUP BY combined.constructor_id
+            ) AS agregado
+            JOIN constructor con ON con.id = agregado.constructor_id
+            WHERE agregado.total_puntos > 0
+            ORDER BY agregado.total_puntos DESC, agregado.victorias DESC, agregado.podios DESC
         """;
 
         List<Map<String, Object>> clasificacion = new ArrayList<>();
@@ -214,4 +353,335 @@ public class ResultadoDAO {
             throw new RuntimeException("Error al obtener clasificación de constructores", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Lee todos los resultados de carrera de todas las temporadas como filas planas,
+     * ordenadas cronológicamente. Se usa para construir índices en memoria.
+     *
+     * @return Lista de filas de resultado
+     */
+    public List<FilaResultado> findFilasHistoricas() {
+        return leerFilas(null, false);
+    }
+
+    /**
+     * Lee los resultados de carrera de una temporada como filas planas, ordenadas cronológicamente.
+     *
+     * @param anio Año de la temporada
+     * @return Lista de filas de resultado
+     */
+    public List<FilaResultado> findFilasByTemporada(int anio) {
+        return leerFilas(anio, false);
+    }
+
+    /**
+     * Lee los resultados de sprint de una temporada como filas planas, ordenadas cronológicamente.
+     * Los sprints no registran vuelta rápida.
+     *
+     * @param anio Año de la temporada
+     * @return Lista de filas de resultado de sprint
+     */
+    public List<FilaResultado> findFilasSprintByTemporada(int anio) {
+        return leerFilas(anio, true);
+    }
+
+    private List<FilaResultado> leerFilas(Integer anio, boolean sprint) {
+        String sql = """
+            SELECT r.id, r.carrera_id, r.piloto_id, p.nombre, r.constructor_id,
+                   t.anio, c.fecha, r.posicion_final, r.puntos_obtenidos, r.retirado, r.motivo_retiro,
+                   %s AS vuelta_rapida
+            FROM %s r
+            JOIN carrera c ON r.carrera_id = c.id
+            JOIN temporada t ON c.temporada_id = t.id
+            JOIN piloto p ON r.piloto_id = p.id
+            %s
+            ORDER BY c.fecha, c.id
+        """.formatted(sprint ? "FALSE" : "r.vuelta_rapida",
+                sprint ? "resultado_sprint" : "resultado",
+                anio != null ? "WHERE t.anio = ?" : "");
+
+        List<FilaResultado> filas = new ArrayList<>();
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (anio != null) {
+                stmt.setInt(1, anio);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long constructor = rs.getLong("constructor_id");
+                    Long constructorId = rs.wasNull() ? null : constructor;
+                    int posicion = rs.getInt("posicion_final");
+                    Integer posicionFinal = rs.wasNull() ? null : posicion;
+                    Date fecha = rs.getDate("fecha");
+
+                    filas.add(new FilaResultado(
+                            rs.getLong("id"),
+                            rs.getLong("carrera_id"),
+                            rs.getLong("piloto_id"),
+                            rs.getString("nombre"),
+                            constructorId,
+                            rs.getInt("anio"),
+                            fecha != null ? fecha.toLocalDate() : null,
+                            posicionFinal,
+                            rs.getBigDecimal("puntos_obtenidos"),
+                            rs.getBoolean("retirado"),
+                            rs.getString("motivo_retiro"),
+                            rs.getBoolean("vuelta_rapida")
+                    ));
+                }
+            }
+
+            logger.info("Filas de resultados{} leídas{}: {}",
+                    sprint ? " de sprint" : "", anio != null ? " de " + anio : "", filas.size());
+            return filas;
+
+        } catch (Exception e) {
+            logger.error("Error al leer filas de resultados", e);
+            throw new RuntimeException("Error al leer filas de resultados", e);
+        }
+    }
+
+    /**
+     * Obtiene los puntos de sprint de cada piloto agrupados por temporada.
+     *
+     * @return Lista de mapas con: pilotoId, nombre, anio, puntos
+     */
+    public List<Map<String, Object>> getPuntosSprintPorTemporada() {
+        return leerPuntosSprint(null);
+    }
+
+    /**
+     * Obtiene los puntos de sprint de cada piloto en una temporada.
+     *
+     * @param anio Año de la temporada
+     * @return Lista de mapas con: pilotoId, nombre, anio, puntos
+     */
+    public List<Map<String, Object>> getPuntosSprintByTemporada(int anio) {
+        return leerPuntosSprint(anio);
+    }
+
+    private List<Map<String, Object>> leerPuntosSprint(Integer anio) {
+        String sql = """
+            SELECT rs.piloto_id, p.nombre, t.anio, SUM(rs.puntos_obtenidos) AS puntos
+            FROM resultado_sprint rs
+            JOIN carrera c ON rs.carrera_id = c.id
+            JOIN temporada t ON c.temporada_id = t.id
+            JOIN piloto p ON rs.piloto_id = p.id
+            %s
+            GROUP BY rs.piloto_id, p.nombre, t.anio
+        """.formatted(anio != null ? "WHERE t.anio = ?" : "");
+
+        List<Map<String, Object>> filas = new ArrayList<>();
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (anio != null) {
+                stmt.setInt(1, anio);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> fila = new HashMap<>();
+                    fila.put("pilotoId", rs.getLong("piloto_id"));
+                    fila.put("nombre", rs.getString("nombre"));
+                    fila.put("anio", rs.getInt("anio"));
+                    fila.put("puntos", rs.getBigDecimal("puntos"));
+                    filas.add(fila);
+                }
+            }
+            return filas;
+
+        } catch (Exception e) {
+            logger.error("Error al obtener puntos de sprint por temporada", e);
+            throw new RuntimeException("Error al obtener puntos de sprint", e);
+        }
+    }
+
+    /**
+     * Completa el constructor de los resultados y sprints que no lo tienen, tomando
+     * la etapa del piloto vigente en la fecha de la carrera o, si no hay, su constructor actual.
+     * Solo lee las filas pendientes, por tramos, con el índice de constructor_id,
+     * así que sin pendientes es una única lectura vacía del índice y no recorre la tabla.
+     * Cada UPDATE cubre un tramo para bloquear pocas filas; las filas ya asignadas no se tocan.
+     *
+     * @return Número de filas actualizadas
+     */
+    public int asignarConstructoresPendientes() {
+        try (Connection conn = JDBCUtil.getConnection()) {
+            int actualizadas = asignarConstructoresPendientes(conn, "resultado")
+                    + asignarConstructoresPendientes(conn, "resultado_sprint");
+            if (actualizadas > 0) {
+                logger.info("Constructores asignados a {} resultados sin constructor", actualizadas);
+            }
+            return actualizadas;
+        } catch (Exception e) {
+            logger.error("Error al asignar constructores a resultados", e);
+            throw new RuntimeException("Error al asignar constructores a resultados", e);
+        }
+    }
+
+    private int asignarConstructoresPendientes(Connection conn, String tabla) throws SQLException {
+        String pendientes = """
+            SELECT id FROM %s
+            WHERE constructor_id IS NULL AND id > ?
+            ORDER BY id
+            LIMIT %d
+        """.formatted(tabla, TAMANO_RANGO_ASIGNACION);
+        String update = """
+            UPDATE %s x
+            JOIN carrera c ON x.carrera_id = c.id
+            JOIN piloto p ON x.piloto_id = p.id
+            LEFT JOIN etapa_piloto e ON e.piloto_id = x.piloto_id
+                AND c.fecha >= e.fecha_inicio
+                AND (e.fecha_fin IS NULL OR c.fecha <= e.fecha_fin)
+            SET x.constructor_id = COALESCE(e.constructor_id, p.constructor_id)
+            WHERE x.constructor_id IS NULL
+              AND x.id BETWEEN ? AND ?
+              AND COALESCE(e.constructor_id, p.constructor_id) IS NOT NULL
+        """.formatted(tabla);
+
+        int leidas = 0;
+        int actualizadas = 0;
+        long ultimo = 0;
+        try (PreparedStatement lectura = conn.prepareStatement(pendientes);
+             PreparedStatement escritura = conn.prepareStatement(update)) {
+            while (true) {
+                lectura.setLong(1, ultimo);
+                long primero = -1;
+                int n = 0;
+                try (ResultSet rs = lectura.executeQuery()) {
+                    while (rs.next()) {
+                        if (primero < 0) {
+                            primero = rs.getLong(1);
+                        }
+                        ultimo = rs.getLong(1);
+                        n++;
+                    }
+                }
+                if (n == 0) {
+                    break;
+                }
+                escritura.setLong(1, primero);
+                escritura.setLong(2, ultimo);
+                actualizadas += escritura.executeUpdate();
+                leidas += n;
+                if (n < TAMANO_RANGO_ASIGNACION) {
+                    break;
+                }
+            }
+        }
+        if (leidas > actualizadas) {
+            // Sin etapa en la fecha ni constructor actual: se vuelven a leer en el próximo arranque
+            logger.warn("Tabla {}: {} filas siguen sin constructor", tabla, leidas - actualizadas);
+        }
+        logger.debug("Tabla {}: {} filas con constructor asignado", tabla, actualizadas);
+        return actualizadas;
+    }
+
+    /**
+     * Interpreta el tiempo en texto de los resultados y de los sprints que aún no tienen
+     * columnas numéricas. El texto se analiza en Java por rangos de ID y se escribe con
+     * UPDATE por lotes; después dos UPDATE por carrera completan el tiempo total de quienes
+     * solo tienen diferencia y la diferencia de quienes solo tienen tiempo total.
+     * Los textos que no son un tiempo se marcan con {@link TiempoCarrera#VUELTAS_NO_INTERPRETABLE}
+     * para que dejen de estar pendientes; si no queda nada pendiente no se escribe nada.
+     *
+     * @return Número de filas escritas, interpretadas o marcadas como no interpretables
+     */
+    public int asignarTiemposPendientes() {
+        try (Connection conn = JDBCUtil.getConnection()) {
+            int actualizadas = asignarTiemposPendientes(conn, "resultado")
+                    + asignarTiemposPendientes(conn, "resultado_sprint");
+            logger.info("Tiempos escritos en {} resultados", actualizadas);
+            return actualizadas;
+        } catch (Exception e) {
+            logger.error("Error al interpretar tiempos de resultados", e);
+            throw new RuntimeException("Error al interpretar tiempos de resultados", e);
+        }
+    }
+
+    private int asignarTiemposPendientes(Connection conn, String tabla) throws SQLException {
+        String pendiente = "tiempo IS NOT NULL AND tiempo_ms IS NULL AND diferencia_ms IS NULL AND vueltas_perdidas IS NULL";
+        String rango = "SELECT MIN(id), MAX(id) FROM " + tabla + " WHERE " + pendiente;
+        String select = "SELECT id, tiempo FROM " + tabla + " WHERE id BETWEEN ? AND ? AND " + pendiente;
+        String update = "UPDATE " + tabla + " SET tiempo_ms = ?, diferencia_ms = ?, vueltas_perdidas = ? WHERE id = ?";
+        // Las tablas derivadas con GROUP BY se materializan, por eso MySQL admite leer la misma tabla
+        String totales = """
+            UPDATE %1$s x
+            JOIN (SELECT carrera_id, MIN(tiempo_ms) AS referencia
+                  FROM %1$s WHERE tiempo_ms IS NOT NULL GROUP BY carrera_id) g
+              ON g.carrera_id = x.carrera_id
+            SET x.tiempo_ms = g.referencia + x.diferencia_ms
+            WHERE x.tiempo_ms IS NULL AND x.diferencia_ms IS NOT NULL
+        """.formatted(tabla);
+        String diferencias = """
+            UPDATE %1$s x
+            JOIN (SELECT carrera_id, MIN(tiempo_ms) AS referencia
+                  FROM %1$s WHERE tiempo_ms IS NOT NULL GROUP BY carrera_id) g
+              ON g.carrera_id = x.carrera_id
+            SET x.diferencia_ms = x.tiempo_ms - g.referencia
+            WHERE x.diferencia_ms IS NULL AND x.tiempo_ms IS NOT NULL
+        """.formatted(tabla);
+
+        long desde;
+        long hasta;
+        try (PreparedStatement stmt = conn.prepareStatement(rango);
+             ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next() || rs.getObject(1) == null) {
+                return 0;
+            }
+            desde = rs.getLong(1);
+            hasta = rs.getLong(2);
+        }
+
+        int actualizadas = 0;
+        int noInterpretables = 0;
+        try (PreparedStatement lectura = conn.prepareStatement(select);
+             PreparedStatement escritura = conn.prepareStatement(update)) {
+            for (long inicio = desde; inicio <= hasta; inicio += TAMANO_RANGO_ASIGNACION) {
+                lectura.setLong(1, inicio);
+                lectura.setLong(2, Math.min(hasta, inicio + TAMANO_RANGO_ASIGNACION - 1));
+                int pendientes = 0;
+                try (ResultSet rs = lectura.executeQuery()) {
+                    while (rs.next()) {
+                        long codigo = TiempoCarrera.parsear(rs.getString(2));
+                        int tipo = TiempoCarrera.tipo(codigo);
+                        long valor = TiempoCarrera.valor(codigo);
+                        int vueltasPerdidas;
+                        if (tipo == TiempoCarrera.TIPO_INVALIDO) {
+                            // Se marca para no volver a leerlo en cada arranque
+                            vueltasPerdidas = TiempoCarrera.VUELTAS_NO_INTERPRETABLE;
+                            noInterpretables++;
+                        } else {
+                            vueltasPerdidas = tipo == TiempoCarrera.TIPO_VUELTAS ? (int) valor : 0;
+                            actualizadas++;
+                        }
+                        escritura.setObject(1, tipo == TiempoCarrera.TIPO_ABSOLUTO ? valor : null, Types.BIGINT);
+                        escritura.setObject(2, tipo == TiempoCarrera.TIPO_DIFERENCIA ? valor : null, Types.BIGINT);
+                        escritura.setInt(3, vueltasPerdidas);
+                        escritura.setLong(4, rs.getLong(1));
+                        escritura.addBatch();
+                        pendientes++;
+                    }
+                }
+                if (pendientes > 0) {
+                    escritura.executeBatch();
+                }
+            }
+        }
+
+        if (actualizadas > 0) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(totales);
+                stmt.executeUpdate(diferencias);
+            }
+        }
+        logger.debug("Tabla {}: {} filas con tiempo interpretado, {} sin tiempo interpretable",
+                tabla, actualizadas, noInterpretables);
+        return actualizadas + noInterpretables;
+    }
+}
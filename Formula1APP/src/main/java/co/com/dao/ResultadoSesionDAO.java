@@ -0,0 +1,166 @@
+package co.com.dao;
+
+import co.com.model.ResultadoSesion;
+import co.com.model.TipoSesion;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * DAO de resultados de entrenamientos libres y clasificación.
+ * Las asociaciones de {@link ResultadoSesion} son LAZY; cada consulta declara
+ * con JOIN FETCH exactamente lo que necesita quien la usa.
+ */
+public class ResultadoSesionDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ResultadoSesionDAO.class);
+
+    private static final int TAMANO_LOTE = 50;
+
+    /**
+     * Obtiene los resultados de una sesión con el piloto cargado.
+     *
+     * @param carreraId ID de la carrera
+     * @param tipo Sesión
+     * @return Resultados ordenados por posición; los que no marcaron tiempo al final
+     */
+    public List<ResultadoSesion> findByCarreraTipo(Long carreraId, TipoSesion tipo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ResultadoSesion> query = em.createQuery(
+                    "SELECT s FROM ResultadoSesion s " +
+                            "JOIN FETCH s.piloto " +
+                            "WHERE s.carrera.id = :carreraId AND s.tipo = :tipo " +
+                            "ORDER BY CASE WHEN s.posicion IS NULL THEN 1 ELSE 0 END, s.posicion",
+                    ResultadoSesion.class
+            );
+            query.setParameter("carreraId", carreraId);
+            query.setParameter("tipo", tipo);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar resultados de " + tipo + " de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener resultados de sesión", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene en una sola consulta los resultados de varias sesiones de una carrera,
+     * por ejemplo las tres etapas de la clasificación.
+     *
+     * @param carreraId ID de la carrera
+     * @param tipos Sesiones a leer
+     * @return Resultados con el piloto cargado, sin orden definido
+     */
+    public List<ResultadoSesion> findByCarreraTipos(Long carreraId, List<TipoSesion> tipos) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return findByCarreraTipos(em, carreraId, tipos);
+        } catch (Exception e) {
+            logger.error("Error al listar sesiones de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener resultados de sesión", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene los resultados de varias sesiones con el piloto cargado, dentro de una transacción existente.
+     * Quien escribe una etapa de clasificación lee así las demás con la misma conexión
+     * y después de bloquear la carrera.
+     *
+     * @param em EntityManager existente
+     * @param carreraId ID de la carrera
+     * @param tipos Sesiones a incluir
+     * @return Resultados de las sesiones, sin orden
+     */
+    public List<ResultadoSesion> findByCarreraTipos(EntityManager em, Long carreraId, List<TipoSesion> tipos) {
+        TypedQuery<ResultadoSesion> query = em.createQuery(
+                "SELECT s FROM ResultadoSesion s " +
+                        "JOIN FETCH s.piloto " +
+                        "WHERE s.carrera.id = :carreraId AND s.tipo IN :tipos",
+                ResultadoSesion.class
+        );
+        query.setParameter("carreraId", carreraId);
+        query.setParameter("tipos", tipos);
+        return query.getResultList();
+    }
+
+    /**
+     * Elimina con una sola sentencia los resultados de una sesión.
+     * Debe llamarse dentro de la transacción que escribe los nuevos resultados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carreraId ID de la carrera
+     * @param tipo Sesión
+     * @return Número de resultados eliminados
+     */
+    public int deleteByCarreraTipo(EntityManager em, Long carreraId, TipoSesion tipo) {
+        return em.createQuery("DELETE FROM ResultadoSesion s WHERE s.carrera.id = :carreraId AND s.tipo = :tipo")
+                .setParameter("carreraId", carreraId)
+                .setParameter("tipo", tipo)
+                .executeUpdate();
+    }
+
+    /**
+     * Inserta resultados de sesión con sentencias JDBC por lotes sobre la conexión
+     * de la transacción en curso y asigna a cada uno el ID generado.
+     * Carrera, piloto y constructor solo necesitan tener el ID asignado.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param resultados Resultados a insertar (no gestionados)
+     */
+    public void insertBatch(EntityManager em, List<ResultadoSesion> resultados) {
+        if (resultados.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO resultado_sesion
+                (carrera_id, tipo, piloto_id, constructor_id, posicion, mejor_vuelta_ms, vueltas)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        // Las escrituras JPA pendientes (p. ej. borrados) deben llegar antes que el lote
+        em.flush();
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int inicio = 0; inicio < resultados.size(); inicio += TAMANO_LOTE) {
+                    List<ResultadoSesion> lote = resultados.subList(inicio, Math.min(resultados.size(), inicio + TAMANO_LOTE));
+                    for (ResultadoSesion rs : lote) {
+                        stmt.setLong(1, rs.getCarrera().getId());
+                        stmt.setString(2, rs.getTipo().name());
+                        stmt.setLong(3, rs.getPiloto().getId());
+                        if (rs.getConstructor() != null) {
+                            stmt.setLong(4, rs.getConstructor().getId());
+                        } else {
+                            stmt.setNull(4, Types.BIGINT);
+                        }
+                        stmt.setObject(5, rs.getPosicion(), Types.INTEGER);
+                        stmt.setObject(6, rs.getMejorVueltaMs(), Types.INTEGER);
+                        stmt.setObject(7, rs.getVueltas(), Types.INTEGER);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    try (ResultSet claves = stmt.getGeneratedKeys()) {
+                        for (ResultadoSesion rs : lote) {
+                            if (claves.next()) {
+                                rs.setId(claves.getLong(1));
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        logger.debug("Insertados {} resultados de sesión por lotes", resultados.size());
+    }
+}
@@ -0,0 +1,158 @@
+package co.com.dao;
+
+import co.com.model.ResultadoSprint;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * DAO de resultados de sprint.
+ * Las asociaciones de {@link ResultadoSprint} son LAZY; cada consulta declara
+ * con JOIN FETCH exactamente lo que necesita quien la usa.
+ */
+public class ResultadoSprintDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ResultadoSprintDAO.class);
+
+    private static final int TAMANO_LOTE = 50;
+
+    /**
+     * Obtiene los resultados del sprint de una carrera, con piloto y constructores cargados.
+     *
+     * @param carreraId ID de la carrera
+     * @return Resultados ordenados por posición final
+     */
+    public List<ResultadoSprint> findByCarrera(Long carreraId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ResultadoSprint> query = em.createQuery(
+                    "SELECT rs FROM ResultadoSprint rs " +
+                            "JOIN FETCH rs.piloto p " +
+                            "LEFT JOIN FETCH p.constructor " +
+                            "LEFT JOIN FETCH rs.constructor " +
+                            "WHERE rs.carrera.id = :carreraId " +
+                            "ORDER BY rs.posicionFinal",
+                    ResultadoSprint.class
+            );
+            query.setParameter("carreraId", carreraId);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar resultados de sprint por carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener resultados de sprint", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene todos los resultados de sprint de una temporada en una sola consulta,
+     * con carrera, piloto y constructor ya cargados.
+     *
+     * @param anio Año de la temporada
+     * @return Resultados ordenados por GP y posición final
+     */
+    public List<ResultadoSprint> findByTemporada(Integer anio) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<ResultadoSprint> query = em.createQuery(
+                    "SELECT rs FROM ResultadoSprint rs " +
+                            "JOIN FETCH rs.carrera c " +
+                            "JOIN FETCH rs.piloto p " +
+                            "LEFT JOIN FETCH rs.constructor " +
+                            "WHERE c.temporada.anio = :anio " +
+                            "ORDER BY c.gpNumero, rs.posicionFinal",
+                    ResultadoSprint.class
+            );
+            query.setParameter("anio", anio);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar resultados de sprint por temporada: " + anio, e);
+            throw new RuntimeException("Error al obtener resultados de sprint de la temporada", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Elimina con una sola sentencia todos los resultados del sprint de una carrera.
+     * Debe llamarse dentro de la transacción que escribe los nuevos resultados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carreraId ID de la carrera
+     * @return Número de resultados eliminados
+     */
+    public int deleteByCarrera(EntityManager em, Long carreraId) {
+        return em.createQuery("DELETE FROM ResultadoSprint rs WHERE rs.carrera.id = :carreraId")
+                .setParameter("carreraId", carreraId)
+                .executeUpdate();
+    }
+
+    /**
+     * Inserta resultados de sprint con sentencias JDBC por lotes sobre la conexión
+     * de la transacción en curso y asigna a cada uno el ID generado.
+     * Con IDs IDENTITY Hibernate no agrupa los persist, así que el lote se arma aquí.
+     * Carrera, piloto y constructor solo necesitan tener el ID asignado.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param resultados Resultados a insertar (no gestionados)
+     */
+    public void insertBatch(EntityManager em, List<ResultadoSprint> resultados) {
+        if (resultados.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO resultado_sprint
+                (carrera_id, piloto_id, constructor_id, posicion_final, posicion_salida, puntos_obtenidos,
+                 vueltas, tiempo, tiempo_ms, diferencia_ms, vueltas_perdidas, retirado, motivo_retiro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        // Las escrituras JPA pendientes (p. ej. borrados) deben llegar antes que el lote
+        em.flush();
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int inicio = 0; inicio < resultados.size(); inicio += TAMANO_LOTE) {
+                    List<ResultadoSprint> lote = resultados.subList(inicio, Math.min(resultados.size(), inicio + TAMANO_LOTE));
+                    for (ResultadoSprint rs : lote) {
+                        stmt.setLong(1, rs.getCarrera().getId());
+                        stmt.setLong(2, rs.getPiloto().getId());
+                        if (rs.getConstructor() != null) {
+                            stmt.setLong(3, rs.getConstructor().getId());
+                        } else {
+                            stmt.setNull(3, Types.BIGINT);
+                        }
+                        stmt.setObject(4, rs.getPosicionFinal(), Types.INTEGER);
+                        stmt.setObject(5, rs.getPosicionSalida(), Types.INTEGER);
+                        stmt.setBigDecimal(6, rs.getPuntosObtenidos());
+                        stmt.setObject(7, rs.getVueltas(), Types.INTEGER);
+                        stmt.setString(8, rs.getTiempo());
+                        stmt.setObject(9, rs.getTiempoMs(), Types.BIGINT);
+                        stmt.setObject(10, rs.getDiferenciaMs(), Types.BIGINT);
+                        stmt.setObject(11, rs.getVueltasPerdidas(), Types.INTEGER);
+                        stmt.setBoolean(12, Boolean.TRUE.equals(rs.getRetirado()));
+                        stmt.setString(13, rs.getMotivoRetiro());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    try (ResultSet claves = stmt.getGeneratedKeys()) {
+                        for (ResultadoSprint rs : lote) {
+                            if (claves.next()) {
+                                rs.setId(claves.getLong(1));
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        logger.debug("Insertados {} resultados de sprint por lotes", resultados.size());
+    }
+}
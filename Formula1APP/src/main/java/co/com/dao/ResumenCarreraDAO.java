@@ -0,0 +1,229 @@
+package co.com.dao;
+
+import co.com.dto.CarreraCalendario;
+import co.com.model.Piloto;
+import co.com.model.Resultado;
+import co.com.model.ResumenCarrera;
+import co.com.util.JDBCUtil;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO del resumen materializado por carrera (podio, vuelta rápida y retiros).
+ */
+public class ResumenCarreraDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ResumenCarreraDAO.class);
+
+    /**
+     * Recalcula el resumen de una carrera a partir de su clasificación recién ingresada.
+     * Debe llamarse dentro de la transacción que escribe los resultados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carreraId ID de la carrera
+     * @param resultados Clasificación completa de la carrera
+     * @return Resumen actualizado
+     */
+    public ResumenCarrera actualizar(EntityManager em, Long carreraId, List<Resultado> resultados) {
+        ResumenCarrera resumen = em.find(ResumenCarrera.class, carreraId);
+        if (resumen == null) {
+            resumen = new ResumenCarrera(carreraId);
+            em.persist(resumen);
+        }
+
+        Piloto[] podio = new Piloto[3];
+        Piloto vueltaRapida = null;
+        int retiros = 0;
+
+        for (Resultado r : resultados) {
+            Integer posicion = r.getPosicionFinal();
+            if (posicion != null && posicion >= 1 && posicion <= 3) {
+                podio[posicion - 1] = r.getPiloto();
+            }
+            if (Boolean.TRUE.equals(r.getVueltaRapida())) {
+                vueltaRapida = r.getPiloto();
+            }
+            if (Boolean.TRUE.equals(r.getRetirado())) {
+                retiros++;
+            }
+        }
+
+        resumen.setGanador(podio[0]);
+        resumen.setSegundo(podio[1]);
+        resumen.setTercero(podio[2]);
+        resumen.setVueltaRapida(vueltaRapida);
+        resumen.setRetiros(retiros);
+        resumen.setClasificados(resultados.size());
+        resumen.setActualizado(LocalDateTime.now());
+
+        logger.debug("Resumen de carrera {} actualizado: {}", carreraId, resumen);
+        return resumen;
+    }
+
+    /**
+     * Elimina el resumen de una carrera cuyos resultados se han borrado.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carreraId ID de la carrera
+     */
+    public void eliminar(EntityManager em, Long carreraId) {
+        ResumenCarrera resumen = em.find(ResumenCarrera.class, carreraId);
+        if (resumen != null) {
+            em.remove(resumen);
+            logger.debug("Resumen de carrera {} eliminado", carreraId);
+        }
+    }
+
+    /**
+     * Obtiene el calendario de una temporada junto con el podio de cada carrera en una sola consulta.
+     *
+     * @param anio Año de la temporada
+     * @return Carreras ordenadas por número de GP
+     */
+    public List<CarreraCalendario> findCalendario(Integer anio) {
+        String sql = """
+            SELECT
+                c.id,
+                c.gp_numero,
+                c.nombre_gp,
+                c.fecha,
+                ci.nombre AS circuito,
+                g.nombre AS ganador,
+                s.nombre AS segundo,
+                te.nombre AS tercero,
+                vr.nombre AS vuelta_rapida,
+                rc.retiros
+            FROM carrera c
+            JOIN temporada t ON c.temporada_id = t.id
+            LEFT JOIN circuito ci ON c.circuito_id = ci.id
+            LEFT JOIN resumen_carrera rc ON rc.carrera_id = c.id
+            LEFT JOIN piloto g ON rc.ganador_id = g.id
+            LEFT JOIN piloto s ON rc.segundo_id = s.id
+            LEFT JOIN piloto te ON rc.tercero_id = te.id
+            LEFT JOIN piloto vr ON rc.vuelta_rapida_id = vr.id
+            WHERE t.anio = ?
+            ORDER BY c.gp_numero
+        """;
+
+        List<CarreraCalendario> calendario = new ArrayList<>();
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, anio);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    calendario.add(mapearCalendario(rs));
+                }
+            }
+
+            logger.info("Calendario con ganadores obtenido para {}: {} carreras", anio, calendario.size());
+            return calendario;
+
+        } catch (Exception e) {
+            logger.error("Error al obtener calendario con ganadores: " + anio, e);
+            throw new RuntimeException("Error al obtener calendario de la temporada", e);
+        }
+    }
+
+    /**
+     * Convierte la fila actual del calendario. Los retiros son null si la carrera aún no tiene resumen.
+     */
+    static CarreraCalendario mapearCalendario(ResultSet rs) throws SQLException {
+        Date fecha = rs.getDate("fecha");
+        return new CarreraCalendario(
+                rs.getLong("id"),
+                rs.getInt("gp_numero"),
+                rs.getString("nombre_gp"),
+                fecha != null ? fecha.toLocalDate() : null,
+                rs.getString("circuito"),
+                rs.getString("ganador"),
+                rs.getString("segundo"),
+                rs.getString("tercero"),
+                rs.getString("vuelta_rapida"),
+                rs.getObject("retiros", Integer.class)
+        );
+    }
+
+    /**
+     * Comprueba que hay un resumen por cada carrera con resultados y que entre todos cuentan
+     * tantos clasificados como resultados guardados. No cuadran si la tabla nunca se llenó
+     * o se escribieron resultados sin mantenerla.
+     *
+     * @return true si los resúmenes están al día
+     */
+    public boolean estaSincronizado() {
+        String sql = """
+            SELECT (SELECT COUNT(DISTINCT carrera_id) FROM resultado) = (SELECT COUNT(*) FROM resumen_carrera)
+               AND (SELECT COUNT(*) FROM resultado) = (SELECT COALESCE(SUM(clasificados), 0) FROM resumen_carrera)
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getBoolean(1);
+
+        } catch (Exception e) {
+            logger.error("Error al comprobar los resúmenes de carrera", e);
+            throw new RuntimeException("Error al comprobar los resúmenes de carrera", e);
+        }
+    }
+
+    /**
+     * Reconstruye los resúmenes de todas las carreras con resultados en una sola sentencia
+     * y descarta los de carreras que ya no tienen resultados.
+     * Útil para poblar el modelo de lectura con los datos históricos.
+     *
+     * @return Número de filas insertadas o actualizadas
+     */
+    public int reconstruirTodos() {
+        String sql = """
+            INSERT INTO resumen_carrera
+                (carrera_id, ganador_id, segundo_id, tercero_id, vuelta_rapida_id, retiros, clasificados, actualizado)
+            SELECT
+                r.carrera_id,
+                MAX(CASE WHEN r.posicion_final = 1 THEN r.piloto_id END),
+                MAX(CASE WHEN r.posicion_final = 2 THEN r.piloto_id END),
+                MAX(CASE WHEN r.posicion_final = 3 THEN r.piloto_id END),
+                MAX(CASE WHEN r.vuelta_rapida THEN r.piloto_id END),
+                SUM(CASE WHEN r.retirado THEN 1 ELSE 0 END),
+                COUNT(*),
+                NOW()
+            FROM resultado r
+            GROUP BY r.carrera_id
+            ON DUPLICATE KEY UPDATE
+                ganador_id = VALUES(ganador_id),
+                segundo_id = VALUES(segundo_id),
+                tercero_id = VALUES(tercero_id),
+                vuelta_rapida_id = VALUES(vuelta_rapida_id),
+                retiros = VALUES(retiros),
+                clasificados = VALUES(clasificados),
+                actualizado = VALUES(actualizado)
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            int filas = stmt.executeUpdate(sql);
+            filas += stmt.executeUpdate(
+                    "DELETE FROM resumen_carrera WHERE carrera_id NOT IN (SELECT carrera_id FROM resultado)");
+            logger.info("Resúmenes de carrera reconstruidos ({} filas afectadas)", filas);
+            return filas;
+
+        } catch (Exception e) {
+            logger.error("Error al reconstruir resúmenes de carrera", e);
+            throw new RuntimeException("Error al reconstruir resúmenes de carrera", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package co.com.dao;
+
+import co.com.util.JDBCUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * DAO de los sellos de las temporadas congeladas.
+ * El sello es el checksum del archivo de la temporada la primera vez que se construyó.
+ */
+public class SelloTemporadaDAO {
+    private static final Logger logger = LoggerFactory.getLogger(SelloTemporadaDAO.class);
+
+    /**
+     * Sella una temporada con el checksum dado si aún no tiene sello y devuelve el sello vigente.
+     * Si la temporada ya estaba sellada no se modifica, así que el valor devuelto es el de
+     * la primera construcción y puede no coincidir con el recibido.
+     *
+     * @param anio Año de la temporada
+     * @param checksum Checksum del archivo recién construido
+     * @return Checksum guardado para la temporada
+     */
+    public String sellar(int anio, String checksum) {
+        String insertar = "INSERT IGNORE INTO sello_temporada (anio, checksum, fecha_sellado) VALUES (?, ?, NOW())";
+        String leer = "SELECT checksum FROM sello_temporada WHERE anio = ?";
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmtInsertar = conn.prepareStatement(insertar);
+                 PreparedStatement stmtLeer = conn.prepareStatement(leer)) {
+                stmtInsertar.setInt(1, anio);
+                stmtInsertar.setString(2, checksum);
+                if (stmtInsertar.executeUpdate() > 0) {
+                    logger.info("Temporada {} sellada con checksum {}", anio, checksum);
+                }
+
+                stmtLeer.setInt(1, anio);
+                String sello;
+                try (ResultSet rs = stmtLeer.executeQuery()) {
+                    rs.next();
+                    sello = rs.getString(1);
+                }
+                conn.commit();
+                return sello;
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error al sellar la temporada " + anio, e);
+            throw new RuntimeException("Error al sellar la temporada", e);
+        }
+    }
+
+    /**
+     * Elimina todos los sellos, para que cada temporada se vuelva a sellar en su próxima construcción.
+     * Solo debe usarse cuando un cambio legítimo ha tocado datos de temporadas congeladas.
+     *
+     * @return Número de sellos eliminados
+     */
+    public int eliminarTodos() {
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement()) {
+            return stmt.executeUpdate("DELETE FROM sello_temporada");
+        } catch (Exception e) {
+            logger.error("Error al eliminar los sellos de temporada", e);
+            throw new RuntimeException("Error al eliminar los sellos de temporada", e);
+        }
+    }
+}
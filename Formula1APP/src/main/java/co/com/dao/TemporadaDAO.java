@@ -1,13 +1,22 @@
 package co.com.dao;
 
+import co.com.dto.ResumenTemporada;
 import co.com.model.Temporada;
+import co.com.util.JDBCUtil;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class TemporadaDAO {
@@ -372,7 +381,7 @@ public class TemporadaDAO {
     }
 
     /**
-     * Obtiene estadísticas de una temporada.
+     * Obtiene estadísticas de una temporada en una sola consulta.
      *
      * @param anio Año de la temporada
      * @return Array con: [carreras, resultados, pilotos únicos]
@@ -380,33 +389,20 @@ public class TemporadaDAO {
     public long[] obtenerEstadisticas(Integer anio) {
         EntityManager em = JPAUtil.getEntityManager();
         try {
-            // Carreras
-            TypedQuery<Long> queryCarreras = em.createQuery(
-                    "SELECT COUNT(c) FROM Carrera c WHERE c.temporada.anio = :anio",
-                    Long.class
-            );
-            queryCarreras.setParameter("anio", anio);
-            Long carreras = queryCarreras.getSingleResult();
-
-            // Resultados
-            TypedQuery<Long> queryResultados = em.createQuery(
-                    "SELECT COUNT(r) FROM Resultado r " +
-                            "JOIN r.carrera c WHERE c.temporada.anio = :anio",
-                    Long.class
-            );
-            queryResultados.setParameter("anio", anio);
-            Long resultados = queryResultados.getSingleResult();
-
-            // Pilotos únicos
-            TypedQuery<Long> queryPilotos = em.createQuery(
-                    "SELECT COUNT(DISTINCT r.piloto.id) FROM Resultado r " +
-                            "JOIN r.carrera c WHERE c.temporada.anio = :anio",
-                    Long.class
+            TypedQuery<Object[]> query = em.createQuery(
+                    "SELECT COUNT(DISTINCT c.id), COUNT(r.id), COUNT(DISTINCT r.piloto.id) " +
+                            "FROM Carrera c LEFT JOIN c.resultados r " +
+                            "WHERE c.temporada.anio = :anio",
+                    Object[].class
             );
-            queryPilotos.setParameter("anio", anio);
-            Long pilotos = queryPilotos.getSingleResult();
+            query.setParameter("anio", anio);
+            Object[] fila = query.getSingleResult();
 
-            return new long[]{carreras, resultados, pilotos};
+            return new long[]{
+                    ((Number) fila[0]).longValue(),
+                    ((Number) fila[1]).longValue(),
+                    ((Number) fila[2]).longValue()
+            };
 
         } catch (Exception e) {
             logger.error("Error al obtener estadísticas de temporada: " + anio, e);
@@ -415,4 +411,124 @@ public class TemporadaDAO {
             JPAUtil.close(em);
         }
     }
+
+    /**
+     * Obtiene el resumen de panel de una o varias temporadas en una sola consulta agregada:
+     * carreras completadas y restantes, resultados, pilotos y constructores distintos,
+     * líder con su diferencia sobre el segundo y número de retiros.
+     *
+     * @param anios Años de las temporadas
+     * @return Resumen por año (solo temporadas existentes)
+     */
+    public Map<Integer, ResumenTemporada> obtenerResumenes(Collection<Integer> anios) {
+        Map<Integer, ResumenTemporada> resumenes = new LinkedHashMap<>();
+        if (anios.isEmpty()) {
+            return resumenes;
+        }
+
+        String marcadores = String.join(", ", Collections.nCopies(anios.size(), "?"));
+        String sql = """
+            WITH filas AS (
+                SELECT t.anio, r.carrera_id, r.piloto_id, r.constructor_id,
+                    r.puntos_obtenidos AS puntos,
+                    CASE WHEN r.posicion_final = 1 THEN 1 ELSE 0 END AS victoria,
+                    CASE WHEN r.posicion_final <= 3 THEN 1 ELSE 0 END AS podio,
+                    CASE WHEN r.retirado THEN 1 ELSE 0 END AS retiro,
+                    0 AS sprint
+                FROM resultado r
+                JOIN carrera c ON r.carrera_id = c.id
+                JOIN temporada t ON c.temporada_id = t.id
+                WHERE t.anio IN (%1$s)
+                UNION ALL
+                SELECT t.anio, rs.carrera_id, rs.piloto_id, rs.constructor_id,
+                    rs.puntos_obtenidos, 0, 0, 0, 1
+                FROM resultado_sprint rs
+                JOIN carrera c ON rs.carrera_id = c.id
+                JOIN temporada t ON c.temporada_id = t.id
+                WHERE t.anio IN (%1$s)
+            ),
+            calendario AS (
+                SELECT t.anio, COUNT(c.id) AS carreras
+                FROM temporada t
+                LEFT JOIN carrera c ON c.temporada_id = t.id
+                WHERE t.anio IN (%1$s)
+                GROUP BY t.anio
+            ),
+            agregado AS (
+                SELECT anio,
+                    COUNT(DISTINCT CASE WHEN sprint = 0 THEN carrera_id END) AS completadas,
+                    SUM(1 - sprint) AS resultados,
+                    COUNT(DISTINCT CASE WHEN sprint = 0 THEN piloto_id END) AS pilotos,
+                    COUNT(DISTINCT CASE WHEN sprint = 0 THEN constructor_id END) AS constructores,
+                    SUM(retiro) AS retiros
+                FROM filas
+                GROUP BY anio
+            ),
+            puntos AS (
+                SELECT anio, piloto_id, SUM(puntos) AS total,
+                    ROW_NUMBER() OVER (
+                        PARTITION BY anio
+                        ORDER BY SUM(puntos) DESC, SUM(victoria) DESC, SUM(podio) DESC
+                    ) AS pos
+                FROM filas
+                GROUP BY anio, piloto_id
+            )
+            SELECT cal.anio,
+                cal.carreras,
+                COALESCE(a.completadas, 0) AS completadas,
+                COALESCE(a.resultados, 0) AS resultados,
+                COALESCE(a.pilotos, 0) AS pilotos,
+                COALESCE(a.constructores, 0) AS constructores,
+                COALESCE(a.retiros, 0) AS retiros,
+                l.piloto_id AS lider_id,
+                pl.nombre AS lider_nombre,
+                l.total AS lider_puntos,
+                l.total - COALESCE(s.total, 0) AS diferencia
+            FROM calendario cal
+            LEFT JOIN agregado a ON a.anio = cal.anio
+            LEFT JOIN puntos l ON l.anio = cal.anio AND l.pos = 1
+            LEFT JOIN puntos s ON s.anio = cal.anio AND s.pos = 2
+            LEFT JOIN piloto pl ON pl.id = l.piloto_id
+            ORDER BY cal.anio DESC
+        """.formatted(marcadores);
+
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int indice = 1;
+            for (int bloque = 0; bloque < 3; bloque++) {
+                for (Integer anio : anios) {
+                    stmt.setInt(indice++, anio);
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long id = rs.getLong("lider_id");
+                    Long liderId = rs.wasNull() ? null : id;
+                    ResumenTemporada resumen = new ResumenTemporada(
+                            rs.getInt("anio"),
+                            rs.getLong("carreras"),
+                            rs.getLong("completadas"),
+                            rs.getLong("resultados"),
+                            rs.getLong("pilotos"),
+                            rs.getLong("constructores"),
+                            rs.getLong("retiros"),
+                            liderId,
+                            rs.getString("lider_nombre"),
+                            rs.getBigDecimal("lider_puntos"),
+                            rs.getBigDecimal("diferencia")
+                    );
+                    resumenes.put(resumen.getAnio(), resumen);
+                }
+            }
+
+            logger.debug("Resúmenes obtenidos para las temporadas {}", resumenes.keySet());
+            return resumenes;
+
+        } catch (Exception e) {
+            logger.error("Error al obtener resúmenes de temporadas: " + anios, e);
+            throw new RuntimeException("Error al obtener resúmenes de temporadas", e);
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package co.com.dao;
+
+import co.com.model.TiempoVuelta;
+import co.com.timing.LoteVueltas;
+import co.com.util.JDBCUtil;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO de tiempos de vuelta.
+ */
+public class TiempoVueltaDAO {
+    private static final Logger logger = LoggerFactory.getLogger(TiempoVueltaDAO.class);
+
+    /**
+     * Obtiene las vueltas de un piloto en una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @return Vueltas ordenadas por número
+     */
+    public List<TiempoVuelta> findByCarreraPiloto(Long carreraId, Long pilotoId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<TiempoVuelta> query = em.createQuery(
+                    "SELECT v FROM TiempoVuelta v " +
+                            "WHERE v.carrera.id = :carreraId AND v.piloto.id = :pilotoId " +
+                            "ORDER BY v.numeroVuelta",
+                    TiempoVuelta.class
+            );
+            query.setParameter("carreraId", carreraId);
+            query.setParameter("pilotoId", pilotoId);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar vueltas del piloto " + pilotoId + " en la carrera " + carreraId, e);
+            throw new RuntimeException("Error al obtener tiempos de vuelta", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene todas las vueltas de una carrera con el piloto cargado.
+     *
+     * @param carreraId ID de la carrera
+     * @return Vueltas ordenadas por piloto y número de vuelta
+     */
+    public List<TiempoVuelta> findByCarrera(Long carreraId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            TypedQuery<TiempoVuelta> query = em.createQuery(
+                    "SELECT v FROM TiempoVuelta v " +
+                            "JOIN FETCH v.piloto " +
+                            "WHERE v.carrera.id = :carreraId " +
+                            "ORDER BY v.piloto.id, v.numeroVuelta",
+                    TiempoVuelta.class
+            );
+            query.setParameter("carreraId", carreraId);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error al listar vueltas de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al obtener tiempos de vuelta", e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Lee los tiempos de vuelta de una carrera como arrays por piloto, sin crear entidades.
+     * Si a un piloto le falta una vuelta, sus vueltas posteriores se ignoran:
+     * los tiempos acumulados solo tienen sentido con vueltas consecutivas.
+     *
+     * @param carreraId ID de la carrera
+     * @return Tiempos en milisegundos por piloto; el índice k es la vuelta k + 1
+     */
+    public Map<Long, int[]> leerTiemposCarrera(long carreraId) {
+        String sql = """
+            SELECT piloto_id, numero_vuelta, tiempo_ms
+            FROM tiempo_vuelta
+            WHERE carrera_id = ?
+            ORDER BY piloto_id, numero_vuelta
+        """;
+
+        Map<Long, int[]> tiempos = new LinkedHashMap<>();
+        try (Connection conn = JDBCUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, carreraId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                long pilotoActual = -1;
+                int[] vueltas = new int[0];
+                int cantidad = 0;
+                while (rs.next()) {
+                    long pilotoId = rs.getLong(1);
+                    if (pilotoId != pilotoActual) {
+                        if (cantidad > 0) {
+                            tiempos.put(pilotoActual, Arrays.copyOf(vueltas, cantidad));
+                        }
+                        pilotoActual = pilotoId;
+                        vueltas = new int[80];
+                        cantidad = 0;
+                    }
+                    if (rs.getInt(2) != cantidad + 1) {
+                        continue;
+                    }
+                    if (cantidad == vueltas.length) {
+                        vueltas = Arrays.copyOf(vueltas, cantidad * 2);
+                    }
+                    vueltas[cantidad++] = rs.getInt(3);
+                }
+                if (cantidad > 0) {
+                    tiempos.put(pilotoActual, Arrays.copyOf(vueltas, cantidad));
+                }
+            }
+            return tiempos;
+
+        } catch (Exception e) {
+            logger.error("Error al leer tiempos de vuelta de la carrera: " + carreraId, e);
+            throw new RuntimeException("Error al leer tiempos de vuelta", e);
+        }
+    }
+
+    /**
+     * Escribe un lote de vueltas en una transacción con una sentencia por lotes.
+     * Si una vuelta ya existe se sobrescribe, así que reenviar un lote tras un fallo es seguro.
+     *
+     * @param lote Vueltas a escribir
+     */
+    public void insertarLote(LoteVueltas lote) {
+        String sql = """
+            INSERT INTO tiempo_vuelta (carrera_id, piloto_id, numero_vuelta, tiempo_ms, posicion)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                tiempo_ms = VALUES(tiempo_ms),
+                posicion = VALUES(posicion)
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < lote.getTamano(); i++) {
+                    stmt.setLong(1, lote.getCarreraId(i));
+                    stmt.setLong(2, lote.getPilotoId(i));
+                    stmt.setInt(3, lote.getNumeroVuelta(i));
+                    stmt.setInt(4, lote.getTiempoMs(i));
+                    if (lote.getPosicion(i) == LoteVueltas.SIN_POSICION) {
+                        stmt.setNull(5, Types.INTEGER);
+                    } else {
+                        stmt.setInt(5, lote.getPosicion(i));
+                    }
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            logger.debug("Lote de {} vueltas escrito", lote.getTamano());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error al escribir lote de vueltas", e);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package co.com.dao;
+
+import co.com.model.Resultado;
+import co.com.model.ResultadoSprint;
+import co.com.model.TrayectoriaPiloto;
+import co.com.util.JDBCUtil;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * DAO de las cifras de trayectoria de los pilotos.
+ * Los puntos incluyen los de los sprints; salidas, victorias, podios y posición media solo cuentan carreras.
+ */
+public class TrayectoriaPilotoDAO {
+    private static final Logger logger = LoggerFactory.getLogger(TrayectoriaPilotoDAO.class);
+
+    private static final int TAMANO_LOTE = 500;
+
+    /**
+     * Obtiene la trayectoria de un piloto por clave primaria.
+     *
+     * @param pilotoId ID del piloto
+     * @return Optional con la trayectoria si el piloto tiene resultados
+     */
+    public Optional<TrayectoriaPiloto> findByPiloto(Long pilotoId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            return Optional.ofNullable(em.find(TrayectoriaPiloto.class, pilotoId));
+        } catch (Exception e) {
+            logger.error("Error al buscar trayectoria del piloto: " + pilotoId, e);
+            return Optional.empty();
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Aplica a las trayectorias la diferencia entre los resultados anteriores y los nuevos.
+     * Cubre inserciones (sin anteriores), reemplazos y eliminaciones (sin nuevos).
+     * Debe llamarse dentro de la transacción que escribe los resultados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param anteriores Resultados que dejan de existir
+     * @param nuevos Resultados que se acaban de escribir
+     */
+    public void aplicar(EntityManager em, List<Resultado> anteriores, List<Resultado> nuevos) {
+        SortedSet<Long> pilotoIds = new TreeSet<>();
+        anteriores.forEach(r -> pilotoIds.add(r.getPiloto().getId()));
+        nuevos.forEach(r -> pilotoIds.add(r.getPiloto().getId()));
+        Map<Long, TrayectoriaPiloto> afectadas = bloquear(em, pilotoIds);
+
+        for (Resultado r : anteriores) {
+            afectadas.get(r.getPiloto().getId())
+                    .descontar(r.getPosicionFinal(), r.getPuntosObtenidos(), Boolean.TRUE.equals(r.getRetirado()));
+        }
+        for (Resultado r : nuevos) {
+            afectadas.get(r.getPiloto().getId())
+                    .registrar(r.getPosicionFinal(), r.getPuntosObtenidos(), Boolean.TRUE.equals(r.getRetirado()));
+        }
+
+        logger.debug("Trayectorias actualizadas para {} pilotos", afectadas.size());
+    }
+
+    /**
+     * Aplica a los puntos de las trayectorias la diferencia entre los resultados de sprint anteriores y los nuevos.
+     * Debe llamarse dentro de la transacción que escribe los resultados del sprint.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param anteriores Resultados de sprint que dejan de existir
+     * @param nuevos Resultados de sprint que se acaban de escribir
+     */
+    public void aplicarSprint(EntityManager em, List<ResultadoSprint> anteriores, List<ResultadoSprint> nuevos) {
+        SortedSet<Long> pilotoIds = new TreeSet<>();
+        anteriores.forEach(r -> pilotoIds.add(r.getPiloto().getId()));
+        nuevos.forEach(r -> pilotoIds.add(r.getPiloto().getId()));
+        Map<Long, TrayectoriaPiloto> afectadas = bloquear(em, pilotoIds);
+
+        for (ResultadoSprint r : anteriores) {
+            if (r.getPuntosObtenidos() != null) {
+                afectadas.get(r.getPiloto().getId()).sumarPuntosSprint(r.getPuntosObtenidos().negate());
+            }
+        }
+        for (ResultadoSprint r : nuevos) {
+            afectadas.get(r.getPiloto().getId()).sumarPuntosSprint(r.getPuntosObtenidos());
+        }
+
+        logger.debug("Puntos de sprint de las trayectorias actualizados para {} pilotos", afectadas.size());
+    }
+
+    /**
+     * Crea con un upsert las trayectorias que falten y las bloquea para escribir.
+     * Se recorren en orden de ID para que dos escrituras concurrentes tomen los bloqueos
+     * en el mismo orden, y el upsert evita la clave duplicada si ambas crean la misma fila.
+     */
+    private Map<Long, TrayectoriaPiloto> bloquear(EntityManager em, SortedSet<Long> pilotoIds) {
+        Map<Long, TrayectoriaPiloto> afectadas = new HashMap<>();
+        if (pilotoIds.isEmpty()) {
+            return afectadas;
+        }
+        String sql = """
+            INSERT INTO trayectoria_piloto
+                (piloto_id, salidas, victorias, podios, puntos, abandonos,
+                 finalizadas, posicion_media, posicion_m2)
+            VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0)
+            ON DUPLICATE KEY UPDATE piloto_id = piloto_id
+        """;
+
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Long pilotoId : pilotoIds) {
+                    stmt.setLong(1, pilotoId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        });
+        for (Long pilotoId : pilotoIds) {
+            afectadas.put(pilotoId, em.find(TrayectoriaPiloto.class, pilotoId, LockModeType.PESSIMISTIC_WRITE));
+        }
+        return afectadas;
+    }
+
+    /**
+     * Comprueba que las trayectorias cuadran con las tablas de resultados: tantas salidas como
+     * resultados de carrera y tantos puntos como los de carreras y sprints. No cuadran si la tabla
+     * nunca se llenó o se escribieron resultados sin mantenerla.
+     *
+     * @return true si las trayectorias están al día
+     */
+    public boolean estaSincronizada() {
+        String sql = """
+            SELECT (SELECT COUNT(*) FROM resultado) = (SELECT COALESCE(SUM(salidas), 0) FROM trayectoria_piloto)
+               AND (SELECT COALESCE(SUM(puntos_obtenidos), 0) FROM resultado)
+                 + (SELECT COALESCE(SUM(puntos_obtenidos), 0) FROM resultado_sprint)
+                 = (SELECT COALESCE(SUM(puntos), 0) FROM trayectoria_piloto)
+        """;
+
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getBoolean(1);
+
+        } catch (Exception e) {
+            logger.error("Error al comprobar las trayectorias", e);
+            throw new RuntimeException("Error al comprobar las trayectorias", e);
+        }
+    }
+
+    /**
+     * Obtiene el rango de IDs de piloto con resultados de carrera o de sprint, para repartir la reconstrucción.
+     *
+     * @return Array con: [id mínimo, id máximo], o vacío si no hay resultados
+     */
+    public long[] obtenerRangoPilotos() {
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("""
+                 SELECT MIN(piloto_id), MAX(piloto_id)
+                 FROM (SELECT piloto_id FROM resultado UNION ALL SELECT piloto_id FROM resultado_sprint) p
+             """)) {
+
+            if (rs.next() && rs.getObject(1) != null) {
+                return new long[]{rs.getLong(1), rs.getLong(2)};
+            }
+            return new long[0];
+
+        } catch (Exception e) {
+            logger.error("Error al obtener rango de pilotos", e);
+            throw new RuntimeException("Error al obtener rango de pilotos", e);
+        }
+    }
+
+    /**
+     * Elimina todas las trayectorias antes de una reconstrucción completa.
+     *
+     * @return Número de filas eliminadas
+     */
+    public int eliminarTodas() {
+        try (Connection conn = JDBCUtil.getConnection();
+             Statement stmt = conn.createStatement()) {
+            return stmt.executeUpdate("DELETE FROM trayectoria_piloto");
+        } catch (Exception e) {
+            logger.error("Error al eliminar trayectorias", e);
+            throw new RuntimeException("Error al eliminar trayectorias", e);
+        }
+    }
+
+    /**
+     * Recalcula desde las tablas de resultados y de sprints las trayectorias de los pilotos
+     * cuyo ID está en el rango indicado y las escribe por lotes.
+     * Cada rango usa su propia conexión, por lo que varios rangos pueden procesarse en paralelo.
+     *
+     * @param desde ID de piloto inicial (inclusive)
+     * @param hasta ID de piloto final (inclusive)
+     * @return Número de trayectorias escritas
+     */
+    public int reconstruirRango(long desde, long hasta) {
+        String select = """
+            SELECT piloto_id, posicion_final, puntos_obtenidos, retirado
+            FROM resultado
+            WHERE piloto_id BETWEEN ? AND ?
+        """;
+        String selectSprint = """
+            SELECT piloto_id, SUM(puntos_obtenidos) AS puntos
+            FROM resultado_sprint
+            WHERE piloto_id BETWEEN ? AND ?
+            GROUP BY piloto_id
+        """;
+        String upsert = """
+            INSERT INTO trayectoria_piloto
+                (piloto_id, salidas, victorias, podios, puntos, abandonos,
+                 finalizadas, posicion_media, posicion_m2, actualizado)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                salidas = VALUES(salidas),
+                victorias = VALUES(victorias),
+                podios = VALUES(podios),
+                puntos = VALUES(puntos),
+                abandonos = VALUES(abandonos),
+                finalizadas = VALUES(finalizadas),
+                posicion_media = VALUES(posicion_media),
+                posicion_m2 = VALUES(posicion_m2),
+                actualizado = VALUES(actualizado)
+        """;
+
+        Map<Long, TrayectoriaPiloto> trayectorias = new HashMap<>();
+
+        try (Connection conn = JDBCUtil.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                stmt.setLong(1, desde);
+                stmt.setLong(2, hasta);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long pilotoId = rs.getLong("piloto_id");
+                        int posicion = rs.getInt("posicion_final");
+                        Integer posicionFinal = rs.wasNull() ? null : posicion;
+                        trayectorias.computeIfAbsent(pilotoId, TrayectoriaPiloto::new)
+                                .registrar(posicionFinal, rs.getBigDecimal("puntos_obtenidos"), rs.getBoolean("retirado"));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(selectSprint)) {
+                stmt.setLong(1, desde);
+                stmt.setLong(2, hasta);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        trayectorias.computeIfAbsent(rs.getLong("piloto_id"), TrayectoriaPiloto::new)
+                                .sumarPuntosSprint(rs.getBigDecimal("puntos"));
+                    }
+                }
+            }
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(upsert)) {
+                int pendientes = 0;
+                for (TrayectoriaPiloto t : trayectorias.values()) {
+                    stmt.setLong(1, t.getPilotoId());
+                    stmt.setInt(2, t.getSalidas());
+                    stmt.setInt(3, t.getVictorias());
+                    stmt.setInt(4, t.getPodios());
+                    stmt.setBigDecimal(5, t.getPuntos());
+                    stmt.setInt(6, t.getAbandonos());
+                    stmt.setInt(7, t.getFinalizadas());
+                    stmt.setDouble(8, t.getPosicionMedia());
+                    stmt.setDouble(9, t.getPosicionM2());
+                    stmt.setTimestamp(10, Timestamp.valueOf(t.getActualizado()));
+                    stmt.addBatch();
+
+                    if (++pendientes == TAMANO_LOTE) {
+                        stmt.executeBatch();
+                        pendientes = 0;
+                    }
+                }
+                if (pendientes > 0) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (Exception e) {
+                JDBCUtil.rollback(conn);
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+            logger.debug("Trayectorias reconstruidas para pilotos {}-{}: {}", desde, hasta, trayectorias.size());
+            return trayectorias.size();
+
+        } catch (Exception e) {
+            logger.error("Error al reconstruir trayectorias de pilotos " + desde + "-" + hasta, e);
+            throw new RuntimeException("Error al reconstruir trayectorias", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package co.com.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Fila del calendario de una temporada con el podio de cada carrera ya resuelto.
+ * Los campos del podio son null mientras la carrera no tenga resultados.
+ */
+public final class CarreraCalendario {
+
+    private final Long carreraId;
+    private final Integer gpNumero;
+    private final String nombreGp;
+    private final LocalDate fecha;
+    private final String circuito;
+    private final String ganador;
+    private final String segundo;
+    private final String tercero;
+    private final String vueltaRapida;
+    private final Integer retiros;
+
+    public CarreraCalendario(Long carreraId, Integer gpNumero, String nombreGp, LocalDate fecha, String circuito,
+                             String ganador, String segundo, String tercero, String vueltaRapida, Integer retiros) {
+        this.carreraId = carreraId;
+        this.gpNumero = gpNumero;
+        this.nombreGp = nombreGp;
+        this.fecha = fecha;
+        this.circuito = circuito;
+        this.ganador = ganador;
+        this.segundo = segundo;
+        this.tercero = tercero;
+        this.vueltaRapida = vueltaRapida;
+        this.retiros = retiros;
+    }
+
+    public Long getCarreraId() {
+        return carreraId;
+    }
+
+    public Integer getGpNumero() {
+        return gpNumero;
+    }
+
+    public String getNombreGp() {
+        return nombreGp;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public String getCircuito() {
+        return circuito;
+    }
+
+    public String getGanador() {
+        return ganador;
+    }
+
+    public String getSegundo() {
+        return segundo;
+    }
+
+    public String getTercero() {
+        return tercero;
+    }
+
+    public String getVueltaRapida() {
+        return vueltaRapida;
+    }
+
+    public Integer getRetiros() {
+        return retiros;
+    }
+
+    public boolean tieneResultados() {
+        return ganador != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CarreraCalendario{" +
+                "gpNumero=" + gpNumero +
+                ", nombreGp='" + nombreGp + '\'' +
+                ", fecha=" + fecha +
+                ", ganador='" + ganador + '\'' +
+                '}';
+    }
+}
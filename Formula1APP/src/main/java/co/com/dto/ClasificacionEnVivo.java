@@ -0,0 +1,100 @@
+package co.com.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Instantánea de una carrera en curso: orden, diferencias, vueltas lideradas, puntos provisionales
+ * y el campeonato de pilotos tal como quedaría con ese orden. Es inmutable; el seguimiento
+ * publica una nueva en cada evento y los lectores se quedan con la que tengan.
+ */
+public final class ClasificacionEnVivo {
+
+    private final long carreraId;
+    private final long version;
+    private final EstadoCarrera estado;
+    // En orden de carrera, igual que estado
+    private final int[] vueltasLideradas;
+    // Puntos en centésimas
+    private final long[] puntos;
+    private final long vueltaRapidaPilotoId;
+    private final long vueltaRapidaMs;
+    // Campeonato provisional en orden de clasificación
+    private final long[] campeonatoPilotoIds;
+    private final long[] campeonatoPuntos;
+
+    public ClasificacionEnVivo(long carreraId, long version, EstadoCarrera estado, int[] vueltasLideradas,
+                               long[] puntos, long vueltaRapidaPilotoId, long vueltaRapidaMs,
+                               long[] campeonatoPilotoIds, long[] campeonatoPuntos) {
+        this.carreraId = carreraId;
+        this.version = version;
+        this.estado = estado;
+        this.vueltasLideradas = vueltasLideradas;
+        this.puntos = puntos;
+        this.vueltaRapidaPilotoId = vueltaRapidaPilotoId;
+        this.vueltaRapidaMs = vueltaRapidaMs;
+        this.campeonatoPilotoIds = campeonatoPilotoIds;
+        this.campeonatoPuntos = campeonatoPuntos;
+    }
+
+    public long getCarreraId() {
+        return carreraId;
+    }
+
+    /**
+     * @return Número de eventos aplicados; crece con cada instantánea
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Orden, vueltas, diferencias e intervalos
+     */
+    public EstadoCarrera getEstado() {
+        return estado;
+    }
+
+    /**
+     * @param posicion Posición en carrera desde 1
+     */
+    public int getVueltasLideradas(int posicion) {
+        return vueltasLideradas[posicion - 1];
+    }
+
+    /**
+     * @param posicion Posición en carrera desde 1
+     * @return Puntos que sumaría si la carrera terminara ahora
+     */
+    public BigDecimal getPuntosProvisionales(int posicion) {
+        return BigDecimal.valueOf(puntos[posicion - 1], 2);
+    }
+
+    /**
+     * @return Piloto con la vuelta rápida, o 0 si nadie ha completado una vuelta
+     */
+    public long getVueltaRapidaPilotoId() {
+        return vueltaRapidaPilotoId;
+    }
+
+    public long getVueltaRapidaMs() {
+        return vueltaRapidaMs;
+    }
+
+    public int getTamanoCampeonato() {
+        return campeonatoPilotoIds.length;
+    }
+
+    /**
+     * @param posicion Posición en el campeonato provisional desde 1
+     */
+    public long getCampeonatoPilotoId(int posicion) {
+        return campeonatoPilotoIds[posicion - 1];
+    }
+
+    /**
+     * @param posicion Posición en el campeonato provisional desde 1
+     */
+    public BigDecimal getCampeonatoPuntos(int posicion) {
+        return BigDecimal.valueOf(campeonatoPuntos[posicion - 1], 2);
+    }
+}
@@ -0,0 +1,54 @@
+package co.com.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Una posición de una tabla de récords históricos.
+ */
+public final class EntradaRecord {
+
+    private final int posicion;
+    private final Long pilotoId;
+    private final String pilotoNombre;
+    // Solo en récords de una temporada concreta
+    private final Integer anio;
+    private final BigDecimal valor;
+
+    public EntradaRecord(int posicion, Long pilotoId, String pilotoNombre, Integer anio, BigDecimal valor) {
+        this.posicion = posicion;
+        this.pilotoId = pilotoId;
+        this.pilotoNombre = pilotoNombre;
+        this.anio = anio;
+        this.valor = valor;
+    }
+
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public Long getPilotoId() {
+        return pilotoId;
+    }
+
+    public String getPilotoNombre() {
+        return pilotoNombre;
+    }
+
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        return "EntradaRecord{" +
+                "posicion=" + posicion +
+                ", piloto='" + pilotoNombre + '\'' +
+                (anio != null ? ", anio=" + anio : "") +
+                ", valor=" + valor +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package co.com.dto;
+
+/**
+ * Orden de carrera en un instante: posición, vueltas completadas, diferencia con el líder
+ * e intervalo con el coche de delante. Las diferencias se miden, como en la televisión,
+ * en la última línea de meta que cruzó cada coche. Es inmutable.
+ */
+public final class EstadoCarrera {
+
+    private final long instanteMs;
+    private final int vueltaLider;
+    // Arrays en orden de carrera: el índice 0 es el líder
+    private final long[] pilotoIds;
+    private final int[] vueltas;
+    private final long[] diferenciaLider;
+    private final int[] vueltasPerdidas;
+    private final long[] intervalo;
+    private final boolean[] retirados;
+
+    public EstadoCarrera(long instanteMs, int vueltaLider, long[] pilotoIds, int[] vueltas,
+                         long[] diferenciaLider, int[] vueltasPerdidas, long[] intervalo, boolean[] retirados) {
+        this.instanteMs = instanteMs;
+        this.vueltaLider = vueltaLider;
+        this.pilotoIds = pilotoIds;
+        this.vueltas = vueltas;
+        this.diferenciaLider = diferenciaLider;
+        this.vueltasPerdidas = vueltasPerdidas;
+        this.intervalo = intervalo;
+        this.retirados = retirados;
+    }
+
+    /**
+     * @return Milisegundos desde la salida
+     */
+    public long getInstanteMs() {
+        return instanteMs;
+    }
+
+    /**
+     * @return Vueltas completadas por el líder
+     */
+    public int getVueltaLider() {
+        return vueltaLider;
+    }
+
+    public int getTamano() {
+        return pilotoIds.length;
+    }
+
+    /**
+     * @param posicion Posición en carrera desde 1
+     * @return ID del piloto en esa posición
+     */
+    public long getPilotoId(int posicion) {
+        return pilotoIds[posicion - 1];
+    }
+
+    public int getVueltas(int posicion) {
+        return vueltas[posicion - 1];
+    }
+
+    /**
+     * @return Milisegundos por detrás del líder (0 para el líder)
+     */
+    public long getDiferenciaLider(int posicion) {
+        return diferenciaLider[posicion - 1];
+    }
+
+    /**
+     * @return Vueltas perdidas respecto al líder (0 si está en la vuelta del líder)
+     */
+    public int getVueltasPerdidas(int posicion) {
+        return vueltasPerdidas[posicion - 1];
+    }
+
+    /**
+     * @return Milisegundos por detrás del coche de delante (0 para el líder)
+     */
+    public long getIntervalo(int posicion) {
+        return intervalo[posicion - 1];
+    }
+
+    public boolean isRetirado(int posicion) {
+        return retirados[posicion - 1];
+    }
+
+    /**
+     * @param pilotoId ID del piloto
+     * @return Posición en carrera desde 1, o 0 si el piloto no está
+     */
+    public int getPosicion(long pilotoId) {
+        for (int i = 0; i < pilotoIds.length; i++) {
+            if (pilotoIds[i] == pilotoId) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,217 @@
+package co.com.dto;
+
+import co.com.event.FilaResultado;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Comparación entre compañeros de equipo de una temporada: para cada par de pilotos
+ * que corrieron con el mismo constructor en una misma carrera, cuántas veces terminó
+ * cada uno por delante, cuántos puntos sumó cada uno y cuántos abandonos tuvo.
+ *
+ * <p>Se construye en una sola pasada sobre los resultados de la temporada y guarda
+ * las cifras en arrays planos de n × n, donde n es el número de pilotos. Es inmutable.
+ */
+public final class MatrizCompaneros {
+
+    private final int anio;
+    // IDs ordenados ascendentemente; la posición en el array es el índice del piloto en la matriz
+    private final long[] pilotoIds;
+    private final String[] nombres;
+    private final int n;
+
+    // Celda [i * n + j]: cifras del piloto i en las carreras que compartió equipo con j
+    private final int[] carreras;
+    private final int[] delante;
+    private final long[] puntos;
+    private final int[] abandonos;
+    private final long[] constructor;
+
+    /**
+     * Construye la matriz a partir de los resultados de una temporada.
+     *
+     * @param anio Año de la temporada
+     * @param filas Resultados de la temporada ordenados por carrera
+     */
+    public MatrizCompaneros(int anio, List<FilaResultado> filas) {
+        this.anio = anio;
+
+        Map<Long, String> pilotos = new HashMap<>();
+        for (FilaResultado fila : filas) {
+            pilotos.put(fila.getPilotoId(), fila.getPilotoNombre());
+        }
+        this.pilotoIds = pilotos.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        this.n = pilotoIds.length;
+        this.nombres = new String[n];
+        for (int i = 0; i < n; i++) {
+            nombres[i] = pilotos.get(pilotoIds[i]);
+        }
+
+        this.carreras = new int[n * n];
+        this.delante = new int[n * n];
+        this.puntos = new long[n * n];
+        this.abandonos = new int[n * n];
+        this.constructor = new long[n * n];
+
+        // Las filas de una carrera son contiguas; se compara cada fila con las anteriores de su equipo
+        int inicioCarrera = 0;
+        for (int k = 0; k < filas.size(); k++) {
+            FilaResultado fila = filas.get(k);
+            if (!fila.getCarreraId().equals(filas.get(inicioCarrera).getCarreraId())) {
+                inicioCarrera = k;
+            }
+            if (fila.getConstructorId() == null) {
+                continue;
+            }
+            for (int m = inicioCarrera; m < k; m++) {
+                FilaResultado otra = filas.get(m);
+                if (fila.getConstructorId().equals(otra.getConstructorId())
+                        && !Objects.equals(fila.getPilotoId(), otra.getPilotoId())) {
+                    acumular(fila, otra);
+                }
+            }
+        }
+    }
+
+    private void acumular(FilaResultado a, FilaResultado b) {
+        int i = indiceDe(a.getPilotoId());
+        int j = indiceDe(b.getPilotoId());
+        int ij = i * n + j;
+        int ji = j * n + i;
+
+        carreras[ij]++;
+        carreras[ji]++;
+        puntos[ij] += a.getPuntos().movePointRight(2).longValue();
+        puntos[ji] += b.getPuntos().movePointRight(2).longValue();
+        constructor[ij] = a.getConstructorId();
+        constructor[ji] = a.getConstructorId();
+        if (a.isRetirado()) {
+            abandonos[ij]++;
+        }
+        if (b.isRetirado()) {
+            abandonos[ji]++;
+        }
+
+        int orden = compararLlegada(a, b);
+        if (orden < 0) {
+            delante[ij]++;
+        } else if (orden > 0) {
+            delante[ji]++;
+        }
+    }
+
+    // Negativo si a terminó por delante de b; un piloto que no abandonó va por delante de uno que sí
+    private static int compararLlegada(FilaResultado a, FilaResultado b) {
+        if (a.isRetirado() != b.isRetirado()) {
+            return a.isRetirado() ? 1 : -1;
+        }
+        Integer pa = a.getPosicion();
+        Integer pb = b.getPosicion();
+        if (pa == null || pb == null || pa <= 0 || pb <= 0) {
+            return 0;
+        }
+        return Integer.compare(pa, pb);
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    /**
+     * @return Número de pilotos de la matriz
+     */
+    public int getTamano() {
+        return n;
+    }
+
+    /**
+     * @param pilotoId ID del piloto
+     * @return Índice del piloto en la matriz, o negativo si no corrió en la temporada
+     */
+    public int indiceDe(long pilotoId) {
+        return Arrays.binarySearch(pilotoIds, pilotoId);
+    }
+
+    public long getPilotoId(int i) {
+        return pilotoIds[i];
+    }
+
+    public String getNombre(int i) {
+        return nombres[i];
+    }
+
+    /**
+     * @return Carreras en que i y j corrieron para el mismo constructor
+     */
+    public int getCarrerasJuntos(int i, int j) {
+        return carreras[i * n + j];
+    }
+
+    /**
+     * @return Carreras compartidas en que i terminó por delante de j
+     */
+    public int getDelante(int i, int j) {
+        return delante[i * n + j];
+    }
+
+    /**
+     * @return Puntos de i en las carreras compartidas con j
+     */
+    public BigDecimal getPuntos(int i, int j) {
+        return BigDecimal.valueOf(puntos[i * n + j], 2);
+    }
+
+    /**
+     * @return Abandonos de i en las carreras compartidas con j
+     */
+    public int getAbandonos(int i, int j) {
+        return abandonos[i * n + j];
+    }
+
+    /**
+     * Obtiene una fila por cada pareja de compañeros (cada pareja aparece una vez).
+     *
+     * @return Lista de mapas con: pilotoId, piloto, companeroId, companero, constructorId, carreras,
+     *         delante, detras, puntos, puntosCompanero, abandonos, abandonosCompanero
+     */
+    public List<Map<String, Object>> getParejas() {
+        List<Map<String, Object>> parejas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int ij = i * n + j;
+                if (carreras[ij] == 0) {
+                    continue;
+                }
+                Map<String, Object> pareja = new HashMap<>();
+                pareja.put("pilotoId", pilotoIds[i]);
+                pareja.put("piloto", nombres[i]);
+                pareja.put("companeroId", pilotoIds[j]);
+                pareja.put("companero", nombres[j]);
+                pareja.put("constructorId", constructor[ij]);
+                pareja.put("carreras", carreras[ij]);
+                pareja.put("delante", delante[ij]);
+                pareja.put("detras", delante[j * n + i]);
+                pareja.put("puntos", getPuntos(i, j));
+                pareja.put("puntosCompanero", getPuntos(j, i));
+                pareja.put("abandonos", abandonos[ij]);
+                pareja.put("abandonosCompanero", abandonos[j * n + i]);
+                parejas.add(pareja);
+            }
+        }
+        return parejas;
+    }
+
+    @Override
+    public String toString() {
+        return "MatrizCompaneros{" +
+                "anio=" + anio +
+                ", pilotos=" + n +
+                '}';
+    }
+}
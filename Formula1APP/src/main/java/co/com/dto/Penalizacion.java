@@ -0,0 +1,88 @@
+package co.com.dto;
+
+/**
+ * Sanción de los comisarios aplicada después de la carrera. Es inmutable.
+ */
+public final class Penalizacion {
+
+    public enum Tipo {
+        // Segundos sumados al tiempo total
+        TIEMPO,
+        // Puestos perdidos en la clasificación
+        POSICIONES,
+        DESCALIFICACION
+    }
+
+    private final long pilotoId;
+    private final Tipo tipo;
+    private final long valor;
+    private final String motivo;
+
+    private Penalizacion(long pilotoId, Tipo tipo, long valor, String motivo) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El valor de una penalización no puede ser negativo: " + valor);
+        }
+        this.pilotoId = pilotoId;
+        this.tipo = tipo;
+        this.valor = valor;
+        this.motivo = motivo;
+    }
+
+    /**
+     * @param pilotoId ID del piloto sancionado
+     * @param milisegundos Tiempo sumado al total
+     * @param motivo Motivo de la sanción
+     * @return Penalización de tiempo
+     */
+    public static Penalizacion tiempo(long pilotoId, long milisegundos, String motivo) {
+        return new Penalizacion(pilotoId, Tipo.TIEMPO, milisegundos, motivo);
+    }
+
+    /**
+     * @param pilotoId ID del piloto sancionado
+     * @param puestos Puestos que pierde
+     * @param motivo Motivo de la sanción
+     * @return Penalización de posiciones
+     */
+    public static Penalizacion posiciones(long pilotoId, int puestos, String motivo) {
+        return new Penalizacion(pilotoId, Tipo.POSICIONES, puestos, motivo);
+    }
+
+    /**
+     * @param pilotoId ID del piloto sancionado
+     * @param motivo Motivo de la sanción
+     * @return Descalificación
+     */
+    public static Penalizacion descalificacion(long pilotoId, String motivo) {
+        return new Penalizacion(pilotoId, Tipo.DESCALIFICACION, 0, motivo);
+    }
+
+    public long getPilotoId() {
+        return pilotoId;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return Milisegundos para {@link Tipo#TIEMPO}, puestos para {@link Tipo#POSICIONES}
+     */
+    public long getValor() {
+        return valor;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    @Override
+    public String toString() {
+        return "Penalizacion{" +
+                "pilotoId=" + pilotoId +
+                ", tipo=" + tipo +
+                ", valor=" + valor +
+                ", motivo='" + motivo + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package co.com.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Cifras de resumen de una temporada para el panel principal.
+ * Se obtiene con una única consulta agregada y es inmutable, por lo que puede cachearse.
+ */
+public final class ResumenTemporada {
+
+    private final int anio;
+    private final long carrerasTotales;
+    private final long carrerasCompletadas;
+    private final long resultados;
+    private final long pilotos;
+    private final long constructores;
+    private final long retiros;
+    private final Long liderId;
+    private final String liderNombre;
+    private final BigDecimal liderPuntos;
+    private final BigDecimal diferenciaLider;
+
+    public ResumenTemporada(int anio, long carrerasTotales, long carrerasCompletadas, long resultados,
+                            long pilotos, long constructores, long retiros,
+                            Long liderId, String liderNombre, BigDecimal liderPuntos, BigDecimal diferenciaLider) {
+        this.anio = anio;
+        this.carrerasTotales = carrerasTotales;
+        this.carrerasCompletadas = carrerasCompletadas;
+        this.resultados = resultados;
+        this.pilotos = pilotos;
+        this.constructores = constructores;
+        this.retiros = retiros;
+        this.liderId = liderId;
+        this.liderNombre = liderNombre;
+        this.liderPuntos = liderPuntos;
+        this.diferenciaLider = diferenciaLider;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    public long getCarrerasTotales() {
+        return carrerasTotales;
+    }
+
+    public long getCarrerasCompletadas() {
+        return carrerasCompletadas;
+    }
+
+    public long getCarrerasRestantes() {
+        return carrerasTotales - carrerasCompletadas;
+    }
+
+    public long getResultados() {
+        return resultados;
+    }
+
+    public long getPilotos() {
+        return pilotos;
+    }
+
+    public long getConstructores() {
+        return constructores;
+    }
+
+    public long getRetiros() {
+        return retiros;
+    }
+
+    /**
+     * @return ID del líder del campeonato, o null si aún no hay puntos
+     */
+    public Long getLiderId() {
+        return liderId;
+    }
+
+    public String getLiderNombre() {
+        return liderNombre;
+    }
+
+    public BigDecimal getLiderPuntos() {
+        return liderPuntos;
+    }
+
+    /**
+     * @return Diferencia de puntos entre el líder y el segundo clasificado
+     */
+    public BigDecimal getDiferenciaLider() {
+        return diferenciaLider;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenTemporada{" +
+                "anio=" + anio +
+                ", carrerasCompletadas=" + carrerasCompletadas +
+                ", carrerasRestantes=" + getCarrerasRestantes() +
+                ", resultados=" + resultados +
+                ", pilotos=" + pilotos +
+                ", constructores=" + constructores +
+                ", retiros=" + retiros +
+                ", lider='" + liderNombre + '\'' +
+                ", diferenciaLider=" + diferenciaLider +
+                '}';
+    }
+}
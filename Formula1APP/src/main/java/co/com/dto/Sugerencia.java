@@ -0,0 +1,56 @@
+package co.com.dto;
+
+/**
+ * Una sugerencia del autocompletado: una entidad cuyo nombre coincide con lo escrito.
+ */
+public final class Sugerencia {
+
+    /**
+     * Entidades que se pueden sugerir.
+     */
+    public enum Tipo {
+        PILOTO,
+        CONSTRUCTOR,
+        CIRCUITO,
+        CARRERA
+    }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final String texto;
+    // Letras cambiadas, sobrantes, faltantes o intercambiadas respecto a lo escrito
+    private final int errores;
+
+    public Sugerencia(Tipo tipo, Long id, String texto, int errores) {
+        this.tipo = tipo;
+        this.id = id;
+        this.texto = texto;
+        this.errores = errores;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public int getErrores() {
+        return errores;
+    }
+
+    @Override
+    public String toString() {
+        return "Sugerencia{" +
+                "tipo=" + tipo +
+                ", id=" + id +
+                ", texto='" + texto + '\'' +
+                (errores > 0 ? ", errores=" + errores : "") +
+                '}';
+    }
+}
@@ -0,0 +1,207 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ajusta los modelos de degradación de un circuito a partir de sus stints históricos.
+ *
+ * <p>La pendiente de cada compuesto se estima por mínimos cuadrados agrupando las desviaciones
+ * de cada stint respecto a su propia media, así que el ritmo distinto de cada coche y de cada año
+ * no contamina la degradación. La base de cada compuesto sale de comparar los stints de una misma
+ * carrera con la media de esa carrera. Los compuestos con pocas vueltas usan el modelo por defecto.
+ * No es thread-safe: se llena desde una sola lectura y después se llama a {@link #construir}.
+ */
+public final class AjusteDegradacion {
+
+    /** Pérdida por parada cuando el circuito no tiene paradas registradas. */
+    public static final long PERDIDA_POR_DEFECTO_MS = 22_000;
+
+    // Vueltas más lentas que este múltiplo de la mejor del stint (tráfico, safety car) se descartan
+    private static final double FACTOR_ATIPICO = 1.07;
+    private static final int MIN_VUELTAS_STINT = 3;
+    private static final int MIN_MUESTRAS_COMPUESTO = 40;
+    // Margen sobre la vida más larga observada
+    private static final double MARGEN_VIDA = 1.1;
+
+    private static final int COMPUESTOS_SECO = 3;
+
+    private final double[] sumaSxy = new double[COMPUESTOS_SECO];
+    private final double[] sumaSxx = new double[COMPUESTOS_SECO];
+    private final int[] muestras = new int[COMPUESTOS_SECO];
+    private final int[] vidaObservada = new int[COMPUESTOS_SECO];
+    private final List<ResumenStint> stints = new ArrayList<>();
+
+    private long sumaPerdidas;
+    private int paradas;
+
+    private static final class ResumenStint {
+        final long carreraId;
+        final int compuesto;
+        final double mediaEdad;
+        final double mediaTiempo;
+
+        ResumenStint(long carreraId, int compuesto, double mediaEdad, double mediaTiempo) {
+            this.carreraId = carreraId;
+            this.compuesto = compuesto;
+            this.mediaEdad = mediaEdad;
+            this.mediaTiempo = mediaTiempo;
+        }
+    }
+
+    /**
+     * Añade las vueltas de un stint, sin la vuelta de salida de boxes ni la de entrada.
+     *
+     * @param carreraId ID de la carrera
+     * @param compuesto Compuesto del stint (los de lluvia se ignoran)
+     * @param edades Edad del neumático en cada vuelta
+     * @param tiempos Tiempo de cada vuelta en milisegundos
+     * @param n Número de vueltas válidas en los arrays
+     */
+    public void agregarStint(long carreraId, Compuesto compuesto, int[] edades, int[] tiempos, int n) {
+        if (!compuesto.isSeco() || n < MIN_VUELTAS_STINT) {
+            return;
+        }
+        int mejor = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            mejor = Math.min(mejor, tiempos[i]);
+        }
+        double limite = mejor * FACTOR_ATIPICO;
+
+        int validas = 0;
+        double sx = 0;
+        double sy = 0;
+        int edadMaxima = 0;
+        for (int i = 0; i < n; i++) {
+            if (tiempos[i] <= limite) {
+                validas++;
+                sx += edades[i];
+                sy += tiempos[i];
+                edadMaxima = Math.max(edadMaxima, edades[i]);
+            }
+        }
+        if (validas < MIN_VUELTAS_STINT) {
+            return;
+        }
+        double mx = sx / validas;
+        double my = sy / validas;
+        double sxx = 0;
+        double sxy = 0;
+        for (int i = 0; i < n; i++) {
+            if (tiempos[i] <= limite) {
+                double dx = edades[i] - mx;
+                sxx += dx * dx;
+                sxy += dx * (tiempos[i] - my);
+            }
+        }
+
+        int c = compuesto.ordinal();
+        sumaSxx[c] += sxx;
+        sumaSxy[c] += sxy;
+        muestras[c] += validas;
+        // La vuelta de entrada no está en las muestras pero el neumático la completó
+        vidaObservada[c] = Math.max(vidaObservada[c], edadMaxima + 2);
+        stints.add(new ResumenStint(carreraId, c, mx, my));
+    }
+
+    /**
+     * Añade la pérdida en pista de una parada histórica.
+     *
+     * @param perdidaMs Milisegundos perdidos por la parada
+     */
+    public void agregarParada(int perdidaMs) {
+        sumaPerdidas += perdidaMs;
+        paradas++;
+    }
+
+    /**
+     * @param circuitoId ID del circuito ajustado
+     * @return Modelos ajustados
+     */
+    public ModelosCircuito construir(long circuitoId) {
+        boolean[] ajustado = new boolean[COMPUESTOS_SECO];
+        double[] degradacion = new double[COMPUESTOS_SECO];
+        for (int c = 0; c < COMPUESTOS_SECO; c++) {
+            ajustado[c] = muestras[c] >= MIN_MUESTRAS_COMPUESTO && sumaSxx[c] > 0;
+            // Una pendiente negativa es ruido (evolución de pista, combustible): no hay degradación medible
+            degradacion[c] = ajustado[c] ? Math.max(0, sumaSxy[c] / sumaSxx[c]) : 0;
+        }
+
+        // Base de cada stint con neumático nuevo, comparada con la media de su carrera
+        Map<Long, List<ResumenStint>> porCarrera = new HashMap<>();
+        for (ResumenStint stint : stints) {
+            if (ajustado[stint.compuesto]) {
+                porCarrera.computeIfAbsent(stint.carreraId, k -> new ArrayList<>()).add(stint);
+            }
+        }
+        double[] sumaDesvio = new double[COMPUESTOS_SECO];
+        int[] cuentaDesvio = new int[COMPUESTOS_SECO];
+        for (List<ResumenStint> deCarrera : porCarrera.values()) {
+            int presentes = 0;
+            double referencia = 0;
+            for (ResumenStint stint : deCarrera) {
+                presentes |= 1 << stint.compuesto;
+                referencia += stint.mediaTiempo - degradacion[stint.compuesto] * stint.mediaEdad;
+            }
+            // Con un solo compuesto la carrera no dice nada de la diferencia entre compuestos
+            if (Integer.bitCount(presentes) < 2) {
+                continue;
+            }
+            referencia /= deCarrera.size();
+            for (ResumenStint stint : deCarrera) {
+                double base = stint.mediaTiempo - degradacion[stint.compuesto] * stint.mediaEdad;
+                sumaDesvio[stint.compuesto] += base - referencia;
+                cuentaDesvio[stint.compuesto]++;
+            }
+        }
+
+        double[] base = new double[COMPUESTOS_SECO];
+        int ancla = -1;
+        for (int c = 0; c < COMPUESTOS_SECO; c++) {
+            if (ajustado[c] && cuentaDesvio[c] > 0) {
+                base[c] = sumaDesvio[c] / cuentaDesvio[c];
+                if (ancla < 0) {
+                    ancla = c;
+                }
+            } else {
+                ajustado[c] = false;
+            }
+        }
+
+        Compuesto[] compuestos = Compuesto.values();
+        ModeloDegradacion[] modelos = new ModeloDegradacion[COMPUESTOS_SECO];
+        for (int c = 0; c < COMPUESTOS_SECO; c++) {
+            ModeloDegradacion defecto = ModeloDegradacion.porDefecto(compuestos[c]);
+            if (ajustado[c]) {
+                int vida = (int) Math.ceil(vidaObservada[c] * MARGEN_VIDA);
+                modelos[c] = new ModeloDegradacion(compuestos[c], base[c], degradacion[c], vida, muestras[c]);
+            } else if (ancla >= 0) {
+                // Sin historia propia: la diferencia por defecto con un compuesto que sí se ajustó
+                double relativa = base[ancla] + defecto.getBaseMs()
+                        - ModeloDegradacion.porDefecto(compuestos[ancla]).getBaseMs();
+                modelos[c] = new ModeloDegradacion(compuestos[c], relativa, defecto.getDegradacionMs(),
+                        defecto.getVidaMaxima(), 0);
+            } else {
+                modelos[c] = defecto;
+            }
+        }
+
+        // Las bases quedan relativas al compuesto más rápido
+        double minimo = Double.MAX_VALUE;
+        for (ModeloDegradacion modelo : modelos) {
+            minimo = Math.min(minimo, modelo.getBaseMs());
+        }
+        for (int c = 0; c < COMPUESTOS_SECO; c++) {
+            ModeloDegradacion m = modelos[c];
+            modelos[c] = new ModeloDegradacion(m.getCompuesto(), m.getBaseMs() - minimo,
+                    m.getDegradacionMs(), m.getVidaMaxima(), m.getMuestras());
+        }
+
+        long perdida = paradas > 0 ? sumaPerdidas / paradas : PERDIDA_POR_DEFECTO_MS;
+        return new ModelosCircuito(circuitoId, modelos, perdida);
+    }
+}
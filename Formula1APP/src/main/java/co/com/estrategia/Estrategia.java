@@ -0,0 +1,76 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+/**
+ * Plan de paradas de un piloto desde su situación actual hasta el final de la carrera.
+ * El stint 0 es el que está en curso (o el de salida si se planifica en parrilla). Es inmutable.
+ */
+public final class Estrategia {
+
+    private final long pilotoId;
+    private final long tiempoMs;
+    private final long diferenciaMs;
+    // paradas[i]: vuelta en la que se entra a boxes al acabar el stint i
+    private final int[] paradas;
+    private final Compuesto[] compuestos;
+
+    Estrategia(long pilotoId, long tiempoMs, long diferenciaMs, int[] paradas, Compuesto[] compuestos) {
+        this.pilotoId = pilotoId;
+        this.tiempoMs = tiempoMs;
+        this.diferenciaMs = diferenciaMs;
+        this.paradas = paradas;
+        this.compuestos = compuestos;
+    }
+
+    public long getPilotoId() {
+        return pilotoId;
+    }
+
+    /**
+     * @return Tiempo estimado de las vueltas restantes, relativo a una vuelta de referencia del circuito
+     */
+    public long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    /**
+     * @return Milisegundos que se pierden frente a la mejor estrategia del piloto (0 para la mejor)
+     */
+    public long getDiferenciaMs() {
+        return diferenciaMs;
+    }
+
+    public int getNumeroParadas() {
+        return paradas.length;
+    }
+
+    /**
+     * @param parada Índice de la parada desde 0
+     * @return Vuelta en la que se entra a boxes
+     */
+    public int getVueltaParada(int parada) {
+        return paradas[parada];
+    }
+
+    public int getNumeroStints() {
+        return compuestos.length;
+    }
+
+    /**
+     * @param stint Índice del stint desde 0
+     * @return Compuesto del stint
+     */
+    public Compuesto getCompuesto(int stint) {
+        return compuestos[stint];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Estrategia{").append(compuestos[0]);
+        for (int i = 0; i < paradas.length; i++) {
+            sb.append(" -(v").append(paradas[i]).append(")-> ").append(compuestos[i + 1]);
+        }
+        return sb.append(", diferenciaMs=").append(diferenciaMs).append('}').toString();
+    }
+}
@@ -0,0 +1,92 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+/**
+ * Modelo lineal de degradación de un compuesto en un circuito:
+ * tiempo de vuelta = referencia + base + degradación · edad del neumático.
+ * La base es relativa al compuesto más rápido del circuito, así que los tiempos
+ * que produce solo sirven para comparar estrategias entre sí. Es inmutable.
+ */
+public final class ModeloDegradacion {
+
+    /** Coste de un stint que supera la vida del neumático. */
+    public static final long INVIABLE = Long.MAX_VALUE / 4;
+
+    private final Compuesto compuesto;
+    private final double baseMs;
+    private final double degradacionMs;
+    private final int vidaMaxima;
+    private final int muestras;
+
+    /**
+     * @param compuesto Compuesto modelado
+     * @param baseMs Milisegundos por vuelta respecto al compuesto más rápido, con neumático nuevo
+     * @param degradacionMs Milisegundos que se pierden por cada vuelta de edad
+     * @param vidaMaxima Edad máxima en vueltas con la que se admite un stint
+     * @param muestras Vueltas históricas usadas en el ajuste (0 si son valores por defecto)
+     */
+    public ModeloDegradacion(Compuesto compuesto, double baseMs, double degradacionMs, int vidaMaxima, int muestras) {
+        this.compuesto = compuesto;
+        this.baseMs = baseMs;
+        this.degradacionMs = degradacionMs;
+        this.vidaMaxima = vidaMaxima;
+        this.muestras = muestras;
+    }
+
+    /**
+     * Valores genéricos para cuando no hay historia suficiente del compuesto en el circuito.
+     *
+     * @param compuesto Compuesto de seco
+     * @return Modelo por defecto
+     */
+    public static ModeloDegradacion porDefecto(Compuesto compuesto) {
+        return switch (compuesto) {
+            case BLANDO -> new ModeloDegradacion(compuesto, 0, 80, 28, 0);
+            case MEDIO -> new ModeloDegradacion(compuesto, 450, 50, 40, 0);
+            case DURO -> new ModeloDegradacion(compuesto, 850, 30, 55, 0);
+            default -> throw new IllegalArgumentException("Sin modelo por defecto para " + compuesto);
+        };
+    }
+
+    /**
+     * Tiempo de un stint en forma cerrada: n · base + degradación · (n · edad inicial + n(n-1)/2).
+     *
+     * @param edadInicial Vueltas que ya tiene el neumático al empezar
+     * @param vueltas Vueltas del stint
+     * @return Milisegundos relativos, o {@link #INVIABLE} si el neumático no llega
+     */
+    public long costeStint(int edadInicial, int vueltas) {
+        if (edadInicial + vueltas > vidaMaxima) {
+            return INVIABLE;
+        }
+        double edades = (double) vueltas * edadInicial + (double) vueltas * (vueltas - 1) / 2;
+        return Math.round(vueltas * baseMs + degradacionMs * edades);
+    }
+
+    public Compuesto getCompuesto() {
+        return compuesto;
+    }
+
+    public double getBaseMs() {
+        return baseMs;
+    }
+
+    public double getDegradacionMs() {
+        return degradacionMs;
+    }
+
+    public int getVidaMaxima() {
+        return vidaMaxima;
+    }
+
+    public int getMuestras() {
+        return muestras;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{base=%.0fms, degradacion=%.1fms/vuelta, vida=%d, muestras=%d}",
+                compuesto, baseMs, degradacionMs, vidaMaxima, muestras);
+    }
+}
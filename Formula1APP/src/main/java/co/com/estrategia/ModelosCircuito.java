@@ -0,0 +1,52 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+/**
+ * Modelos de degradación de los compuestos de seco en un circuito y la pérdida media
+ * de una parada en boxes. Es inmutable y se comparte entre hilos.
+ */
+public final class ModelosCircuito {
+
+    private final long circuitoId;
+    // Indexado por el ordinal del compuesto (solo compuestos de seco)
+    private final ModeloDegradacion[] modelos;
+    private final long perdidaBoxesMs;
+
+    ModelosCircuito(long circuitoId, ModeloDegradacion[] modelos, long perdidaBoxesMs) {
+        this.circuitoId = circuitoId;
+        this.modelos = modelos;
+        this.perdidaBoxesMs = perdidaBoxesMs;
+    }
+
+    public long getCircuitoId() {
+        return circuitoId;
+    }
+
+    /**
+     * @param compuesto Compuesto de seco
+     * @return Modelo del compuesto
+     */
+    public ModeloDegradacion getModelo(Compuesto compuesto) {
+        if (!compuesto.isSeco()) {
+            throw new IllegalArgumentException("Solo se modelan compuestos de seco: " + compuesto);
+        }
+        return modelos[compuesto.ordinal()];
+    }
+
+    /**
+     * @return Milisegundos que cuesta una parada en pista
+     */
+    public long getPerdidaBoxesMs() {
+        return perdidaBoxesMs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ModelosCircuito{circuitoId=").append(circuitoId);
+        for (ModeloDegradacion modelo : modelos) {
+            sb.append(", ").append(modelo);
+        }
+        return sb.append(", perdidaBoxesMs=").append(perdidaBoxesMs).append('}').toString();
+    }
+}
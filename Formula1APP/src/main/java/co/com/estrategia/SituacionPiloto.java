@@ -0,0 +1,81 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+import java.util.Set;
+
+/**
+ * Situación de un piloto desde la que se calcula su estrategia: vueltas completadas,
+ * neumático montado y compuestos ya usados. Es inmutable.
+ */
+public final class SituacionPiloto {
+
+    private final long pilotoId;
+    private final int vueltasCompletadas;
+    private final Compuesto compuestoActual;
+    private final int edadNeumatico;
+    private final int paradasRealizadas;
+    // Bits por ordinal de los compuestos de seco ya usados, incluido el actual
+    private final int mascaraUsados;
+
+    /**
+     * @param pilotoId ID del piloto
+     * @param vueltasCompletadas Vueltas completadas (0 en parrilla)
+     * @param compuestoActual Compuesto montado, o null si se planifica antes de la salida y se elige libremente
+     * @param edadNeumatico Vueltas que lleva el neumático montado
+     * @param paradasRealizadas Paradas ya hechas en la carrera
+     * @param compuestosUsados Compuestos usados en stints anteriores
+     */
+    public SituacionPiloto(long pilotoId, int vueltasCompletadas, Compuesto compuestoActual, int edadNeumatico,
+                           int paradasRealizadas, Set<Compuesto> compuestosUsados) {
+        if (compuestoActual != null && !compuestoActual.isSeco()) {
+            throw new IllegalArgumentException("La estrategia solo se calcula en seco: " + compuestoActual);
+        }
+        this.pilotoId = pilotoId;
+        this.vueltasCompletadas = vueltasCompletadas;
+        this.compuestoActual = compuestoActual;
+        this.edadNeumatico = edadNeumatico;
+        this.paradasRealizadas = paradasRealizadas;
+        int mascara = compuestoActual != null ? 1 << compuestoActual.ordinal() : 0;
+        for (Compuesto compuesto : compuestosUsados) {
+            if (compuesto.isSeco()) {
+                mascara |= 1 << compuesto.ordinal();
+            }
+        }
+        this.mascaraUsados = mascara;
+    }
+
+    /**
+     * Situación en parrilla, con el compuesto de salida por elegir.
+     *
+     * @param pilotoId ID del piloto
+     * @return Situación antes de la salida
+     */
+    public static SituacionPiloto enParrilla(long pilotoId) {
+        return new SituacionPiloto(pilotoId, 0, null, 0, 0, Set.of());
+    }
+
+    public long getPilotoId() {
+        return pilotoId;
+    }
+
+    public int getVueltasCompletadas() {
+        return vueltasCompletadas;
+    }
+
+    public Compuesto getCompuestoActual() {
+        return compuestoActual;
+    }
+
+    public int getEdadNeumatico() {
+        return edadNeumatico;
+    }
+
+    public int getParadasRealizadas() {
+        return paradasRealizadas;
+    }
+
+    int getMascaraUsados() {
+        return mascaraUsados;
+    }
+}
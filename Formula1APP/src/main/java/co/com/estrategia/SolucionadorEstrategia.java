@@ -0,0 +1,269 @@
+package co.com.estrategia;
+
+import co.com.model.Compuesto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Calcula las mejores estrategias de paradas (de una a tres en toda la carrera) con programación
+ * dinámica sobre vueltas y compuestos.
+ *
+ * <p>Un estado es un stint con neumático nuevo: paradas hechas, vuelta de inicio, compuesto y
+ * compuestos de seco usados hasta entonces. Para cada estado se guardan sus {@code mejores}
+ * continuaciones hasta la meta; un estado solo depende de los de una parada más, así que cada capa
+ * de paradas se calcula en paralelo por vuelta. Las tablas no dependen de ningún piloto y se
+ * construyen una vez por carrera: recalcular en cada vuelta solo evalúa el stint en curso de cada
+ * piloto contra ellas. El coste de un stint es de forma cerrada ({@link ModeloDegradacion#costeStint}).
+ * Se exige la regla de dos compuestos de seco. Es inmutable tras construirse y thread-safe.
+ */
+public final class SolucionadorEstrategia {
+
+    public static final int MAX_PARADAS = 3;
+
+    private static final int COMPUESTOS = 3;
+    private static final int MASCARAS = 1 << COMPUESTOS;
+    private static final Compuesto[] SECOS = {Compuesto.BLANDO, Compuesto.MEDIO, Compuesto.DURO};
+
+    private final ModeloDegradacion[] modelos = new ModeloDegradacion[COMPUESTOS];
+    private final long perdidaBoxesMs;
+    private final int vueltasTotales;
+    private final int mejores;
+
+    // Mejores continuaciones de cada estado, ordenadas por tiempo: [estado * mejores + rango]
+    private final long[] tiempos;
+    private final int[] fines;
+    private final int[] siguientes;
+    private final int[] rangos;
+
+    /**
+     * Construye las tablas de la carrera.
+     *
+     * @param modelosCircuito Modelos de degradación del circuito
+     * @param vueltasTotales Vueltas de la carrera
+     * @param mejores Número de estrategias a devolver por piloto
+     */
+    public SolucionadorEstrategia(ModelosCircuito modelosCircuito, int vueltasTotales, int mejores) {
+        if (vueltasTotales < 2 || mejores < 1) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 vueltas y 1 estrategia");
+        }
+        for (int c = 0; c < COMPUESTOS; c++) {
+            modelos[c] = modelosCircuito.getModelo(SECOS[c]);
+        }
+        this.perdidaBoxesMs = modelosCircuito.getPerdidaBoxesMs();
+        this.vueltasTotales = vueltasTotales;
+        this.mejores = mejores;
+
+        int ranuras = (MAX_PARADAS + 1) * (vueltasTotales + 2) * COMPUESTOS * MASCARAS * mejores;
+        this.tiempos = new long[ranuras];
+        this.fines = new int[ranuras];
+        this.siguientes = new int[ranuras];
+        this.rangos = new int[ranuras];
+        Arrays.fill(tiempos, ModeloDegradacion.INVIABLE);
+
+        for (int p = MAX_PARADAS; p >= 1; p--) {
+            int paradas = p;
+            IntStream.rangeClosed(2, vueltasTotales).parallel().forEach(vuelta -> {
+                Candidatos candidatos = new Candidatos(mejores);
+                for (int c = 0; c < COMPUESTOS; c++) {
+                    for (int m = 0; m < MASCARAS; m++) {
+                        if ((m & (1 << c)) == 0) {
+                            continue;
+                        }
+                        candidatos.vaciar();
+                        evaluar(paradas, vuelta, c, 0, m, -1, candidatos);
+                        int base = estado(paradas, vuelta, c, m) * mejores;
+                        for (int r = 0; r < candidatos.tamano; r++) {
+                            tiempos[base + r] = candidatos.tiempos[r];
+                            fines[base + r] = candidatos.fines[r];
+                            siguientes[base + r] = candidatos.siguientes[r];
+                            rangos[base + r] = candidatos.rangos[r];
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    public int getVueltasTotales() {
+        return vueltasTotales;
+    }
+
+    public int getMejores() {
+        return mejores;
+    }
+
+    /**
+     * Calcula las mejores estrategias de varios pilotos en paralelo.
+     *
+     * @param situaciones Situación de cada piloto
+     * @return Estrategias por piloto, en el orden de entrada
+     */
+    public Map<Long, List<Estrategia>> resolver(List<SituacionPiloto> situaciones) {
+        // El stream paralelo conserva el orden de entrada en la lista resultante
+        List<List<Estrategia>> resultados = IntStream.range(0, situaciones.size()).parallel()
+                .mapToObj(i -> resolver(situaciones.get(i)))
+                .toList();
+
+        Map<Long, List<Estrategia>> porPiloto = new LinkedHashMap<>();
+        for (int i = 0; i < resultados.size(); i++) {
+            porPiloto.put(situaciones.get(i).getPilotoId(), resultados.get(i));
+        }
+        return porPiloto;
+    }
+
+    /**
+     * Calcula las mejores estrategias de un piloto desde su situación.
+     * Un piloto que ya hizo {@link #MAX_PARADAS} paradas solo tiene estrategia si su neumático llega a meta.
+     *
+     * @param situacion Situación del piloto
+     * @return Estrategias de mejor a peor (vacía si la carrera ya terminó o ninguna es viable)
+     */
+    public List<Estrategia> resolver(SituacionPiloto situacion) {
+        int vuelta = situacion.getVueltasCompletadas() + 1;
+        if (vuelta > vueltasTotales) {
+            return List.of();
+        }
+        int paradas = situacion.getParadasRealizadas();
+        int mascara = situacion.getMascaraUsados();
+
+        Candidatos candidatos = new Candidatos(mejores);
+        if (situacion.getCompuestoActual() == null) {
+            for (int c = 0; c < COMPUESTOS; c++) {
+                evaluar(paradas, vuelta, c, 0, mascara | (1 << c), c, candidatos);
+            }
+        } else {
+            int c = situacion.getCompuestoActual().ordinal();
+            evaluar(paradas, vuelta, c, situacion.getEdadNeumatico(), mascara, c, candidatos);
+        }
+
+        List<Estrategia> estrategias = new ArrayList<>(candidatos.tamano);
+        for (int k = 0; k < candidatos.tamano; k++) {
+            estrategias.add(reconstruir(situacion, candidatos, k, paradas, mascara));
+        }
+        return estrategias;
+    }
+
+    /**
+     * Ofrece a los candidatos todas las formas de acabar la carrera con un stint que empieza en la vuelta dada.
+     */
+    private void evaluar(int paradas, int vuelta, int compuesto, int edad, int mascara, int raiz,
+                         Candidatos candidatos) {
+        ModeloDegradacion modelo = modelos[compuesto];
+        for (int fin = vuelta; fin <= vueltasTotales; fin++) {
+            long coste = modelo.costeStint(edad, fin - vuelta + 1);
+            if (coste >= ModeloDegradacion.INVIABLE) {
+                // Los stints más largos tampoco llegan
+                break;
+            }
+            if (fin == vueltasTotales) {
+                if (paradas >= 1 && Integer.bitCount(mascara) >= 2) {
+                    candidatos.ofrecer(coste, fin, -1, -1, raiz);
+                }
+                break;
+            }
+            if (paradas >= MAX_PARADAS) {
+                continue;
+            }
+            long hastaParada = coste + perdidaBoxesMs;
+            for (int siguiente = 0; siguiente < COMPUESTOS; siguiente++) {
+                int base = estado(paradas + 1, fin + 1, siguiente, mascara | (1 << siguiente)) * mejores;
+                for (int r = 0; r < mejores; r++) {
+                    long resto = tiempos[base + r];
+                    // Las continuaciones están ordenadas: si esta no entra, las siguientes tampoco
+                    if (resto >= ModeloDegradacion.INVIABLE
+                            || !candidatos.ofrecer(hastaParada + resto, fin, siguiente, r, raiz)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private Estrategia reconstruir(SituacionPiloto situacion, Candidatos candidatos, int k,
+                                   int paradas, int mascara) {
+        int inicial = candidatos.raices[k];
+        List<Compuesto> compuestos = new ArrayList<>(MAX_PARADAS + 1);
+        List<Integer> vueltasParada = new ArrayList<>(MAX_PARADAS);
+        compuestos.add(SECOS[inicial]);
+        mascara |= 1 << inicial;
+
+        int fin = candidatos.fines[k];
+        int siguiente = candidatos.siguientes[k];
+        int rango = candidatos.rangos[k];
+        while (siguiente >= 0) {
+            vueltasParada.add(fin);
+            compuestos.add(SECOS[siguiente]);
+            paradas++;
+            mascara |= 1 << siguiente;
+            int ranura = estado(paradas, fin + 1, siguiente, mascara) * mejores + rango;
+            fin = fines[ranura];
+            siguiente = siguientes[ranura];
+            rango = rangos[ranura];
+        }
+
+        int[] vueltas = new int[vueltasParada.size()];
+        for (int i = 0; i < vueltas.length; i++) {
+            vueltas[i] = vueltasParada.get(i);
+        }
+        return new Estrategia(situacion.getPilotoId(), candidatos.tiempos[k],
+                candidatos.tiempos[k] - candidatos.tiempos[0], vueltas, compuestos.toArray(new Compuesto[0]));
+    }
+
+    private int estado(int paradas, int vuelta, int compuesto, int mascara) {
+        return ((paradas * (vueltasTotales + 2) + vuelta) * COMPUESTOS + compuesto) * MASCARAS + mascara;
+    }
+
+    /**
+     * Las mejores continuaciones de un estado, ordenadas por tiempo con inserción acotada.
+     */
+    private static final class Candidatos {
+        final long[] tiempos;
+        final int[] fines;
+        final int[] siguientes;
+        final int[] rangos;
+        final int[] raices;
+        int tamano;
+
+        Candidatos(int capacidad) {
+            tiempos = new long[capacidad];
+            fines = new int[capacidad];
+            siguientes = new int[capacidad];
+            rangos = new int[capacidad];
+            raices = new int[capacidad];
+        }
+
+        void vaciar() {
+            tamano = 0;
+        }
+
+        /**
+         * @return false si el candidato no entra porque ya hay suficientes mejores
+         */
+        boolean ofrecer(long tiempo, int fin, int siguiente, int rango, int raiz) {
+            int capacidad = tiempos.length;
+            if (tamano == capacidad && tiempo >= tiempos[capacidad - 1]) {
+                return false;
+            }
+            int i = tamano < capacidad ? tamano++ : capacidad - 1;
+            while (i > 0 && tiempos[i - 1] > tiempo) {
+                tiempos[i] = tiempos[i - 1];
+                fines[i] = fines[i - 1];
+                siguientes[i] = siguientes[i - 1];
+                rangos[i] = rangos[i - 1];
+                raices[i] = raices[i - 1];
+                i--;
+            }
+            tiempos[i] = tiempo;
+            fines[i] = fin;
+            siguientes[i] = siguiente;
+            rangos[i] = rango;
+            raices[i] = raiz;
+            return true;
+        }
+    }
+}
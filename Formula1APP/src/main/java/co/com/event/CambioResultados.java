@@ -0,0 +1,70 @@
+package co.com.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cambio confirmado sobre la clasificación de una carrera o de su sprint:
+ * los resultados que dejaron de existir y los que quedaron escritos.
+ * Una inserción no tiene anteriores y una eliminación no tiene nuevos.
+ * Los resultados de sprint solo aportan puntos; no cuentan como victorias, podios ni salidas.
+ */
+public final class CambioResultados {
+
+    private final Long carreraId;
+    private final int anio;
+    private final LocalDate fecha;
+    private final List<FilaResultado> anteriores;
+    private final List<FilaResultado> nuevos;
+    private final boolean sprint;
+
+    public CambioResultados(Long carreraId, int anio, LocalDate fecha,
+                            List<FilaResultado> anteriores, List<FilaResultado> nuevos) {
+        this(carreraId, anio, fecha, anteriores, nuevos, false);
+    }
+
+    public CambioResultados(Long carreraId, int anio, LocalDate fecha,
+                            List<FilaResultado> anteriores, List<FilaResultado> nuevos, boolean sprint) {
+        this.carreraId = carreraId;
+        this.anio = anio;
+        this.fecha = fecha;
+        this.anteriores = List.copyOf(anteriores);
+        this.nuevos = List.copyOf(nuevos);
+        this.sprint = sprint;
+    }
+
+    public Long getCarreraId() {
+        return carreraId;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public List<FilaResultado> getAnteriores() {
+        return anteriores;
+    }
+
+    public List<FilaResultado> getNuevos() {
+        return nuevos;
+    }
+
+    public boolean isSprint() {
+        return sprint;
+    }
+
+    @Override
+    public String toString() {
+        return "CambioResultados{" +
+                "carreraId=" + carreraId +
+                ", anio=" + anio +
+                ", sprint=" + sprint +
+                ", anteriores=" + anteriores.size() +
+                ", nuevos=" + nuevos.size() +
+                '}';
+    }
+}
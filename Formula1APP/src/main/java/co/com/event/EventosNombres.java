@@ -0,0 +1,53 @@
+package co.com.event;
+
+import co.com.dto.Sugerencia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de observadores de nombres de pilotos, constructores, circuitos y carreras.
+ * Los DAOs publican aquí cada alta, cambio o baja después de confirmar la transacción,
+ * así que no dependen de los índices en memoria que se mantienen a partir de ellos.
+ */
+public final class EventosNombres {
+    private static final Logger logger = LoggerFactory.getLogger(EventosNombres.class);
+
+    private static final List<ObservadorNombres> observadores = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private EventosNombres() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    public static void registrar(ObservadorNombres observador) {
+        observadores.add(observador);
+    }
+
+    public static void eliminar(ObservadorNombres observador) {
+        observadores.remove(observador);
+    }
+
+    /**
+     * Notifica un nombre confirmado a todos los observadores.
+     * Un fallo en un observador se registra y no impide notificar a los demás,
+     * ya que los datos en la base de datos ya están confirmados.
+     *
+     * @param tipo Tipo de entidad
+     * @param id ID de la entidad
+     * @param nombre Nombre actual, o null si la entidad se eliminó
+     */
+    public static void publicar(Sugerencia.Tipo tipo, Long id, String nombre) {
+        for (ObservadorNombres observador : observadores) {
+            try {
+                observador.nombreCambiado(tipo, id, nombre);
+            } catch (Exception e) {
+                logger.error("Error en observador de nombres " + observador.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de observadores de resultados.
+ * Los servicios publican aquí cada cambio después de confirmar la transacción,
+ * y cachés e índices en memoria se actualizan o invalidan a partir de él.
+ */
+public final class EventosResultados {
+    private static final Logger logger = LoggerFactory.getLogger(EventosResultados.class);
+
+    private static final List<ObservadorResultados> observadores = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private EventosResultados() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    public static void registrar(ObservadorResultados observador) {
+        observadores.add(observador);
+    }
+
+    public static void eliminar(ObservadorResultados observador) {
+        observadores.remove(observador);
+    }
+
+    /**
+     * Notifica un cambio confirmado a todos los observadores.
+     * Un fallo en un observador se registra y no impide notificar a los demás,
+     * ya que los datos en la base de datos ya están confirmados.
+     *
+     * @param cambio Cambio confirmado
+     */
+    public static void publicar(CambioResultados cambio) {
+        logger.debug("Publicando {} a {} observadores", cambio, observadores.size());
+        for (ObservadorResultados observador : observadores) {
+            try {
+                observador.resultadosCambiados(cambio);
+            } catch (Exception e) {
+                logger.error("Error en observador de resultados " + observador.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
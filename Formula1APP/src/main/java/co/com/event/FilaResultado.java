@@ -0,0 +1,162 @@
+package co.com.event;
+
+import co.com.model.Carrera;
+import co.com.model.Resultado;
+import co.com.model.ResultadoSprint;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Copia inmutable de un resultado en el momento de escribirlo o eliminarlo.
+ * Los modelos de lectura en memoria la reciben en lugar de la entidad, que puede seguir cambiando.
+ */
+public final class FilaResultado {
+
+    private final Long resultadoId;
+    private final Long carreraId;
+    private final Long pilotoId;
+    private final String pilotoNombre;
+    private final Long constructorId;
+    private final int anio;
+    private final LocalDate fecha;
+    private final Integer posicion;
+    private final BigDecimal puntos;
+    private final boolean retirado;
+    private final String motivoRetiro;
+    private final boolean vueltaRapida;
+
+    public FilaResultado(Long resultadoId, Long carreraId, Long pilotoId, String pilotoNombre, Long constructorId,
+                         int anio, LocalDate fecha, Integer posicion, BigDecimal puntos,
+                         boolean retirado, String motivoRetiro, boolean vueltaRapida) {
+        this.resultadoId = resultadoId;
+        this.carreraId = carreraId;
+        this.pilotoId = pilotoId;
+        this.pilotoNombre = pilotoNombre;
+        this.constructorId = constructorId;
+        this.anio = anio;
+        this.fecha = fecha;
+        this.posicion = posicion;
+        this.puntos = puntos != null ? puntos : BigDecimal.ZERO;
+        this.retirado = retirado;
+        this.motivoRetiro = motivoRetiro;
+        this.vueltaRapida = vueltaRapida;
+    }
+
+    /**
+     * Crea la copia de un resultado. El piloto, el constructor y la temporada
+     * de la carrera deben estar inicializados.
+     *
+     * @param resultado Resultado a copiar
+     * @param carrera Carrera del resultado
+     * @return Copia inmutable
+     */
+    public static FilaResultado de(Resultado resultado, Carrera carrera) {
+        return new FilaResultado(
+                resultado.getId(),
+                carrera.getId(),
+                resultado.getPiloto().getId(),
+                resultado.getPiloto().getNombre(),
+                resultado.getConstructor() != null ? resultado.getConstructor().getId() : null,
+                carrera.getTemporada().getAnio(),
+                carrera.getFecha(),
+                resultado.getPosicionFinal(),
+                resultado.getPuntosObtenidos(),
+                Boolean.TRUE.equals(resultado.getRetirado()),
+                resultado.getMotivoRetiro(),
+                Boolean.TRUE.equals(resultado.getVueltaRapida())
+        );
+    }
+
+    /**
+     * Crea la copia de un resultado de sprint. El piloto, el constructor y la temporada
+     * de la carrera deben estar inicializados.
+     *
+     * @param resultado Resultado de sprint a copiar
+     * @param carrera Carrera del sprint
+     * @return Copia inmutable
+     */
+    public static FilaResultado de(ResultadoSprint resultado, Carrera carrera) {
+        return new FilaResultado(
+                resultado.getId(),
+                carrera.getId(),
+                resultado.getPiloto().getId(),
+                resultado.getPiloto().getNombre(),
+                resultado.getConstructor() != null ? resultado.getConstructor().getId() : null,
+                carrera.getTemporada().getAnio(),
+                carrera.getFecha(),
+                resultado.getPosicionFinal(),
+                resultado.getPuntosObtenidos(),
+                Boolean.TRUE.equals(resultado.getRetirado()),
+                resultado.getMotivoRetiro(),
+                false
+        );
+    }
+
+    public Long getResultadoId() {
+        return resultadoId;
+    }
+
+    public Long getCarreraId() {
+        return carreraId;
+    }
+
+    public Long getPilotoId() {
+        return pilotoId;
+    }
+
+    public String getPilotoNombre() {
+        return pilotoNombre;
+    }
+
+    public Long getConstructorId() {
+        return constructorId;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public Integer getPosicion() {
+        return posicion;
+    }
+
+    public BigDecimal getPuntos() {
+        return puntos;
+    }
+
+    public boolean isRetirado() {
+        return retirado;
+    }
+
+    public String getMotivoRetiro() {
+        return motivoRetiro;
+    }
+
+    public boolean isVueltaRapida() {
+        return vueltaRapida;
+    }
+
+    public boolean isVictoria() {
+        return posicion != null && posicion == 1;
+    }
+
+    public boolean isPodio() {
+        return posicion != null && posicion >= 1 && posicion <= 3;
+    }
+
+    @Override
+    public String toString() {
+        return "FilaResultado{" +
+                "carreraId=" + carreraId +
+                ", pilotoId=" + pilotoId +
+                ", posicion=" + posicion +
+                ", puntos=" + puntos +
+                ", retirado=" + retirado +
+                '}';
+    }
+}
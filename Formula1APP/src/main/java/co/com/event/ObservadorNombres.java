@@ -0,0 +1,18 @@
+package co.com.event;
+
+import co.com.dto.Sugerencia;
+
+/**
+ * Interfaz funcional para índices en memoria que deben enterarse
+ * de los nombres de entidades confirmados en la base de datos.
+ */
+@FunctionalInterface
+public interface ObservadorNombres {
+
+    /**
+     * @param tipo Tipo de entidad
+     * @param id ID de la entidad
+     * @param nombre Nombre actual, o null si la entidad se eliminó
+     */
+    void nombreCambiado(Sugerencia.Tipo tipo, Long id, String nombre);
+}
@@ -0,0 +1,10 @@
+package co.com.event;
+
+/**
+ * Interfaz funcional para modelos de lectura que deben enterarse
+ * de los resultados confirmados en la base de datos.
+ */
+@FunctionalInterface
+public interface ObservadorResultados {
+    void resultadosCambiados(CambioResultados cambio);
+}
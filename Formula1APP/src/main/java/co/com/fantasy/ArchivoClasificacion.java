@@ -0,0 +1,123 @@
+package co.com.fantasy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea en disco de los totales de una temporada, para que un reinicio no tenga que
+ * leer todos los equipos de MySQL.
+ *
+ * <p>Formato: cabecera (marca, versión del formato, año, versión de los puntos, última carrera puntuada,
+ * número de equipos), un par (ID, puntos) por equipo
+ * en orden de ID y un CRC32 de todo lo anterior. Se escribe en un archivo temporal que luego
+ * sustituye al anterior de forma atómica, así que un corte a mitad de escritura deja la instantánea previa.
+ */
+final class ArchivoClasificacion {
+
+    private static final int MARCA = 0x46314642; // "F1FB"
+    private static final int VERSION = 2;
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private ArchivoClasificacion() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    static Path ruta(Path directorio, int anio) {
+        return directorio.resolve("clasificacion-" + anio + ".bin");
+    }
+
+    /**
+     * Escribe la instantánea de una temporada, sustituyendo la anterior.
+     *
+     * @param directorio Directorio de instantáneas
+     * @param anio Año de la temporada
+     * @param equipoIds IDs en orden ascendente
+     * @param puntos Puntos alineados con los IDs
+     * @param versionPuntos Versión de los puntos de la temporada que reflejan los totales
+     * @param ultimaCarreraId Última carrera puntuada en esa versión
+     */
+    static void guardar(Path directorio, int anio, long[] equipoIds, int[] puntos,
+                        long versionPuntos, long ultimaCarreraId) throws IOException {
+        Files.createDirectories(directorio);
+        Path destino = ruta(directorio, anio);
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        // El CRC va por debajo del DataOutputStream para que vea los bytes en el orden en que se escriben
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)), crc))) {
+            out.writeInt(MARCA);
+            out.writeInt(VERSION);
+            out.writeInt(anio);
+            out.writeLong(versionPuntos);
+            out.writeLong(ultimaCarreraId);
+            out.writeInt(equipoIds.length);
+            for (int i = 0; i < equipoIds.length; i++) {
+                out.writeLong(equipoIds[i]);
+                out.writeInt(puntos[i]);
+            }
+            out.writeLong(crc.getValue());
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee la instantánea de una temporada.
+     *
+     * @param directorio Directorio de instantáneas
+     * @param anio Año de la temporada
+     * @return Totales leídos, vacío si no hay instantánea o está dañada
+     */
+    static Optional<TotalesEquipos> cargar(Path directorio, int anio) throws IOException {
+        Path origen = ruta(directorio, anio);
+        if (!Files.isRegularFile(origen)) {
+            return Optional.empty();
+        }
+
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(origen)), crc))) {
+            if (in.readInt() != MARCA || in.readInt() != VERSION || in.readInt() != anio) {
+                return Optional.empty();
+            }
+            long versionPuntos = in.readLong();
+            long ultimaCarreraId = in.readLong();
+            int tamano = in.readInt();
+            // Cada equipo ocupa 12 bytes: una cabecera dañada no debe reservar más de lo que hay
+            if (tamano < 0 || (long) tamano * 12 > Files.size(origen)) {
+                return Optional.empty();
+            }
+
+            long[] equipoIds = new long[tamano];
+            int[] puntos = new int[tamano];
+            for (int i = 0; i < tamano; i++) {
+                equipoIds[i] = in.readLong();
+                puntos[i] = in.readInt();
+                if (i > 0 && equipoIds[i] <= equipoIds[i - 1]) {
+                    return Optional.empty();
+                }
+            }
+            long esperado = crc.getValue();
+            if (in.readLong() != esperado) {
+                return Optional.empty();
+            }
+            return Optional.of(new TotalesEquipos(equipoIds, puntos, versionPuntos, ultimaCarreraId));
+
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+    }
+}
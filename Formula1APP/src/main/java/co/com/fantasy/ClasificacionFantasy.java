@@ -0,0 +1,481 @@
+package co.com.fantasy;
+
+import co.com.dao.FantasyDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Clasificación en memoria de todos los equipos de fantasía de una temporada y de sus ligas privadas.
+ * Las consultas no tocan MySQL: leen la {@link Instantanea} vigente sin bloqueo.
+ *
+ * <p>Cada carrera cambia los puntos de casi todos los equipos, así que en lugar de un árbol que
+ * se reordena equipo a equipo, los puntos se suman sobre arrays y al final se publica una instantánea
+ * nueva ordenada con counting sort: O(n + rango de puntos), unas decenas de ms por millón de equipos.
+ * Con la instantánea, la posición de un equipo es una búsqueda binaria por ID y un acceso a array.
+ *
+ * <p>Tras cada puntuación los totales se guardan en disco ({@link ArchivoClasificacion}) con la versión
+ * de los puntos de la temporada, que cada puntuación incrementa en la base de datos antes de escribir.
+ * Al cargar una temporada se usa la instantánea si su versión y su número de equipos coinciden con
+ * la base de datos; si no, se leen los totales de MySQL.
+ */
+public final class ClasificacionFantasy {
+    private static final Logger logger = LoggerFactory.getLogger(ClasificacionFantasy.class);
+
+    public static final Path DIRECTORIO_INSTANTANEAS = Paths.get("fantasy");
+
+    private static final Map<Integer, ClasificacionFantasy> temporadas = new ConcurrentHashMap<>();
+    private static final FantasyDAO fantasyDAO = new FantasyDAO();
+
+    // Versión de unos totales con una puntuación a medias; no coincide con ninguna de la base de datos
+    private static final long VERSION_DESCONOCIDA = -1;
+
+    /**
+     * Estado consistente de la clasificación en un instante. Inmutable.
+     */
+    public static final class Instantanea {
+        // Alineados y en orden de ID
+        private final long[] equipoIds;
+        private final int[] puntos;
+        // orden[k] = índice del equipo en la posición ordinal k; ordinal[i] es la inversa
+        private final int[] orden;
+        private final int[] ordinal;
+        // primerOrdinal[p - minimo] = ordinal del primer equipo con p puntos
+        private final int minimo;
+        private final int[] primerOrdinal;
+
+        private Instantanea(long[] equipoIds, int[] puntos) {
+            int n = equipoIds.length;
+            this.equipoIds = equipoIds;
+            this.puntos = puntos;
+            this.orden = new int[n];
+            this.ordinal = new int[n];
+
+            int min = 0;
+            int max = 0;
+            for (int i = 0; i < n; i++) {
+                min = i == 0 ? puntos[i] : Math.min(min, puntos[i]);
+                max = i == 0 ? puntos[i] : Math.max(max, puntos[i]);
+            }
+            this.minimo = min;
+            this.primerOrdinal = new int[Math.toIntExact((long) max - min + 1)];
+
+            // Counting sort por puntos descendentes; estable, así que los empates quedan por ID
+            int[] conteo = primerOrdinal;
+            for (int p : puntos) {
+                conteo[p - min]++;
+            }
+            int acumulado = 0;
+            for (int v = conteo.length - 1; v >= 0; v--) {
+                int c = conteo[v];
+                conteo[v] = acumulado;
+                acumulado += c;
+            }
+            int[] siguiente = Arrays.copyOf(conteo, conteo.length);
+            for (int i = 0; i < n; i++) {
+                int k = siguiente[puntos[i] - min]++;
+                orden[k] = i;
+                ordinal[i] = k;
+            }
+        }
+
+        public int tamano() {
+            return equipoIds.length;
+        }
+
+        /**
+         * @param equipoId ID del equipo
+         * @return Posición del equipo (desde 1), vacía si no está en la clasificación
+         */
+        public OptionalInt getPosicion(long equipoId) {
+            int i = Arrays.binarySearch(equipoIds, equipoId);
+            return i < 0 ? OptionalInt.empty() : OptionalInt.of(posicionDe(i));
+        }
+
+        /**
+         * @param equipoId ID del equipo
+         * @return Fila del equipo, vacía si no está en la clasificación
+         */
+        public Optional<PosicionFantasy> getEquipo(long equipoId) {
+            int i = Arrays.binarySearch(equipoIds, equipoId);
+            return i < 0 ? Optional.empty() : Optional.of(fila(i));
+        }
+
+        /**
+         * @param limite Número de equipos
+         * @return Los primeros equipos de la clasificación
+         */
+        public List<PosicionFantasy> getPrimeros(int limite) {
+            return getTramo(0, Math.min(limite, tamano()));
+        }
+
+        /**
+         * Obtiene los equipos que rodean a uno en la clasificación.
+         *
+         * @param equipoId ID del equipo
+         * @param radio Equipos por delante y por detrás
+         * @return Hasta 2 * radio + 1 filas en orden, vacía si el equipo no está en la clasificación
+         */
+        public List<PosicionFantasy> getVecinos(long equipoId, int radio) {
+            int i = Arrays.binarySearch(equipoIds, equipoId);
+            if (i < 0) {
+                return List.of();
+            }
+            int k = ordinal[i];
+            return getTramo(Math.max(0, k - radio), Math.min(tamano(), k + radio + 1));
+        }
+
+        /**
+         * Clasifica un subconjunto de equipos entre sí, con las posiciones propias del subconjunto.
+         *
+         * @param miembros IDs de los equipos
+         * @return Filas ordenadas; se omiten los equipos que no están en la clasificación
+         */
+        public List<PosicionFantasy> clasificar(long[] miembros) {
+            int[] ordinales = new int[miembros.length];
+            int n = 0;
+            for (long equipoId : miembros) {
+                int i = Arrays.binarySearch(equipoIds, equipoId);
+                if (i >= 0) {
+                    ordinales[n++] = ordinal[i];
+                }
+            }
+            Arrays.sort(ordinales, 0, n);
+
+            List<PosicionFantasy> filas = new ArrayList<>(n);
+            int posicion = 0;
+            for (int k = 0; k < n; k++) {
+                int i = orden[ordinales[k]];
+                if (k == 0 || puntos[i] != puntos[orden[ordinales[k - 1]]]) {
+                    posicion = k + 1;
+                }
+                filas.add(new PosicionFantasy(posicion, equipoIds[i], puntos[i]));
+            }
+            return filas;
+        }
+
+        private List<PosicionFantasy> getTramo(int desde, int hasta) {
+            List<PosicionFantasy> filas = new ArrayList<>(Math.max(0, hasta - desde));
+            for (int k = desde; k < hasta; k++) {
+                filas.add(fila(orden[k]));
+            }
+            return filas;
+        }
+
+        private int posicionDe(int i) {
+            return primerOrdinal[puntos[i] - minimo] + 1;
+        }
+
+        private PosicionFantasy fila(int i) {
+            return new PosicionFantasy(posicionDe(i), equipoIds[i], puntos[i]);
+        }
+    }
+
+    private final int anio;
+    private final Path directorio;
+    // Miembros de cada liga en orden de ID; se sustituye el array completo al añadir uno
+    private final Map<Long, long[]> ligas = new ConcurrentHashMap<>();
+
+    // Estado de escritura, protegido por el monitor de la instancia
+    private long[] equipoIds = new long[0];
+    private int[] puntos = new int[0];
+    // Equipos creados desde la última publicación: ID -> puntos
+    private final Map<Long, Integer> pendientes = new HashMap<>();
+    private boolean sinGuardar;
+    // Versión de los puntos que reflejan los totales y última carrera puntuada en ella
+    private long version;
+    private long ultimaCarreraId;
+
+    private final CountDownLatch cargada = new CountDownLatch(1);
+    private volatile RuntimeException errorCarga;
+    private volatile Instantanea instantanea = new Instantanea(new long[0], new int[0]);
+
+    private ClasificacionFantasy(int anio, Path directorio) {
+        this.anio = anio;
+        this.directorio = directorio;
+    }
+
+    /**
+     * Obtiene la clasificación de una temporada, cargándola en el primer acceso.
+     * Un solo hilo lee la instantánea o la base de datos, fuera del mapa; los demás esperan a que termine.
+     *
+     * @param anio Año de la temporada
+     * @return Clasificación de la temporada
+     */
+    public static ClasificacionFantasy getTemporada(int anio) {
+        ClasificacionFantasy clasificacion = temporadas.get(anio);
+        if (clasificacion == null) {
+            ClasificacionFantasy nueva = new ClasificacionFantasy(anio, DIRECTORIO_INSTANTANEAS);
+            clasificacion = temporadas.putIfAbsent(anio, nueva);
+            if (clasificacion == null) {
+                clasificacion = nueva;
+                nueva.cargar();
+            }
+        }
+        clasificacion.esperarCarga();
+        return clasificacion;
+    }
+
+    /**
+     * Guarda en disco las temporadas cargadas con cambios sin guardar.
+     * Pensado para una tarea periódica y para el cierre de la aplicación.
+     */
+    public static void guardarModificadas() {
+        for (ClasificacionFantasy clasificacion : temporadas.values()) {
+            clasificacion.guardar();
+        }
+    }
+
+    /**
+     * @return Estado vigente; varias consultas sobre la misma instantánea son consistentes entre sí
+     */
+    public Instantanea getInstantanea() {
+        return instantanea;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    /**
+     * @param ligaId ID de la liga
+     * @return Clasificación de la liga, vacía si la liga no existe o no tiene equipos
+     */
+    public List<PosicionFantasy> getClasificacionLiga(long ligaId) {
+        long[] miembros = ligas.get(ligaId);
+        return miembros == null ? List.of() : instantanea.clasificar(miembros);
+    }
+
+    /**
+     * Registra un equipo recién creado con 0 puntos. Aparece en las consultas tras la siguiente publicación.
+     *
+     * @param equipoId ID del equipo
+     */
+    public synchronized void agregarEquipo(long equipoId) {
+        if (Arrays.binarySearch(equipoIds, equipoId) < 0) {
+            pendientes.putIfAbsent(equipoId, 0);
+        }
+    }
+
+    /**
+     * Añade un equipo a una liga; visible en la siguiente consulta de la liga.
+     *
+     * @param ligaId ID de la liga
+     * @param equipoId ID del equipo
+     */
+    public void agregarMiembro(long ligaId, long equipoId) {
+        ligas.compute(ligaId, (id, miembros) -> {
+            if (miembros == null) {
+                return new long[]{equipoId};
+            }
+            int i = Arrays.binarySearch(miembros, equipoId);
+            if (i >= 0) {
+                return miembros;
+            }
+            int punto = -i - 1;
+            long[] nuevos = new long[miembros.length + 1];
+            System.arraycopy(miembros, 0, nuevos, 0, punto);
+            nuevos[punto] = equipoId;
+            System.arraycopy(miembros, punto, nuevos, punto + 1, miembros.length - punto);
+            return nuevos;
+        });
+    }
+
+    /**
+     * Suma a los totales los puntos de un lote ya escrito en la base de datos.
+     * No se ve en las consultas hasta {@link #publicar()}.
+     *
+     * @param lote Lote puntuado y escrito
+     */
+    public synchronized void sumar(LoteEquipos lote) {
+        for (int j = 0; j < lote.getTamano(); j++) {
+            int delta = lote.getDelta(j);
+            if (delta == 0) {
+                continue;
+            }
+            long equipoId = lote.getEquipoId(j);
+            int i = Arrays.binarySearch(equipoIds, equipoId);
+            if (i >= 0) {
+                puntos[i] += delta;
+            } else {
+                pendientes.merge(equipoId, delta, Integer::sum);
+            }
+        }
+        sinGuardar = true;
+    }
+
+    /**
+     * Marca el inicio de una puntuación: hasta {@link #terminarPuntuacion} los totales no
+     * corresponden a ninguna versión y no se guardan en disco.
+     */
+    public synchronized void iniciarPuntuacion() {
+        version = VERSION_DESCONOCIDA;
+    }
+
+    /**
+     * Publica los totales de una puntuación terminada, o interrumpida con parte de los lotes escritos,
+     * y los asocia a la versión registrada al iniciarla.
+     *
+     * @param version Versión devuelta por {@link FantasyDAO#registrarPuntuacion}
+     * @param carreraId Carrera puntuada
+     */
+    public synchronized void terminarPuntuacion(long version, long carreraId) {
+        this.version = version;
+        this.ultimaCarreraId = carreraId;
+        sinGuardar = true;
+        publicar();
+    }
+
+    /**
+     * Publica una instantánea nueva con los totales y equipos acumulados.
+     */
+    public synchronized void publicar() {
+        long inicio = System.nanoTime();
+        if (!pendientes.isEmpty()) {
+            incorporarPendientes();
+        }
+        instantanea = new Instantanea(equipoIds, puntos.clone());
+        logger.debug("Clasificación de fantasía de {} publicada: {} equipos ({} ms)",
+                anio, equipoIds.length, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Guarda la instantánea vigente en disco si hay cambios publicados sin guardar.
+     * Escribe fuera del monitor: las puntuaciones no esperan al disco.
+     */
+    public void guardar() {
+        Instantanea guardada;
+        long versionGuardada;
+        long carreraGuardada;
+        synchronized (this) {
+            if (!sinGuardar && pendientes.isEmpty()) {
+                return;
+            }
+            if (version == VERSION_DESCONOCIDA) {
+                // Puntuación en curso: se guardará al terminarla
+                return;
+            }
+            if (!pendientes.isEmpty()) {
+                incorporarPendientes();
+                instantanea = new Instantanea(equipoIds, puntos.clone());
+            }
+            sinGuardar = false;
+            guardada = instantanea;
+            versionGuardada = version;
+            carreraGuardada = ultimaCarreraId;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            ArchivoClasificacion.guardar(directorio, anio, guardada.equipoIds, guardada.puntos,
+                    versionGuardada, carreraGuardada);
+            logger.info("Instantánea de la clasificación de fantasía de {} guardada: {} equipos, versión {} ({} ms)",
+                    anio, guardada.tamano(), versionGuardada, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            synchronized (this) {
+                sinGuardar = true;
+            }
+            logger.error("Error al guardar la instantánea de la clasificación de fantasía de " + anio, e);
+        }
+    }
+
+    // Mezcla los equipos pendientes con los arrays ordenados por ID
+    private void incorporarPendientes() {
+        long[] nuevosIds = pendientes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] ids = new long[equipoIds.length + nuevosIds.length];
+        int[] pts = new int[ids.length];
+        int a = 0;
+        int b = 0;
+        for (int k = 0; k < ids.length; k++) {
+            if (b == nuevosIds.length || (a < equipoIds.length && equipoIds[a] < nuevosIds[b])) {
+                ids[k] = equipoIds[a];
+                pts[k] = puntos[a++];
+            } else {
+                ids[k] = nuevosIds[b];
+                pts[k] = pendientes.get(nuevosIds[b++]);
+            }
+        }
+        equipoIds = ids;
+        puntos = pts;
+        pendientes.clear();
+        sinGuardar = true;
+    }
+
+    /**
+     * Carga los totales desde la instantánea en disco si sigue siendo válida o desde la base de datos.
+     * Si la carga falla la clasificación se retira del mapa para que el siguiente acceso la reintente.
+     */
+    private void cargar() {
+        long inicio = System.nanoTime();
+        try {
+            // Versión, última carrera y número de equipos
+            long[] marca = fantasyDAO.obtenerMarcaTotales(anio);
+
+            TotalesEquipos totales = null;
+            try {
+                Optional<TotalesEquipos> disco = ArchivoClasificacion.cargar(directorio, anio);
+                if (disco.isPresent() && disco.get().getVersion() == marca[0] && disco.get().tamano() == marca[2]) {
+                    totales = disco.get();
+                } else if (disco.isPresent()) {
+                    logger.warn("La instantánea de la clasificación de fantasía de {} no coincide con la base de datos: "
+                                    + "versión {} (carrera {}) y {} equipos frente a versión {} (carrera {}) y {} equipos",
+                            anio, disco.get().getVersion(), disco.get().getUltimaCarreraId(), disco.get().tamano(),
+                            marca[0], marca[1], marca[2]);
+                }
+            } catch (IOException e) {
+                logger.warn("No se pudo leer la instantánea de la clasificación de fantasía de " + anio, e);
+            }
+            boolean desdeBaseDatos = totales == null;
+            if (desdeBaseDatos) {
+                totales = fantasyDAO.leerTotales(anio);
+            }
+            Map<Long, long[]> miembros = fantasyDAO.findMiembrosLigas(anio);
+
+            // Nadie más usa la clasificación hasta que termina la carga
+            synchronized (this) {
+                equipoIds = totales.getEquipoIds();
+                puntos = totales.getPuntos();
+                version = marca[0];
+                ultimaCarreraId = marca[1];
+                // Se guarda en la próxima ronda para no volver a leer MySQL en el siguiente arranque
+                sinGuardar = desdeBaseDatos;
+                instantanea = new Instantanea(equipoIds, puntos.clone());
+            }
+            ligas.putAll(miembros);
+
+            logger.info("Clasificación de fantasía de {} cargada desde {}: {} equipos, {} ligas, versión {} ({} ms)",
+                    anio, desdeBaseDatos ? "base de datos" : "instantánea", totales.tamano(), ligas.size(),
+                    marca[0], (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            errorCarga = e;
+            temporadas.remove(anio, this);
+            throw e;
+        } finally {
+            cargada.countDown();
+        }
+    }
+
+    private void esperarCarga() {
+        try {
+            cargada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error al esperar la clasificación de fantasía de " + anio, e);
+        }
+        if (errorCarga != null) {
+            throw new RuntimeException("Error al cargar la clasificación de fantasía de " + anio, errorCarga);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.fantasy;
+
+/**
+ * Resumen de la puntuación de una carrera: equipos procesados, escritos y ritmo. Es inmutable.
+ */
+public final class InformePuntuacion {
+
+    private final long carreraId;
+    private final long equipos;
+    private final long escritos;
+    private final int lotes;
+    private final long duracionMs;
+
+    public InformePuntuacion(long carreraId, long equipos, long escritos, int lotes, long duracionMs) {
+        this.carreraId = carreraId;
+        this.equipos = equipos;
+        this.escritos = escritos;
+        this.lotes = lotes;
+        this.duracionMs = duracionMs;
+    }
+
+    public long getCarreraId() {
+        return carreraId;
+    }
+
+    /**
+     * @return Equipos puntuados
+     */
+    public long getEquipos() {
+        return equipos;
+    }
+
+    /**
+     * @return Equipos cuyos puntos cambiaron y se escribieron
+     */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public long getEquiposPorSegundo() {
+        return duracionMs == 0 ? equipos : equipos * 1000 / duracionMs;
+    }
+
+    @Override
+    public String toString() {
+        return "InformePuntuacion{" +
+                "carreraId=" + carreraId +
+                ", equipos=" + equipos +
+                ", escritos=" + escritos +
+                ", lotes=" + lotes +
+                ", duracionMs=" + duracionMs +
+                ", equiposPorSegundo=" + getEquiposPorSegundo() +
+                '}';
+    }
+}
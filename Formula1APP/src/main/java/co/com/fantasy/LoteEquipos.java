@@ -0,0 +1,93 @@
+package co.com.fantasy;
+
+import co.com.model.EquipoFantasy;
+
+/**
+ * Lote de equipos de fantasía leído de la base de datos, con sus elecciones en arrays primitivos.
+ * Lo llena un DAO, lo puntúa {@link #puntuar} y lo escribe el mismo DAO. No es thread-safe:
+ * cada lote pertenece a un solo hilo.
+ */
+public final class LoteEquipos {
+
+    /** Puntos anteriores de un equipo que aún no se había puntuado en la carrera. */
+    public static final int SIN_PUNTUAR = Integer.MIN_VALUE;
+
+    private static final int P = EquipoFantasy.PILOTOS_POR_EQUIPO;
+
+    private final long[] equipoIds;
+    // Elecciones del equipo i en [i * P, (i + 1) * P); 0 si la plaza está vacía
+    private final long[] pilotoIds;
+    private final long[] constructorIds;
+    private final int[] anteriores;
+    private final int[] puntos;
+    private int tamano;
+
+    public LoteEquipos(int capacidad) {
+        this.equipoIds = new long[capacidad];
+        this.pilotoIds = new long[capacidad * P];
+        this.constructorIds = new long[capacidad];
+        this.anteriores = new int[capacidad];
+        this.puntos = new int[capacidad];
+    }
+
+    /**
+     * Añade un equipo al lote.
+     *
+     * @param equipoId ID del equipo
+     * @param pilotos Pilotos elegidos (se copian los {@link EquipoFantasy#PILOTOS_POR_EQUIPO} primeros)
+     * @param constructorId Constructor elegido, o 0
+     * @param anterior Puntos ya guardados para esta carrera, o {@link #SIN_PUNTUAR}
+     */
+    public void agregar(long equipoId, long[] pilotos, long constructorId, int anterior) {
+        if (tamano == equipoIds.length) {
+            throw new IllegalStateException("Lote de equipos lleno: " + tamano);
+        }
+        equipoIds[tamano] = equipoId;
+        System.arraycopy(pilotos, 0, pilotoIds, tamano * P, P);
+        constructorIds[tamano] = constructorId;
+        anteriores[tamano] = anterior;
+        tamano++;
+    }
+
+    /**
+     * Calcula los puntos de todos los equipos del lote.
+     *
+     * @param vector Puntos de la carrera
+     */
+    public void puntuar(VectorPuntos vector) {
+        for (int i = 0; i < tamano; i++) {
+            int suma = vector.getPuntosConstructor(constructorIds[i]);
+            int base = i * P;
+            for (int k = 0; k < P; k++) {
+                suma += vector.getPuntosPiloto(pilotoIds[base + k]);
+            }
+            puntos[i] = suma;
+        }
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public long getEquipoId(int i) {
+        return equipoIds[i];
+    }
+
+    public int getPuntos(int i) {
+        return puntos[i];
+    }
+
+    /**
+     * @return true si el equipo no tenía puntos guardados o eran otros
+     */
+    public boolean cambio(int i) {
+        return anteriores[i] != puntos[i];
+    }
+
+    /**
+     * @return Diferencia a sumar al total del equipo
+     */
+    public int getDelta(int i) {
+        return anteriores[i] == SIN_PUNTUAR ? puntos[i] : puntos[i] - anteriores[i];
+    }
+}
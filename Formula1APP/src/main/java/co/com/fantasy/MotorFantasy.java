@@ -0,0 +1,121 @@
+package co.com.fantasy;
+
+import co.com.dao.FantasyDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puntúa una carrera para todos los equipos de fantasía de la temporada.
+ * Los equipos se reparten en tramos de ID; cada tramo se lee, se puntúa contra el
+ * {@link VectorPuntos} de la carrera y se escribe en paralelo con su propia conexión.
+ * Los totales de cada tramo escrito se suman también a la {@link ClasificacionFantasy} de la temporada,
+ * que se publica y se guarda en disco al terminar con la versión de puntos registrada al empezar.
+ * Solo debe haber una puntuación en curso por temporada: los totales se actualizan por diferencia.
+ */
+public class MotorFantasy {
+    private static final Logger logger = LoggerFactory.getLogger(MotorFantasy.class);
+
+    // El pool JDBC tiene 10 conexiones; se deja margen para el resto de la aplicación
+    private static final int MAX_HILOS = 4;
+    // IDs por tramo: unos cientos de KB de arrays por tramo en memoria
+    private static final int IDS_POR_TRAMO = 20_000;
+    // Avance registrado cada 10% de los tramos
+    private static final int PASOS_INFORME = 10;
+
+    private final FantasyDAO fantasyDAO;
+
+    public MotorFantasy(FantasyDAO fantasyDAO) {
+        this.fantasyDAO = fantasyDAO;
+    }
+
+    /**
+     * Puntúa una carrera para todos los equipos de la temporada.
+     *
+     * @param anio Año de la temporada
+     * @param vector Puntos de la carrera
+     * @return Informe con equipos procesados, escritos y ritmo
+     */
+    public InformePuntuacion puntuar(int anio, VectorPuntos vector) {
+        long inicio = System.nanoTime();
+        long carreraId = vector.getCarreraId();
+
+        // Se carga antes de escribir para que su lectura inicial no vea una carrera a medias
+        ClasificacionFantasy clasificacion = ClasificacionFantasy.getTemporada(anio);
+
+        long[] rango = fantasyDAO.obtenerRangoEquipos(anio);
+        if (rango.length == 0) {
+            logger.info("No hay equipos de fantasía en {}; carrera {} sin puntuar", anio, carreraId);
+            return new InformePuntuacion(carreraId, 0, 0, 0, 0);
+        }
+
+        // Una instantánea guardada a partir de aquí con la versión anterior ya no coincide
+        long version = fantasyDAO.registrarPuntuacion(anio, carreraId);
+        clasificacion.iniciarPuntuacion();
+
+        int tramos = Math.toIntExact((rango[1] - rango[0]) / IDS_POR_TRAMO + 1);
+        int hilos = Math.min(Math.min(MAX_HILOS, Runtime.getRuntime().availableProcessors()), tramos);
+        logger.info("Puntuando carrera {} para {} equipos de {} ({} tramos, {} hilos)",
+                carreraId, rango[2], anio, tramos, hilos);
+
+        AtomicLong procesados = new AtomicLong();
+        AtomicInteger completados = new AtomicInteger();
+        int pasoInforme = Math.max(1, tramos / PASOS_INFORME);
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Integer>> tareas = new ArrayList<>(tramos);
+            for (long desde = rango[0]; desde <= rango[1]; desde += IDS_POR_TRAMO) {
+                long inicioTramo = desde;
+                long finTramo = Math.min(rango[1], desde + IDS_POR_TRAMO - 1);
+                tareas.add(executor.submit(() -> {
+                    LoteEquipos lote = fantasyDAO.leerLote(anio, carreraId, inicioTramo, finTramo);
+                    lote.puntuar(vector);
+                    int escritos = fantasyDAO.escribirLote(carreraId, lote);
+                    clasificacion.sumar(lote);
+
+                    long total = procesados.addAndGet(lote.getTamano());
+                    int hechos = completados.incrementAndGet();
+                    if (hechos % pasoInforme == 0 || hechos == tramos) {
+                        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+                        logger.info("Carrera {}: {}/{} equipos ({}%), {} equipos/s",
+                                carreraId, total, rango[2], total * 100 / rango[2], total * 1000 / ms);
+                    }
+                    return escritos;
+                }));
+            }
+
+            long escritos = 0;
+            try {
+                for (Future<Integer> tarea : tareas) {
+                    escritos += tarea.get();
+                }
+            } finally {
+                // Los tramos escritos antes de un fallo también están en la base de datos
+                clasificacion.terminarPuntuacion(version, carreraId);
+                clasificacion.guardar();
+            }
+
+            InformePuntuacion informe = new InformePuntuacion(carreraId, procesados.get(), escritos, tramos,
+                    (System.nanoTime() - inicio) / 1_000_000);
+            logger.info("Puntuación de fantasía completada: {}", informe);
+            return informe;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Puntuación de fantasía interrumpida", e);
+        } catch (Exception e) {
+            logger.error("Error al puntuar la carrera " + carreraId + " en el juego de fantasía", e);
+            throw new RuntimeException("Error al puntuar la carrera en el juego de fantasía: " + e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.fantasy;
+
+/**
+ * Fila de una clasificación de fantasía. Los equipos empatados a puntos comparten posición. Es inmutable.
+ */
+public final class PosicionFantasy {
+
+    private final int posicion;
+    private final long equipoId;
+    private final int puntos;
+
+    public PosicionFantasy(int posicion, long equipoId, int puntos) {
+        this.posicion = posicion;
+        this.equipoId = equipoId;
+        this.puntos = puntos;
+    }
+
+    /**
+     * @return Posición desde 1: uno más que el número de equipos con más puntos
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public long getEquipoId() {
+        return equipoId;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    @Override
+    public String toString() {
+        return "PosicionFantasy{" +
+                "posicion=" + posicion +
+                ", equipoId=" + equipoId +
+                ", puntos=" + puntos +
+                '}';
+    }
+}
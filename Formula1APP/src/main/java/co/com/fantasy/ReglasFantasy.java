@@ -0,0 +1,50 @@
+package co.com.fantasy;
+
+import co.com.constants.F1PointsSystem;
+import co.com.model.Resultado;
+import co.com.timing.Reclasificacion;
+
+/**
+ * Reglas de puntuación del juego de fantasía para un resultado de carrera.
+ * Un constructor suma los puntos de sus pilotos en la carrera.
+ */
+public final class ReglasFantasy {
+
+    public static final int PUNTOS_TERMINAR = 1;
+    public static final int PUNTOS_POR_POSICION_GANADA = 1;
+    // Límite de puestos ganados o perdidos que puntúan
+    public static final int MAX_POSICIONES = 10;
+    public static final int PUNTOS_VUELTA_RAPIDA = 5;
+    public static final int PUNTOS_ABANDONO = -10;
+    public static final int PUNTOS_DESCALIFICACION = -20;
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private ReglasFantasy() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * @param resultado Resultado de carrera de un piloto
+     * @return Puntos de fantasía del piloto
+     */
+    public static int puntosPiloto(Resultado resultado) {
+        if (Boolean.TRUE.equals(resultado.getRetirado()) || resultado.getPosicionFinal() == null) {
+            return Reclasificacion.MOTIVO_DESCALIFICADO.equals(resultado.getMotivoRetiro())
+                    ? PUNTOS_DESCALIFICACION
+                    : PUNTOS_ABANDONO;
+        }
+
+        int posicion = resultado.getPosicionFinal();
+        int puntos = PUNTOS_TERMINAR + F1PointsSystem.getPointsForPosition(posicion).intValue();
+        if (resultado.getPosicionSalida() != null) {
+            int ganadas = resultado.getPosicionSalida() - posicion;
+            puntos += PUNTOS_POR_POSICION_GANADA * Math.max(-MAX_POSICIONES, Math.min(MAX_POSICIONES, ganadas));
+        }
+        if (Boolean.TRUE.equals(resultado.getVueltaRapida())) {
+            puntos += PUNTOS_VUELTA_RAPIDA;
+        }
+        return puntos;
+    }
+}
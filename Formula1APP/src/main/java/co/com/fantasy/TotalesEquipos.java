@@ -0,0 +1,59 @@
+package co.com.fantasy;
+
+/**
+ * Puntos totales de los equipos de una temporada en dos arrays alineados, ordenados por ID de equipo.
+ * Es lo que se lee de la base de datos o de una instantánea en disco para construir
+ * la {@link ClasificacionFantasy}, junto con la versión de los puntos que reflejan.
+ * Los arrays no se copian: quien lo crea deja de modificarlos.
+ */
+public final class TotalesEquipos {
+
+    private final long[] equipoIds;
+    private final int[] puntos;
+    private final long version;
+    private final long ultimaCarreraId;
+
+    /**
+     * @param equipoIds IDs de equipo en orden ascendente, sin repetidos
+     * @param puntos Puntos totales de cada equipo
+     */
+    public TotalesEquipos(long[] equipoIds, int[] puntos) {
+        this(equipoIds, puntos, 0, 0);
+    }
+
+    /**
+     * @param equipoIds IDs de equipo en orden ascendente, sin repetidos
+     * @param puntos Puntos totales de cada equipo
+     * @param version Versión de los puntos de la temporada que reflejan los totales
+     * @param ultimaCarreraId Última carrera puntuada en esa versión, 0 si ninguna
+     */
+    public TotalesEquipos(long[] equipoIds, int[] puntos, long version, long ultimaCarreraId) {
+        if (equipoIds.length != puntos.length) {
+            throw new IllegalArgumentException("IDs y puntos deben tener la misma longitud");
+        }
+        this.equipoIds = equipoIds;
+        this.puntos = puntos;
+        this.version = version;
+        this.ultimaCarreraId = ultimaCarreraId;
+    }
+
+    public int tamano() {
+        return equipoIds.length;
+    }
+
+    long[] getEquipoIds() {
+        return equipoIds;
+    }
+
+    int[] getPuntos() {
+        return puntos;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getUltimaCarreraId() {
+        return ultimaCarreraId;
+    }
+}
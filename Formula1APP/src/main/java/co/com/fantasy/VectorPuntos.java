@@ -0,0 +1,70 @@
+package co.com.fantasy;
+
+import co.com.model.Resultado;
+
+import java.util.List;
+
+/**
+ * Puntos de fantasía de una carrera en arrays indexados directamente por ID de piloto
+ * y de constructor. Puntuar un equipo son seis lecturas de array, sin mapas ni objetos.
+ * Es inmutable y se comparte entre los hilos que puntúan.
+ */
+public final class VectorPuntos {
+
+    private final long carreraId;
+    private final int[] pilotos;
+    private final int[] constructores;
+
+    private VectorPuntos(long carreraId, int[] pilotos, int[] constructores) {
+        this.carreraId = carreraId;
+        this.pilotos = pilotos;
+        this.constructores = constructores;
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @param resultados Clasificación completa, con piloto y constructor cargados
+     * @return Vector de puntos de la carrera
+     */
+    public static VectorPuntos de(long carreraId, List<Resultado> resultados) {
+        long maxPiloto = 0;
+        long maxConstructor = 0;
+        for (Resultado r : resultados) {
+            maxPiloto = Math.max(maxPiloto, r.getPiloto().getId());
+            if (r.getConstructor() != null) {
+                maxConstructor = Math.max(maxConstructor, r.getConstructor().getId());
+            }
+        }
+
+        int[] pilotos = new int[Math.toIntExact(maxPiloto + 1)];
+        int[] constructores = new int[Math.toIntExact(maxConstructor + 1)];
+        for (Resultado r : resultados) {
+            int puntos = ReglasFantasy.puntosPiloto(r);
+            pilotos[r.getPiloto().getId().intValue()] = puntos;
+            if (r.getConstructor() != null) {
+                constructores[r.getConstructor().getId().intValue()] += puntos;
+            }
+        }
+        return new VectorPuntos(carreraId, pilotos, constructores);
+    }
+
+    public long getCarreraId() {
+        return carreraId;
+    }
+
+    /**
+     * @param pilotoId ID del piloto (0 si la plaza está vacía)
+     * @return Puntos del piloto, 0 si no corrió
+     */
+    public int getPuntosPiloto(long pilotoId) {
+        return pilotoId > 0 && pilotoId < pilotos.length ? pilotos[(int) pilotoId] : 0;
+    }
+
+    /**
+     * @param constructorId ID del constructor (0 si no eligió)
+     * @return Puntos del constructor, 0 si no corrió
+     */
+    public int getPuntosConstructor(long constructorId) {
+        return constructorId > 0 && constructorId < constructores.length ? constructores[(int) constructorId] : 0;
+    }
+}
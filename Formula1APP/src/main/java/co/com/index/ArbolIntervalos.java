@@ -0,0 +1,162 @@
+package co.com.index;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Árbol de intervalos de etapas: treap ordenado por fecha de inicio en el que cada nodo
+ * guarda además la mayor fecha de fin de su subárbol. Eso permite descartar ramas enteras
+ * al buscar las etapas que contienen una fecha o se solapan con un rango, en O(log n + k)
+ * para k resultados.
+ *
+ * <p>No es thread-safe; el dueño debe sincronizar el acceso.
+ */
+final class ArbolIntervalos {
+
+    private static final class Nodo {
+        final Etapa etapa;
+        final int prioridad;
+        Nodo izq;
+        Nodo der;
+        long maxFin;
+
+        Nodo(Etapa etapa) {
+            this.etapa = etapa;
+            this.prioridad = ThreadLocalRandom.current().nextInt();
+            this.maxFin = etapa.fin();
+        }
+
+        void actualizar() {
+            long max = etapa.fin();
+            if (izq != null) {
+                max = Math.max(max, izq.maxFin);
+            }
+            if (der != null) {
+                max = Math.max(max, der.maxFin);
+            }
+            maxFin = max;
+        }
+    }
+
+    private Nodo raiz;
+    private int tamano;
+
+    int tamano() {
+        return tamano;
+    }
+
+    void insertar(Etapa etapa) {
+        raiz = insertar(raiz, new Nodo(etapa));
+        tamano++;
+    }
+
+    boolean eliminar(Etapa etapa) {
+        int antes = tamano;
+        raiz = eliminar(raiz, etapa);
+        return tamano < antes;
+    }
+
+    /**
+     * Añade a la salida las etapas que comparten algún día con el rango indicado,
+     * ordenadas por fecha de inicio. Con desde == hasta son las etapas que contienen ese día.
+     *
+     * @param desde Primer día del rango (epoch day)
+     * @param hasta Último día del rango (epoch day)
+     * @param salida Lista donde se añaden las etapas
+     */
+    void buscar(long desde, long hasta, List<Etapa> salida) {
+        buscar(raiz, desde, hasta, salida);
+    }
+
+    private static void buscar(Nodo n, long desde, long hasta, List<Etapa> salida) {
+        // Ninguna etapa del subárbol llega hasta el inicio del rango
+        if (n == null || n.maxFin < desde) {
+            return;
+        }
+        buscar(n.izq, desde, hasta, salida);
+        // A la derecha todas empiezan en o después de este nodo
+        if (n.etapa.inicio() <= hasta) {
+            if (desde <= n.etapa.fin()) {
+                salida.add(n.etapa);
+            }
+            buscar(n.der, desde, hasta, salida);
+        }
+    }
+
+    // Orden por inicio y, a igual inicio, por ID para que cada etapa tenga una posición única
+    private static int comparar(Etapa a, Etapa b) {
+        int c = Long.compare(a.inicio(), b.inicio());
+        return c != 0 ? c : Long.compare(a.getId(), b.getId());
+    }
+
+    private static Nodo insertar(Nodo n, Nodo nuevo) {
+        if (n == null) {
+            return nuevo;
+        }
+        if (comparar(nuevo.etapa, n.etapa) < 0) {
+            n.izq = insertar(n.izq, nuevo);
+            if (n.izq.prioridad > n.prioridad) {
+                n = rotarDerecha(n);
+            }
+        } else {
+            n.der = insertar(n.der, nuevo);
+            if (n.der.prioridad > n.prioridad) {
+                n = rotarIzquierda(n);
+            }
+        }
+        n.actualizar();
+        return n;
+    }
+
+    private Nodo eliminar(Nodo n, Etapa etapa) {
+        if (n == null) {
+            return null;
+        }
+        int c = comparar(etapa, n.etapa);
+        if (c < 0) {
+            n.izq = eliminar(n.izq, etapa);
+        } else if (c > 0) {
+            n.der = eliminar(n.der, etapa);
+        } else {
+            tamano--;
+            return unir(n.izq, n.der);
+        }
+        n.actualizar();
+        return n;
+    }
+
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            a.der = unir(a.der, b);
+            a.actualizar();
+            return a;
+        }
+        b.izq = unir(a, b.izq);
+        b.actualizar();
+        return b;
+    }
+
+    private static Nodo rotarDerecha(Nodo n) {
+        Nodo l = n.izq;
+        n.izq = l.der;
+        l.der = n;
+        n.actualizar();
+        l.actualizar();
+        return l;
+    }
+
+    private static Nodo rotarIzquierda(Nodo n) {
+        Nodo r = n.der;
+        n.der = r.izq;
+        r.izq = n;
+        n.actualizar();
+        r.actualizar();
+        return r;
+    }
+}
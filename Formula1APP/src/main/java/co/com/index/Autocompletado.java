@@ -0,0 +1,513 @@
+package co.com.index;
+
+import co.com.dao.BusquedaDAO;
+import co.com.dto.Sugerencia;
+import co.com.event.EventosNombres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocompletado de nombres de pilotos, constructores, circuitos y carreras para la caja de búsqueda.
+ *
+ * <p>Cada nombre se divide en palabras normalizadas ({@link NormalizadorTexto}). Las palabras distintas
+ * forman un vocabulario guardado en un trie, que resuelve la palabra que se está escribiendo como prefijo,
+ * y en un índice de trigramas, que propone palabras parecidas cuando hay errores de tecleo. Los candidatos
+ * por trigramas se confirman con la distancia de edición (con intercambio de letras adyacentes), admitiendo
+ * un error desde 3 letras y dos desde 6. Solo se buscan si no hay bastantes sugerencias sin errores.
+ *
+ * <p>Una sugerencia debe coincidir con todas las palabras escritas. Se ordenan por coste: palabra exacta,
+ * luego prefijo, luego con errores, y un pequeño recargo si la primera palabra escrita no es la primera
+ * del nombre. A igual coste van primero los nombres más cortos. Las carreras del mismo GP en distintas
+ * temporadas se sugieren una sola vez, con la más reciente.
+ *
+ * <p>Se construye con una sola consulta y se mantiene con los nombres que los DAO publican en
+ * {@link EventosNombres} tras cada escritura.
+ * Varias consultas pueden ir en paralelo; las escrituras son exclusivas.
+ */
+public final class Autocompletado {
+    private static final Logger logger = LoggerFactory.getLogger(Autocompletado.class);
+
+    private static final int COSTE_PREFIJO = 2;
+    private static final int COSTE_ERROR = 4;
+    private static final int COSTE_NO_INICIAL = 1;
+
+    private static final int SIN_TERMINO = -1;
+    private static final String RELLENO = "\u0001\u0001";
+
+    private static volatile Autocompletado instancia;
+
+    /**
+     * Nombre indexado. Guarda las palabras en su orden para saber cuál es la primera.
+     */
+    private static final class Entrada {
+        final Sugerencia.Tipo tipo;
+        final long id;
+        final String texto;
+        final int longitud;
+        final int[] terminos;
+
+        Entrada(Sugerencia.Tipo tipo, long id, String texto, int longitud, int[] terminos) {
+            this.tipo = tipo;
+            this.id = id;
+            this.texto = texto;
+            this.longitud = longitud;
+            this.terminos = terminos;
+        }
+    }
+
+    /**
+     * Nodo del trie. Los hijos se guardan ordenados por carácter en arrays paralelos.
+     */
+    private static final class Nodo {
+        char[] claves = new char[0];
+        Nodo[] hijos = new Nodo[0];
+        int termino = SIN_TERMINO;
+
+        Nodo hijo(char c) {
+            int i = Arrays.binarySearch(claves, c);
+            return i >= 0 ? hijos[i] : null;
+        }
+
+        Nodo hijoOCrear(char c) {
+            int i = Arrays.binarySearch(claves, c);
+            if (i >= 0) {
+                return hijos[i];
+            }
+            int punto = -i - 1;
+            char[] nuevasClaves = new char[claves.length + 1];
+            Nodo[] nuevosHijos = new Nodo[hijos.length + 1];
+            System.arraycopy(claves, 0, nuevasClaves, 0, punto);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, punto);
+            nuevasClaves[punto] = c;
+            nuevosHijos[punto] = new Nodo();
+            System.arraycopy(claves, punto, nuevasClaves, punto + 1, claves.length - punto);
+            System.arraycopy(hijos, punto, nuevosHijos, punto + 1, hijos.length - punto);
+            claves = nuevasClaves;
+            hijos = nuevosHijos;
+            return nuevosHijos[punto];
+        }
+    }
+
+    /**
+     * Lista de enteros sin orden que crece según se necesita.
+     */
+    private static final class ListaEnteros {
+        int[] valores = new int[4];
+        int tamano;
+
+        void agregar(int valor) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = valor;
+        }
+
+        void quitar(int valor) {
+            for (int i = 0; i < tamano; i++) {
+                if (valores[i] == valor) {
+                    valores[i] = valores[--tamano];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Nodo raiz = new Nodo();
+    // Término ID -> palabra y entradas que la contienen
+    private final List<String> vocabulario = new ArrayList<>();
+    private final List<ListaEnteros> entradasPorTermino = new ArrayList<>();
+    // Trigrama -> términos que lo contienen
+    private final Map<String, ListaEnteros> trigramas = new HashMap<>();
+
+    private final List<Entrada> entradas = new ArrayList<>();
+    private final ArrayDeque<Integer> huecos = new ArrayDeque<>();
+    private final Map<Sugerencia.Tipo, Map<Long, Integer>> posiciones = new EnumMap<>(Sugerencia.Tipo.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Crea un autocompletado vacío; {@link #getInstancia()} lo llena desde la base de datos.
+     */
+    Autocompletado() {
+        for (Sugerencia.Tipo tipo : Sugerencia.Tipo.values()) {
+            posiciones.put(tipo, new HashMap<>());
+        }
+    }
+
+    /**
+     * Obtiene el autocompletado, construyéndolo en el primer acceso.
+     *
+     * @return Autocompletado
+     */
+    public static Autocompletado getInstancia() {
+        Autocompletado a = instancia;
+        if (a == null) {
+            synchronized (Autocompletado.class) {
+                a = instancia;
+                if (a == null) {
+                    a = new Autocompletado();
+                    a.cargar(new BusquedaDAO().findNombres());
+                    instancia = a;
+                    EventosNombres.registrar((tipo, id, nombre) -> actualizar(tipo, id, nombre));
+                }
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Indexa un conjunto de nombres, sustituyendo los que ya estuvieran con el mismo tipo e ID.
+     *
+     * @param nombres Nombres a indexar
+     */
+    void cargar(List<Sugerencia> nombres) {
+        long inicio = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            for (Sugerencia nombre : nombres) {
+                poner(nombre.getTipo(), nombre.getId(), nombre.getTexto());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Autocompletado construido: {} nombres, {} palabras, {} trigramas ({} ms)",
+                nombres.size(), vocabulario.size(), trigramas.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Indexa el nombre de una entidad guardada o actualizada.
+     * No hace nada si el autocompletado aún no se ha construido.
+     *
+     * @param tipo Tipo de entidad
+     * @param id ID de la entidad
+     * @param texto Nombre actual; null o vacío la quita de las sugerencias
+     */
+    public static void actualizar(Sugerencia.Tipo tipo, Long id, String texto) {
+        Autocompletado a = instancia;
+        if (a != null) {
+            a.lock.writeLock().lock();
+            try {
+                a.poner(tipo, id, texto);
+            } finally {
+                a.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @param tipo Tipo de entidad
+     * @param id ID de la entidad eliminada
+     */
+    public static void eliminar(Sugerencia.Tipo tipo, Long id) {
+        Autocompletado a = instancia;
+        if (a != null) {
+            a.lock.writeLock().lock();
+            try {
+                a.quitar(tipo, id);
+            } finally {
+                a.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void poner(Sugerencia.Tipo tipo, long id, String texto) {
+        quitar(tipo, id);
+        List<String> palabras = NormalizadorTexto.tokens(texto);
+        if (palabras.isEmpty()) {
+            return;
+        }
+
+        Set<String> distintas = new LinkedHashSet<>(palabras);
+        int[] terminos = new int[distintas.size()];
+        int n = 0;
+        int longitud = 0;
+        for (String palabra : distintas) {
+            terminos[n++] = termino(palabra);
+            longitud += palabra.length();
+        }
+
+        Entrada entrada = new Entrada(tipo, id, texto, longitud, terminos);
+        Integer posicion = huecos.poll();
+        if (posicion == null) {
+            posicion = entradas.size();
+            entradas.add(entrada);
+        } else {
+            entradas.set(posicion, entrada);
+        }
+        for (int t : terminos) {
+            entradasPorTermino.get(t).agregar(posicion);
+        }
+        posiciones.get(tipo).put(id, posicion);
+    }
+
+    private void quitar(Sugerencia.Tipo tipo, long id) {
+        Integer posicion = posiciones.get(tipo).remove(id);
+        if (posicion == null) {
+            return;
+        }
+        // Las palabras se quedan en el vocabulario aunque ya no las use nadie
+        for (int t : entradas.get(posicion).terminos) {
+            entradasPorTermino.get(t).quitar(posicion);
+        }
+        entradas.set(posicion, null);
+        huecos.push(posicion);
+    }
+
+    // ID de la palabra en el vocabulario, añadiéndola al trie y a los trigramas si es nueva
+    private int termino(String palabra) {
+        Nodo nodo = raiz;
+        for (int i = 0; i < palabra.length(); i++) {
+            nodo = nodo.hijoOCrear(palabra.charAt(i));
+        }
+        if (nodo.termino == SIN_TERMINO) {
+            nodo.termino = vocabulario.size();
+            vocabulario.add(palabra);
+            entradasPorTermino.add(new ListaEnteros());
+            for (String trigrama : trigramas(palabra)) {
+                trigramas.computeIfAbsent(trigrama, g -> new ListaEnteros()).agregar(nodo.termino);
+            }
+        }
+        return nodo.termino;
+    }
+
+    /**
+     * Sugiere entidades de cualquier tipo.
+     *
+     * @param consulta Texto escrito hasta ahora
+     * @param limite Número máximo de sugerencias
+     * @return Sugerencias de mejor a peor
+     */
+    public List<Sugerencia> sugerir(String consulta, int limite) {
+        return sugerir(consulta, null, limite);
+    }
+
+    /**
+     * Sugiere entidades de un tipo.
+     *
+     * @param consulta Texto escrito hasta ahora; la última palabra puede estar incompleta
+     * @param tipo Tipo de entidad, o null para todos
+     * @param limite Número máximo de sugerencias
+     * @return Sugerencias de mejor a peor
+     */
+    public List<Sugerencia> sugerir(String consulta, Sugerencia.Tipo tipo, int limite) {
+        List<String> palabras = NormalizadorTexto.tokens(consulta);
+        if (palabras.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Las palabras parecidas solo se buscan si no hay bastantes sugerencias sin errores
+            Map<Integer, int[]> exactas = puntuar(palabras, tipo, false);
+            if (exactas.size() >= limite) {
+                return ordenar(exactas, limite);
+            }
+            return ordenar(puntuar(palabras, tipo, true), limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Entrada -> {coste, errores} de las entradas que coinciden con todas las palabras
+     */
+    private Map<Integer, int[]> puntuar(List<String> palabras, Sugerencia.Tipo tipo, boolean conErrores) {
+        Map<Integer, int[]> acumulado = null;
+        for (int i = 0; i < palabras.size(); i++) {
+            Map<Integer, int[]> candidatos = candidatos(palabras.get(i), i == palabras.size() - 1, conErrores);
+            Map<Integer, int[]> porEntrada = new HashMap<>();
+            for (Map.Entry<Integer, int[]> candidato : candidatos.entrySet()) {
+                int t = candidato.getKey();
+                ListaEnteros lista = entradasPorTermino.get(t);
+                for (int k = 0; k < lista.tamano; k++) {
+                    int posicion = lista.valores[k];
+                    Entrada entrada = entradas.get(posicion);
+                    if (tipo != null && entrada.tipo != tipo
+                            || acumulado != null && !acumulado.containsKey(posicion)) {
+                        continue;
+                    }
+                    int coste = candidato.getValue()[0];
+                    if (i == 0 && entrada.terminos[0] != t) {
+                        coste += COSTE_NO_INICIAL;
+                    }
+                    int[] actual = porEntrada.get(posicion);
+                    if (actual == null || coste < actual[0]) {
+                        porEntrada.put(posicion, new int[]{coste, candidato.getValue()[1]});
+                    }
+                }
+            }
+            if (acumulado != null) {
+                for (Map.Entry<Integer, int[]> e : porEntrada.entrySet()) {
+                    int[] previo = acumulado.get(e.getKey());
+                    e.getValue()[0] += previo[0];
+                    e.getValue()[1] += previo[1];
+                }
+            }
+            acumulado = porEntrada;
+            if (acumulado.isEmpty()) {
+                break;
+            }
+        }
+        return acumulado;
+    }
+
+    private List<Sugerencia> ordenar(Map<Integer, int[]> puntuadas, int limite) {
+        List<Map.Entry<Integer, int[]>> orden = new ArrayList<>(puntuadas.entrySet());
+        orden.sort(Comparator.<Map.Entry<Integer, int[]>>comparingInt(e -> e.getValue()[0])
+                .thenComparingInt(e -> entradas.get(e.getKey()).longitud)
+                .thenComparing(e -> entradas.get(e.getKey()).texto)
+                .thenComparing(e -> -entradas.get(e.getKey()).id));
+
+        List<Sugerencia> sugerencias = new ArrayList<>(Math.min(limite, orden.size()));
+        Set<String> gpVistos = new HashSet<>();
+        for (Map.Entry<Integer, int[]> e : orden) {
+            Entrada entrada = entradas.get(e.getKey());
+            if (entrada.tipo == Sugerencia.Tipo.CARRERA && !gpVistos.add(entrada.texto)) {
+                continue;
+            }
+            sugerencias.add(new Sugerencia(entrada.tipo, entrada.id, entrada.texto, e.getValue()[1]));
+            if (sugerencias.size() == limite) {
+                break;
+            }
+        }
+        return sugerencias;
+    }
+
+    /**
+     * Palabras del vocabulario que pueden corresponder a una palabra escrita.
+     *
+     * @param palabra Palabra normalizada
+     * @param ultima Si es la última palabra escrita (puede estar incompleta)
+     * @param conErrores Si se buscan también palabras parecidas
+     * @return Término ID -> {coste, errores}
+     */
+    private Map<Integer, int[]> candidatos(String palabra, boolean ultima, boolean conErrores) {
+        Map<Integer, int[]> candidatos = new HashMap<>();
+
+        Nodo nodo = raiz;
+        for (int i = 0; i < palabra.length() && nodo != null; i++) {
+            nodo = nodo.hijo(palabra.charAt(i));
+        }
+        if (nodo != null) {
+            if (nodo.termino != SIN_TERMINO) {
+                candidatos.put(nodo.termino, new int[]{0, 0});
+            }
+            if (ultima) {
+                recogerPrefijo(nodo, candidatos);
+            }
+        }
+
+        int maxErrores = conErrores ? maxErrores(palabra.length()) : 0;
+        if (maxErrores == 0) {
+            return candidatos;
+        }
+
+        // Cada error rompe como mucho tres trigramas
+        Set<String> propios = trigramas(palabra);
+        Map<Integer, Integer> compartidos = new HashMap<>();
+        for (String trigrama : propios) {
+            ListaEnteros lista = trigramas.get(trigrama);
+            if (lista != null) {
+                for (int k = 0; k < lista.tamano; k++) {
+                    compartidos.merge(lista.valores[k], 1, Integer::sum);
+                }
+            }
+        }
+        int minimo = Math.max(1, propios.size() - 3 * maxErrores);
+        for (Map.Entry<Integer, Integer> e : compartidos.entrySet()) {
+            if (e.getValue() < minimo || candidatos.containsKey(e.getKey())) {
+                continue;
+            }
+            String termino = vocabulario.get(e.getKey());
+            int[] distancias = distancias(palabra, termino, maxErrores);
+            if (distancias[0] <= maxErrores) {
+                candidatos.put(e.getKey(), new int[]{COSTE_ERROR * distancias[0], distancias[0]});
+            } else if (ultima && distancias[1] <= maxErrores) {
+                candidatos.put(e.getKey(), new int[]{COSTE_ERROR * distancias[1] + COSTE_PREFIJO, distancias[1]});
+            }
+        }
+        return candidatos;
+    }
+
+    private void recogerPrefijo(Nodo nodo, Map<Integer, int[]> candidatos) {
+        for (Nodo hijo : nodo.hijos) {
+            if (hijo.termino != SIN_TERMINO && entradasPorTermino.get(hijo.termino).tamano > 0) {
+                candidatos.putIfAbsent(hijo.termino, new int[]{COSTE_PREFIJO, 0});
+            }
+            recogerPrefijo(hijo, candidatos);
+        }
+    }
+
+    private static int maxErrores(int longitud) {
+        return longitud < 3 ? 0 : longitud < 6 ? 1 : 2;
+    }
+
+    // Con relleno solo al principio, los trigramas de un prefijo son un subconjunto de los de la palabra
+    private static Set<String> trigramas(String palabra) {
+        String relleno = RELLENO + palabra;
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= relleno.length(); i++) {
+            trigramas.add(relleno.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Distancia de edición con intercambio de letras adyacentes entre lo escrito y un término,
+     * completo y recortado al prefijo más parecido.
+     *
+     * @return {distancia al término completo, distancia al mejor prefijo}; maximo + 1 si se supera
+     */
+    static int[] distancias(String escrito, String termino, int maximo) {
+        int m = escrito.length();
+        int n = termino.length();
+        int[] anterior2 = new int[n + 1];
+        int[] anterior = new int[n + 1];
+        int[] actual = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            actual[0] = i;
+            int minimoFila = i;
+            for (int j = 1; j <= n; j++) {
+                int coste = escrito.charAt(i - 1) == termino.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + coste);
+                if (i > 1 && j > 1 && escrito.charAt(i - 1) == termino.charAt(j - 2)
+                        && escrito.charAt(i - 2) == termino.charAt(j - 1)) {
+                    d = Math.min(d, anterior2[j - 2] + 1);
+                }
+                actual[j] = d;
+                minimoFila = Math.min(minimoFila, d);
+            }
+            if (minimoFila > maximo) {
+                return new int[]{maximo + 1, maximo + 1};
+            }
+            int[] libre = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = libre;
+        }
+
+        int prefijo = maximo + 1;
+        for (int j = 0; j <= n; j++) {
+            prefijo = Math.min(prefijo, anterior[j]);
+        }
+        return new int[]{Math.min(anterior[n], maximo + 1), prefijo};
+    }
+}
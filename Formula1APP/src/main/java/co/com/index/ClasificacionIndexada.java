@@ -0,0 +1,513 @@
+package co.com.index;
+
+import co.com.dao.ResultadoDAO;
+import co.com.event.CambioResultados;
+import co.com.event.EventosResultados;
+import co.com.event.FilaResultado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Clasificación de pilotos de una temporada indexada en memoria como árbol de estadísticos de orden.
+ * El orden es por puntos (carreras y sprints) y, en caso de empate, por desempate a la cuenta atrás:
+ * más victorias, luego más segundos puestos, y así sucesivamente.
+ *
+ * <p>El árbol es un treap persistente: cada cambio copia solo el camino modificado y publica
+ * una nueva {@link Instantanea} inmutable. Un segundo treap ordenado por piloto localiza la entrada
+ * de cada piloto, así que publicar también cuesta O(log n) por piloto modificado. Los lectores toman
+ * la instantánea vigente sin bloqueo y todas sus consultas ven el mismo estado; posición de un piloto
+ * y rango por posiciones cuestan O(log n).
+ *
+ * <p>Se construye por temporada en el primer acceso y se mantiene con los cambios
+ * publicados en {@link EventosResultados}. El índice se registra antes de leer la base de datos
+ * para no perder los cambios confirmados durante la carga; esos cambios se aplican al terminarla.
+ * Como un cambio confirmado antes de la lectura puede estar ya incluido en ella, el índice guarda
+ * la última versión de cada fila de resultado que ha contado y cada cambio se aplica contra esa
+ * versión: aplicar dos veces el mismo cambio no suma dos veces.
+ */
+public final class ClasificacionIndexada {
+    private static final Logger logger = LoggerFactory.getLogger(ClasificacionIndexada.class);
+
+    private static final Map<Integer, ClasificacionIndexada> temporadas = new ConcurrentHashMap<>();
+
+    // Orden de la clasificación y orden por piloto de los dos treaps
+    private static final Comparator<Entrada> POR_CLASIFICACION = Entrada::comparar;
+    private static final Comparator<Entrada> POR_PILOTO = Comparator.comparingLong(Entrada::getPilotoId);
+
+    static {
+        EventosResultados.registrar(cambio -> {
+            ClasificacionIndexada indice = temporadas.get(cambio.getAnio());
+            if (indice != null) {
+                indice.recibir(cambio);
+            }
+        });
+    }
+
+    /**
+     * Puntuación de un piloto en la temporada. Inmutable.
+     */
+    public static final class Entrada {
+        private final long pilotoId;
+        private final String nombre;
+        // Puntos en centésimas
+        private final long puntos;
+        // conteo[i] = veces que terminó en la posición i + 1
+        private final int[] conteo;
+
+        Entrada(long pilotoId, String nombre, long puntos, int[] conteo) {
+            this.pilotoId = pilotoId;
+            this.nombre = nombre;
+            this.puntos = puntos;
+            this.conteo = conteo;
+        }
+
+        public long getPilotoId() {
+            return pilotoId;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public BigDecimal getPuntos() {
+            return BigDecimal.valueOf(puntos, 2);
+        }
+
+        public int getVictorias() {
+            return conteo.length > 0 ? conteo[0] : 0;
+        }
+
+        public int getPodios() {
+            int podios = 0;
+            for (int i = 0; i < Math.min(3, conteo.length); i++) {
+                podios += conteo[i];
+            }
+            return podios;
+        }
+
+        /**
+         * @return Negativo si esta entrada va por delante de la otra en la clasificación
+         */
+        int comparar(Entrada otra) {
+            int c = Long.compare(otra.puntos, puntos);
+            if (c != 0) {
+                return c;
+            }
+            int n = Math.max(conteo.length, otra.conteo.length);
+            for (int i = 0; i < n; i++) {
+                int a = i < conteo.length ? conteo[i] : 0;
+                int b = i < otra.conteo.length ? otra.conteo[i] : 0;
+                if (a != b) {
+                    return Integer.compare(b, a);
+                }
+            }
+            return Long.compare(pilotoId, otra.pilotoId);
+        }
+
+        Map<String, Object> comoFila(int posicion) {
+            Map<String, Object> fila = new HashMap<>();
+            fila.put("posicion", posicion);
+            fila.put("id", pilotoId);
+            fila.put("nombre", nombre);
+            fila.put("puntos", getPuntos());
+            fila.put("victorias", getVictorias());
+            fila.put("podios", getPodios());
+            return fila;
+        }
+    }
+
+    /**
+     * Nodo inmutable del treap; guarda el tamaño del subárbol para las consultas por posición.
+     */
+    private static final class Nodo {
+        final Entrada entrada;
+        final int prioridad;
+        final Nodo izq;
+        final Nodo der;
+        final int tamano;
+
+        Nodo(Entrada entrada, int prioridad, Nodo izq, Nodo der) {
+            this.entrada = entrada;
+            this.prioridad = prioridad;
+            this.izq = izq;
+            this.der = der;
+            this.tamano = 1 + tamanoDe(izq) + tamanoDe(der);
+        }
+
+        Nodo con(Nodo izq, Nodo der) {
+            return new Nodo(entrada, prioridad, izq, der);
+        }
+    }
+
+    /**
+     * Estado consistente de la clasificación en un instante. Inmutable.
+     */
+    public static final class Instantanea {
+        private final Nodo raiz;
+        private final Nodo porPiloto;
+
+        private Instantanea(Nodo raiz, Nodo porPiloto) {
+            this.raiz = raiz;
+            this.porPiloto = porPiloto;
+        }
+
+        public int tamano() {
+            return tamanoDe(raiz);
+        }
+
+        /**
+         * @param pilotoId ID del piloto
+         * @return Posición (desde 1), vacía si el piloto no tiene puntos en la temporada
+         */
+        public OptionalInt getPosicion(Long pilotoId) {
+            Entrada entrada = buscarPiloto(pilotoId);
+            if (entrada == null) {
+                return OptionalInt.empty();
+            }
+            int posicion = 1;
+            Nodo n = raiz;
+            while (n != null) {
+                int c = entrada.comparar(n.entrada);
+                if (c < 0) {
+                    n = n.izq;
+                } else {
+                    posicion += tamanoDe(n.izq);
+                    if (c == 0) {
+                        return OptionalInt.of(posicion);
+                    }
+                    posicion++;
+                    n = n.der;
+                }
+            }
+            return OptionalInt.empty();
+        }
+
+        /**
+         * Obtiene las filas de clasificación entre dos posiciones, con las mismas claves
+         * que {@code ResultadoDAO.getClasificacionPilotos}: posicion, id, nombre, puntos, victorias y podios.
+         *
+         * @param desde Posición inicial (desde 1, inclusive)
+         * @param hasta Posición final (inclusive)
+         * @return Filas ordenadas por posición
+         */
+        public List<Map<String, Object>> getRango(int desde, int hasta) {
+            int inicio = Math.max(1, desde);
+            int fin = Math.min(hasta, tamano());
+            List<Map<String, Object>> filas = new ArrayList<>(Math.max(0, fin - inicio + 1));
+            recorrer(raiz, 0, inicio, fin, filas);
+            return filas;
+        }
+
+        private Entrada buscarPiloto(long pilotoId) {
+            Nodo n = porPiloto;
+            while (n != null) {
+                int c = Long.compare(pilotoId, n.entrada.pilotoId);
+                if (c == 0) {
+                    return n.entrada;
+                }
+                n = c < 0 ? n.izq : n.der;
+            }
+            return null;
+        }
+
+        // Recorrido en orden que solo desciende a los subárboles que intersectan el rango
+        private static void recorrer(Nodo n, int antes, int desde, int hasta, List<Map<String, Object>> filas) {
+            if (n == null) {
+                return;
+            }
+            int posicion = antes + tamanoDe(n.izq) + 1;
+            if (desde < posicion) {
+                recorrer(n.izq, antes, desde, hasta, filas);
+            }
+            if (desde <= posicion && posicion <= hasta) {
+                filas.add(n.entrada.comoFila(posicion));
+            }
+            if (hasta > posicion) {
+                recorrer(n.der, posicion, desde, hasta, filas);
+            }
+        }
+    }
+
+    private final int anio;
+    // Estado de escritura, protegido por el monitor de la instancia
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    // Última versión contada de cada fila, por ID de resultado de carrera y de sprint
+    private final Map<Long, FilaResultado> filasCarrera = new HashMap<>();
+    private final Map<Long, FilaResultado> filasSprint = new HashMap<>();
+    // Cambios recibidos mientras se carga el índice, en orden de llegada
+    private List<CambioResultados> pendientes = new ArrayList<>();
+    private Nodo raiz;
+    private Nodo raizPilotos;
+
+    private final CountDownLatch cargado = new CountDownLatch(1);
+    private volatile RuntimeException errorCarga;
+    private volatile Instantanea instantanea = new Instantanea(null, null);
+
+    ClasificacionIndexada(int anio) {
+        this.anio = anio;
+    }
+
+    /**
+     * Obtiene el índice de clasificación de una temporada, construyéndolo en el primer acceso.
+     * Un solo hilo lee la base de datos, fuera del mapa; los demás esperan a que termine.
+     *
+     * @param anio Año de la temporada
+     * @return Índice de la temporada
+     */
+    public static ClasificacionIndexada getTemporada(int anio) {
+        ClasificacionIndexada indice = temporadas.get(anio);
+        if (indice == null) {
+            ClasificacionIndexada nuevo = new ClasificacionIndexada(anio);
+            indice = temporadas.putIfAbsent(anio, nuevo);
+            if (indice == null) {
+                indice = nuevo;
+                nuevo.construir();
+            }
+        }
+        indice.esperarCarga();
+        return indice;
+    }
+
+    /**
+     * @return Estado vigente; varias consultas sobre la misma instantánea son consistentes entre sí
+     */
+    public Instantanea getInstantanea() {
+        return instantanea;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    /**
+     * Lee la temporada y aplica después los cambios recibidos durante la lectura.
+     * Si la lectura falla el índice se retira del mapa para que el siguiente acceso lo reintente.
+     */
+    private void construir() {
+        long inicio = System.nanoTime();
+        try {
+            ResultadoDAO resultadoDAO = new ResultadoDAO();
+            List<FilaResultado> carreras = resultadoDAO.findFilasByTemporada(anio);
+            List<FilaResultado> sprints = resultadoDAO.findFilasSprintByTemporada(anio);
+
+            int aplazados;
+            synchronized (this) {
+                aplicar(List.of(), carreras, false);
+                aplicar(List.of(), sprints, true);
+                aplazados = pendientes.size();
+                for (CambioResultados cambio : pendientes) {
+                    aplicar(cambio);
+                }
+                pendientes = null;
+            }
+
+            logger.info("Clasificación indexada de {} construida: {} pilotos, {} cambios aplicados tras la carga ({} ms)",
+                    anio, entradas.size(), aplazados, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            errorCarga = e;
+            temporadas.remove(anio, this);
+            throw e;
+        } finally {
+            cargado.countDown();
+        }
+    }
+
+    private void esperarCarga() {
+        try {
+            cargado.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error al esperar la clasificación indexada de " + anio, e);
+        }
+        if (errorCarga != null) {
+            throw new RuntimeException("Error al construir la clasificación indexada de " + anio, errorCarga);
+        }
+    }
+
+    /**
+     * Recibe un cambio publicado: lo guarda si el índice aún se está cargando o lo aplica.
+     */
+    private synchronized void recibir(CambioResultados cambio) {
+        if (pendientes != null) {
+            pendientes.add(cambio);
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    /**
+     * Aplica las diferencias de puntos y posiciones de un cambio de resultados confirmado.
+     * Las diferencias se calculan contra la versión de cada fila que el índice ya contiene,
+     * no contra las filas anteriores del cambio, así que aplicarlo de nuevo no altera el resultado.
+     *
+     * @param cambio Cambio de resultados de esta temporada
+     */
+    synchronized void aplicar(CambioResultados cambio) {
+        int modificados = aplicar(cambio.getAnteriores(), cambio.getNuevos(), cambio.isSprint());
+        logger.debug("Clasificación indexada de {} actualizada: {} pilotos modificados", anio, modificados);
+    }
+
+    private int aplicar(List<FilaResultado> anteriores, List<FilaResultado> nuevos, boolean sprint) {
+        Map<Long, FilaResultado> filas = sprint ? filasSprint : filasCarrera;
+        // Los sprints suman puntos pero no entran en el desempate a la cuenta atrás
+        boolean contarPosicion = !sprint;
+        Map<Long, Acumulado> deltas = new HashMap<>();
+        for (FilaResultado fila : anteriores) {
+            FilaResultado contada = filas.remove(fila.getResultadoId());
+            if (contada != null) {
+                acumulado(deltas, contada).sumar(contada, -1, contarPosicion);
+            }
+        }
+        for (FilaResultado fila : nuevos) {
+            FilaResultado contada = filas.put(fila.getResultadoId(), fila);
+            if (contada != null) {
+                acumulado(deltas, contada).sumar(contada, -1, contarPosicion);
+            }
+            acumulado(deltas, fila).sumar(fila, 1, contarPosicion);
+        }
+        deltas.forEach(this::reemplazar);
+        publicar();
+        return deltas.size();
+    }
+
+    private Acumulado acumulado(Map<Long, Acumulado> deltas, FilaResultado fila) {
+        return deltas.computeIfAbsent(fila.getPilotoId(), id -> {
+            Entrada actual = entradas.get(id);
+            Acumulado a = new Acumulado(fila.getPilotoNombre());
+            if (actual != null) {
+                a.puntos = actual.puntos;
+                a.conteo = Arrays.copyOf(actual.conteo, actual.conteo.length);
+            }
+            return a;
+        });
+    }
+
+    // Sustituye la entrada de un piloto por su nuevo acumulado, copiando solo los caminos afectados
+    private void reemplazar(Long pilotoId, Acumulado acumulado) {
+        Entrada anterior = entradas.remove(pilotoId);
+        if (anterior != null) {
+            raiz = eliminar(raiz, anterior, POR_CLASIFICACION);
+            raizPilotos = eliminar(raizPilotos, anterior, POR_PILOTO);
+        }
+        if (acumulado.puntos > 0) {
+            Entrada nueva = new Entrada(pilotoId, acumulado.nombre, acumulado.puntos, acumulado.recortado());
+            entradas.put(pilotoId, nueva);
+            raiz = insertar(raiz, new Nodo(nueva, ThreadLocalRandom.current().nextInt(), null, null),
+                    POR_CLASIFICACION);
+            raizPilotos = insertar(raizPilotos, new Nodo(nueva, ThreadLocalRandom.current().nextInt(), null, null),
+                    POR_PILOTO);
+        }
+    }
+
+    private void publicar() {
+        instantanea = new Instantanea(raiz, raizPilotos);
+    }
+
+    /**
+     * Puntos y conteo de posiciones mutables mientras se calcula una entrada.
+     */
+    private static final class Acumulado {
+        final String nombre;
+        long puntos;
+        int[] conteo = new int[0];
+
+        Acumulado(String nombre) {
+            this.nombre = nombre;
+        }
+
+        void sumar(FilaResultado fila, int signo, boolean contarPosicion) {
+            puntos += signo * centesimas(fila.getPuntos());
+            Integer posicion = fila.getPosicion();
+            if (contarPosicion && !fila.isRetirado() && posicion != null && posicion > 0) {
+                if (posicion > conteo.length) {
+                    conteo = Arrays.copyOf(conteo, posicion);
+                }
+                conteo[posicion - 1] += signo;
+            }
+        }
+
+        // Sin ceros al final, para que conteos equivalentes comparen igual sin importar su longitud
+        int[] recortado() {
+            int n = conteo.length;
+            while (n > 0 && conteo[n - 1] == 0) {
+                n--;
+            }
+            return Arrays.copyOf(conteo, n);
+        }
+    }
+
+    // Operaciones del treap persistente: devuelven una raíz nueva y no modifican nodos existentes
+
+    private static Nodo insertar(Nodo n, Nodo nuevo, Comparator<Entrada> orden) {
+        if (n == null) {
+            return nuevo;
+        }
+        if (nuevo.prioridad > n.prioridad) {
+            Nodo[] partes = dividir(n, nuevo.entrada, orden);
+            return nuevo.con(partes[0], partes[1]);
+        }
+        if (orden.compare(nuevo.entrada, n.entrada) < 0) {
+            return n.con(insertar(n.izq, nuevo, orden), n.der);
+        }
+        return n.con(n.izq, insertar(n.der, nuevo, orden));
+    }
+
+    private static Nodo eliminar(Nodo n, Entrada entrada, Comparator<Entrada> orden) {
+        if (n == null) {
+            return null;
+        }
+        int c = orden.compare(entrada, n.entrada);
+        if (c == 0) {
+            return unir(n.izq, n.der);
+        }
+        return c < 0
+                ? n.con(eliminar(n.izq, entrada, orden), n.der)
+                : n.con(n.izq, eliminar(n.der, entrada, orden));
+    }
+
+    // Separa en [entradas por delante de la dada, entradas por detrás]
+    private static Nodo[] dividir(Nodo n, Entrada entrada, Comparator<Entrada> orden) {
+        if (n == null) {
+            return new Nodo[2];
+        }
+        if (orden.compare(n.entrada, entrada) < 0) {
+            Nodo[] partes = dividir(n.der, entrada, orden);
+            return new Nodo[]{n.con(n.izq, partes[0]), partes[1]};
+        }
+        Nodo[] partes = dividir(n.izq, entrada, orden);
+        return new Nodo[]{partes[0], n.con(partes[1], n.der)};
+    }
+
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            return a.con(a.izq, unir(a.der, b));
+        }
+        return b.con(unir(a, b.izq), b.der);
+    }
+
+    private static int tamanoDe(Nodo n) {
+        return n != null ? n.tamano : 0;
+    }
+
+    private static long centesimas(BigDecimal puntos) {
+        return puntos != null ? puntos.movePointRight(2).longValue() : 0L;
+    }
+}
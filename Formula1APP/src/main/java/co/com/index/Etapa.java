@@ -0,0 +1,82 @@
+package co.com.index;
+
+import java.time.LocalDate;
+
+/**
+ * Copia inmutable de una etapa piloto–constructor tal como la guarda {@link IndiceEtapas}.
+ */
+public final class Etapa {
+
+    private final long id;
+    private final long pilotoId;
+    private final String pilotoNombre;
+    private final long constructorId;
+    private final String constructorNombre;
+    private final LocalDate fechaInicio;
+    // null mientras la etapa sigue abierta
+    private final LocalDate fechaFin;
+
+    public Etapa(long id, long pilotoId, String pilotoNombre, long constructorId, String constructorNombre,
+                 LocalDate fechaInicio, LocalDate fechaFin) {
+        this.id = id;
+        this.pilotoId = pilotoId;
+        this.pilotoNombre = pilotoNombre;
+        this.constructorId = constructorId;
+        this.constructorNombre = constructorNombre;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getPilotoId() {
+        return pilotoId;
+    }
+
+    public String getPilotoNombre() {
+        return pilotoNombre;
+    }
+
+    public long getConstructorId() {
+        return constructorId;
+    }
+
+    public String getConstructorNombre() {
+        return constructorNombre;
+    }
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public LocalDate getFechaFin() {
+        return fechaFin;
+    }
+
+    long inicio() {
+        return fechaInicio.toEpochDay();
+    }
+
+    long fin() {
+        return fechaFin != null ? fechaFin.toEpochDay() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return true si las dos etapas comparten al menos un día
+     */
+    public boolean solapa(Etapa otra) {
+        return inicio() <= otra.fin() && otra.inicio() <= fin();
+    }
+
+    @Override
+    public String toString() {
+        return "Etapa{" +
+                "piloto='" + pilotoNombre + '\'' +
+                ", constructor='" + constructorNombre + '\'' +
+                ", desde=" + fechaInicio +
+                ", hasta=" + fechaFin +
+                '}';
+    }
+}
@@ -0,0 +1,178 @@
+package co.com.index;
+
+import co.com.dao.EtapaPilotoDAO;
+import co.com.model.EtapaPiloto;
+import co.com.model.Piloto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice en memoria de las etapas piloto–constructor.
+ * Mantiene un {@link ArbolIntervalos} por constructor y otro por piloto para responder
+ * "plantilla del constructor C en la fecha D" y "equipo del piloto P en la fecha D"
+ * en O(log n + k). Se carga una vez desde la base de datos y después lo actualiza
+ * el servicio de etapas en cada escritura.
+ */
+public final class IndiceEtapas {
+    private static final Logger logger = LoggerFactory.getLogger(IndiceEtapas.class);
+
+    private static volatile IndiceEtapas instancia;
+
+    private final Map<Long, ArbolIntervalos> porConstructor = new HashMap<>();
+    private final Map<Long, ArbolIntervalos> porPiloto = new HashMap<>();
+    private final Map<Long, Etapa> porId = new HashMap<>();
+
+    private IndiceEtapas() {
+    }
+
+    /**
+     * Obtiene el índice de etapas, cargándolo en el primer acceso.
+     *
+     * @return Índice de etapas
+     */
+    public static IndiceEtapas getInstancia() {
+        IndiceEtapas i = instancia;
+        if (i == null) {
+            synchronized (IndiceEtapas.class) {
+                i = instancia;
+                if (i == null) {
+                    i = new IndiceEtapas();
+                    i.cargar(new EtapaPilotoDAO());
+                    instancia = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    private synchronized void cargar(EtapaPilotoDAO etapaPilotoDAO) {
+        List<EtapaPiloto> etapas = etapaPilotoDAO.findAll();
+        for (EtapaPiloto etapa : etapas) {
+            agregar(copiar(etapa));
+        }
+        logger.info("Índice de etapas cargado: {} etapas, {} pilotos, {} constructores",
+                porId.size(), porPiloto.size(), porConstructor.size());
+    }
+
+    /**
+     * Pilotos que corrían para un constructor en una fecha.
+     *
+     * @param constructorId ID del constructor
+     * @param fecha Fecha consultada
+     * @return Etapas vigentes en esa fecha, ordenadas por fecha de inicio
+     */
+    public synchronized List<Etapa> getPlantilla(Long constructorId, LocalDate fecha) {
+        List<Etapa> plantilla = new ArrayList<>();
+        ArbolIntervalos arbol = porConstructor.get(constructorId);
+        if (arbol != null) {
+            long dia = fecha.toEpochDay();
+            arbol.buscar(dia, dia, plantilla);
+        }
+        return plantilla;
+    }
+
+    /**
+     * Etapa de un piloto vigente en una fecha. Si por error de carga hubiera varias,
+     * se devuelve la que empezó más tarde.
+     *
+     * @param pilotoId ID del piloto
+     * @param fecha Fecha consultada
+     * @return Optional con la etapa vigente
+     */
+    public synchronized Optional<Etapa> getEtapa(Long pilotoId, LocalDate fecha) {
+        ArbolIntervalos arbol = porPiloto.get(pilotoId);
+        if (arbol == null || fecha == null) {
+            return Optional.empty();
+        }
+        List<Etapa> vigentes = new ArrayList<>(1);
+        long dia = fecha.toEpochDay();
+        arbol.buscar(dia, dia, vigentes);
+        return vigentes.isEmpty() ? Optional.empty() : Optional.of(vigentes.get(vigentes.size() - 1));
+    }
+
+    /**
+     * Constructor al que se atribuye un resultado del piloto en una fecha: el de la etapa
+     * vigente o, si no hay etapas registradas para esa fecha, su constructor actual.
+     *
+     * @param piloto Piloto con su constructor cargado
+     * @param fecha Fecha de la carrera
+     * @return ID del constructor, o null si el piloto no tiene ninguno
+     */
+    public Long getConstructorAtribuido(Piloto piloto, LocalDate fecha) {
+        Optional<Etapa> etapa = getEtapa(piloto.getId(), fecha);
+        if (etapa.isPresent()) {
+            return etapa.get().getConstructorId();
+        }
+        return piloto.getConstructor() != null ? piloto.getConstructor().getId() : null;
+    }
+
+    /**
+     * Etapas del mismo piloto que se solapan con la indicada (sin contarla a ella misma).
+     *
+     * @param etapa Etapa a comprobar
+     * @return Etapas en conflicto
+     */
+    public synchronized List<Etapa> getSolapes(Etapa etapa) {
+        List<Etapa> solapes = new ArrayList<>();
+        ArbolIntervalos arbol = porPiloto.get(etapa.getPilotoId());
+        if (arbol != null) {
+            arbol.buscar(etapa.inicio(), etapa.fin(), solapes);
+            solapes.removeIf(e -> e.getId() == etapa.getId());
+        }
+        return solapes;
+    }
+
+    /**
+     * Registra una etapa recién guardada o reemplaza la versión anterior de una etapa actualizada.
+     *
+     * @param etapa Etapa persistida, con piloto y constructor cargados
+     */
+    public synchronized void registrar(EtapaPiloto etapa) {
+        eliminar(etapa.getId());
+        agregar(copiar(etapa));
+    }
+
+    /**
+     * Quita una etapa eliminada de la base de datos.
+     *
+     * @param etapaId ID de la etapa
+     */
+    public synchronized void eliminar(Long etapaId) {
+        Etapa anterior = porId.remove(etapaId);
+        if (anterior != null) {
+            porPiloto.get(anterior.getPilotoId()).eliminar(anterior);
+            porConstructor.get(anterior.getConstructorId()).eliminar(anterior);
+        }
+    }
+
+    private void agregar(Etapa etapa) {
+        porId.put(etapa.getId(), etapa);
+        porPiloto.computeIfAbsent(etapa.getPilotoId(), id -> new ArbolIntervalos()).insertar(etapa);
+        porConstructor.computeIfAbsent(etapa.getConstructorId(), id -> new ArbolIntervalos()).insertar(etapa);
+    }
+
+    /**
+     * Crea la copia inmutable de una etapa. Piloto y constructor deben estar inicializados.
+     *
+     * @param etapa Etapa persistida o por persistir
+     * @return Copia inmutable
+     */
+    public static Etapa copiar(EtapaPiloto etapa) {
+        return new Etapa(
+                etapa.getId() != null ? etapa.getId() : -1L,
+                etapa.getPiloto().getId(),
+                etapa.getPiloto().getNombre(),
+                etapa.getConstructor().getId(),
+                etapa.getConstructor().getNombre(),
+                etapa.getFechaInicio(),
+                etapa.getFechaFin()
+        );
+    }
+}
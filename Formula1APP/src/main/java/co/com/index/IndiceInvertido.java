@@ -0,0 +1,205 @@
+package co.com.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Índice invertido de un campo de texto: de cada palabra normalizada ({@link NormalizadorTexto})
+ * a la {@link ListaPostings} de documentos que la contienen.
+ * Una consulta devuelve los documentos que contienen todas sus palabras; la última puede estar
+ * incompleta ("hidraul" encuentra "hidráulica"), porque las palabras se guardan ordenadas.
+ * Guarda también las palabras de cada documento para poder reindexarlo o quitarlo.
+ * Varias lecturas pueden ir en paralelo; las escrituras son exclusivas.
+ */
+public final class IndiceInvertido {
+
+    private final NavigableMap<String, ListaPostings> terminos = new TreeMap<>();
+    private final Map<Long, String[]> terminosPorDocumento = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa un documento, sustituyendo su texto anterior si lo tenía.
+     *
+     * @param id ID del documento
+     * @param texto Texto del documento; null o vacío lo quita del índice
+     */
+    public void indexar(long id, String texto) {
+        String[] nuevos = new LinkedHashSet<>(NormalizadorTexto.tokens(texto)).toArray(new String[0]);
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+            if (nuevos.length == 0) {
+                return;
+            }
+            for (String termino : nuevos) {
+                terminos.computeIfAbsent(termino, t -> new ListaPostings()).agregar(id);
+            }
+            terminosPorDocumento.put(id, nuevos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id ID del documento a quitar del índice
+     */
+    public void eliminar(long id) {
+        lock.writeLock().lock();
+        try {
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void quitar(long id) {
+        String[] anteriores = terminosPorDocumento.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termino : anteriores) {
+            ListaPostings lista = terminos.get(termino);
+            if (lista != null && lista.eliminar(id) && lista.isEmpty()) {
+                terminos.remove(termino);
+            }
+        }
+    }
+
+    /**
+     * Busca los documentos que contienen todas las palabras de la consulta.
+     *
+     * @param consulta Palabras a buscar; la última se trata como prefijo
+     * @return IDs de documento en orden ascendente; vacío si la consulta no tiene palabras
+     */
+    public long[] buscar(String consulta) {
+        List<String> palabras = NormalizadorTexto.tokens(consulta);
+        if (palabras.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] resultado = null;
+            for (int i = 0; i < palabras.size(); i++) {
+                boolean prefijo = i == palabras.size() - 1;
+                long[] ids = prefijo ? unionPrefijo(palabras.get(i)) : exacta(palabras.get(i));
+                resultado = resultado == null ? ids : interseccion(resultado, ids);
+                if (resultado.length == 0) {
+                    break;
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre los documentos de la consulta sin copiarlos, para agregaciones.
+     *
+     * @param consulta Palabras a buscar; la última se trata como prefijo
+     * @param consumidor Recibe cada ID de documento en orden ascendente
+     */
+    public void recorrer(String consulta, LongConsumer consumidor) {
+        List<String> palabras = NormalizadorTexto.tokens(consulta);
+        if (palabras.size() == 1) {
+            lock.readLock().lock();
+            try {
+                Map<String, ListaPostings> rango = rangoPrefijo(palabras.get(0));
+                if (rango.size() == 1) {
+                    // Caso habitual: una sola palabra se lee directamente de su lista comprimida
+                    rango.values().iterator().next().forEach(consumidor);
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        for (long id : buscar(consulta)) {
+            consumidor.accept(id);
+        }
+    }
+
+    /**
+     * @return Número de palabras distintas, bytes ocupados por las listas y documentos indexados
+     */
+    public int[] getEstadisticas() {
+        lock.readLock().lock();
+        try {
+            int bytes = 0;
+            for (ListaPostings lista : terminos.values()) {
+                bytes += lista.bytes();
+            }
+            return new int[]{terminos.size(), bytes, terminosPorDocumento.size()};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] exacta(String termino) {
+        ListaPostings lista = terminos.get(termino);
+        return lista == null ? new long[0] : lista.aArray();
+    }
+
+    // Unión ordenada de las listas de todas las palabras que empiezan por el prefijo
+    private long[] unionPrefijo(String prefijo) {
+        Map<String, ListaPostings> rango = rangoPrefijo(prefijo);
+        if (rango.isEmpty()) {
+            return new long[0];
+        }
+        if (rango.size() == 1) {
+            return rango.values().iterator().next().aArray();
+        }
+        List<long[]> listas = new ArrayList<>(rango.size());
+        int total = 0;
+        for (ListaPostings lista : rango.values()) {
+            listas.add(lista.aArray());
+            total += lista.tamano();
+        }
+        long[] todos = new long[total];
+        int n = 0;
+        for (long[] ids : listas) {
+            System.arraycopy(ids, 0, todos, n, ids.length);
+            n += ids.length;
+        }
+        Arrays.sort(todos);
+        int unicos = 0;
+        for (int i = 0; i < todos.length; i++) {
+            if (i == 0 || todos[i] != todos[i - 1]) {
+                todos[unicos++] = todos[i];
+            }
+        }
+        return Arrays.copyOf(todos, unicos);
+    }
+
+    private Map<String, ListaPostings> rangoPrefijo(String prefijo) {
+        return terminos.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+    }
+
+    private static long[] interseccion(long[] a, long[] b) {
+        long[] salida = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                salida[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(salida, n);
+    }
+}
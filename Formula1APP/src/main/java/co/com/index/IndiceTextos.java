@@ -0,0 +1,230 @@
+package co.com.index;
+
+import co.com.dao.CarreraDAO;
+import co.com.dao.CircuitoDAO;
+import co.com.dao.ResultadoDAO;
+import co.com.event.CambioResultados;
+import co.com.event.EventosResultados;
+import co.com.event.FilaResultado;
+import co.com.event.ObservadorResultados;
+import co.com.model.Carrera;
+import co.com.model.Circuito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índices de texto completo sobre los campos que se buscan por nombre: nombre del GP,
+ * nombre y ubicación del circuito y motivo de retiro de los resultados de carrera.
+ *
+ * <p>Se construye una vez con tres lecturas completas y después se mantiene con las escrituras
+ * de {@link CarreraDAO} y {@link CircuitoDAO} y con los cambios publicados en {@link EventosResultados}.
+ * Para los retiros guarda además el año y el constructor de cada resultado en arrays indexados
+ * por ID, de modo que las estadísticas por causa se calculan recorriendo las listas del índice
+ * sin consultar la base de datos.
+ */
+public final class IndiceTextos implements ObservadorResultados {
+    private static final Logger logger = LoggerFactory.getLogger(IndiceTextos.class);
+
+    private static volatile IndiceTextos instancia;
+
+    private final IndiceInvertido carreras = new IndiceInvertido();
+    private final IndiceInvertido circuitosPorNombre = new IndiceInvertido();
+    private final IndiceInvertido circuitosPorUbicacion = new IndiceInvertido();
+    private final IndiceInvertido motivosRetiro = new IndiceInvertido();
+
+    // Resultado ID -> año y constructor (0 si no tiene), solo para resultados con motivo de retiro
+    private int[] anioPorResultado = new int[0];
+    private long[] constructorPorResultado = new long[0];
+
+    private IndiceTextos() {
+    }
+
+    /**
+     * Obtiene los índices de texto, construyéndolos en el primer acceso.
+     *
+     * @return Índices de texto
+     */
+    public static IndiceTextos getInstancia() {
+        IndiceTextos i = instancia;
+        if (i == null) {
+            synchronized (IndiceTextos.class) {
+                i = instancia;
+                if (i == null) {
+                    i = new IndiceTextos();
+                    i.cargar();
+                    EventosResultados.registrar(i);
+                    instancia = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    private synchronized void cargar() {
+        long inicio = System.nanoTime();
+
+        List<Carrera> todasCarreras = new CarreraDAO().findAll();
+        for (Carrera carrera : todasCarreras) {
+            carreras.indexar(carrera.getId(), carrera.getNombreGp());
+        }
+        List<Circuito> todosCircuitos = new CircuitoDAO().findAll();
+        for (Circuito circuito : todosCircuitos) {
+            indexarCircuito(circuito);
+        }
+        int retiros = 0;
+        for (FilaResultado fila : new ResultadoDAO().findFilasHistoricas()) {
+            if (indexarRetiro(fila)) {
+                retiros++;
+            }
+        }
+
+        int[] estadisticas = motivosRetiro.getEstadisticas();
+        logger.info("Índices de texto construidos: {} carreras, {} circuitos, {} retiros " +
+                        "({} términos de retiro en {} bytes, {} ms)",
+                todasCarreras.size(), todosCircuitos.size(), retiros, estadisticas[0], estadisticas[1],
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Indexa una carrera guardada o actualizada. No hace nada si los índices aún no se han construido.
+     *
+     * @param carrera Carrera con ID asignado
+     */
+    public static void carreraGuardada(Carrera carrera) {
+        carreraGuardada(carrera.getId(), carrera.getNombreGp());
+    }
+
+    /**
+     * Indexa una carrera escrita sin pasar por {@link co.com.dao.CarreraDAO}, como las copias de calendario.
+     *
+     * @param carreraId ID de la carrera
+     * @param nombreGp Nombre del Gran Premio
+     */
+    public static void carreraGuardada(Long carreraId, String nombreGp) {
+        IndiceTextos i = instancia;
+        if (i != null) {
+            i.carreras.indexar(carreraId, nombreGp);
+        }
+    }
+
+    /**
+     * @param carreraId ID de la carrera eliminada
+     */
+    public static void carreraEliminada(Long carreraId) {
+        IndiceTextos i = instancia;
+        if (i != null) {
+            i.carreras.eliminar(carreraId);
+        }
+    }
+
+    /**
+     * Indexa un circuito guardado o actualizado. No hace nada si los índices aún no se han construido.
+     *
+     * @param circuito Circuito con ID asignado
+     */
+    public static void circuitoGuardado(Circuito circuito) {
+        IndiceTextos i = instancia;
+        if (i != null) {
+            i.indexarCircuito(circuito);
+        }
+    }
+
+    /**
+     * @param circuitoId ID del circuito eliminado
+     */
+    public static void circuitoEliminado(Long circuitoId) {
+        IndiceTextos i = instancia;
+        if (i != null) {
+            i.circuitosPorNombre.eliminar(circuitoId);
+            i.circuitosPorUbicacion.eliminar(circuitoId);
+        }
+    }
+
+    private void indexarCircuito(Circuito circuito) {
+        circuitosPorNombre.indexar(circuito.getId(), circuito.getNombre());
+        circuitosPorUbicacion.indexar(circuito.getId(), circuito.getUbicacion());
+    }
+
+    @Override
+    public synchronized void resultadosCambiados(CambioResultados cambio) {
+        // Los IDs de resultado y de resultado de sprint no comparten secuencia
+        if (cambio.isSprint()) {
+            return;
+        }
+        for (FilaResultado fila : cambio.getAnteriores()) {
+            motivosRetiro.eliminar(fila.getResultadoId());
+        }
+        for (FilaResultado fila : cambio.getNuevos()) {
+            indexarRetiro(fila);
+        }
+    }
+
+    private boolean indexarRetiro(FilaResultado fila) {
+        String motivo = fila.getMotivoRetiro();
+        if (motivo == null || motivo.isBlank() || fila.getResultadoId() == null) {
+            return false;
+        }
+        int id = Math.toIntExact(fila.getResultadoId());
+        if (id >= anioPorResultado.length) {
+            int capacidad = Math.max(id + 1, anioPorResultado.length * 2);
+            anioPorResultado = Arrays.copyOf(anioPorResultado, capacidad);
+            constructorPorResultado = Arrays.copyOf(constructorPorResultado, capacidad);
+        }
+        anioPorResultado[id] = fila.getAnio();
+        constructorPorResultado[id] = fila.getConstructorId() != null ? fila.getConstructorId() : 0L;
+        motivosRetiro.indexar(id, motivo);
+        return true;
+    }
+
+    /**
+     * @param consulta Palabras del nombre del GP; la última puede estar incompleta
+     * @return IDs de las carreras que coinciden, en orden ascendente
+     */
+    public long[] buscarCarreras(String consulta) {
+        return carreras.buscar(consulta);
+    }
+
+    /**
+     * @param consulta Palabras del nombre del circuito; la última puede estar incompleta
+     * @return IDs de los circuitos que coinciden, en orden ascendente
+     */
+    public long[] buscarCircuitosPorNombre(String consulta) {
+        return circuitosPorNombre.buscar(consulta);
+    }
+
+    /**
+     * @param consulta Palabras de la ubicación del circuito; la última puede estar incompleta
+     * @return IDs de los circuitos que coinciden, en orden ascendente
+     */
+    public long[] buscarCircuitosPorUbicacion(String consulta) {
+        return circuitosPorUbicacion.buscar(consulta);
+    }
+
+    /**
+     * @param consulta Palabras del motivo de retiro; la última puede estar incompleta
+     * @return IDs de los resultados de carrera que coinciden, en orden ascendente
+     */
+    public long[] buscarRetiros(String consulta) {
+        return motivosRetiro.buscar(consulta);
+    }
+
+    /**
+     * Cuenta los retiros cuyo motivo coincide con la consulta, por temporada y constructor.
+     *
+     * @param consulta Palabras del motivo de retiro (p. ej. "motor" o "hidraul")
+     * @return Año -> constructor ID (0 si el resultado no tiene constructor) -> número de retiros
+     */
+    public synchronized TreeMap<Integer, Map<Long, Integer>> contarRetiros(String consulta) {
+        TreeMap<Integer, Map<Long, Integer>> conteo = new TreeMap<>();
+        motivosRetiro.recorrer(consulta, id -> conteo
+                .computeIfAbsent(anioPorResultado[(int) id], a -> new HashMap<>())
+                .merge(constructorPorResultado[(int) id], 1, Integer::sum));
+        return conteo;
+    }
+}
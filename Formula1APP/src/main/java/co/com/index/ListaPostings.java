@@ -0,0 +1,148 @@
+package co.com.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Lista de IDs de documento ordenada y comprimida: cada ID se guarda como la diferencia con el
+ * anterior en un varint (7 bits por byte). Los IDs autoincrementales llegan casi siempre en orden
+ * y con diferencias pequeñas, así que la mayoría ocupa uno o dos bytes en lugar de ocho.
+ * Añadir un ID mayor que el último es O(1); cualquier otro cambio recodifica la lista.
+ * No es thread-safe: la protege el índice que la contiene.
+ */
+final class ListaPostings {
+
+    private byte[] datos = new byte[8];
+    private int longitud;
+    private int tamano;
+    private long ultimo;
+
+    /**
+     * Recorrido secuencial de la lista sin descomprimirla entera.
+     */
+    final class Cursor {
+        private int posicion;
+        private long actual;
+
+        /**
+         * @return false si no quedan IDs
+         */
+        boolean siguiente() {
+            if (posicion >= longitud) {
+                return false;
+            }
+            long delta = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos[posicion++];
+                delta |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            actual += delta;
+            return true;
+        }
+
+        long actual() {
+            return actual;
+        }
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    int bytes() {
+        return longitud;
+    }
+
+    /**
+     * @param id ID de documento (positivo)
+     * @return false si ya estaba
+     */
+    boolean agregar(long id) {
+        if (id > ultimo) {
+            escribir(id - ultimo);
+            ultimo = id;
+            tamano++;
+            return true;
+        }
+        long[] ids = aArray();
+        int i = Arrays.binarySearch(ids, id);
+        if (i >= 0) {
+            return false;
+        }
+        int punto = -i - 1;
+        long[] nuevos = new long[ids.length + 1];
+        System.arraycopy(ids, 0, nuevos, 0, punto);
+        nuevos[punto] = id;
+        System.arraycopy(ids, punto, nuevos, punto + 1, ids.length - punto);
+        codificar(nuevos, nuevos.length);
+        return true;
+    }
+
+    /**
+     * @param id ID de documento
+     * @return false si no estaba
+     */
+    boolean eliminar(long id) {
+        if (id > ultimo) {
+            return false;
+        }
+        long[] ids = aArray();
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(ids, i + 1, ids, i, ids.length - i - 1);
+        codificar(ids, ids.length - 1);
+        return true;
+    }
+
+    void forEach(LongConsumer consumidor) {
+        Cursor c = cursor();
+        while (c.siguiente()) {
+            consumidor.accept(c.actual());
+        }
+    }
+
+    long[] aArray() {
+        long[] ids = new long[tamano];
+        Cursor c = cursor();
+        for (int i = 0; c.siguiente(); i++) {
+            ids[i] = c.actual();
+        }
+        return ids;
+    }
+
+    private void codificar(long[] ids, int n) {
+        datos = new byte[Math.max(8, n * 2)];
+        longitud = 0;
+        tamano = 0;
+        ultimo = 0;
+        for (int i = 0; i < n; i++) {
+            escribir(ids[i] - ultimo);
+            ultimo = ids[i];
+            tamano++;
+        }
+    }
+
+    private void escribir(long valor) {
+        if (longitud + 10 > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + 10));
+        }
+        while ((valor & ~0x7FL) != 0) {
+            datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[longitud++] = (byte) valor;
+    }
+}
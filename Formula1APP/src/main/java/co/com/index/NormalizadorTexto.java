@@ -0,0 +1,93 @@
+package co.com.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalización de texto para los índices de búsqueda: minúsculas, sin acentos ni diacríticos
+ * ("Mónaco" y "MONACO" dan "monaco") y cualquier carácter que no sea letra o dígito como separador.
+ * Los caracteres ASCII, que son casi todos, se tratan sin pasar por {@link Normalizer}.
+ */
+public final class NormalizadorTexto {
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private NormalizadorTexto() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Normaliza un texto conservando un espacio entre palabras.
+     *
+     * @param texto Texto a normalizar (puede ser null)
+     * @return Texto normalizado, sin espacios al principio ni al final
+     */
+    public static String normalizar(CharSequence texto) {
+        return String.join(" ", tokens(texto));
+    }
+
+    /**
+     * Divide un texto en palabras normalizadas.
+     *
+     * @param texto Texto a dividir (puede ser null)
+     * @return Palabras en el orden del texto, con repeticiones
+     */
+    public static List<String> tokens(CharSequence texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null) {
+            return tokens;
+        }
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i < texto.length(); i++) {
+            plegar(texto.charAt(i), actual, tokens);
+        }
+        if (!actual.isEmpty()) {
+            tokens.add(actual.toString());
+        }
+        return tokens;
+    }
+
+    // Añade el carácter plegado a la palabra actual, o cierra la palabra si es un separador
+    private static void plegar(char c, StringBuilder actual, List<String> tokens) {
+        if (c < 128) {
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                actual.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                actual.append((char) (c + ('a' - 'A')));
+            } else if (!actual.isEmpty()) {
+                tokens.add(actual.toString());
+                actual.setLength(0);
+            }
+            return;
+        }
+
+        // Letras sin descomposición canónica
+        switch (c) {
+            case 'ß' -> actual.append("ss");
+            case 'æ', 'Æ' -> actual.append("ae");
+            case 'ø', 'Ø' -> actual.append('o');
+            case 'đ', 'Đ' -> actual.append('d');
+            case 'ł', 'Ł' -> actual.append('l');
+            default -> {
+                String descompuesto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                boolean letra = false;
+                for (int k = 0; k < descompuesto.length(); k++) {
+                    char d = descompuesto.charAt(k);
+                    if (Character.getType(d) == Character.NON_SPACING_MARK) {
+                        continue;
+                    }
+                    if (Character.isLetterOrDigit(d)) {
+                        actual.append(Character.toLowerCase(d));
+                        letra = true;
+                    }
+                }
+                if (!letra && !actual.isEmpty() && !Character.isLetterOrDigit(c)) {
+                    tokens.add(actual.toString());
+                    actual.setLength(0);
+                }
+            }
+        }
+    }
+}
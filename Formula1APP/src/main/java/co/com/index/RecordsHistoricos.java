@@ -0,0 +1,313 @@
+package co.com.index;
+
+import co.com.dao.ResultadoDAO;
+import co.com.dto.EntradaRecord;
+import co.com.event.CambioResultados;
+import co.com.event.EventosResultados;
+import co.com.event.FilaResultado;
+import co.com.event.ObservadorResultados;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Récords históricos de pilotos sobre todas las temporadas:
+ * más victorias, más podios, más puntos en una temporada y más victorias consecutivas.
+ *
+ * <p>Se construye una vez leyendo todos los resultados y después se mantiene con los cambios
+ * publicados en {@link EventosResultados}. Cada récord es un {@link TopK}, así que consultar
+ * una tabla cuesta O(K) sin tocar la base de datos. Las rachas necesitan el historial ordenado
+ * de cada piloto, que se guarda como un mapa ordenado por fecha de carrera.
+ */
+public final class RecordsHistoricos implements ObservadorResultados {
+    private static final Logger logger = LoggerFactory.getLogger(RecordsHistoricos.class);
+
+    public static final int CAPACIDAD = 50;
+
+    // Las claves de temporada combinan piloto y año en un único long
+    private static final long FACTOR_ANIO = 10_000L;
+
+    private static volatile RecordsHistoricos instancia;
+
+    /**
+     * Estado de un piloto necesario para recalcular sus récords.
+     */
+    private static final class EstadoPiloto {
+        String nombre;
+        int victorias;
+        int podios;
+        // Clave de orden de carrera -> si la ganó
+        final TreeMap<Long, Boolean> carreras = new TreeMap<>();
+        int rachaActual;
+        int mejorRacha;
+
+        /**
+         * Añade una carrera al historial. Si es posterior a todas las conocidas la racha
+         * se actualiza en O(1); si no, se recalcula recorriendo el historial.
+         *
+         * @return true si hubo que recalcular la racha
+         */
+        boolean agregarCarrera(long orden, boolean victoria) {
+            boolean alFinal = carreras.isEmpty() || orden > carreras.lastKey();
+            Boolean anterior = carreras.put(orden, victoria);
+            if (alFinal && anterior == null) {
+                rachaActual = victoria ? rachaActual + 1 : 0;
+                mejorRacha = Math.max(mejorRacha, rachaActual);
+                return false;
+            }
+            recalcularRacha();
+            return true;
+        }
+
+        void quitarCarrera(long orden) {
+            carreras.remove(orden);
+        }
+
+        void recalcularRacha() {
+            int actual = 0;
+            int mejor = 0;
+            for (boolean victoria : carreras.values()) {
+                actual = victoria ? actual + 1 : 0;
+                mejor = Math.max(mejor, actual);
+            }
+            rachaActual = actual;
+            mejorRacha = mejor;
+        }
+    }
+
+    private final Map<Long, EstadoPiloto> pilotos = new HashMap<>();
+    // Clave de temporada -> puntos en centésimas (carreras y sprints)
+    private final Map<Long, Long> puntosTemporada = new HashMap<>();
+
+    private final TopK victorias = new TopK(CAPACIDAD);
+    private final TopK podios = new TopK(CAPACIDAD);
+    private final TopK puntos = new TopK(CAPACIDAD);
+    private final TopK rachas = new TopK(CAPACIDAD);
+
+    private RecordsHistoricos() {
+    }
+
+    /**
+     * Obtiene el índice de récords, construyéndolo en el primer acceso.
+     *
+     * @return Índice de récords
+     */
+    public static RecordsHistoricos getInstancia() {
+        RecordsHistoricos r = instancia;
+        if (r == null) {
+            synchronized (RecordsHistoricos.class) {
+                r = instancia;
+                if (r == null) {
+                    r = new RecordsHistoricos();
+                    r.cargar(new ResultadoDAO());
+                    EventosResultados.registrar(r);
+                    instancia = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    private synchronized void cargar(ResultadoDAO resultadoDAO) {
+        long inicio = System.nanoTime();
+
+        List<FilaResultado> filas = resultadoDAO.findFilasHistoricas();
+        for (FilaResultado fila : filas) {
+            sumar(fila);
+        }
+        for (Map<String, Object> fila : resultadoDAO.getPuntosSprintPorTemporada()) {
+            Long pilotoId = (Long) fila.get("pilotoId");
+            estado(pilotoId, (String) fila.get("nombre"));
+            puntosTemporada.merge(claveTemporada(pilotoId, (Integer) fila.get("anio")),
+                    centesimas((BigDecimal) fila.get("puntos")), Long::sum);
+        }
+
+        reconstruirIndices();
+        logger.info("Récords históricos construidos: {} resultados, {} pilotos ({} ms)",
+                filas.size(), pilotos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Override
+    public synchronized void resultadosCambiados(CambioResultados cambio) {
+        if (cambio.isSprint()) {
+            aplicarSprint(cambio);
+            return;
+        }
+
+        Set<Long> afectados = new HashSet<>();
+        Set<Long> temporadasAfectadas = new HashSet<>();
+        boolean reconstruir = false;
+
+        for (FilaResultado fila : cambio.getAnteriores()) {
+            EstadoPiloto estado = estado(fila.getPilotoId(), fila.getPilotoNombre());
+            if (fila.isVictoria()) {
+                estado.victorias--;
+            }
+            if (fila.isPodio()) {
+                estado.podios--;
+            }
+            estado.quitarCarrera(ordenCarrera(fila.getFecha(), fila.getCarreraId()));
+            estado.recalcularRacha();
+            puntosTemporada.merge(claveTemporada(fila.getPilotoId(), fila.getAnio()),
+                    -centesimas(fila.getPuntos()), Long::sum);
+
+            afectados.add(fila.getPilotoId());
+            temporadasAfectadas.add(claveTemporada(fila.getPilotoId(), fila.getAnio()));
+        }
+        for (FilaResultado fila : cambio.getNuevos()) {
+            sumar(fila);
+            afectados.add(fila.getPilotoId());
+            temporadasAfectadas.add(claveTemporada(fila.getPilotoId(), fila.getAnio()));
+        }
+
+        for (Long pilotoId : afectados) {
+            EstadoPiloto estado = pilotos.get(pilotoId);
+            reconstruir |= !victorias.ofrecer(pilotoId, estado.victorias);
+            reconstruir |= !podios.ofrecer(pilotoId, estado.podios);
+            reconstruir |= !rachas.ofrecer(pilotoId, estado.mejorRacha);
+        }
+        for (Long clave : temporadasAfectadas) {
+            reconstruir |= !puntos.ofrecer(clave, puntosTemporada.getOrDefault(clave, 0L));
+        }
+
+        if (reconstruir) {
+            // Un piloto dentro de alguna tabla bajó: otro de fuera podría superarlo
+            reconstruirIndices();
+        }
+        logger.debug("Récords actualizados para la carrera {} ({} pilotos)", cambio.getCarreraId(), afectados.size());
+    }
+
+    // Los sprints solo cambian los puntos de la temporada
+    private void aplicarSprint(CambioResultados cambio) {
+        Set<Long> temporadasAfectadas = new HashSet<>();
+        for (FilaResultado fila : cambio.getAnteriores()) {
+            long clave = claveTemporada(fila.getPilotoId(), fila.getAnio());
+            puntosTemporada.merge(clave, -centesimas(fila.getPuntos()), Long::sum);
+            temporadasAfectadas.add(clave);
+        }
+        for (FilaResultado fila : cambio.getNuevos()) {
+            estado(fila.getPilotoId(), fila.getPilotoNombre());
+            long clave = claveTemporada(fila.getPilotoId(), fila.getAnio());
+            puntosTemporada.merge(clave, centesimas(fila.getPuntos()), Long::sum);
+            temporadasAfectadas.add(clave);
+        }
+
+        boolean reconstruir = false;
+        for (Long clave : temporadasAfectadas) {
+            reconstruir |= !puntos.ofrecer(clave, puntosTemporada.getOrDefault(clave, 0L));
+        }
+        if (reconstruir) {
+            reconstruirIndices();
+        }
+    }
+
+    /**
+     * @param limite Número de posiciones (como máximo {@link #CAPACIDAD})
+     * @return Pilotos con más victorias
+     */
+    public synchronized List<EntradaRecord> getMasVictorias(int limite) {
+        return tabla(victorias, limite, false);
+    }
+
+    /**
+     * @param limite Número de posiciones (como máximo {@link #CAPACIDAD})
+     * @return Pilotos con más podios
+     */
+    public synchronized List<EntradaRecord> getMasPodios(int limite) {
+        return tabla(podios, limite, false);
+    }
+
+    /**
+     * @param limite Número de posiciones (como máximo {@link #CAPACIDAD})
+     * @return Mejores temporadas por puntos (carreras y sprints), con el año de cada una
+     */
+    public synchronized List<EntradaRecord> getMasPuntosEnTemporada(int limite) {
+        return tabla(puntos, limite, true);
+    }
+
+    /**
+     * Las rachas cuentan victorias seguidas en las carreras que disputó cada piloto.
+     *
+     * @param limite Número de posiciones (como máximo {@link #CAPACIDAD})
+     * @return Pilotos con más victorias consecutivas
+     */
+    public synchronized List<EntradaRecord> getMasVictoriasConsecutivas(int limite) {
+        return tabla(rachas, limite, false);
+    }
+
+    private void sumar(FilaResultado fila) {
+        EstadoPiloto estado = estado(fila.getPilotoId(), fila.getPilotoNombre());
+        if (fila.isVictoria()) {
+            estado.victorias++;
+        }
+        if (fila.isPodio()) {
+            estado.podios++;
+        }
+        estado.agregarCarrera(ordenCarrera(fila.getFecha(), fila.getCarreraId()), fila.isVictoria());
+        puntosTemporada.merge(claveTemporada(fila.getPilotoId(), fila.getAnio()),
+                centesimas(fila.getPuntos()), Long::sum);
+    }
+
+    private EstadoPiloto estado(Long pilotoId, String nombre) {
+        EstadoPiloto estado = pilotos.computeIfAbsent(pilotoId, id -> new EstadoPiloto());
+        if (nombre != null) {
+            estado.nombre = nombre;
+        }
+        return estado;
+    }
+
+    private void reconstruirIndices() {
+        victorias.limpiar();
+        podios.limpiar();
+        rachas.limpiar();
+        puntos.limpiar();
+
+        for (Map.Entry<Long, EstadoPiloto> e : pilotos.entrySet()) {
+            victorias.ofrecer(e.getKey(), e.getValue().victorias);
+            podios.ofrecer(e.getKey(), e.getValue().podios);
+            rachas.ofrecer(e.getKey(), e.getValue().mejorRacha);
+        }
+        for (Map.Entry<Long, Long> e : puntosTemporada.entrySet()) {
+            puntos.ofrecer(e.getKey(), e.getValue());
+        }
+        logger.debug("Índices de récords reconstruidos");
+    }
+
+    private List<EntradaRecord> tabla(TopK indice, int limite, boolean porTemporada) {
+        long[][] mejores = indice.mejores(limite);
+        List<EntradaRecord> tabla = new ArrayList<>(mejores.length);
+        for (int i = 0; i < mejores.length; i++) {
+            long clave = mejores[i][0];
+            long pilotoId = porTemporada ? clave / FACTOR_ANIO : clave;
+            Integer anio = porTemporada ? (int) (clave % FACTOR_ANIO) : null;
+            BigDecimal valor = porTemporada
+                    ? BigDecimal.valueOf(mejores[i][1], 2)
+                    : BigDecimal.valueOf(mejores[i][1]);
+            tabla.add(new EntradaRecord(i + 1, pilotoId, pilotos.get(pilotoId).nombre, anio, valor));
+        }
+        return tabla;
+    }
+
+    private static long claveTemporada(long pilotoId, int anio) {
+        return pilotoId * FACTOR_ANIO + anio;
+    }
+
+    // Ordena por fecha y, dentro del mismo día, por ID de carrera
+    private static long ordenCarrera(LocalDate fecha, long carreraId) {
+        long dia = fecha != null ? fecha.toEpochDay() : 0L;
+        return (dia << 32) | (carreraId & 0xFFFFFFFFL);
+    }
+
+    private static long centesimas(BigDecimal puntos) {
+        return puntos != null ? puntos.movePointRight(2).longValue() : 0L;
+    }
+}
@@ -0,0 +1,124 @@
+package co.com.index;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Índice acotado de las K claves con mayor valor.
+ * Guarda como máximo K entradas ordenadas, de modo que leer el ranking cuesta O(K)
+ * y ofrecer un valor nuevo cuesta O(log K). Las claves con valor cero o negativo no se guardan.
+ *
+ * <p>Un descenso de valor de una clave que está dentro no se puede resolver solo con las K entradas,
+ * porque alguna clave descartada podría superarla: en ese caso {@link #ofrecer} devuelve false
+ * y el llamador debe reconstruir el índice desde sus contadores completos.
+ *
+ * <p>No es thread-safe; el dueño debe sincronizar el acceso.
+ */
+public final class TopK {
+
+    private static final class Entrada {
+        final long clave;
+        long valor;
+
+        Entrada(long clave, long valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+
+    private final int capacidad;
+    // Orden ascendente: el primero es el peor de los K (mayor clave en caso de empate)
+    private final TreeSet<Entrada> orden = new TreeSet<>((a, b) -> {
+        int c = Long.compare(a.valor, b.valor);
+        return c != 0 ? c : Long.compare(b.clave, a.clave);
+    });
+    private final Map<Long, Entrada> miembros = new HashMap<>();
+    // true si alguna clave con valor positivo quedó fuera del índice
+    private boolean descartes;
+
+    public TopK(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int tamano() {
+        return orden.size();
+    }
+
+    /**
+     * Registra el valor actual de una clave.
+     *
+     * @param clave Clave
+     * @param valor Valor actual (total, no incremento)
+     * @return false si el índice puede haber quedado incompleto y debe reconstruirse
+     */
+    public boolean ofrecer(long clave, long valor) {
+        Entrada actual = miembros.get(clave);
+        if (actual != null) {
+            long anterior = actual.valor;
+            orden.remove(actual);
+            if (valor <= 0) {
+                miembros.remove(clave);
+            } else {
+                actual.valor = valor;
+                orden.add(actual);
+            }
+            return valor >= anterior || !descartes;
+        }
+
+        if (valor <= 0) {
+            return true;
+        }
+
+        Entrada nueva = new Entrada(clave, valor);
+        if (orden.size() < capacidad) {
+            orden.add(nueva);
+            miembros.put(clave, nueva);
+            return true;
+        }
+
+        descartes = true;
+        Entrada peor = orden.first();
+        if (valor > peor.valor || (valor == peor.valor && clave < peor.clave)) {
+            orden.pollFirst();
+            miembros.remove(peor.clave);
+            orden.add(nueva);
+            miembros.put(clave, nueva);
+        }
+        return true;
+    }
+
+    /**
+     * Vacía el índice antes de volver a ofrecer todas las claves.
+     */
+    public void limpiar() {
+        orden.clear();
+        miembros.clear();
+        descartes = false;
+    }
+
+    /**
+     * Obtiene las claves de mayor a menor valor.
+     *
+     * @param limite Número máximo de claves
+     * @return Pares [clave, valor] ordenados de mayor a menor
+     */
+    public long[][] mejores(int limite) {
+        int n = Math.min(limite, orden.size());
+        long[][] resultado = new long[n][];
+        Iterator<Entrada> it = orden.descendingIterator();
+        for (int i = 0; i < n; i++) {
+            Entrada e = it.next();
+            resultado[i] = new long[]{e.clave, e.valor};
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,141 @@
+package co.com.ingesta;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer circular acotado de filas pendientes de escribir, guardado en un lote por columnas.
+ * Varios productores y un único consumidor; cuando está lleno los productores esperan,
+ * que es lo que frena la entrada si la base de datos se retrasa.
+ *
+ * @param <L> Tipo de lote
+ */
+final class BufferCircular<L extends LoteColumnas<L>> {
+
+    private final L filas;
+    private final int mascara;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hayEspacio = lock.newCondition();
+    private final Condition loteListo = lock.newCondition();
+
+    private final int umbralLote;
+    private final String nombre;
+    private long lectura;
+    private long escritura;
+    private boolean cerrado;
+
+    /**
+     * @param filas Lote vacío que hará de buffer; su capacidad debe ser potencia de dos
+     * @param umbralLote Filas pendientes a partir de las cuales se despierta al consumidor
+     * @param nombre Nombre de las filas para los mensajes de error
+     */
+    BufferCircular(L filas, int umbralLote, String nombre) {
+        if (Integer.bitCount(filas.getCapacidad()) != 1) {
+            throw new IllegalArgumentException("La capacidad del buffer debe ser potencia de dos: " + filas.getCapacidad());
+        }
+        this.filas = filas;
+        this.mascara = filas.getCapacidad() - 1;
+        this.umbralLote = Math.min(umbralLote, filas.getCapacidad());
+        this.nombre = nombre;
+    }
+
+    /**
+     * Redondea una capacidad a la siguiente potencia de dos.
+     */
+    static int capacidadReal(int capacidad) {
+        return Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+    }
+
+    /**
+     * Añade una fila esperando como mucho el tiempo indicado si el buffer está lleno.
+     *
+     * @return false si el buffer siguió lleno durante toda la espera
+     * @throws IllegalStateException si el buffer ya está cerrado
+     */
+    boolean agregar(FilaNueva<L> fila, long esperaNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("La ingesta de " + nombre + " está cerrada");
+            }
+            while (escritura - lectura == filas.getCapacidad()) {
+                if (esperaNanos <= 0) {
+                    return false;
+                }
+                esperaNanos = hayEspacio.awaitNanos(esperaNanos);
+                if (cerrado) {
+                    throw new IllegalStateException("La ingesta de " + nombre + " está cerrada");
+                }
+            }
+            fila.escribir(filas, (int) (escritura & mascara));
+            escritura++;
+
+            // Solo se avisa al cruzar el umbral para no despertar al consumidor en cada fila
+            if (escritura - lectura == umbralLote) {
+                loteListo.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia al lote las filas pendientes más antiguas. Espera hasta que haya un lote
+     * completo, venza el plazo o se cierre el buffer, lo que ocurra antes.
+     *
+     * @param destino Lote a llenar (se sobrescribe)
+     * @param esperaNanos Espera máxima si aún no hay un lote completo
+     * @return Número de filas copiadas
+     */
+    int drenar(L destino, long esperaNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (escritura - lectura < umbralLote && esperaNanos > 0 && !cerrado) {
+                esperaNanos = loteListo.awaitNanos(esperaNanos);
+            }
+            int n = (int) Math.min(escritura - lectura, destino.getCapacidad());
+            for (int k = 0; k < n; k++) {
+                int i = (int) ((lectura + k) & mascara);
+                filas.copiarFila(i, destino, k);
+                filas.limpiarFila(i);
+            }
+            destino.tamano = n;
+            lectura += n;
+            if (n > 0) {
+                hayEspacio.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rechaza nuevas filas y despierta a todos para que el consumidor vacíe lo pendiente.
+     */
+    void cerrar() {
+        lock.lock();
+        try {
+            cerrado = true;
+            loteListo.signalAll();
+            hayEspacio.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int pendientes() {
+        lock.lock();
+        try {
+            return (int) (escritura - lectura);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacidad() {
+        return filas.getCapacidad();
+    }
+}
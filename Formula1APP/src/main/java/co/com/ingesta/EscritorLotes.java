@@ -0,0 +1,18 @@
+package co.com.ingesta;
+
+/**
+ * Escribe un lote completo en la base de datos, normalmente con un lote JDBC en una transacción.
+ *
+ * @param <L> Tipo de lote
+ */
+@FunctionalInterface
+public interface EscritorLotes<L extends LoteColumnas<L>> {
+
+    /**
+     * Escribe todas las filas del lote. Puede llamarse varias veces con el mismo lote si falla.
+     *
+     * @param lote Lote a escribir
+     * @throws RuntimeException si la escritura falla, con la {@link java.sql.SQLException} como causa
+     */
+    void escribir(L lote);
+}
@@ -0,0 +1,16 @@
+package co.com.ingesta;
+
+/**
+ * Rellena los campos de una fila nueva en el buffer de la ingesta.
+ *
+ * @param <L> Tipo de lote
+ */
+@FunctionalInterface
+public interface FilaNueva<L extends LoteColumnas<L>> {
+
+    /**
+     * @param lote Lote que hace de buffer circular
+     * @param i Índice de la fila a rellenar
+     */
+    void escribir(L lote, int i);
+}
@@ -0,0 +1,277 @@
+package co.com.ingesta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.DataTruncation;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Ingesta de filas a medida que se producen, con un único hilo escritor.
+ * Las filas se acumulan en un {@link BufferCircular} acotado y el hilo las escribe por lotes
+ * con el {@link EscritorLotes} cuando hay un lote completo o pasa el intervalo máximo de espera.
+ *
+ * <p>Si la base de datos falla o se retrasa, el hilo reintenta el mismo lote con espera creciente
+ * y el buffer se llena: {@link #agregar} bloquea a los productores hasta la espera máxima
+ * y después devuelve false. Los errores que no se arreglan reintentando (violaciones de integridad
+ * o datos que no caben en la columna) no se reintentan: el lote se divide en mitades hasta aislar
+ * las filas que fallan, que se descartan y se registran, y el resto se escribe.
+ *
+ * @param <L> Tipo de lote
+ */
+public final class IngestaPorLotes<L extends LoteColumnas<L>> implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(IngestaPorLotes.class);
+
+    private static final long REINTENTO_INICIAL_MS = 100;
+    private static final long REINTENTO_MAXIMO_MS = 5_000;
+    // Al cerrar no se reintenta indefinidamente con una base de datos caída
+    private static final int REINTENTOS_AL_CERRAR = 3;
+
+    private final String nombre;
+    private final IntFunction<L> fabrica;
+    private final EscritorLotes<L> escritor;
+    private final BufferCircular<L> buffer;
+    private final L lote;
+    private final long intervaloNanos;
+    private final long esperaProductorNanos;
+
+    private final AtomicLong recibidas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final AtomicLong escritas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+
+    private final Thread hilo;
+    private volatile boolean activo;
+
+    /**
+     * @param nombre Nombre de las filas en plural, para el hilo y los registros (p. ej. "vueltas")
+     * @param fabrica Crea un lote vacío con la capacidad indicada
+     * @param escritor Escribe cada lote
+     * @param capacidad Filas pendientes máximas en memoria; se redondea a potencia de dos
+     * @param tamanoLote Filas por lote
+     * @param intervaloMs Espera máxima antes de escribir un lote incompleto
+     * @param esperaProductorMs Espera máxima de un productor con el buffer lleno
+     */
+    public IngestaPorLotes(String nombre, IntFunction<L> fabrica, EscritorLotes<L> escritor,
+                           int capacidad, int tamanoLote, long intervaloMs, long esperaProductorMs) {
+        this.nombre = nombre;
+        this.fabrica = fabrica;
+        this.escritor = escritor;
+        this.buffer = new BufferCircular<>(fabrica.apply(BufferCircular.capacidadReal(capacidad)), tamanoLote, nombre);
+        this.lote = fabrica.apply(tamanoLote);
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.esperaProductorNanos = TimeUnit.MILLISECONDS.toNanos(esperaProductorMs);
+        this.hilo = new Thread(this::escribirPendientes, "ingesta-" + nombre);
+        this.hilo.setDaemon(true);
+    }
+
+    /**
+     * Arranca el hilo escritor.
+     */
+    public synchronized void iniciar() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        hilo.start();
+        logger.info("Ingesta de {} iniciada (buffer {}, lotes de {})", nombre, buffer.capacidad(), lote.getCapacidad());
+    }
+
+    public boolean isActiva() {
+        return activo;
+    }
+
+    /**
+     * Añade una fila. Si el buffer está lleno espera a que el escritor libere espacio.
+     * Las filas deben llegar ya validadas: una fila que la base de datos rechace se descarta.
+     *
+     * @param fila Rellena los campos de la fila
+     * @return false si el buffer siguió lleno durante toda la espera y la fila no se añadió
+     * @throws IllegalStateException si la ingesta no está iniciada o ya se cerró
+     */
+    public boolean agregar(FilaNueva<L> fila) {
+        if (!activo) {
+            throw new IllegalStateException("La ingesta de " + nombre + " no está iniciada");
+        }
+        try {
+            if (buffer.agregar(fila, esperaProductorNanos)) {
+                recibidas.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rechazadas.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Bucle del hilo escritor. Termina cuando la ingesta se cierra y el buffer queda vacío.
+     */
+    private void escribirPendientes() {
+        try {
+            while (activo || buffer.pendientes() > 0) {
+                if (buffer.drenar(lote, intervaloNanos) > 0) {
+                    escribir(lote);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Hilo de ingesta de {} interrumpido con {} pendientes", nombre, buffer.pendientes());
+        }
+    }
+
+    /**
+     * Escribe un lote reintentando los errores transitorios. Si la base de datos rechaza
+     * el contenido, divide el lote para escribir todas las filas válidas.
+     */
+    private void escribir(L filas) throws InterruptedException {
+        RuntimeException rechazo = escribirReintentando(filas);
+        if (rechazo == null) {
+            return;
+        }
+        int n = filas.getTamano();
+        if (n == 1) {
+            descartadas.incrementAndGet();
+            logger.error("Se descarta una fila de {} rechazada por la base de datos: {}",
+                    nombre, filas.describirFila(0), rechazo);
+            return;
+        }
+        logger.warn("La base de datos rechazó un lote de {} {}; se divide para aislar las filas inválidas",
+                n, nombre);
+        int mitad = n / 2;
+        escribir(copiar(filas, 0, mitad));
+        escribir(copiar(filas, mitad, n));
+    }
+
+    /**
+     * @return null si el lote se escribió o se descartó al cerrar; el error si es definitivo
+     */
+    private RuntimeException escribirReintentando(L filas) throws InterruptedException {
+        long espera = REINTENTO_INICIAL_MS;
+        int fallosAlCerrar = 0;
+        while (true) {
+            try {
+                escritor.escribir(filas);
+                escritas.addAndGet(filas.getTamano());
+                lotes.incrementAndGet();
+                return null;
+            } catch (RuntimeException e) {
+                if (esDefinitivo(e)) {
+                    return e;
+                }
+                if (!activo && ++fallosAlCerrar >= REINTENTOS_AL_CERRAR) {
+                    descartadas.addAndGet(filas.getTamano());
+                    logger.error("Se descartan {} {} al cerrar la ingesta", filas.getTamano(), nombre, e);
+                    return null;
+                }
+                // Mientras se reintenta el buffer se llena y frena a los productores
+                logger.warn("Error al escribir lote de {} {}; reintento en {} ms", filas.getTamano(), nombre, espera, e);
+                Thread.sleep(espera);
+                espera = Math.min(REINTENTO_MAXIMO_MS, espera * 2);
+            }
+        }
+    }
+
+    private L copiar(L origen, int desde, int hasta) {
+        L destino = fabrica.apply(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            origen.copiarFila(i, destino, i - desde);
+        }
+        destino.tamano = hasta - desde;
+        return destino;
+    }
+
+    /**
+     * Decide si un error de escritura se repetiría igual al reintentar: violaciones de integridad
+     * (clase SQLSTATE 23) y datos inválidos o demasiado largos (clase 22). Los errores de conexión
+     * y cualquier otro se consideran transitorios.
+     *
+     * @param error Error lanzado por el escritor
+     * @return true si reintentar no tiene sentido
+     */
+    static boolean esDefinitivo(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLNonTransientConnectionException) {
+                return false;
+            }
+            if (t instanceof SQLIntegrityConstraintViolationException
+                    || t instanceof SQLDataException
+                    || t instanceof DataTruncation) {
+                return true;
+            }
+            // Los lotes JDBC envuelven el error de la fila en BatchUpdateException, con su SQLSTATE
+            if (t instanceof SQLException sql) {
+                for (SQLException s = sql; s != null; s = s.getNextException()) {
+                    String estado = s.getSQLState();
+                    if (estado != null && (estado.startsWith("22") || estado.startsWith("23"))) {
+                        return true;
+                    }
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deja de aceptar filas, escribe las pendientes y espera al hilo escritor.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!activo) {
+                return;
+            }
+            activo = false;
+        }
+        buffer.cerrar();
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Filas pendientes de escribir
+     */
+    public int getPendientes() {
+        return buffer.pendientes();
+    }
+
+    public long getRecibidas() {
+        return recibidas.get();
+    }
+
+    /**
+     * @return Filas no añadidas porque el buffer siguió lleno
+     */
+    public long getRechazadas() {
+        return rechazadas.get();
+    }
+
+    public long getEscritas() {
+        return escritas.get();
+    }
+
+    /**
+     * @return Filas rechazadas por la base de datos o perdidas al cerrar con la base de datos caída
+     */
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public long getLotes() {
+        return lotes.get();
+    }
+}
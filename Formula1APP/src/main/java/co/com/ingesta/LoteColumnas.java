@@ -0,0 +1,45 @@
+package co.com.ingesta;
+
+/**
+ * Lote reutilizable de filas guardadas en un array por campo.
+ * Cada tipo de fila implementa cómo se copia una fila de un lote a otro; con eso
+ * {@link IngestaPorLotes} usa la misma clase como buffer circular y como lote de escritura.
+ *
+ * @param <L> Tipo concreto del lote
+ */
+public abstract class LoteColumnas<L extends LoteColumnas<L>> {
+
+    protected int tamano;
+
+    public final int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * @return Número máximo de filas
+     */
+    public abstract int getCapacidad();
+
+    /**
+     * Copia una fila de este lote a otro del mismo tipo.
+     *
+     * @param desde Índice de la fila en este lote
+     * @param destino Lote de destino
+     * @param hacia Índice de la fila en el destino
+     */
+    protected abstract void copiarFila(int desde, L destino, int hacia);
+
+    /**
+     * Suelta las referencias de una fila ya copiada. Solo hace falta si el lote guarda objetos.
+     *
+     * @param i Índice de la fila
+     */
+    protected void limpiarFila(int i) {
+    }
+
+    /**
+     * @param i Índice de la fila
+     * @return Texto de la fila para los registros de errores
+     */
+    public abstract String describirFila(int i);
+}
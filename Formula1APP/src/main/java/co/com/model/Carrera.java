@@ -2,6 +2,7 @@ package co.com.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +28,10 @@ public class Carrera {
     @Column(name = "fecha")
     private LocalDate fecha;
 
+    // Hora de salida en UTC; null si aún no se conoce
+    @Column(name = "hora_inicio")
+    private LocalTime horaInicio;
+
     @Column(name = "gp_numero")
     private Integer gpNumero;
 
@@ -84,6 +89,14 @@ public class Carrera {
         this.fecha = fecha;
     }
 
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
     public Integer getGpNumero() {
         return gpNumero;
     }
@@ -0,0 +1,25 @@
+package co.com.model;
+
+/**
+ * Compuestos de neumático. Se guardan por nombre en la base de datos.
+ */
+public enum Compuesto {
+    BLANDO(true),
+    MEDIO(true),
+    DURO(true),
+    INTERMEDIO(false),
+    LLUVIA(false);
+
+    private final boolean seco;
+
+    Compuesto(boolean seco) {
+        this.seco = seco;
+    }
+
+    /**
+     * @return true si es un compuesto de seco (cuenta para la regla de los dos compuestos)
+     */
+    public boolean isSeco() {
+        return seco;
+    }
+}
@@ -0,0 +1,162 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Equipo de un usuario en el juego de fantasía de una temporada: cinco pilotos y un constructor.
+ * Las elecciones se guardan en columnas propias, sin tabla intermedia, para que la puntuación
+ * de una carrera lea cada equipo en una sola fila. El total se mantiene al puntuar cada carrera.
+ */
+@Entity
+@Table(name = "equipo_fantasy", indexes = {
+        // Recorrido por rangos de ID al puntuar una temporada
+        @Index(name = "idx_equipo_fantasy_anio_id", columnList = "anio, id"),
+        @Index(name = "idx_equipo_fantasy_anio_puntos", columnList = "anio, puntos_totales")
+})
+public class EquipoFantasy {
+
+    public static final int PILOTOS_POR_EQUIPO = 5;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario", nullable = false, length = 100)
+    private String usuario;
+
+    @Column(name = "nombre", length = 100)
+    private String nombre;
+
+    @Column(name = "anio", nullable = false)
+    private Integer anio;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_1_id")
+    private Piloto piloto1;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_2_id")
+    private Piloto piloto2;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_3_id")
+    private Piloto piloto3;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_4_id")
+    private Piloto piloto4;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_5_id")
+    private Piloto piloto5;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "constructor_id")
+    private Constructor constructor;
+
+    @Column(name = "puntos_totales", nullable = false)
+    private Integer puntosTotales = 0;
+
+    // Constructores
+    public EquipoFantasy() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(String usuario) {
+        this.usuario = usuario;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public void setAnio(Integer anio) {
+        this.anio = anio;
+    }
+
+    public Piloto getPiloto1() {
+        return piloto1;
+    }
+
+    public void setPiloto1(Piloto piloto1) {
+        this.piloto1 = piloto1;
+    }
+
+    public Piloto getPiloto2() {
+        return piloto2;
+    }
+
+    public void setPiloto2(Piloto piloto2) {
+        this.piloto2 = piloto2;
+    }
+
+    public Piloto getPiloto3() {
+        return piloto3;
+    }
+
+    public void setPiloto3(Piloto piloto3) {
+        this.piloto3 = piloto3;
+    }
+
+    public Piloto getPiloto4() {
+        return piloto4;
+    }
+
+    public void setPiloto4(Piloto piloto4) {
+        this.piloto4 = piloto4;
+    }
+
+    public Piloto getPiloto5() {
+        return piloto5;
+    }
+
+    public void setPiloto5(Piloto piloto5) {
+        this.piloto5 = piloto5;
+    }
+
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public void setConstructor(Constructor constructor) {
+        this.constructor = constructor;
+    }
+
+    public Integer getPuntosTotales() {
+        return puntosTotales;
+    }
+
+    public void setPuntosTotales(Integer puntosTotales) {
+        this.puntosTotales = puntosTotales;
+    }
+
+    @Override
+    public String toString() {
+        return "EquipoFantasy{" +
+                "id=" + id +
+                ", usuario='" + usuario + '\'' +
+                ", anio=" + anio +
+                ", puntosTotales=" + puntosTotales +
+                '}';
+    }
+}
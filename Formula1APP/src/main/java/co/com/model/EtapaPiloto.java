@@ -0,0 +1,95 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Periodo en que un piloto corrió para un constructor.
+ * La fecha de fin es null mientras la etapa sigue abierta.
+ * {@link Piloto#getConstructor()} sigue indicando solo el equipo actual.
+ */
+@Entity
+@Table(name = "etapa_piloto", indexes = {
+        @Index(name = "idx_etapa_piloto_fecha", columnList = "piloto_id, fecha_inicio")
+})
+public class EtapaPiloto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "constructor_id", nullable = false)
+    private Constructor constructor;
+
+    @Column(name = "fecha_inicio", nullable = false)
+    private LocalDate fechaInicio;
+
+    @Column(name = "fecha_fin")
+    private LocalDate fechaFin;
+
+    // Constructores
+    public EtapaPiloto() {
+    }
+
+    public EtapaPiloto(Piloto piloto, Constructor constructor, LocalDate fechaInicio, LocalDate fechaFin) {
+        this.piloto = piloto;
+        this.constructor = constructor;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public void setConstructor(Constructor constructor) {
+        this.constructor = constructor;
+    }
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDate fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDate getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDate fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    @Override
+    public String toString() {
+        return "EtapaPiloto{" +
+                "id=" + id +
+                ", fechaInicio=" + fechaInicio +
+                ", fechaFin=" + fechaFin +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Liga privada del juego de fantasía: un grupo de equipos de la misma temporada
+ * que se clasifican entre sí. Los miembros están en {@link MiembroLigaFantasy}.
+ */
+@Entity
+@Table(name = "liga_fantasy")
+public class LigaFantasy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "nombre", nullable = false, length = 100)
+    private String nombre;
+
+    @Column(name = "anio", nullable = false)
+    private Integer anio;
+
+    @Column(name = "propietario", nullable = false, length = 100)
+    private String propietario;
+
+    // Constructores
+    public LigaFantasy() {
+    }
+
+    public LigaFantasy(String nombre, Integer anio, String propietario) {
+        this.nombre = nombre;
+        this.anio = anio;
+        this.propietario = propietario;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public void setAnio(Integer anio) {
+        this.anio = anio;
+    }
+
+    public String getPropietario() {
+        return propietario;
+    }
+
+    public void setPropietario(String propietario) {
+        this.propietario = propietario;
+    }
+
+    @Override
+    public String toString() {
+        return "LigaFantasy{" +
+                "id=" + id +
+                ", nombre='" + nombre + '\'' +
+                ", anio=" + anio +
+                '}';
+    }
+}
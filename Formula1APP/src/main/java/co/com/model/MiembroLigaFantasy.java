@@ -0,0 +1,66 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Pertenencia de un equipo de fantasía a una liga privada.
+ */
+@Entity
+@Table(name = "miembro_liga_fantasy", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_miembro_liga_fantasy", columnNames = {"liga_id", "equipo_id"})
+})
+public class MiembroLigaFantasy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "liga_id", nullable = false)
+    private LigaFantasy liga;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipo_id", nullable = false)
+    private EquipoFantasy equipo;
+
+    // Constructores
+    public MiembroLigaFantasy() {
+    }
+
+    public MiembroLigaFantasy(LigaFantasy liga, EquipoFantasy equipo) {
+        this.liga = liga;
+        this.equipo = equipo;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LigaFantasy getLiga() {
+        return liga;
+    }
+
+    public void setLiga(LigaFantasy liga) {
+        this.liga = liga;
+    }
+
+    public EquipoFantasy getEquipo() {
+        return equipo;
+    }
+
+    public void setEquipo(EquipoFantasy equipo) {
+        this.equipo = equipo;
+    }
+
+    @Override
+    public String toString() {
+        return "MiembroLigaFantasy{" +
+                "id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Parada en boxes de un piloto durante una carrera.
+ * La duración es el tiempo con el coche parado; la pérdida es lo que cuesta la parada
+ * en pista frente a una vuelta sin entrar a boxes, entrada y salida incluidas.
+ */
+@Entity
+@Table(name = "parada_boxes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_parada_boxes", columnNames = {"carrera_id", "piloto_id", "vuelta"})
+})
+public class ParadaBoxes {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    // Vuelta en la que entra a boxes
+    @Column(name = "vuelta", nullable = false)
+    private Integer vuelta;
+
+    @Column(name = "duracion_ms")
+    private Integer duracionMs;
+
+    @Column(name = "perdida_ms")
+    private Integer perdidaMs;
+
+    // Constructores
+    public ParadaBoxes() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Integer getVuelta() {
+        return vuelta;
+    }
+
+    public void setVuelta(Integer vuelta) {
+        this.vuelta = vuelta;
+    }
+
+    public Integer getDuracionMs() {
+        return duracionMs;
+    }
+
+    public void setDuracionMs(Integer duracionMs) {
+        this.duracionMs = duracionMs;
+    }
+
+    public Integer getPerdidaMs() {
+        return perdidaMs;
+    }
+
+    public void setPerdidaMs(Integer perdidaMs) {
+        this.perdidaMs = perdidaMs;
+    }
+
+    @Override
+    public String toString() {
+        return "ParadaBoxes{" +
+                "id=" + id +
+                ", vuelta=" + vuelta +
+                ", duracionMs=" + duracionMs +
+                ", perdidaMs=" + perdidaMs +
+                '}';
+    }
+}
@@ -0,0 +1,124 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Cifras de parrilla de un piloto en una temporada: poles y posiciones ganadas
+ * entre la salida y la meta. Se mantiene con sumas incrementales al ingresar
+ * clasificaciones y resultados, así que cada tabla de líderes es una lectura por índice.
+ */
+@Entity
+@Table(name = "parrilla_temporada",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_parrilla_temporada", columnNames = {"piloto_id", "anio"})
+        },
+        indexes = {
+                @Index(name = "idx_parrilla_temporada_poles", columnList = "anio, poles"),
+                @Index(name = "idx_parrilla_temporada_ganadas", columnList = "anio, posiciones_ganadas")
+        })
+public class ParrillaTemporada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    @Column(name = "anio", nullable = false)
+    private Integer anio;
+
+    @Column(name = "poles", nullable = false)
+    private Integer poles = 0;
+
+    @Column(name = "poles_sprint", nullable = false)
+    private Integer polesSprint = 0;
+
+    // Carreras terminadas con puesto de salida conocido
+    @Column(name = "carreras_comparadas", nullable = false)
+    private Integer carrerasComparadas = 0;
+
+    // Suma de (puesto de salida - posición final); negativa si perdió puestos
+    @Column(name = "posiciones_ganadas", nullable = false)
+    private Integer posicionesGanadas = 0;
+
+    // Constructores
+    public ParrillaTemporada() {
+    }
+
+    /**
+     * @return Media de posiciones ganadas por carrera comparada
+     */
+    public double getMediaPosicionesGanadas() {
+        return carrerasComparadas == 0 ? 0.0 : (double) posicionesGanadas / carrerasComparadas;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public void setAnio(Integer anio) {
+        this.anio = anio;
+    }
+
+    public Integer getPoles() {
+        return poles;
+    }
+
+    public void setPoles(Integer poles) {
+        this.poles = poles;
+    }
+
+    public Integer getPolesSprint() {
+        return polesSprint;
+    }
+
+    public void setPolesSprint(Integer polesSprint) {
+        this.polesSprint = polesSprint;
+    }
+
+    public Integer getCarrerasComparadas() {
+        return carrerasComparadas;
+    }
+
+    public void setCarrerasComparadas(Integer carrerasComparadas) {
+        this.carrerasComparadas = carrerasComparadas;
+    }
+
+    public Integer getPosicionesGanadas() {
+        return posicionesGanadas;
+    }
+
+    public void setPosicionesGanadas(Integer posicionesGanadas) {
+        this.posicionesGanadas = posicionesGanadas;
+    }
+
+    @Override
+    public String toString() {
+        return "ParrillaTemporada{" +
+                "anio=" + anio +
+                ", poles=" + poles +
+                ", polesSprint=" + polesSprint +
+                ", carrerasComparadas=" + carrerasComparadas +
+                ", posicionesGanadas=" + posicionesGanadas +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Predicción del podio de una carrera hecha por un aficionado.
+ * Una por usuario y carrera: un nuevo envío antes de la salida sustituye al anterior.
+ * Se escriben y puntúan por lotes JDBC desde {@link co.com.dao.PrediccionDAO}, no con persist.
+ */
+@Entity
+@Table(name = "prediccion_podio", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_prediccion_podio", columnNames = {"carrera_id", "usuario"})
+}, indexes = {
+        // Recorrido por tramos de ID al puntuar una carrera
+        @Index(name = "idx_prediccion_podio_carrera_id", columnList = "carrera_id, id")
+})
+public class PrediccionPodio {
+
+    public static final int LONGITUD_USUARIO = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @Column(name = "usuario", nullable = false, length = LONGITUD_USUARIO)
+    private String usuario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "primero_id", nullable = false)
+    private Piloto primero;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "segundo_id", nullable = false)
+    private Piloto segundo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tercero_id", nullable = false)
+    private Piloto tercero;
+
+    @Column(name = "enviada", nullable = false)
+    private Instant enviada;
+
+    // Null hasta que se puntúa la carrera
+    @Column(name = "puntos")
+    private Integer puntos;
+
+    // Constructores
+    public PrediccionPodio() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(String usuario) {
+        this.usuario = usuario;
+    }
+
+    public Piloto getPrimero() {
+        return primero;
+    }
+
+    public void setPrimero(Piloto primero) {
+        this.primero = primero;
+    }
+
+    public Piloto getSegundo() {
+        return segundo;
+    }
+
+    public void setSegundo(Piloto segundo) {
+        this.segundo = segundo;
+    }
+
+    public Piloto getTercero() {
+        return tercero;
+    }
+
+    public void setTercero(Piloto tercero) {
+        this.tercero = tercero;
+    }
+
+    public Instant getEnviada() {
+        return enviada;
+    }
+
+    public void setEnviada(Instant enviada) {
+        this.enviada = enviada;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    @Override
+    public String toString() {
+        return "PrediccionPodio{" +
+                "id=" + id +
+                ", usuario='" + usuario + '\'' +
+                ", enviada=" + enviada +
+                ", puntos=" + puntos +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Puntos de un equipo de fantasía en una carrera.
+ * Se escriben por lotes JDBC desde {@link co.com.fantasy.MotorFantasy}, no con persist.
+ */
+@Entity
+@Table(name = "puntuacion_fantasy", uniqueConstraints = {
+        // Una fila por equipo y carrera; también es el índice del cruce al leer cada lote
+        @UniqueConstraint(name = "uk_puntuacion_fantasy", columnNames = {"equipo_id", "carrera_id"})
+})
+public class PuntuacionFantasy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipo_id", nullable = false)
+    private EquipoFantasy equipo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @Column(name = "puntos", nullable = false)
+    private Integer puntos;
+
+    // Constructores
+    public PuntuacionFantasy() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EquipoFantasy getEquipo() {
+        return equipo;
+    }
+
+    public void setEquipo(EquipoFantasy equipo) {
+        this.equipo = equipo;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    @Override
+    public String toString() {
+        return "PuntuacionFantasy{" +
+                "id=" + id +
+                ", puntos=" + puntos +
+                '}';
+    }
+}
@@ -4,8 +4,17 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "resultado")
-public class Resultado {
+@Table(name = "resultado", indexes = {
+        // Cubre la clasificación de constructores sin leer las filas de la tabla
+        @Index(name = "idx_resultado_carrera_constructor",
+                columnList = "carrera_id, constructor_id, posicion_final, puntos_obtenidos"),
+        // Orden por tiempo dentro de una carrera: primero vueltas perdidas y luego diferencia
+        @Index(name = "idx_resultado_carrera_tiempo",
+                columnList = "carrera_id, vueltas_perdidas, diferencia_ms"),
+        // Resultados sin constructor pendientes de asignar al arrancar
+        @Index(name = "idx_resultado_constructor", columnList = "constructor_id")
+})
+public class Resultado implements ResultadoCronometrado {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,9 +28,18 @@ public class Resultado {
     @JoinColumn(name = "piloto_id")
     private Piloto piloto;
 
+    // Constructor con el que corrió el piloto en esta carrera; no cambia si el piloto cambia de equipo
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "constructor_id")
+    private Constructor constructor;
+
     @Column(name = "posicion_final")
     private Integer posicionFinal;
 
+    // Puesto en la parrilla de salida (null si salió desde el pit lane o no se conoce)
+    @Column(name = "posicion_salida")
+    private Integer posicionSalida;
+
     @Column(name = "puntos_obtenidos", precision = 5, scale = 2)
     private BigDecimal puntosObtenidos;
 
@@ -31,12 +49,25 @@ public class Resultado {
     @Column(name = "tiempo", length = 100)
     private String tiempo;
 
+    // Columnas derivadas de tiempo, ver TiemposClasificacion
+    @Column(name = "tiempo_ms")
+    private Long tiempoMs;
+
+    @Column(name = "diferencia_ms")
+    private Long diferenciaMs;
+
+    @Column(name = "vueltas_perdidas")
+    private Integer vueltasPerdidas;
+
     @Column(name = "retirado")
     private Boolean retirado = false;
 
     @Column(name = "motivo_retiro", length = 200)
     private String motivoRetiro;
 
+    @Column(name = "vuelta_rapida")
+    private Boolean vueltaRapida = false;
+
     // Constructores
     public Resultado() {
     }
@@ -72,6 +103,14 @@ public class Resultado {
         this.piloto = piloto;
     }
 
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public void setConstructor(Constructor constructor) {
+        this.constructor = constructor;
+    }
+
     public Integer getPosicionFinal() {
         return posicionFinal;
     }
@@ -80,6 +119,14 @@ public class Resultado {
         this.posicionFinal = posicionFinal;
     }
 
+    public Integer getPosicionSalida() {
+        return posicionSalida;
+    }
+
+    public void setPosicionSalida(Integer posicionSalida) {
+        this.posicionSalida = posicionSalida;
+    }
+
     public BigDecimal getPuntosObtenidos() {
         return puntosObtenidos;
     }
@@ -104,6 +151,30 @@ public class Resultado {
         this.tiempo = tiempo;
     }
 
+    public Long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(Long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+
+    public Long getDiferenciaMs() {
+        return diferenciaMs;
+    }
+
+    public void setDiferenciaMs(Long diferenciaMs) {
+        this.diferenciaMs = diferenciaMs;
+    }
+
+    public Integer getVueltasPerdidas() {
+        return vueltasPerdidas;
+    }
+
+    public void setVueltasPerdidas(Integer vueltasPerdidas) {
+        this.vueltasPerdidas = vueltasPerdidas;
+    }
+
     public Boolean getRetirado() {
         return retirado;
     }
@@ -120,6 +191,14 @@ public class Resultado {
         this.motivoRetiro = motivoRetiro;
     }
 
+    public Boolean getVueltaRapida() {
+        return vueltaRapida;
+    }
+
+    public void setVueltaRapida(Boolean vueltaRapida) {
+        this.vueltaRapida = vueltaRapida;
+    }
+
     @Override
     public String toString() {
         return "Resultado{" +
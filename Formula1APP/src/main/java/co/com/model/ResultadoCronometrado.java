@@ -0,0 +1,22 @@
+package co.com.model;
+
+/**
+ * Resultado con tiempo de clasificación en texto y sus columnas numéricas derivadas.
+ * Lo implementan {@link Resultado} y {@link ResultadoSprint}.
+ */
+public interface ResultadoCronometrado {
+
+    String getTiempo();
+
+    Long getTiempoMs();
+
+    void setTiempoMs(Long tiempoMs);
+
+    Long getDiferenciaMs();
+
+    void setDiferenciaMs(Long diferenciaMs);
+
+    Integer getVueltasPerdidas();
+
+    void setVueltasPerdidas(Integer vueltasPerdidas);
+}
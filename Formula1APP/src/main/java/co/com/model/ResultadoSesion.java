@@ -0,0 +1,124 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Resultado de un piloto en una sesión de entrenamientos libres o de clasificación.
+ * Se escriben por lotes JDBC, como los resultados de sprint.
+ */
+@Entity
+@Table(name = "resultado_sesion", uniqueConstraints = {
+        // Una fila por piloto y sesión; también es el índice de las consultas por carrera
+        @UniqueConstraint(name = "uk_resultado_sesion", columnNames = {"carrera_id", "tipo", "piloto_id"})
+})
+public class ResultadoSesion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 12)
+    private TipoSesion tipo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "constructor_id")
+    private Constructor constructor;
+
+    // null si no marcó tiempo
+    @Column(name = "posicion")
+    private Integer posicion;
+
+    @Column(name = "mejor_vuelta_ms")
+    private Integer mejorVueltaMs;
+
+    @Column(name = "vueltas")
+    private Integer vueltas;
+
+    // Constructores
+    public ResultadoSesion() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public TipoSesion getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoSesion tipo) {
+        this.tipo = tipo;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public void setConstructor(Constructor constructor) {
+        this.constructor = constructor;
+    }
+
+    public Integer getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Integer posicion) {
+        this.posicion = posicion;
+    }
+
+    public Integer getMejorVueltaMs() {
+        return mejorVueltaMs;
+    }
+
+    public void setMejorVueltaMs(Integer mejorVueltaMs) {
+        this.mejorVueltaMs = mejorVueltaMs;
+    }
+
+    public Integer getVueltas() {
+        return vueltas;
+    }
+
+    public void setVueltas(Integer vueltas) {
+        this.vueltas = vueltas;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoSesion{" +
+                "id=" + id +
+                ", tipo=" + tipo +
+                ", posicion=" + posicion +
+                ", mejorVueltaMs=" + mejorVueltaMs +
+                '}';
+    }
+}
@@ -3,25 +3,45 @@ package co.com.model;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 @Entity
-@Table(name = "resultado_sprint")
-public class ResultadoSprint {
+@Table(name = "resultado_sprint", indexes = {
+        @Index(name = "idx_resultado_sprint_carrera_constructor",
+                columnList = "carrera_id, constructor_id, puntos_obtenidos"),
+        @Index(name = "idx_resultado_sprint_carrera_tiempo",
+                columnList = "carrera_id, vueltas_perdidas, diferencia_ms"),
+        @Index(name = "idx_resultado_sprint_constructor", columnList = "constructor_id")
+})
+public class ResultadoSprint implements ResultadoCronometrado {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "carrera_id")
     private Carrera carrera;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "piloto_id")
     private Piloto piloto;
+    // Constructor con el que corrió el piloto en este sprint
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "constructor_id")
+    private Constructor constructor;
     @Column(name = "posicion_final")
     private Integer posicionFinal;
+
+    // Puesto en la parrilla de salida (null si salió desde el pit lane o no se conoce)
+    @Column(name = "posicion_salida")
+    private Integer posicionSalida;
     @Column(name = "puntos_obtenidos", precision = 5, scale = 2)
     private BigDecimal puntosObtenidos;
     @Column(name = "vueltas")
     private Integer vueltas;
     @Column(name = "tiempo")
     private String tiempo;
+    @Column(name = "tiempo_ms")
+    private Long tiempoMs;
+    @Column(name = "diferencia_ms")
+    private Long diferenciaMs;
+    @Column(name = "vueltas_perdidas")
+    private Integer vueltasPerdidas;
     @Column(name = "retirado")
     private Boolean retirado = false;
     @Column(name = "motivo_retiro")
@@ -55,6 +75,14 @@ public class ResultadoSprint {
         this.piloto = piloto;
     }
 
+    public Constructor getConstructor() {
+        return constructor;
+    }
+
+    public void setConstructor(Constructor constructor) {
+        this.constructor = constructor;
+    }
+
     public Integer getPosicionFinal() {
         return posicionFinal;
     }
@@ -63,6 +91,14 @@ public class ResultadoSprint {
         this.posicionFinal = posicionFinal;
     }
 
+    public Integer getPosicionSalida() {
+        return posicionSalida;
+    }
+
+    public void setPosicionSalida(Integer posicionSalida) {
+        this.posicionSalida = posicionSalida;
+    }
+
     public BigDecimal getPuntosObtenidos() {
         return puntosObtenidos;
     }
@@ -87,6 +123,30 @@ public class ResultadoSprint {
         this.tiempo = tiempo;
     }
 
+    public Long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(Long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+
+    public Long getDiferenciaMs() {
+        return diferenciaMs;
+    }
+
+    public void setDiferenciaMs(Long diferenciaMs) {
+        this.diferenciaMs = diferenciaMs;
+    }
+
+    public Integer getVueltasPerdidas() {
+        return vueltasPerdidas;
+    }
+
+    public void setVueltasPerdidas(Integer vueltasPerdidas) {
+        this.vueltasPerdidas = vueltasPerdidas;
+    }
+
     public Boolean getRetirado() {
         return retirado;
     }
@@ -0,0 +1,126 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen materializado de una carrera: podio, vuelta rápida y retiros.
+ * Se mantiene al ingresar resultados para que el calendario con ganadores
+ * se obtenga en una sola consulta, sin cargar cada clasificación.
+ */
+@Entity
+@Table(name = "resumen_carrera")
+public class ResumenCarrera {
+
+    @Id
+    @Column(name = "carrera_id")
+    private Long carreraId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ganador_id")
+    private Piloto ganador;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "segundo_id")
+    private Piloto segundo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tercero_id")
+    private Piloto tercero;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vuelta_rapida_id")
+    private Piloto vueltaRapida;
+
+    @Column(name = "retiros")
+    private Integer retiros = 0;
+
+    @Column(name = "clasificados")
+    private Integer clasificados = 0;
+
+    @Column(name = "actualizado")
+    private LocalDateTime actualizado;
+
+    // Constructores
+    public ResumenCarrera() {
+    }
+
+    public ResumenCarrera(Long carreraId) {
+        this.carreraId = carreraId;
+    }
+
+    // Getters y Setters
+    public Long getCarreraId() {
+        return carreraId;
+    }
+
+    public void setCarreraId(Long carreraId) {
+        this.carreraId = carreraId;
+    }
+
+    public Piloto getGanador() {
+        return ganador;
+    }
+
+    public void setGanador(Piloto ganador) {
+        this.ganador = ganador;
+    }
+
+    public Piloto getSegundo() {
+        return segundo;
+    }
+
+    public void setSegundo(Piloto segundo) {
+        this.segundo = segundo;
+    }
+
+    public Piloto getTercero() {
+        return tercero;
+    }
+
+    public void setTercero(Piloto tercero) {
+        this.tercero = tercero;
+    }
+
+    public Piloto getVueltaRapida() {
+        return vueltaRapida;
+    }
+
+    public void setVueltaRapida(Piloto vueltaRapida) {
+        this.vueltaRapida = vueltaRapida;
+    }
+
+    public Integer getRetiros() {
+        return retiros;
+    }
+
+    public void setRetiros(Integer retiros) {
+        this.retiros = retiros;
+    }
+
+    public Integer getClasificados() {
+        return clasificados;
+    }
+
+    public void setClasificados(Integer clasificados) {
+        this.clasificados = clasificados;
+    }
+
+    public LocalDateTime getActualizado() {
+        return actualizado;
+    }
+
+    public void setActualizado(LocalDateTime actualizado) {
+        this.actualizado = actualizado;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenCarrera{" +
+                "carreraId=" + carreraId +
+                ", retiros=" + retiros +
+                ", clasificados=" + clasificados +
+                ", actualizado=" + actualizado +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checksum con el que se selló el archivo de una temporada congelada.
+ * Se guarda la primera vez que se archiva la temporada; en los arranques siguientes
+ * el archivo reconstruido solo se sirve si su checksum coincide con este.
+ * Se escribe con JDBC desde {@link co.com.dao.SelloTemporadaDAO}, no con persist.
+ */
+@Entity
+@Table(name = "sello_temporada")
+public class SelloTemporada {
+
+    @Id
+    @Column(name = "anio")
+    private Integer anio;
+
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "fecha_sellado", nullable = false)
+    private LocalDateTime fechaSellado;
+
+    // Constructores
+    public SelloTemporada() {
+    }
+
+    // Getters y Setters
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public void setAnio(Integer anio) {
+        this.anio = anio;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public LocalDateTime getFechaSellado() {
+        return fechaSellado;
+    }
+
+    public void setFechaSellado(LocalDateTime fechaSellado) {
+        this.fechaSellado = fechaSellado;
+    }
+}
@@ -0,0 +1,123 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Tramo de carrera que un piloto hace con un mismo juego de neumáticos.
+ * Las vueltas de inicio y fin son inclusivas; la edad inicial es el número de vueltas
+ * que el juego ya tenía al montarse (0 si es nuevo).
+ */
+@Entity
+@Table(name = "stint_neumatico", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stint_neumatico", columnNames = {"carrera_id", "piloto_id", "numero_stint"})
+})
+public class StintNeumatico {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    @Column(name = "numero_stint", nullable = false)
+    private Integer numeroStint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "compuesto", nullable = false, length = 12)
+    private Compuesto compuesto;
+
+    @Column(name = "vuelta_inicio", nullable = false)
+    private Integer vueltaInicio;
+
+    @Column(name = "vuelta_fin", nullable = false)
+    private Integer vueltaFin;
+
+    @Column(name = "edad_inicial", nullable = false)
+    private Integer edadInicial = 0;
+
+    // Constructores
+    public StintNeumatico() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Integer getNumeroStint() {
+        return numeroStint;
+    }
+
+    public void setNumeroStint(Integer numeroStint) {
+        this.numeroStint = numeroStint;
+    }
+
+    public Compuesto getCompuesto() {
+        return compuesto;
+    }
+
+    public void setCompuesto(Compuesto compuesto) {
+        this.compuesto = compuesto;
+    }
+
+    public Integer getVueltaInicio() {
+        return vueltaInicio;
+    }
+
+    public void setVueltaInicio(Integer vueltaInicio) {
+        this.vueltaInicio = vueltaInicio;
+    }
+
+    public Integer getVueltaFin() {
+        return vueltaFin;
+    }
+
+    public void setVueltaFin(Integer vueltaFin) {
+        this.vueltaFin = vueltaFin;
+    }
+
+    public Integer getEdadInicial() {
+        return edadInicial;
+    }
+
+    public void setEdadInicial(Integer edadInicial) {
+        this.edadInicial = edadInicial;
+    }
+
+    @Override
+    public String toString() {
+        return "StintNeumatico{" +
+                "id=" + id +
+                ", numeroStint=" + numeroStint +
+                ", compuesto=" + compuesto +
+                ", vueltaInicio=" + vueltaInicio +
+                ", vueltaFin=" + vueltaFin +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Versión de los puntos de fantasía de una temporada.
+ * Cada puntuación de carrera la incrementa antes de escribir, así que una instantánea
+ * de la clasificación en disco es válida solo si guarda la misma versión.
+ * Se escribe con JDBC desde {@link co.com.dao.FantasyDAO}, no con persist.
+ */
+@Entity
+@Table(name = "temporada_fantasy")
+public class TemporadaFantasy {
+
+    @Id
+    @Column(name = "anio")
+    private Integer anio;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ultima_carrera_id")
+    private Carrera ultimaCarrera;
+
+    // Constructores
+    public TemporadaFantasy() {
+    }
+
+    // Getters y Setters
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public void setAnio(Integer anio) {
+        this.anio = anio;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Carrera getUltimaCarrera() {
+        return ultimaCarrera;
+    }
+
+    public void setUltimaCarrera(Carrera ultimaCarrera) {
+        this.ultimaCarrera = ultimaCarrera;
+    }
+}
@@ -0,0 +1,101 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Tiempo de una vuelta de un piloto en una carrera.
+ * Hay unas 1.400 filas por carrera; se escriben por lotes JDBC desde
+ * {@link co.com.timing.IngestaVueltas}, no con persist.
+ */
+@Entity
+@Table(name = "tiempo_vuelta", uniqueConstraints = {
+        // Una fila por vuelta; también es el índice de las consultas por carrera y piloto
+        @UniqueConstraint(name = "uk_tiempo_vuelta", columnNames = {"carrera_id", "piloto_id", "numero_vuelta"})
+})
+public class TiempoVuelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "carrera_id", nullable = false)
+    private Carrera carrera;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "piloto_id", nullable = false)
+    private Piloto piloto;
+
+    @Column(name = "numero_vuelta", nullable = false)
+    private Integer numeroVuelta;
+
+    @Column(name = "tiempo_ms", nullable = false)
+    private Integer tiempoMs;
+
+    // Posición al cerrar la vuelta
+    @Column(name = "posicion")
+    private Integer posicion;
+
+    // Constructores
+    public TiempoVuelta() {
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Carrera getCarrera() {
+        return carrera;
+    }
+
+    public void setCarrera(Carrera carrera) {
+        this.carrera = carrera;
+    }
+
+    public Piloto getPiloto() {
+        return piloto;
+    }
+
+    public void setPiloto(Piloto piloto) {
+        this.piloto = piloto;
+    }
+
+    public Integer getNumeroVuelta() {
+        return numeroVuelta;
+    }
+
+    public void setNumeroVuelta(Integer numeroVuelta) {
+        this.numeroVuelta = numeroVuelta;
+    }
+
+    public Integer getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(Integer tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+
+    public Integer getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Integer posicion) {
+        this.posicion = posicion;
+    }
+
+    @Override
+    public String toString() {
+        return "TiempoVuelta{" +
+                "id=" + id +
+                ", numeroVuelta=" + numeroVuelta +
+                ", tiempoMs=" + tiempoMs +
+                ", posicion=" + posicion +
+                '}';
+    }
+}
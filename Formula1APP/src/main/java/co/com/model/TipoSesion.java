@@ -0,0 +1,44 @@
+package co.com.model;
+
+/**
+ * Sesiones de un fin de semana distintas de la carrera y el sprint.
+ * Se guardan por nombre en la base de datos.
+ */
+public enum TipoSesion {
+    LIBRES_1(0, false),
+    LIBRES_2(0, false),
+    LIBRES_3(0, false),
+    Q1(1, false),
+    Q2(2, false),
+    Q3(3, false),
+    // Sprint shootout: clasificación del sprint
+    SQ1(1, true),
+    SQ2(2, true),
+    SQ3(3, true);
+
+    private final int etapa;
+    private final boolean sprint;
+
+    TipoSesion(int etapa, boolean sprint) {
+        this.etapa = etapa;
+        this.sprint = sprint;
+    }
+
+    /**
+     * @return Etapa de clasificación (1 a 3), o 0 si es entrenamiento libre
+     */
+    public int getEtapa() {
+        return etapa;
+    }
+
+    /**
+     * @return true si pertenece a la clasificación del sprint
+     */
+    public boolean isSprint() {
+        return sprint;
+    }
+
+    public boolean isClasificacion() {
+        return etapa > 0;
+    }
+}
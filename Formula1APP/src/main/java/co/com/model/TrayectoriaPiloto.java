@@ -0,0 +1,235 @@
+package co.com.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cifras de trayectoria de un piloto sumando todas las temporadas.
+ * Se mantiene de forma incremental al escribir resultados; la posición media
+ * y su varianza se acumulan con el algoritmo de Welford, que admite también
+ * retirar observaciones cuando un resultado se reemplaza o elimina.
+ */
+@Entity
+@Table(name = "trayectoria_piloto")
+public class TrayectoriaPiloto {
+
+    @Id
+    @Column(name = "piloto_id")
+    private Long pilotoId;
+
+    @Column(name = "salidas", nullable = false)
+    private Integer salidas = 0;
+
+    @Column(name = "victorias", nullable = false)
+    private Integer victorias = 0;
+
+    @Column(name = "podios", nullable = false)
+    private Integer podios = 0;
+
+    @Column(name = "puntos", precision = 9, scale = 2, nullable = false)
+    private BigDecimal puntos = BigDecimal.ZERO;
+
+    @Column(name = "abandonos", nullable = false)
+    private Integer abandonos = 0;
+
+    // Carreras terminadas que entran en la posición media
+    @Column(name = "finalizadas", nullable = false)
+    private Integer finalizadas = 0;
+
+    @Column(name = "posicion_media", nullable = false)
+    private Double posicionMedia = 0.0;
+
+    // Suma de cuadrados de las desviaciones respecto a la media (Welford)
+    @Column(name = "posicion_m2", nullable = false)
+    private Double posicionM2 = 0.0;
+
+    @Column(name = "actualizado")
+    private LocalDateTime actualizado;
+
+    // Constructores
+    public TrayectoriaPiloto() {
+    }
+
+    public TrayectoriaPiloto(Long pilotoId) {
+        this.pilotoId = pilotoId;
+    }
+
+    // Métodos de mantenimiento incremental
+
+    /**
+     * Suma un resultado a la trayectoria.
+     *
+     * @param posicion Posición final (puede ser null)
+     * @param puntosObtenidos Puntos obtenidos en la carrera
+     * @param retirado Si el piloto abandonó
+     */
+    public void registrar(Integer posicion, BigDecimal puntosObtenidos, boolean retirado) {
+        salidas++;
+        puntos = puntos.add(puntosObtenidos != null ? puntosObtenidos : BigDecimal.ZERO);
+
+        if (posicion != null && posicion == 1) {
+            victorias++;
+        }
+        if (posicion != null && posicion >= 1 && posicion <= 3) {
+            podios++;
+        }
+
+        if (retirado) {
+            abandonos++;
+        } else if (posicion != null && posicion > 0) {
+            finalizadas++;
+            double delta = posicion - posicionMedia;
+            posicionMedia += delta / finalizadas;
+            posicionM2 += delta * (posicion - posicionMedia);
+        }
+        actualizado = LocalDateTime.now();
+    }
+
+    /**
+     * Retira de la trayectoria un resultado registrado previamente.
+     *
+     * @param posicion Posición final que se registró
+     * @param puntosObtenidos Puntos que se registraron
+     * @param retirado Si se registró como abandono
+     */
+    public void descontar(Integer posicion, BigDecimal puntosObtenidos, boolean retirado) {
+        salidas--;
+        puntos = puntos.subtract(puntosObtenidos != null ? puntosObtenidos : BigDecimal.ZERO);
+
+        if (posicion != null && posicion == 1) {
+            victorias--;
+        }
+        if (posicion != null && posicion >= 1 && posicion <= 3) {
+            podios--;
+        }
+
+        if (retirado) {
+            abandonos--;
+        } else if (posicion != null && posicion > 0) {
+            if (finalizadas <= 1) {
+                finalizadas = 0;
+                posicionMedia = 0.0;
+                posicionM2 = 0.0;
+            } else {
+                double delta = posicion - posicionMedia;
+                finalizadas--;
+                posicionMedia -= delta / finalizadas;
+                posicionM2 = Math.max(0.0, posicionM2 - delta * (posicion - posicionMedia));
+            }
+        }
+        actualizado = LocalDateTime.now();
+    }
+
+    /**
+     * Suma o resta los puntos de un sprint. Los sprints no cuentan como salida
+     * ni entran en victorias, podios o posición media.
+     *
+     * @param puntosObtenidos Puntos del sprint; negativos para retirar un sprint registrado
+     */
+    public void sumarPuntosSprint(BigDecimal puntosObtenidos) {
+        puntos = puntos.add(puntosObtenidos != null ? puntosObtenidos : BigDecimal.ZERO);
+        actualizado = LocalDateTime.now();
+    }
+
+    /**
+     * @return Varianza muestral de la posición final en carreras terminadas
+     */
+    public double getVarianzaPosicion() {
+        return finalizadas > 1 ? posicionM2 / (finalizadas - 1) : 0.0;
+    }
+
+    // Getters y Setters
+    public Long getPilotoId() {
+        return pilotoId;
+    }
+
+    public void setPilotoId(Long pilotoId) {
+        this.pilotoId = pilotoId;
+    }
+
+    public Integer getSalidas() {
+        return salidas;
+    }
+
+    public void setSalidas(Integer salidas) {
+        this.salidas = salidas;
+    }
+
+    public Integer getVictorias() {
+        return victorias;
+    }
+
+    public void setVictorias(Integer victorias) {
+        this.victorias = victorias;
+    }
+
+    public Integer getPodios() {
+        return podios;
+    }
+
+    public void setPodios(Integer podios) {
+        this.podios = podios;
+    }
+
+    public BigDecimal getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(BigDecimal puntos) {
+        this.puntos = puntos;
+    }
+
+    public Integer getAbandonos() {
+        return abandonos;
+    }
+
+    public void setAbandonos(Integer abandonos) {
+        this.abandonos = abandonos;
+    }
+
+    public Integer getFinalizadas() {
+        return finalizadas;
+    }
+
+    public void setFinalizadas(Integer finalizadas) {
+        this.finalizadas = finalizadas;
+    }
+
+    public Double getPosicionMedia() {
+        return posicionMedia;
+    }
+
+    public void setPosicionMedia(Double posicionMedia) {
+        this.posicionMedia = posicionMedia;
+    }
+
+    public Double getPosicionM2() {
+        return posicionM2;
+    }
+
+    public void setPosicionM2(Double posicionM2) {
+        this.posicionM2 = posicionM2;
+    }
+
+    public LocalDateTime getActualizado() {
+        return actualizado;
+    }
+
+    public void setActualizado(LocalDateTime actualizado) {
+        this.actualizado = actualizado;
+    }
+
+    @Override
+    public String toString() {
+        return "TrayectoriaPiloto{" +
+                "pilotoId=" + pilotoId +
+                ", salidas=" + salidas +
+                ", victorias=" + victorias +
+                ", podios=" + podios +
+                ", puntos=" + puntos +
+                ", abandonos=" + abandonos +
+                ", posicionMedia=" + posicionMedia +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package co.com.prediccion;
+
+import co.com.dao.CarreraDAO;
+import co.com.model.Carrera;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria del instante de cierre de las predicciones de cada carrera: la salida,
+ * {@link Carrera#getFecha()} a la {@link Carrera#getHoraInicio()} en UTC.
+ * Mientras la hora de salida no se conoce no se aceptan predicciones: sin ella no hay un cierre
+ * que se pueda garantizar anterior a la salida, y cortar a medianoche UTC cerraría antes de tiempo
+ * las carreras de América y dejaría abiertas tras la salida las que empiezan antes de esa hora local.
+ * Esas carreras no se guardan en la caché, así que en cuanto se registra la hora se aceptan.
+ * Así comprobar el cierre en cada envío no consulta la base de datos.
+ */
+public final class CierrePredicciones {
+    private static final Logger logger = LoggerFactory.getLogger(CierrePredicciones.class);
+
+    private static final Map<Long, Long> cierres = new ConcurrentHashMap<>();
+    private static final CarreraDAO carreraDAO = new CarreraDAO();
+    // Aumenta con cada invalidación; un cierre leído antes de una invalidación no se guarda
+    private static final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private CierrePredicciones() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Obtiene el cierre de las predicciones de una carrera, leyéndolo en el primer acceso.
+     * La carrera se lee fuera del mapa; si dos hilos la leen a la vez se guarda el primer cierre.
+     *
+     * @param carreraId ID de la carrera
+     * @return Instante de cierre en milisegundos desde la época
+     * @throws IllegalArgumentException si la carrera no existe o no tiene fecha
+     * @throws IllegalStateException si la carrera aún no tiene hora de salida
+     */
+    public static long obtener(long carreraId) {
+        Long existente = cierres.get(carreraId);
+        if (existente != null) {
+            return existente;
+        }
+        long leida = generacion.get();
+        Carrera carrera = carreraDAO.findById(carreraId)
+                .orElseThrow(() -> new IllegalArgumentException("No existe la carrera con ID: " + carreraId));
+        long cierre = calcular(carrera);
+        logger.debug("Cierre de predicciones de la carrera {}: {}", carreraId, cierre);
+        if (generacion.get() != leida) {
+            // Cambió una carrera durante la lectura: se usa esta vez pero no se cachea
+            return cierre;
+        }
+        existente = cierres.putIfAbsent(carreraId, cierre);
+        if (existente != null) {
+            return existente;
+        }
+        if (generacion.get() != leida) {
+            // Invalidación entre la comprobación y el guardado
+            cierres.remove(carreraId, cierre);
+        }
+        return cierre;
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @param ahoraMs Instante a comprobar en milisegundos desde la época
+     * @return true si las predicciones de la carrera siguen abiertas
+     * @throws IllegalStateException si la carrera aún no tiene hora de salida
+     */
+    public static boolean estaAbierta(long carreraId, long ahoraMs) {
+        return ahoraMs < obtener(carreraId);
+    }
+
+    /**
+     * Descarta el cierre de una carrera tras cambiar su fecha u hora de salida.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public static void invalidar(Long carreraId) {
+        generacion.incrementAndGet();
+        if (cierres.remove(carreraId) != null) {
+            logger.debug("Cierre de predicciones de la carrera {} invalidado", carreraId);
+        }
+    }
+
+    static long calcular(Carrera carrera) {
+        if (carrera.getFecha() == null) {
+            throw new IllegalArgumentException("La carrera " + carrera.getId() + " no tiene fecha");
+        }
+        if (carrera.getHoraInicio() == null) {
+            throw new IllegalStateException("La carrera " + carrera.getId()
+                    + " aún no tiene hora de salida; no se aceptan predicciones");
+        }
+        return carrera.getFecha().atTime(carrera.getHoraInicio()).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,116 @@
+package co.com.prediccion;
+
+import co.com.dao.PrediccionDAO;
+import co.com.ingesta.IngestaPorLotes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingesta de predicciones de podio enviadas por los aficionados.
+ * Cada envío se comprueba contra el cierre de la carrera ({@link CierrePredicciones}) y pasa por una
+ * {@link IngestaPorLotes}: un único hilo drena los envíos por lotes, deja en cada lote solo el último
+ * envío de cada usuario y carrera, y lo escribe con un upsert JDBC por lotes.
+ * Como el hilo escribe en orden de llegada, el último envío también gana entre lotes distintos.
+ * Si la base de datos se retrasa, {@link #registrar} bloquea a los productores hasta la espera máxima
+ * y después devuelve false.
+ */
+public class IngestaPredicciones implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(IngestaPredicciones.class);
+
+    public static final int CAPACIDAD_POR_DEFECTO = 131_072;
+    public static final int TAMANO_LOTE_POR_DEFECTO = 2_000;
+    public static final long INTERVALO_POR_DEFECTO_MS = 200;
+    public static final long ESPERA_PRODUCTOR_POR_DEFECTO_MS = 1_000;
+
+    private final IngestaPorLotes<LotePredicciones> ingesta;
+
+    private final AtomicLong fueraDePlazo = new AtomicLong();
+    private final AtomicLong duplicadas = new AtomicLong();
+
+    public IngestaPredicciones(PrediccionDAO prediccionDAO) {
+        this(prediccionDAO, CAPACIDAD_POR_DEFECTO, TAMANO_LOTE_POR_DEFECTO,
+                INTERVALO_POR_DEFECTO_MS, ESPERA_PRODUCTOR_POR_DEFECTO_MS);
+    }
+
+    /**
+     * @param prediccionDAO DAO que escribe los lotes
+     * @param capacidad Predicciones pendientes máximas en memoria
+     * @param tamanoLote Predicciones por lote JDBC
+     * @param intervaloMs Espera máxima antes de escribir un lote incompleto
+     * @param esperaProductorMs Espera máxima de un productor con el buffer lleno
+     */
+    public IngestaPredicciones(PrediccionDAO prediccionDAO, int capacidad, int tamanoLote,
+                               long intervaloMs, long esperaProductorMs) {
+        // Deduplicar un lote ya deduplicado no descarta nada, así que los reintentos no cuentan doble
+        this.ingesta = new IngestaPorLotes<>("predicciones", LotePredicciones::new, lote -> {
+            duplicadas.addAndGet(lote.deduplicar());
+            prediccionDAO.insertarLote(lote);
+        }, capacidad, tamanoLote, intervaloMs, esperaProductorMs);
+    }
+
+    /**
+     * Arranca el hilo escritor.
+     */
+    public void iniciar() {
+        ingesta.iniciar();
+    }
+
+    /**
+     * Registra una predicción de podio. Si el buffer está lleno espera a que el escritor libere espacio.
+     *
+     * @param carreraId ID de la carrera
+     * @param usuario Usuario que predice
+     * @param primero ID del piloto previsto en primer lugar
+     * @param segundo ID del piloto previsto en segundo lugar
+     * @param tercero ID del piloto previsto en tercer lugar
+     * @return false si el buffer siguió lleno durante toda la espera y la predicción no se registró
+     * @throws IllegalStateException si las predicciones de la carrera ya están cerradas
+     * o aún no se conoce su hora de salida
+     */
+    public boolean registrar(long carreraId, String usuario, long primero, long segundo, long tercero) {
+        if (!ingesta.isActiva()) {
+            throw new IllegalStateException("La ingesta de predicciones no está iniciada");
+        }
+        long ahora = System.currentTimeMillis();
+        if (!CierrePredicciones.estaAbierta(carreraId, ahora)) {
+            fueraDePlazo.incrementAndGet();
+            throw new IllegalStateException("Las predicciones de la carrera " + carreraId + " están cerradas");
+        }
+        return ingesta.agregar((lote, i) -> lote.poner(i, carreraId, usuario, primero, segundo, tercero, ahora));
+    }
+
+    /**
+     * Deja de aceptar predicciones, escribe las pendientes y espera al hilo escritor.
+     */
+    @Override
+    public void close() {
+        if (!ingesta.isActiva()) {
+            return;
+        }
+        ingesta.close();
+        logger.info("Ingesta de predicciones cerrada. {}", getEstadisticas());
+    }
+
+    /**
+     * @return Predicciones pendientes de escribir
+     */
+    public int getPendientes() {
+        return ingesta.getPendientes();
+    }
+
+    /**
+     * Obtiene estadísticas de la ingesta.
+     *
+     * @return String con estadísticas
+     */
+    public String getEstadisticas() {
+        return String.format(
+                "Predicciones - Recibidas: %d, Fuera de plazo: %d, Duplicadas: %d, Escritas: %d, " +
+                        "Rechazadas: %d, Descartadas: %d, Pendientes: %d, Lotes: %d",
+                ingesta.getRecibidas(), fueraDePlazo.get(), duplicadas.get(), ingesta.getEscritas(),
+                ingesta.getRechazadas(), ingesta.getDescartadas(), ingesta.getPendientes(), ingesta.getLotes()
+        );
+    }
+}
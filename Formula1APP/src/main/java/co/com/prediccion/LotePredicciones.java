@@ -0,0 +1,127 @@
+package co.com.prediccion;
+
+import co.com.ingesta.LoteColumnas;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lote reutilizable de predicciones de podio enviadas, en arrays por campo.
+ * Lo llena la ingesta de {@link IngestaPredicciones} y lo escribe {@link co.com.dao.PrediccionDAO};
+ * el mismo lote se reutiliza en cada descarga.
+ */
+public final class LotePredicciones extends LoteColumnas<LotePredicciones> {
+
+    final long[] carreras;
+    final String[] usuarios;
+    final long[] primeros;
+    final long[] segundos;
+    final long[] terceros;
+    final long[] enviadas;
+
+    public LotePredicciones(int capacidad) {
+        this.carreras = new long[capacidad];
+        this.usuarios = new String[capacidad];
+        this.primeros = new long[capacidad];
+        this.segundos = new long[capacidad];
+        this.terceros = new long[capacidad];
+        this.enviadas = new long[capacidad];
+    }
+
+    void poner(int i, long carreraId, String usuario, long primero, long segundo, long tercero, long enviada) {
+        carreras[i] = carreraId;
+        usuarios[i] = usuario;
+        primeros[i] = primero;
+        segundos[i] = segundo;
+        terceros[i] = tercero;
+        enviadas[i] = enviada;
+    }
+
+    @Override
+    protected void copiarFila(int desde, LotePredicciones destino, int hacia) {
+        destino.poner(hacia, carreras[desde], usuarios[desde], primeros[desde], segundos[desde],
+                terceros[desde], enviadas[desde]);
+    }
+
+    @Override
+    protected void limpiarFila(int i) {
+        // Sin referencias a usuarios ya drenados
+        usuarios[i] = null;
+    }
+
+    @Override
+    public String describirFila(int i) {
+        return "carrera " + carreras[i] + ", usuario '" + usuarios[i] + "', podio "
+                + primeros[i] + "/" + segundos[i] + "/" + terceros[i];
+    }
+
+    /**
+     * Deja en el lote solo el último envío de cada usuario para cada carrera, conservando el orden.
+     * En los picos previos a la salida un mismo usuario suele reenviar varias veces en segundos.
+     *
+     * @return Número de envíos descartados
+     */
+    int deduplicar() {
+        // Un lote suele traer una o dos carreras: un conjunto de usuarios por carrera
+        Map<Long, Set<String>> vistos = new HashMap<>();
+        boolean[] descartar = new boolean[tamano];
+        int descartados = 0;
+        for (int i = tamano - 1; i >= 0; i--) {
+            if (!vistos.computeIfAbsent(carreras[i], id -> new HashSet<>()).add(usuarios[i])) {
+                descartar[i] = true;
+                descartados++;
+            }
+        }
+        if (descartados == 0) {
+            return 0;
+        }
+
+        int n = 0;
+        for (int i = 0; i < tamano; i++) {
+            if (descartar[i]) {
+                continue;
+            }
+            copiarFila(i, this, n);
+            n++;
+        }
+        for (int i = n; i < tamano; i++) {
+            usuarios[i] = null;
+        }
+        tamano = n;
+        return descartados;
+    }
+
+    @Override
+    public int getCapacidad() {
+        return carreras.length;
+    }
+
+    public long getCarreraId(int i) {
+        return carreras[i];
+    }
+
+    public String getUsuario(int i) {
+        return usuarios[i];
+    }
+
+    public long getPrimeroId(int i) {
+        return primeros[i];
+    }
+
+    public long getSegundoId(int i) {
+        return segundos[i];
+    }
+
+    public long getTerceroId(int i) {
+        return terceros[i];
+    }
+
+    /**
+     * @return Instante del envío en milisegundos desde la época
+     */
+    public long getEnviada(int i) {
+        return enviadas[i];
+    }
+}
@@ -0,0 +1,52 @@
+package co.com.prediccion;
+
+/**
+ * Puntuación de las predicciones de podio contra el podio real.
+ * Trabaja sobre columnas de arrays primitivos: un bucle sin ramas por predicción
+ * que la JIT desenrolla, sin objetos ni mapas.
+ */
+public final class ReglasPodio {
+
+    public static final int PUNTOS_POSICION_EXACTA = 10;
+    public static final int PUNTOS_EN_PODIO = 3;
+    public static final int PUNTOS_PLENO = 10;
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private ReglasPodio() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Puntúa un tramo de predicciones: {@link #PUNTOS_POSICION_EXACTA} por piloto en su puesto,
+     * {@link #PUNTOS_EN_PODIO} por piloto en el podio pero en otro puesto y {@link #PUNTOS_PLENO}
+     * adicionales si acierta los tres puestos.
+     *
+     * @param podio IDs de los pilotos en 1º, 2º y 3º; 0 si el puesto quedó vacío
+     * @param primeros Piloto previsto en 1º por predicción
+     * @param segundos Piloto previsto en 2º por predicción
+     * @param terceros Piloto previsto en 3º por predicción
+     * @param puntos Destino de los puntos de cada predicción
+     * @param n Número de predicciones
+     */
+    public static void puntuar(long[] podio, long[] primeros, long[] segundos, long[] terceros, int[] puntos, int n) {
+        // Un puesto vacío (0) no debe coincidir con nada
+        long p1 = podio[0] != 0 ? podio[0] : -1;
+        long p2 = podio[1] != 0 ? podio[1] : -2;
+        long p3 = podio[2] != 0 ? podio[2] : -3;
+
+        for (int i = 0; i < n; i++) {
+            long a = primeros[i];
+            long b = segundos[i];
+            long c = terceros[i];
+            int exactos = (a == p1 ? 1 : 0) + (b == p2 ? 1 : 0) + (c == p3 ? 1 : 0);
+            int enPodio = (a == p1 || a == p2 || a == p3 ? 1 : 0)
+                    + (b == p1 || b == p2 || b == p3 ? 1 : 0)
+                    + (c == p1 || c == p2 || c == p3 ? 1 : 0);
+            puntos[i] = exactos * PUNTOS_POSICION_EXACTA
+                    + (enPodio - exactos) * PUNTOS_EN_PODIO
+                    + (exactos == 3 ? PUNTOS_PLENO : 0);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package co.com.prediccion;
+
+/**
+ * Tramo de predicciones guardadas de una carrera, leído para puntuarlas, en arrays por campo.
+ * Lo llena y lo escribe {@link co.com.dao.PrediccionDAO}; lo puntúa {@link #puntuar}.
+ */
+public final class TramoPredicciones {
+
+    /** Puntos anteriores de una predicción que aún no se había puntuado. */
+    public static final int SIN_PUNTUAR = Integer.MIN_VALUE;
+
+    private final long[] ids;
+    private final long[] primeros;
+    private final long[] segundos;
+    private final long[] terceros;
+    private final int[] anteriores;
+    private final int[] puntos;
+    private int tamano;
+
+    public TramoPredicciones(int capacidad) {
+        this.ids = new long[capacidad];
+        this.primeros = new long[capacidad];
+        this.segundos = new long[capacidad];
+        this.terceros = new long[capacidad];
+        this.anteriores = new int[capacidad];
+        this.puntos = new int[capacidad];
+    }
+
+    /**
+     * Añade una predicción leída.
+     *
+     * @param anterior Puntos ya guardados, o {@link #SIN_PUNTUAR}
+     */
+    public void agregar(long id, long primero, long segundo, long tercero, int anterior) {
+        ids[tamano] = id;
+        primeros[tamano] = primero;
+        segundos[tamano] = segundo;
+        terceros[tamano] = tercero;
+        anteriores[tamano] = anterior;
+        tamano++;
+    }
+
+    /**
+     * @param podio IDs de los pilotos en 1º, 2º y 3º; 0 si el puesto quedó vacío
+     */
+    public void puntuar(long[] podio) {
+        ReglasPodio.puntuar(podio, primeros, segundos, terceros, puntos, tamano);
+    }
+
+    /**
+     * Vacía el tramo para reutilizarlo.
+     */
+    public void limpiar() {
+        tamano = 0;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getCapacidad() {
+        return ids.length;
+    }
+
+    public long getId(int i) {
+        return ids[i];
+    }
+
+    public int getPuntos(int i) {
+        return puntos[i];
+    }
+
+    /**
+     * @return true si la predicción no tenía puntos guardados o eran otros
+     */
+    public boolean cambio(int i) {
+        return anteriores[i] != puntos[i];
+    }
+
+    /**
+     * @return ID de la última predicción del tramo, para pedir el siguiente
+     */
+    public long getUltimoId() {
+        return tamano == 0 ? 0 : ids[tamano - 1];
+    }
+}
@@ -0,0 +1,115 @@
+package co.com.service;
+
+import co.com.dao.CarreraDAO;
+import co.com.dao.CircuitoDAO;
+import co.com.dao.ConstructorDAO;
+import co.com.dao.PilotoDAO;
+import co.com.dao.ResultadoDAO;
+import co.com.dto.Sugerencia;
+import co.com.index.Autocompletado;
+import co.com.index.IndiceTextos;
+import co.com.model.Carrera;
+import co.com.model.Circuito;
+import co.com.model.Constructor;
+import co.com.model.Piloto;
+import co.com.model.Resultado;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Servicio de búsqueda por texto sobre carreras, circuitos y motivos de retiro, y de autocompletado
+ * de nombres. Las palabras se resuelven en los índices en memoria {@link IndiceTextos} y
+ * {@link Autocompletado}, sin distinguir mayúsculas ni acentos; la base de datos solo carga
+ * las entidades encontradas.
+ */
+public class BusquedaService {
+
+    /**
+     * Construye el autocompletado al arrancar para que la primera pulsación no espere a la base de datos.
+     */
+    public static void precargar() {
+        Autocompletado.getInstancia();
+    }
+
+    private final CarreraDAO carreraDAO;
+    private final CircuitoDAO circuitoDAO;
+    private final ResultadoDAO resultadoDAO;
+    private final PilotoDAO pilotoDAO;
+    private final ConstructorDAO constructorDAO;
+
+    public BusquedaService() {
+        this.carreraDAO = new CarreraDAO();
+        this.circuitoDAO = new CircuitoDAO();
+        this.resultadoDAO = new ResultadoDAO();
+        this.pilotoDAO = new PilotoDAO();
+        this.constructorDAO = new ConstructorDAO();
+    }
+
+    /**
+     * Sugerencias para la caja de búsqueda, de cualquier tipo de entidad.
+     *
+     * @param texto Texto escrito hasta ahora (admite errores de tecleo)
+     * @param limite Número máximo de sugerencias
+     * @return Sugerencias de mejor a peor
+     */
+    public List<Sugerencia> sugerir(String texto, int limite) {
+        return Autocompletado.getInstancia().sugerir(texto, limite);
+    }
+
+    public List<Sugerencia> sugerir(String texto, Sugerencia.Tipo tipo, int limite) {
+        return Autocompletado.getInstancia().sugerir(texto, tipo, limite);
+    }
+
+    /**
+     * Piloto cuyo nombre más se parece al texto, sin distinguir mayúsculas ni acentos y tolerando
+     * errores de tecleo. A diferencia de {@link PilotoDAO#findByNombre}, propone el más parecido
+     * aunque ninguno contenga el texto escrito.
+     *
+     * @param texto Nombre escrito
+     * @return Optional con el piloto de la mejor sugerencia, vacío si no hay ninguna
+     */
+    public Optional<Piloto> sugerirPiloto(String texto) {
+        List<Sugerencia> sugerencias = sugerir(texto, Sugerencia.Tipo.PILOTO, 1);
+        return sugerencias.isEmpty() ? Optional.empty() : pilotoDAO.findById(sugerencias.get(0).getId());
+    }
+
+    /**
+     * Constructor cuyo nombre más se parece al texto, como {@link #sugerirPiloto(String)}.
+     *
+     * @param texto Nombre escrito
+     * @return Optional con el constructor de la mejor sugerencia, vacío si no hay ninguna
+     */
+    public Optional<Constructor> sugerirConstructor(String texto) {
+        List<Sugerencia> sugerencias = sugerir(texto, Sugerencia.Tipo.CONSTRUCTOR, 1);
+        return sugerencias.isEmpty() ? Optional.empty() : constructorDAO.findById(sugerencias.get(0).getId());
+    }
+
+    public List<Carrera> buscarCarreras(String nombre) {
+        return carreraDAO.findByNombreGp(nombre);
+    }
+
+    public List<Circuito> buscarCircuitos(String nombre) {
+        return circuitoDAO.findByNombre(nombre);
+    }
+
+    public List<Circuito> buscarCircuitosPorUbicacion(String ubicacion) {
+        return circuitoDAO.findByUbicacion(ubicacion);
+    }
+
+    public List<Resultado> buscarRetiros(String motivo, int limite) {
+        return resultadoDAO.findByMotivoRetiro(motivo, limite);
+    }
+
+    /**
+     * Cuenta los retiros por una causa en cada temporada y constructor, directamente del índice.
+     *
+     * @param motivo Palabras del motivo de retiro (p. ej. "motor")
+     * @return Año -> constructor ID (0 si no tiene) -> número de retiros
+     */
+    public TreeMap<Integer, Map<Long, Integer>> contarRetirosPorConstructor(String motivo) {
+        return IndiceTextos.getInstancia().contarRetiros(motivo);
+    }
+}
@@ -0,0 +1,125 @@
+package co.com.service;
+
+import co.com.dao.CarreraDAO;
+import co.com.dto.ClasificacionEnVivo;
+import co.com.index.ClasificacionIndexada;
+import co.com.model.Carrera;
+import co.com.service.ResultadoService.ResultadoDTO;
+import co.com.timing.SeguimientoEnVivo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de carreras en directo.
+ * Mantiene un {@link SeguimientoEnVivo} por carrera en curso; los eventos de cronometraje
+ * de una carrera deben llegar siempre desde el mismo hilo, las consultas desde cualquiera.
+ */
+public class EnVivoService {
+    private static final Logger logger = LoggerFactory.getLogger(EnVivoService.class);
+
+    private static final Map<Long, SeguimientoEnVivo> seguimientos = new ConcurrentHashMap<>();
+
+    private final CarreraDAO carreraDAO;
+    private final ResultadoService resultadoService;
+
+    public EnVivoService() {
+        this.carreraDAO = new CarreraDAO();
+        this.resultadoService = new ResultadoService();
+    }
+
+    /**
+     * Empieza el seguimiento de una carrera. El campeonato provisional parte de la
+     * clasificación de la temporada antes de la carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @param parrilla Pilotos en orden de salida
+     * @return Seguimiento de la carrera
+     */
+    public SeguimientoEnVivo iniciar(Long carreraId, List<Long> parrilla) {
+        Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
+        if (carreraOpt.isEmpty()) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+        int anio = carreraOpt.get().getTemporada().getAnio();
+
+        ClasificacionIndexada.Instantanea temporada = ClasificacionIndexada.getTemporada(anio).getInstantanea();
+        Map<Long, Long> puntos = new LinkedHashMap<>();
+        for (Map<String, Object> fila : temporada.getRango(1, temporada.tamano())) {
+            puntos.put((Long) fila.get("id"), ((BigDecimal) fila.get("puntos")).movePointRight(2).longValue());
+        }
+
+        SeguimientoEnVivo seguimiento = new SeguimientoEnVivo(carreraId, parrilla, puntos);
+        if (seguimientos.putIfAbsent(carreraId, seguimiento) != null) {
+            throw new IllegalStateException("La carrera " + carreraId + " ya está en seguimiento");
+        }
+        logger.info("Seguimiento en directo iniciado para carrera {} con {} pilotos", carreraId, parrilla.size());
+        return seguimiento;
+    }
+
+    /**
+     * Aplica una vuelta completada. Debe llamarse siempre desde el mismo hilo por carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param numeroVuelta Número de vuelta (desde 1)
+     * @param tiempoMs Tiempo de la vuelta en milisegundos
+     * @return true si la vuelta cambió el estado
+     */
+    public boolean registrarVuelta(Long carreraId, long pilotoId, int numeroVuelta, int tiempoMs) {
+        return seguimiento(carreraId).registrarVuelta(pilotoId, numeroVuelta, tiempoMs);
+    }
+
+    /**
+     * Aplica el abandono de un piloto. Debe llamarse desde el mismo hilo que las vueltas.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param motivo Motivo del abandono
+     */
+    public void registrarAbandono(Long carreraId, long pilotoId, String motivo) {
+        seguimiento(carreraId).registrarAbandono(pilotoId, motivo);
+    }
+
+    /**
+     * Obtiene la última clasificación publicada de una carrera en curso.
+     *
+     * @param carreraId ID de la carrera
+     * @return Optional con la clasificación, vacío si la carrera no está en seguimiento
+     */
+    public Optional<ClasificacionEnVivo> obtenerClasificacion(Long carreraId) {
+        SeguimientoEnVivo seguimiento = seguimientos.get(carreraId);
+        return seguimiento != null ? Optional.of(seguimiento.getClasificacion()) : Optional.empty();
+    }
+
+    /**
+     * Finaliza la carrera y guarda el orden final como resultados en una sola transacción.
+     * El seguimiento se descarta solo cuando los resultados quedan guardados; si la escritura falla
+     * la carrera sigue en seguimiento, sin aceptar más eventos, y puede volver a finalizarse.
+     *
+     * @param carreraId ID de la carrera
+     * @return Número de resultados guardados
+     */
+    public int finalizar(Long carreraId) {
+        SeguimientoEnVivo seguimiento = seguimiento(carreraId);
+        List<ResultadoDTO> resultados = seguimiento.finalizar();
+        int guardados = resultadoService.ingresarResultadosCarrera(carreraId, resultados);
+        seguimientos.remove(carreraId, seguimiento);
+        logger.info("Carrera {} finalizada en directo: {} resultados guardados", carreraId, guardados);
+        return guardados;
+    }
+
+    private SeguimientoEnVivo seguimiento(Long carreraId) {
+        SeguimientoEnVivo seguimiento = seguimientos.get(carreraId);
+        if (seguimiento == null) {
+            throw new IllegalStateException("La carrera " + carreraId + " no está en seguimiento");
+        }
+        return seguimiento;
+    }
+}
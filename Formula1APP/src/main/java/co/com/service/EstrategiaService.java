@@ -0,0 +1,143 @@
+package co.com.service;
+
+import co.com.cache.DegradacionCache;
+import co.com.dao.CarreraDAO;
+import co.com.dao.NeumaticoDAO;
+import co.com.dao.PilotoDAO;
+import co.com.estrategia.Estrategia;
+import co.com.estrategia.SituacionPiloto;
+import co.com.estrategia.SolucionadorEstrategia;
+import co.com.model.Carrera;
+import co.com.model.ParadaBoxes;
+import co.com.model.Piloto;
+import co.com.model.StintNeumatico;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de neumáticos y estrategia de carrera.
+ * Los modelos de degradación salen de los stints históricos del circuito; el solucionador de cada
+ * carrera se construye la primera vez y se reutiliza, así que recalcular en cada vuelta es barato.
+ */
+public class EstrategiaService {
+    private static final Logger logger = LoggerFactory.getLogger(EstrategiaService.class);
+
+    private static final Map<Long, SolucionadorEstrategia> solucionadores = new ConcurrentHashMap<>();
+
+    private final NeumaticoDAO neumaticoDAO;
+    private final CarreraDAO carreraDAO;
+    private final PilotoDAO pilotoDAO;
+
+    public EstrategiaService() {
+        this.neumaticoDAO = new NeumaticoDAO();
+        this.carreraDAO = new CarreraDAO();
+        this.pilotoDAO = new PilotoDAO();
+    }
+
+    /**
+     * Registra los stints y paradas de un piloto en una carrera, reemplazando los que hubiera.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param stints Stints en orden
+     * @param paradas Paradas en boxes
+     */
+    public void registrarNeumaticos(Long carreraId, Long pilotoId, List<StintNeumatico> stints,
+                                    List<ParadaBoxes> paradas) {
+        Carrera carrera = cargarCarrera(carreraId);
+        Optional<Piloto> pilotoOpt = pilotoDAO.findById(pilotoId);
+        if (pilotoOpt.isEmpty()) {
+            throw new IllegalArgumentException("No existe el piloto con ID: " + pilotoId);
+        }
+        Piloto piloto = pilotoOpt.get();
+
+        for (StintNeumatico stint : stints) {
+            if (stint.getVueltaInicio() == null || stint.getVueltaFin() == null
+                    || stint.getVueltaFin() < stint.getVueltaInicio()) {
+                throw new IllegalArgumentException("Stint con vueltas inválidas: " + stint);
+            }
+            stint.setCarrera(carrera);
+            stint.setPiloto(piloto);
+        }
+        for (ParadaBoxes parada : paradas) {
+            parada.setCarrera(carrera);
+            parada.setPiloto(piloto);
+        }
+        neumaticoDAO.reemplazar(carreraId, pilotoId, stints, paradas);
+        DegradacionCache.invalidar(carrera.getCircuito().getId());
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @return Stints de la carrera ordenados por piloto
+     */
+    public List<StintNeumatico> obtenerStints(Long carreraId) {
+        return neumaticoDAO.findStintsByCarrera(carreraId);
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @return Paradas de la carrera ordenadas por piloto y vuelta
+     */
+    public List<ParadaBoxes> obtenerParadas(Long carreraId) {
+        return neumaticoDAO.findParadasByCarrera(carreraId);
+    }
+
+    /**
+     * Calcula las mejores estrategias de cada piloto desde su situación actual.
+     * Pensado para recalcularse en cada vuelta: tras la primera llamada de la carrera
+     * solo se evalúa el stint en curso de cada piloto.
+     *
+     * @param carreraId ID de la carrera
+     * @param vueltasTotales Vueltas de la carrera
+     * @param situaciones Situación de cada piloto
+     * @param mejores Estrategias a devolver por piloto
+     * @return Estrategias por piloto, de mejor a peor
+     */
+    public Map<Long, List<Estrategia>> calcularEstrategias(Long carreraId, int vueltasTotales,
+                                                           List<SituacionPiloto> situaciones, int mejores) {
+        long inicio = System.nanoTime();
+        SolucionadorEstrategia solucionador = solucionadores.get(carreraId);
+        if (!sirve(solucionador, vueltasTotales, mejores)) {
+            // La carrera y los modelos se leen fuera del mapa; si otro hilo guardó antes uno válido se usa ese
+            SolucionadorEstrategia nuevo = new SolucionadorEstrategia(
+                    DegradacionCache.obtener(cargarCarrera(carreraId).getCircuito().getId()),
+                    vueltasTotales, mejores);
+            solucionador = solucionadores.compute(carreraId, (id, actual) ->
+                    sirve(actual, vueltasTotales, mejores) ? actual : nuevo);
+        }
+
+        Map<Long, List<Estrategia>> estrategias = solucionador.resolver(situaciones);
+        logger.debug("Estrategias de {} pilotos calculadas en {} ms",
+                situaciones.size(), (System.nanoTime() - inicio) / 1_000_000);
+        return estrategias;
+    }
+
+    /**
+     * Libera el solucionador de una carrera terminada.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public void descartarSolucionador(Long carreraId) {
+        solucionadores.remove(carreraId);
+    }
+
+    private static boolean sirve(SolucionadorEstrategia solucionador, int vueltasTotales, int mejores) {
+        return solucionador != null
+                && solucionador.getVueltasTotales() == vueltasTotales
+                && solucionador.getMejores() == mejores;
+    }
+
+    private Carrera cargarCarrera(Long carreraId) {
+        Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
+        if (carreraOpt.isEmpty()) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+        return carreraOpt.get();
+    }
+}
@@ -0,0 +1,188 @@
+package co.com.service;
+
+import co.com.dao.CarreraDAO;
+import co.com.dao.EtapaPilotoDAO;
+import co.com.index.Etapa;
+import co.com.index.IndiceEtapas;
+import co.com.model.Carrera;
+import co.com.model.Constructor;
+import co.com.model.EtapaPiloto;
+import co.com.model.Piloto;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servicio de etapas de pilotos en constructores.
+ * Las escrituras validan contra la base de datos, con la fila del piloto bloqueada, que un piloto
+ * no tenga dos etapas solapadas y mantienen {@link IndiceEtapas} al día; las consultas se responden
+ * desde el índice.
+ */
+public class EtapaService {
+    private static final Logger logger = LoggerFactory.getLogger(EtapaService.class);
+
+    private final EtapaPilotoDAO etapaPilotoDAO;
+    private final CarreraDAO carreraDAO;
+
+    public EtapaService() {
+        this.etapaPilotoDAO = new EtapaPilotoDAO();
+        this.carreraDAO = new CarreraDAO();
+    }
+
+    /**
+     * Registra una etapa de un piloto en un constructor.
+     * La comprobación de solapes y la inserción van en la misma transacción, con la fila
+     * del piloto bloqueada, así que dos registros simultáneos del mismo piloto no pueden
+     * pasar ambos la comprobación.
+     *
+     * @param pilotoId ID del piloto
+     * @param constructorId ID del constructor
+     * @param fechaInicio Primer día de la etapa
+     * @param fechaFin Último día de la etapa, o null si sigue abierta
+     * @return Etapa guardada
+     */
+    public EtapaPiloto registrarEtapa(Long pilotoId, Long constructorId, LocalDate fechaInicio, LocalDate fechaFin) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            Piloto piloto = bloquearPiloto(em, pilotoId);
+            Constructor constructor = em.find(Constructor.class, constructorId);
+            if (constructor == null) {
+                throw new IllegalArgumentException("No existe el constructor con ID: " + constructorId);
+            }
+
+            EtapaPiloto etapa = new EtapaPiloto(piloto, constructor, fechaInicio, fechaFin);
+            validar(em, etapa);
+            em.persist(etapa);
+
+            em.getTransaction().commit();
+            IndiceEtapas.getInstancia().registrar(etapa);
+            logger.info("Etapa registrada: {} en {} desde {}", piloto.getNombre(), constructor.getNombre(), fechaInicio);
+            return etapa;
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al registrar etapa", e);
+            throw new RuntimeException("Error al registrar etapa", e);
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Cierra una etapa abierta, p. ej. cuando el piloto cambia de equipo.
+     * Como al registrar, la comprobación y la escritura comparten transacción y bloqueo del piloto.
+     *
+     * @param etapaId ID de la etapa
+     * @param fechaFin Último día de la etapa
+     * @return Etapa actualizada
+     */
+    public EtapaPiloto cerrarEtapa(Long etapaId, LocalDate fechaFin) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            EtapaPiloto etapa = etapaPilotoDAO.findById(em, etapaId)
+                    .orElseThrow(() -> new IllegalArgumentException("No existe la etapa con ID: " + etapaId));
+            bloquearPiloto(em, etapa.getPiloto().getId());
+            // Se relee tras el bloqueo por si otra transacción la cambió mientras se esperaba
+            em.refresh(etapa);
+
+            etapa.setFechaFin(fechaFin);
+            validar(em, etapa);
+
+            em.getTransaction().commit();
+            IndiceEtapas.getInstancia().registrar(etapa);
+            logger.info("Etapa cerrada: {}", etapa);
+            return etapa;
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al cerrar la etapa con ID: " + etapaId, e);
+            throw new RuntimeException("Error al cerrar etapa", e);
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Elimina una etapa.
+     *
+     * @param etapaId ID de la etapa
+     * @return true si se eliminó
+     */
+    public boolean eliminarEtapa(Long etapaId) {
+        boolean eliminada = etapaPilotoDAO.delete(etapaId);
+        if (eliminada) {
+            IndiceEtapas.getInstancia().eliminar(etapaId);
+        }
+        return eliminada;
+    }
+
+    /**
+     * Pilotos de un constructor en una fecha.
+     *
+     * @param constructorId ID del constructor
+     * @param fecha Fecha consultada
+     * @return Etapas vigentes en esa fecha
+     */
+    public List<Etapa> obtenerPlantilla(Long constructorId, LocalDate fecha) {
+        return IndiceEtapas.getInstancia().getPlantilla(constructorId, fecha);
+    }
+
+    /**
+     * Etapa de un piloto vigente el día de una carrera.
+     *
+     * @param pilotoId ID del piloto
+     * @param carreraId ID de la carrera
+     * @return Optional con la etapa, vacío si no hay etapa registrada para esa fecha
+     */
+    public Optional<Etapa> obtenerEtapaEnCarrera(Long pilotoId, Long carreraId) {
+        Optional<Carrera> carrera = carreraDAO.findById(carreraId);
+        if (carrera.isEmpty()) {
+            return Optional.empty();
+        }
+        return IndiceEtapas.getInstancia().getEtapa(pilotoId, carrera.get().getFecha());
+    }
+
+    private Piloto bloquearPiloto(EntityManager em, Long pilotoId) {
+        Piloto piloto = em.find(Piloto.class, pilotoId, LockModeType.PESSIMISTIC_WRITE);
+        if (piloto == null) {
+            throw new IllegalArgumentException("No existe el piloto con ID: " + pilotoId);
+        }
+        return piloto;
+    }
+
+    private void validar(EntityManager em, EtapaPiloto etapa) {
+        if (etapa.getFechaInicio() == null) {
+            throw new IllegalArgumentException("La etapa debe tener fecha de inicio");
+        }
+        if (etapa.getFechaFin() != null && etapa.getFechaFin().isBefore(etapa.getFechaInicio())) {
+            throw new IllegalArgumentException(
+                    "La fecha de fin (" + etapa.getFechaFin() + ") es anterior a la de inicio (" + etapa.getFechaInicio() + ")");
+        }
+
+        // Se consulta la base de datos y no el índice: otra transacción puede haber
+        // confirmado una etapa que el índice aún no ha registrado
+        List<EtapaPiloto> solapes = etapaPilotoDAO.findSolapes(em, etapa.getPiloto().getId(),
+                etapa.getFechaInicio(), etapa.getFechaFin(), etapa.getId());
+        if (!solapes.isEmpty()) {
+            throw new IllegalStateException("La etapa se solapa con otra del mismo piloto: " + solapes.get(0));
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package co.com.service;
 
+import co.com.cache.ArchivoTemporadas;
+import co.com.cache.CompanerosCache;
+import co.com.cache.TemporadaArchivada;
 import co.com.dao.CarreraDAO;
 import co.com.dao.CircuitoDAO;
 import co.com.dao.ConstructorDAO;
 import co.com.dao.PilotoDAO;
 import co.com.dao.ResultadoDAO;
+import co.com.dao.ResumenCarreraDAO;
+import co.com.dto.CarreraCalendario;
+import co.com.dto.MatrizCompaneros;
+import co.com.index.ClasificacionIndexada;
 import co.com.model.Carrera;
 import co.com.model.Circuito;
 import co.com.model.Constructor;
@@ -14,10 +21,12 @@ import co.com.model.Resultado;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * Servicio para gestionar consultas relacionadas con temporadas de Formula 1.
- * Utiliza los DAOs para acceder a la base de datos.
+ * Las temporadas congeladas se sirven desde {@link ArchivoTemporadas};
+ * el resto utiliza los DAOs para acceder a la base de datos.
  */
 public class F1Servicio {
     private final CarreraDAO carreraDAO = new CarreraDAO();
@@ -25,6 +34,7 @@ public class F1Servicio {
     private final ConstructorDAO constructorDAO = new ConstructorDAO();
     private final PilotoDAO pilotoDAO = new PilotoDAO();
     private final ResultadoDAO resultadoDAO = new ResultadoDAO();
+    private final ResumenCarreraDAO resumenCarreraDAO = new ResumenCarreraDAO();
 
     /**
      * Obtiene el calendario de carreras para una temporada.
@@ -33,7 +43,22 @@ public class F1Servicio {
      * @return Lista de carreras en la temporada
      */
     public List<Carrera> getCarreras(int anio) {
-        return carreraDAO.findByTemporada(anio);
+        return ArchivoTemporadas.obtener(anio)
+                .map(TemporadaArchivada::getCarreras)
+                .orElseGet(() -> carreraDAO.findByTemporada(anio));
+    }
+
+    /**
+     * Obtiene el calendario de una temporada con el podio de cada carrera ya disputada.
+     * Se resuelve en una sola consulta sobre el resumen materializado de carreras.
+     *
+     * @param anio Año de la temporada
+     * @return Calendario ordenado por número de GP
+     */
+    public List<CarreraCalendario> getCalendario(int anio) {
+        return ArchivoTemporadas.obtener(anio)
+                .map(TemporadaArchivada::getCalendario)
+                .orElseGet(() -> resumenCarreraDAO.findCalendario(anio));
     }
 
     /**
@@ -43,7 +68,9 @@ public class F1Servicio {
      * @return Lista de circuitos en la temporada
      */
     public List<Circuito> getCircuitos(int anio) {
-        return circuitoDAO.findByTemporada(anio);
+        return ArchivoTemporadas.obtener(anio)
+                .map(TemporadaArchivada::getCircuitos)
+                .orElseGet(() -> circuitoDAO.findByTemporada(anio));
     }
 
     /**
@@ -53,7 +80,33 @@ public class F1Servicio {
      * @return Lista de mapas con datos de clasificación de pilotos
      */
     public List<Map<String, Object>> getClasificacionPilotos(int anio) {
-        return resultadoDAO.getClasificacionPilotos(anio);
+        return ArchivoTemporadas.obtener(anio)
+                .map(TemporadaArchivada::getClasificacionPilotos)
+                .orElseGet(() -> resultadoDAO.getClasificacionPilotos(anio));
+    }
+
+    /**
+     * Obtiene la posición de un piloto en la clasificación de una temporada
+     * desde el índice en memoria, sin recorrer la clasificación completa.
+     *
+     * @param anio Año de la temporada
+     * @param pilotoId ID del piloto
+     * @return Posición (desde 1), vacía si el piloto no tiene puntos en la temporada
+     */
+    public OptionalInt getPosicionPiloto(int anio, Long pilotoId) {
+        return ClasificacionIndexada.getTemporada(anio).getInstantanea().getPosicion(pilotoId);
+    }
+
+    /**
+     * Obtiene un tramo de la clasificación de pilotos desde el índice en memoria.
+     *
+     * @param anio Año de la temporada
+     * @param desde Posición inicial (desde 1, inclusive)
+     * @param hasta Posición final (inclusive)
+     * @return Filas de clasificación ordenadas por posición
+     */
+    public List<Map<String, Object>> getClasificacionPilotos(int anio, int desde, int hasta) {
+        return ClasificacionIndexada.getTemporada(anio).getInstantanea().getRango(desde, hasta);
     }
 
     /**
@@ -63,7 +116,19 @@ public class F1Servicio {
      * @return Lista de mapas con datos de clasificación de constructores
      */
     public List<Map<String, Object>> getClasificacionConstructores(int anio) {
-        return resultadoDAO.getClasificacionConstructores(anio);
+        return ArchivoTemporadas.obtener(anio)
+                .map(TemporadaArchivada::getClasificacionConstructores)
+                .orElseGet(() -> resultadoDAO.getClasificacionConstructores(anio));
+    }
+
+    /**
+     * Obtiene la comparación entre compañeros de equipo de toda la parrilla en una temporada.
+     *
+     * @param anio Año de la temporada
+     * @return Matriz de compañeros de la temporada
+     */
+    public MatrizCompaneros getMatrizCompaneros(int anio) {
+        return CompanerosCache.obtener(anio);
     }
 
     /**
@@ -73,7 +138,8 @@ public class F1Servicio {
      * @return Lista de resultados de la carrera
      */
     public List<Resultado> getResultadosCarrera(Long carreraId) {
-        return resultadoDAO.findByCarrera(carreraId);
+        return ArchivoTemporadas.buscarResultados(carreraId)
+                .orElseGet(() -> resultadoDAO.findByCarrera(carreraId));
     }
 
     /**
@@ -102,6 +168,7 @@ public class F1Servicio {
      * @return Optional con la carrera
      */
     public Optional<Carrera> getCarreraById(Long id) {
-        return carreraDAO.findById(id);
+        Optional<Carrera> archivada = ArchivoTemporadas.buscarCarrera(id);
+        return archivada.isPresent() ? archivada : carreraDAO.findById(id);
     }
 }
\ No newline at end of file
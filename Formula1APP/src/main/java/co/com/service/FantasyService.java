@@ -0,0 +1,284 @@
+package co.com.service;
+
+import co.com.dao.FantasyDAO;
+import co.com.dao.ResultadoDAO;
+import co.com.event.EventosResultados;
+import co.com.fantasy.ClasificacionFantasy;
+import co.com.fantasy.InformePuntuacion;
+import co.com.fantasy.MotorFantasy;
+import co.com.fantasy.PosicionFantasy;
+import co.com.fantasy.VectorPuntos;
+import co.com.model.Constructor;
+import co.com.model.EquipoFantasy;
+import co.com.model.LigaFantasy;
+import co.com.model.MiembroLigaFantasy;
+import co.com.model.Piloto;
+import co.com.model.Resultado;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio del juego de fantasía.
+ * Una vez activado, cada cambio confirmado en los resultados de una carrera (ingreso,
+ * reclasificación o eliminación) vuelve a puntuar esa carrera para todos los equipos.
+ * Las puntuaciones, automáticas o pedidas con {@link #puntuarCarrera}, se ejecutan de una en una
+ * en un hilo propio, fuera del hilo que ingresó los resultados, porque los totales de los equipos
+ * se actualizan por diferencia.
+ *
+ * <p>Las clasificaciones (general y de ligas privadas) se sirven desde {@link ClasificacionFantasy}
+ * sin consultar MySQL; ese mismo hilo guarda periódicamente sus instantáneas en disco.
+ */
+public class FantasyService {
+    private static final Logger logger = LoggerFactory.getLogger(FantasyService.class);
+
+    private static final long MINUTOS_ENTRE_INSTANTANEAS = 5;
+
+    private static final AtomicBoolean activo = new AtomicBoolean();
+    private static final ScheduledExecutorService puntuaciones = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "puntuacion-fantasy");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final FantasyDAO fantasyDAO;
+    private final ResultadoDAO resultadoDAO;
+    private final MotorFantasy motor;
+
+    public FantasyService() {
+        this.fantasyDAO = new FantasyDAO();
+        this.resultadoDAO = new ResultadoDAO();
+        this.motor = new MotorFantasy(fantasyDAO);
+    }
+
+    /**
+     * Registra la puntuación automática de carreras y el guardado periódico de las clasificaciones.
+     * Llamadas repetidas no tienen efecto.
+     */
+    public static void activar() {
+        if (!activo.compareAndSet(false, true)) {
+            return;
+        }
+        FantasyService servicio = new FantasyService();
+        EventosResultados.registrar(cambio -> {
+            // El sprint no puntúa en el juego de fantasía
+            if (!cambio.isSprint()) {
+                puntuaciones.submit(() -> {
+                    try {
+                        servicio.puntuar(cambio.getCarreraId(), cambio.getAnio());
+                    } catch (Exception e) {
+                        logger.error("Error en la puntuación automática de la carrera " + cambio.getCarreraId(), e);
+                    }
+                });
+            }
+        });
+        puntuaciones.scheduleWithFixedDelay(ClasificacionFantasy::guardarModificadas,
+                MINUTOS_ENTRE_INSTANTANEAS, MINUTOS_ENTRE_INSTANTANEAS, TimeUnit.MINUTES);
+        Runtime.getRuntime().addShutdownHook(new Thread(ClasificacionFantasy::guardarModificadas));
+        logger.info("Puntuación automática del juego de fantasía activada");
+    }
+
+    /**
+     * Puntúa una carrera para todos los equipos de la temporada a partir de sus resultados actuales.
+     * Es idempotente: volver a puntuar sin cambios no escribe nada.
+     * Se ejecuta en el hilo de puntuaciones y espera a que termine, para no cruzarse con una
+     * puntuación automática que actualice los mismos totales por diferencia.
+     *
+     * @param carreraId ID de la carrera
+     * @param anio Año de la temporada
+     * @return Informe de la puntuación
+     */
+    public InformePuntuacion puntuarCarrera(Long carreraId, int anio) {
+        Future<InformePuntuacion> tarea = puntuaciones.submit(() -> puntuar(carreraId, anio));
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error al puntuar la carrera " + carreraId, e);
+        } catch (ExecutionException e) {
+            logger.error("Error al puntuar la carrera " + carreraId, e.getCause());
+            throw new RuntimeException("Error al puntuar la carrera " + carreraId, e.getCause());
+        }
+    }
+
+    /**
+     * Puntúa la carrera en el hilo actual. Solo debe llamarse desde el hilo de puntuaciones.
+     */
+    private InformePuntuacion puntuar(Long carreraId, int anio) {
+        List<Resultado> resultados = resultadoDAO.findByCarrera(carreraId);
+        return motor.puntuar(anio, VectorPuntos.de(carreraId, resultados));
+    }
+
+    /**
+     * Crea un equipo de fantasía.
+     *
+     * @param usuario Usuario propietario
+     * @param nombre Nombre del equipo
+     * @param anio Año de la temporada
+     * @param pilotoIds IDs de los pilotos elegidos, exactamente {@link EquipoFantasy#PILOTOS_POR_EQUIPO}
+     * @param constructorId ID del constructor elegido
+     * @return Equipo creado
+     */
+    public EquipoFantasy crearEquipo(String usuario, String nombre, int anio, List<Long> pilotoIds, Long constructorId) {
+        if (pilotoIds.size() != EquipoFantasy.PILOTOS_POR_EQUIPO || pilotoIds.stream().distinct().count() != pilotoIds.size()) {
+            throw new IllegalArgumentException(
+                    "Un equipo debe tener " + EquipoFantasy.PILOTOS_POR_EQUIPO + " pilotos distintos");
+        }
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            EquipoFantasy equipo = new EquipoFantasy();
+            equipo.setUsuario(usuario);
+            equipo.setNombre(nombre);
+            equipo.setAnio(anio);
+            equipo.setPiloto1(em.getReference(Piloto.class, pilotoIds.get(0)));
+            equipo.setPiloto2(em.getReference(Piloto.class, pilotoIds.get(1)));
+            equipo.setPiloto3(em.getReference(Piloto.class, pilotoIds.get(2)));
+            equipo.setPiloto4(em.getReference(Piloto.class, pilotoIds.get(3)));
+            equipo.setPiloto5(em.getReference(Piloto.class, pilotoIds.get(4)));
+            equipo.setConstructor(constructorId != null ? em.getReference(Constructor.class, constructorId) : null);
+            em.persist(equipo);
+
+            em.getTransaction().commit();
+            logger.info("Equipo de fantasía {} creado para {}", equipo.getId(), usuario);
+
+            ClasificacionFantasy.getTemporada(anio).agregarEquipo(equipo.getId());
+            return equipo;
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al crear equipo de fantasía", e);
+            throw new RuntimeException("Error al crear equipo de fantasía: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Crea una liga privada.
+     *
+     * @param nombre Nombre de la liga
+     * @param anio Año de la temporada
+     * @param propietario Usuario que la crea
+     * @return Liga creada
+     */
+    public LigaFantasy crearLiga(String nombre, int anio, String propietario) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            LigaFantasy liga = new LigaFantasy(nombre, anio, propietario);
+            em.persist(liga);
+            em.getTransaction().commit();
+            logger.info("Liga de fantasía {} creada: {}", liga.getId(), nombre);
+            return liga;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al crear liga de fantasía", e);
+            throw new RuntimeException("Error al crear liga de fantasía: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Añade un equipo a una liga privada de su misma temporada.
+     *
+     * @param ligaId ID de la liga
+     * @param equipoId ID del equipo
+     */
+    public void unirseALiga(Long ligaId, Long equipoId) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            LigaFantasy liga = em.find(LigaFantasy.class, ligaId);
+            EquipoFantasy equipo = em.find(EquipoFantasy.class, equipoId);
+            if (liga == null || equipo == null) {
+                throw new IllegalArgumentException("No existe la liga " + ligaId + " o el equipo " + equipoId);
+            }
+            if (!liga.getAnio().equals(equipo.getAnio())) {
+                throw new IllegalArgumentException("El equipo y la liga son de temporadas distintas");
+            }
+            em.persist(new MiembroLigaFantasy(liga, equipo));
+
+            em.getTransaction().commit();
+            ClasificacionFantasy.getTemporada(liga.getAnio()).agregarMiembro(ligaId, equipoId);
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al unir equipo a liga de fantasía", e);
+            throw new RuntimeException("Error al unir equipo a liga de fantasía: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Obtiene los mejores equipos de una temporada.
+     *
+     * @param anio Año de la temporada
+     * @param limite Número máximo de equipos
+     * @return Equipos ordenados por puntos totales
+     */
+    public List<PosicionFantasy> obtenerClasificacion(int anio, int limite) {
+        return ClasificacionFantasy.getTemporada(anio).getInstantanea().getPrimeros(limite);
+    }
+
+    /**
+     * @param anio Año de la temporada
+     * @param equipoId ID del equipo
+     * @return Posición del equipo en la clasificación general, vacía si aún no aparece
+     */
+    public OptionalInt obtenerPosicion(int anio, Long equipoId) {
+        return ClasificacionFantasy.getTemporada(anio).getInstantanea().getPosicion(equipoId);
+    }
+
+    /**
+     * @param anio Año de la temporada
+     * @param equipoId ID del equipo
+     * @return Posición y puntos del equipo en la clasificación general
+     */
+    public Optional<PosicionFantasy> obtenerEquipoEnClasificacion(int anio, Long equipoId) {
+        return ClasificacionFantasy.getTemporada(anio).getInstantanea().getEquipo(equipoId);
+    }
+
+    /**
+     * Obtiene los equipos que rodean a uno en la clasificación general.
+     *
+     * @param anio Año de la temporada
+     * @param equipoId ID del equipo
+     * @param radio Equipos por delante y por detrás
+     * @return Filas en orden de clasificación
+     */
+    public List<PosicionFantasy> obtenerVecinos(int anio, Long equipoId, int radio) {
+        return ClasificacionFantasy.getTemporada(anio).getInstantanea().getVecinos(equipoId, radio);
+    }
+
+    /**
+     * @param anio Año de la temporada
+     * @param ligaId ID de la liga
+     * @return Clasificación de la liga con posiciones propias
+     */
+    public List<PosicionFantasy> obtenerClasificacionLiga(int anio, Long ligaId) {
+        return ClasificacionFantasy.getTemporada(anio).getClasificacionLiga(ligaId);
+    }
+}
@@ -0,0 +1,177 @@
+package co.com.service;
+
+import co.com.cache.EntidadesExistentes;
+import co.com.dao.PrediccionDAO;
+import co.com.dao.ResultadoDAO;
+import co.com.event.EventosResultados;
+import co.com.model.PrediccionPodio;
+import co.com.model.Resultado;
+import co.com.prediccion.CierrePredicciones;
+import co.com.prediccion.IngestaPredicciones;
+import co.com.prediccion.TramoPredicciones;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio del juego de predicción del podio.
+ * Los envíos entran por la ingesta por lotes hasta la salida de la carrera ({@link CierrePredicciones});
+ * una vez activado, cada cambio confirmado en los resultados de una carrera vuelve a puntuar sus predicciones.
+ * Los resultados llegan horas después del cierre, cuando la ingesta ya ha escrito todos los envíos de la carrera.
+ */
+public class PrediccionService {
+    private static final Logger logger = LoggerFactory.getLogger(PrediccionService.class);
+
+    private static final int TAMANO_TRAMO = 10_000;
+
+    private static final AtomicBoolean activo = new AtomicBoolean();
+    private static final ExecutorService puntuaciones = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "puntuacion-predicciones");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final PrediccionDAO prediccionDAO;
+    private final ResultadoDAO resultadoDAO;
+    private final IngestaPredicciones ingesta;
+
+    public PrediccionService() {
+        this.prediccionDAO = new PrediccionDAO();
+        this.resultadoDAO = new ResultadoDAO();
+        this.ingesta = new IngestaPredicciones(prediccionDAO);
+    }
+
+    /**
+     * Registra la puntuación automática de predicciones. Llamadas repetidas no tienen efecto.
+     */
+    public static void activar() {
+        if (!activo.compareAndSet(false, true)) {
+            return;
+        }
+        PrediccionService servicio = new PrediccionService();
+        EventosResultados.registrar(cambio -> {
+            // Solo se predice el podio de la carrera principal
+            if (!cambio.isSprint()) {
+                puntuaciones.submit(() -> {
+                    try {
+                        servicio.puntuarCarrera(cambio.getCarreraId());
+                    } catch (Exception e) {
+                        logger.error("Error en la puntuación automática de predicciones de la carrera "
+                                + cambio.getCarreraId(), e);
+                    }
+                });
+            }
+        });
+        logger.info("Puntuación automática de predicciones de podio activada");
+    }
+
+    /**
+     * Arranca la ingesta de predicciones.
+     */
+    public void iniciarIngesta() {
+        ingesta.iniciar();
+    }
+
+    /**
+     * Escribe las predicciones pendientes y detiene la ingesta.
+     */
+    public void detenerIngesta() {
+        ingesta.close();
+    }
+
+    /**
+     * Envía la predicción de podio de un usuario. Un nuevo envío antes de la salida sustituye al anterior.
+     *
+     * @param carreraId ID de la carrera
+     * @param usuario Usuario que predice
+     * @param primeroId Piloto previsto en primer lugar
+     * @param segundoId Piloto previsto en segundo lugar
+     * @param terceroId Piloto previsto en tercer lugar
+     * @return false si la base de datos va retrasada y la predicción no se pudo encolar
+     * @throws IllegalArgumentException si el usuario, la carrera o alguno de los pilotos no son válidos
+     * @throws IllegalStateException si las predicciones de la carrera ya están cerradas
+     */
+    public boolean enviarPrediccion(long carreraId, String usuario, long primeroId, long segundoId, long terceroId) {
+        if (usuario == null || usuario.isBlank()) {
+            throw new IllegalArgumentException("El usuario es obligatorio");
+        }
+        if (usuario.length() > PrediccionPodio.LONGITUD_USUARIO) {
+            throw new IllegalArgumentException("El usuario no puede superar "
+                    + PrediccionPodio.LONGITUD_USUARIO + " caracteres");
+        }
+        if (primeroId <= 0 || segundoId <= 0 || terceroId <= 0
+                || primeroId == segundoId || primeroId == terceroId || segundoId == terceroId) {
+            throw new IllegalArgumentException("El podio debe tener tres pilotos distintos");
+        }
+        // La ingesta escribe más tarde y en lote: una clave foránea inválida no debe llegar a la base de datos
+        if (!EntidadesExistentes.existeCarrera(carreraId)) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+        for (long pilotoId : new long[]{primeroId, segundoId, terceroId}) {
+            if (!EntidadesExistentes.existePiloto(pilotoId)) {
+                throw new IllegalArgumentException("No existe el piloto con ID: " + pilotoId);
+            }
+        }
+
+        boolean registrada = ingesta.registrar(carreraId, usuario, primeroId, segundoId, terceroId);
+        if (!registrada) {
+            logger.warn("Predicción de {} para la carrera {} rechazada: buffer de ingesta lleno", usuario, carreraId);
+        }
+        return registrada;
+    }
+
+    /**
+     * @param carreraId ID de la carrera
+     * @param usuario Usuario
+     * @return Última predicción escrita del usuario para la carrera
+     */
+    public Optional<PrediccionPodio> obtenerPrediccion(Long carreraId, String usuario) {
+        return prediccionDAO.findByCarreraUsuario(carreraId, usuario);
+    }
+
+    /**
+     * Puntúa todas las predicciones de una carrera contra su podio actual, por tramos de ID.
+     * Es idempotente: volver a puntuar sin cambios no escribe nada.
+     *
+     * @param carreraId ID de la carrera
+     * @return Número de predicciones cuyos puntos cambiaron
+     */
+    public int puntuarCarrera(Long carreraId) {
+        long inicio = System.nanoTime();
+
+        long[] podio = new long[3];
+        for (Resultado r : resultadoDAO.findByCarrera(carreraId)) {
+            Integer posicion = r.getPosicionFinal();
+            if (!Boolean.TRUE.equals(r.getRetirado()) && posicion != null && posicion >= 1 && posicion <= 3) {
+                podio[posicion - 1] = r.getPiloto().getId();
+            }
+        }
+
+        TramoPredicciones tramo = new TramoPredicciones(TAMANO_TRAMO);
+        long leidas = 0;
+        int escritas = 0;
+        long ultimoId = 0;
+        while (prediccionDAO.leerTramo(carreraId, ultimoId, tramo) > 0) {
+            tramo.puntuar(podio);
+            escritas += prediccionDAO.actualizarPuntos(tramo);
+            leidas += tramo.getTamano();
+            ultimoId = tramo.getUltimoId();
+        }
+
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        logger.info("Predicciones de la carrera {} puntuadas: {} leídas, {} actualizadas ({} ms, {} por segundo)",
+                carreraId, leidas, escritas, ms, ms == 0 ? leidas : leidas * 1000 / ms);
+        return escritas;
+    }
+
+    /**
+     * @return Estadísticas de la ingesta de predicciones
+     */
+    public String getEstadisticasIngesta() {
+        return ingesta.getEstadisticas();
+    }
+}
@@ -0,0 +1,29 @@
+package co.com.service;
+
+import co.com.dto.EntradaRecord;
+import co.com.index.RecordsHistoricos;
+
+import java.util.List;
+
+/**
+ * Servicio de récords históricos de pilotos sobre todas las temporadas.
+ * Las tablas se sirven desde el índice en memoria {@link RecordsHistoricos}, sin consultar la base de datos.
+ */
+public class RecordsService {
+
+    public List<EntradaRecord> obtenerMasVictorias(int limite) {
+        return RecordsHistoricos.getInstancia().getMasVictorias(limite);
+    }
+
+    public List<EntradaRecord> obtenerMasPodios(int limite) {
+        return RecordsHistoricos.getInstancia().getMasPodios(limite);
+    }
+
+    public List<EntradaRecord> obtenerMasPuntosEnTemporada(int limite) {
+        return RecordsHistoricos.getInstancia().getMasPuntosEnTemporada(limite);
+    }
+
+    public List<EntradaRecord> obtenerMasVictoriasConsecutivas(int limite) {
+        return RecordsHistoricos.getInstancia().getMasVictoriasConsecutivas(limite);
+    }
+}
@@ -1,13 +1,25 @@
 package co.com.service;
 
+import co.com.cache.ArchivoTemporadas;
 import co.com.config.ConfiguracionTemporada;
 import co.com.constants.F1PointsSystem;
 import co.com.dao.CarreraDAO;
+import co.com.dao.ParrillaTemporadaDAO;
 import co.com.dao.PilotoDAO;
 import co.com.dao.ResultadoDAO;
+import co.com.dao.ResumenCarreraDAO;
+import co.com.dao.TrayectoriaPilotoDAO;
+import co.com.dto.Penalizacion;
+import co.com.event.CambioResultados;
+import co.com.event.EventosResultados;
+import co.com.event.FilaResultado;
+import co.com.index.IndiceEtapas;
 import co.com.model.Carrera;
+import co.com.model.Constructor;
 import co.com.model.Piloto;
 import co.com.model.Resultado;
+import co.com.timing.Reclasificacion;
+import co.com.timing.TiemposClasificacion;
 import co.com.util.JPAUtil;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
@@ -16,8 +28,12 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 public class ResultadoService {
     private static final Logger logger = LoggerFactory.getLogger(ResultadoService.class);
@@ -25,11 +41,21 @@ public class ResultadoService {
     private final ResultadoDAO resultadoDAO;
     private final CarreraDAO carreraDAO;
     private final PilotoDAO pilotoDAO;
+    private final ResumenCarreraDAO resumenCarreraDAO;
+    private final TrayectoriaPilotoDAO trayectoriaPilotoDAO;
+    private final ParrillaTemporadaDAO parrillaTemporadaDAO;
+    private final SprintService sprintService;
+    private final SesionService sesionService;
 
     public ResultadoService() {
         this.resultadoDAO = new ResultadoDAO();
         this.carreraDAO = new CarreraDAO();
         this.pilotoDAO = new PilotoDAO();
+        this.resumenCarreraDAO = new ResumenCarreraDAO();
+        this.trayectoriaPilotoDAO = new TrayectoriaPilotoDAO();
+        this.parrillaTemporadaDAO = new ParrillaTemporadaDAO();
+        this.sprintService = new SprintService();
+        this.sesionService = new SesionService();
     }
 
     /**
@@ -38,6 +64,8 @@ public class ResultadoService {
     public static class ResultadoDTO {
         private Long pilotoId;
         private Integer posicionFinal;
+        // Si es null se toma de la clasificación guardada
+        private Integer posicionSalida;
         private Integer vueltas;
         private String tiempo;
         private Boolean retirado;
@@ -61,6 +89,9 @@ public class ResultadoService {
         public Integer getPosicionFinal() { return posicionFinal; }
         public void setPosicionFinal(Integer posicionFinal) { this.posicionFinal = posicionFinal; }
 
+        public Integer getPosicionSalida() { return posicionSalida; }
+        public void setPosicionSalida(Integer posicionSalida) { this.posicionSalida = posicionSalida; }
+
         public Integer getVueltas() { return vueltas; }
         public void setVueltas(Integer vueltas) { this.vueltas = vueltas; }
 
@@ -92,94 +123,396 @@ public class ResultadoService {
         try {
             em.getTransaction().begin();
 
-            // Obtener la carrera
-            Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
-            if (carreraOpt.isEmpty()) {
-                throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            CambioResultados cambio = ingresarResultados(em, carrera, resultados);
+
+            em.getTransaction().commit();
+            logger.info("Se ingresaron {} resultados para la carrera {}",
+                    cambio.getNuevos().size(), carrera.getNombreGp());
+
+            EventosResultados.publicar(cambio);
+
+            return cambio.getNuevos().size();
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
             }
+            logger.error("Error al ingresar resultados de carrera", e);
+            throw new RuntimeException("Error al ingresar resultados: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Ingresa en una sola transacción los resultados del sprint y de la carrera de un fin de semana.
+     * Si falla cualquiera de las dos partes no se guarda ninguna.
+     *
+     * @param carreraId ID de la carrera
+     * @param resultadosCarrera Resultados de la carrera
+     * @param resultadosSprint Resultados del sprint
+     * @return Número total de resultados ingresados
+     */
+    public int ingresarResultadosFinDeSemana(Long carreraId, List<ResultadoDTO> resultadosCarrera,
+                                             List<ResultadoDTO> resultadosSprint) {
+        logger.info("Ingresando resultados de sprint y carrera para carrera ID: {}", carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
 
-            Carrera carrera = carreraOpt.get();
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            CambioResultados cambioSprint = sprintService.ingresarResultados(em, carrera, resultadosSprint);
+            CambioResultados cambioCarrera = ingresarResultados(em, carrera, resultadosCarrera);
 
-            // Validar fecha de congelación
-            if (!ConfiguracionTemporada.permiteIngresoManual(carrera.getFecha())) {
-                throw new IllegalStateException(
-                        "Esta carrera (" + carrera.getFecha() + ") es anterior a la fecha de congelación. " +
-                                "No se permite ingreso manual de resultados."
-                );
+            em.getTransaction().commit();
+            logger.info("Se ingresaron {} resultados de sprint y {} de carrera para {}",
+                    cambioSprint.getNuevos().size(), cambioCarrera.getNuevos().size(), carrera.getNombreGp());
+
+            EventosResultados.publicar(cambioSprint);
+            EventosResultados.publicar(cambioCarrera);
+
+            return cambioSprint.getNuevos().size() + cambioCarrera.getNuevos().size();
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
             }
+            logger.error("Error al ingresar resultados del fin de semana", e);
+            throw new RuntimeException("Error al ingresar resultados: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
 
-            // Verificar si ya tiene resultados y eliminarlos
-            List<Resultado> resultadosExistentes = resultadoDAO.findByCarrera(carreraId);
-            if (!resultadosExistentes.isEmpty()) {
-                logger.warn("La carrera {} ya tiene {} resultados. Serán eliminados y reemplazados.",
-                        carreraId, resultadosExistentes.size());
+    /**
+     * Agrega o corrige el resultado de un piloto en una carrera.
+     * Reescribe la clasificación completa por el mismo camino que el ingreso de la carrera,
+     * así que tiempos, constructor atribuido, resumen de la carrera, trayectorias, cifras de
+     * parrilla y observadores quedan igual que si se hubiera ingresado de una vez.
+     *
+     * @param carreraId ID de la carrera
+     * @param resultado Resultado del piloto; reemplaza al que tuviera en la carrera
+     * @return Número de resultados de la carrera tras el cambio
+     */
+    public int agregarResultado(Long carreraId, ResultadoDTO resultado) {
+        logger.info("Agregando resultado del piloto {} en carrera ID: {}", resultado.getPilotoId(), carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
 
-                // Eliminar usando merge para asegurar que están gestionados
-                for (Resultado r : resultadosExistentes) {
-                    Resultado managed = em.merge(r);
-                    em.remove(managed);
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            List<ResultadoDTO> resultados = new ArrayList<>();
+            for (Resultado r : resultadoDAO.findByCarrera(carreraId)) {
+                if (!Objects.equals(r.getPiloto().getId(), resultado.getPilotoId())) {
+                    resultados.add(aDTO(r));
                 }
-                em.flush(); // Asegurar que se eliminan antes de insertar nuevos
             }
+            resultados.add(resultado);
+            CambioResultados cambio = ingresarResultados(em, carrera, resultados);
 
-            int resultadosIngresados = 0;
+            em.getTransaction().commit();
+            EventosResultados.publicar(cambio);
 
-            // Ingresar nuevos resultados
-            for (ResultadoDTO dto : resultados) {
-                // Validar piloto
-                Optional<Piloto> pilotoOpt = pilotoDAO.findById(dto.getPilotoId());
-                if (pilotoOpt.isEmpty()) {
-                    logger.warn("Piloto con ID {} no existe, se omite", dto.getPilotoId());
-                    continue;
-                }
+            return cambio.getNuevos().size();
 
-                Piloto piloto = pilotoOpt.get();
-
-                // Crear resultado
-                Resultado resultado = new Resultado();
-                resultado.setCarrera(carrera);
-                resultado.setPiloto(piloto);
-                resultado.setPosicionFinal(dto.getPosicionFinal());
-                resultado.setVueltas(dto.getVueltas());
-                resultado.setTiempo(dto.getTiempo());
-                resultado.setRetirado(dto.getRetirado() != null ? dto.getRetirado() : false);
-                resultado.setMotivoRetiro(dto.getMotivoRetiro());
-
-                // Calcular puntos automáticamente
-                BigDecimal puntos;
-                if (resultado.getRetirado()) {
-                    puntos = BigDecimal.ZERO;
-                } else {
-                    boolean tieneVuelaRapida = dto.getVuelaRapida() != null && dto.getVuelaRapida();
-                    puntos = F1PointsSystem.calculatePoints(dto.getPosicionFinal(), tieneVuelaRapida);
-                }
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al agregar resultado", e);
+            throw new RuntimeException("Error al agregar resultado: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    private static ResultadoDTO aDTO(Resultado r) {
+        ResultadoDTO dto = new ResultadoDTO(r.getPiloto().getId(), r.getPosicionFinal());
+        dto.setPosicionSalida(r.getPosicionSalida());
+        dto.setVueltas(r.getVueltas());
+        dto.setTiempo(r.getTiempo());
+        dto.setRetirado(r.getRetirado());
+        dto.setMotivoRetiro(r.getMotivoRetiro());
+        dto.setVuelaRapida(r.getVueltaRapida());
+        return dto;
+    }
+
+    /**
+     * Reemplaza los resultados de una carrera dentro de una transacción existente
+     * y mantiene los modelos de lectura materializados.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carrera Carrera editable con su temporada cargada
+     * @param resultados Resultados de los pilotos
+     * @return Cambio a publicar cuando se confirme la transacción
+     */
+    CambioResultados ingresarResultados(EntityManager em, Carrera carrera, List<ResultadoDTO> resultados) {
+        Long carreraId = carrera.getId();
+
+        // Verificar si ya tiene resultados y eliminarlos
+        List<Resultado> resultadosExistentes = resultadoDAO.findByCarrera(carreraId);
+        if (!resultadosExistentes.isEmpty()) {
+            logger.warn("La carrera {} ya tiene {} resultados. Serán eliminados y reemplazados.",
+                    carreraId, resultadosExistentes.size());
+
+            // Eliminar usando merge para asegurar que están gestionados
+            for (Resultado r : resultadosExistentes) {
+                Resultado managed = em.merge(r);
+                em.remove(managed);
+            }
+            em.flush(); // Asegurar que se eliminan antes de insertar nuevos
+        }
+
+        Map<Long, Piloto> pilotos = cargarPilotos(resultados);
+        Map<Long, Integer> parrilla = sesionService.obtenerParrilla(carreraId, false);
+        List<Resultado> nuevos = new ArrayList<>();
+
+        // Ingresar nuevos resultados
+        for (ResultadoDTO dto : resultados) {
+            // Validar piloto
+            Piloto piloto = pilotos.get(dto.getPilotoId());
+            if (piloto == null) {
+                logger.warn("Piloto con ID {} no existe, se omite", dto.getPilotoId());
+                continue;
+            }
+
+            // Crear resultado
+            Resultado resultado = new Resultado();
+            resultado.setCarrera(carrera);
+            resultado.setPiloto(piloto);
+            resultado.setConstructor(constructorEnFecha(em, piloto, carrera.getFecha()));
+            resultado.setPosicionFinal(dto.getPosicionFinal());
+            resultado.setPosicionSalida(dto.getPosicionSalida() != null
+                    ? dto.getPosicionSalida()
+                    : parrilla.get(piloto.getId()));
+            resultado.setVueltas(dto.getVueltas());
+            resultado.setTiempo(dto.getTiempo());
+            resultado.setRetirado(dto.getRetirado() != null ? dto.getRetirado() : false);
+            resultado.setMotivoRetiro(dto.getMotivoRetiro());
+
+            boolean tieneVuelaRapida = dto.getVuelaRapida() != null && dto.getVuelaRapida();
+            resultado.setVueltaRapida(tieneVuelaRapida);
+
+            // Calcular puntos automáticamente
+            BigDecimal puntos;
+            if (resultado.getRetirado()) {
+                puntos = BigDecimal.ZERO;
+            } else {
+                puntos = F1PointsSystem.calculatePoints(dto.getPosicionFinal(), tieneVuelaRapida);
+            }
+
+            resultado.setPuntosObtenidos(puntos);
+            nuevos.add(resultado);
+
+            logger.debug("Resultado ingresado: {} - Posición {} - {} puntos",
+                    piloto.getNombre(), dto.getPosicionFinal(), puntos);
+        }
+
+        // Las columnas numéricas de tiempo dependen del ganador, así que se asignan con todos los resultados
+        TiemposClasificacion.asignar(nuevos);
+        for (Resultado resultado : nuevos) {
+            em.persist(resultado);
+        }
+
+        // Mantener los modelos de lectura materializados
+        resumenCarreraDAO.actualizar(em, carreraId, nuevos);
+        trayectoriaPilotoDAO.aplicar(em, resultadosExistentes, nuevos);
+        parrillaTemporadaDAO.aplicarResultados(em, carrera.getTemporada().getAnio(), resultadosExistentes, nuevos);
+
+        return crearCambio(carrera, resultadosExistentes, nuevos);
+    }
 
-                resultado.setPuntosObtenidos(puntos);
+    /**
+     * Aplica sanciones posteriores a la carrera sobre la clasificación guardada.
+     * Posiciones y puntos se recalculan en memoria y solo se reescriben las filas que cambian;
+     * trayectorias, cifras de parrilla y observadores reciben únicamente esas filas.
+     *
+     * @param carreraId ID de la carrera
+     * @param penalizaciones Sanciones de los comisarios
+     * @return Número de resultados modificados
+     */
+    public int reclasificarCarrera(Long carreraId, List<Penalizacion> penalizaciones) {
+        logger.info("Aplicando {} penalizaciones a la carrera ID: {}", penalizaciones.size(), carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
 
-                em.persist(resultado);
-                resultadosIngresados++;
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            List<Resultado> resultados = resultadoDAO.findByCarrera(carreraId);
+            if (resultados.isEmpty()) {
+                throw new IllegalStateException("La carrera " + carreraId + " no tiene resultados que reclasificar");
+            }
 
-                logger.debug("Resultado ingresado: {} - Posición {} - {} puntos",
-                        piloto.getNombre(), dto.getPosicionFinal(), puntos);
+            List<Resultado> copias = new ArrayList<>(resultados.size());
+            for (Resultado r : resultados) {
+                copias.add(copiar(r));
             }
+            Reclasificacion.aplicar(resultados, penalizaciones);
+
+            List<Resultado> anteriores = new ArrayList<>();
+            List<Resultado> cambiados = new ArrayList<>();
+            for (int i = 0; i < resultados.size(); i++) {
+                if (cambio(copias.get(i), resultados.get(i))) {
+                    anteriores.add(copias.get(i));
+                    cambiados.add(resultados.get(i));
+                }
+            }
+
+            resultadoDAO.actualizarClasificacion(em, cambiados);
+            resumenCarreraDAO.actualizar(em, carreraId, resultados);
+            trayectoriaPilotoDAO.aplicar(em, anteriores, cambiados);
+            parrillaTemporadaDAO.aplicarResultados(em, carrera.getTemporada().getAnio(), anteriores, cambiados);
 
             em.getTransaction().commit();
-            logger.info("Se ingresaron {} resultados para la carrera {}",
-                    resultadosIngresados, carrera.getNombreGp());
+            logger.info("Reclasificación de {}: {} resultados modificados", carrera.getNombreGp(), cambiados.size());
 
-            return resultadosIngresados;
+            if (!cambiados.isEmpty()) {
+                EventosResultados.publicar(crearCambio(carrera, anteriores, cambiados));
+            }
+            return cambiados.size();
 
         } catch (Exception e) {
             if (em.getTransaction().isActive()) {
                 em.getTransaction().rollback();
             }
-            logger.error("Error al ingresar resultados de carrera", e);
-            throw new RuntimeException("Error al ingresar resultados: " + e.getMessage(), e);
+            logger.error("Error al reclasificar carrera", e);
+            throw new RuntimeException("Error al reclasificar carrera: " + e.getMessage(), e);
         } finally {
             JPAUtil.close(em);
         }
     }
 
+    private static Resultado copiar(Resultado r) {
+        Resultado copia = new Resultado(r.getPosicionFinal(), r.getPuntosObtenidos());
+        copia.setId(r.getId());
+        copia.setCarrera(r.getCarrera());
+        copia.setPiloto(r.getPiloto());
+        copia.setConstructor(r.getConstructor());
+        copia.setPosicionSalida(r.getPosicionSalida());
+        copia.setVueltas(r.getVueltas());
+        copia.setTiempo(r.getTiempo());
+        copia.setTiempoMs(r.getTiempoMs());
+        copia.setDiferenciaMs(r.getDiferenciaMs());
+        copia.setVueltasPerdidas(r.getVueltasPerdidas());
+        copia.setRetirado(r.getRetirado());
+        copia.setMotivoRetiro(r.getMotivoRetiro());
+        copia.setVueltaRapida(r.getVueltaRapida());
+        return copia;
+    }
+
+    private static boolean cambio(Resultado antes, Resultado despues) {
+        return !Objects.equals(antes.getPosicionFinal(), despues.getPosicionFinal())
+                || !Objects.equals(antes.getPuntosObtenidos() != null ? antes.getPuntosObtenidos().stripTrailingZeros() : null,
+                        despues.getPuntosObtenidos() != null ? despues.getPuntosObtenidos().stripTrailingZeros() : null)
+                || !Objects.equals(antes.getTiempo(), despues.getTiempo())
+                || !Objects.equals(antes.getTiempoMs(), despues.getTiempoMs())
+                || !Objects.equals(antes.getDiferenciaMs(), despues.getDiferenciaMs())
+                || !Objects.equals(antes.getRetirado(), despues.getRetirado())
+                || !Objects.equals(antes.getVueltaRapida(), despues.getVueltaRapida());
+    }
+
+    /**
+     * Obtiene la carrera y verifica que admita ingreso manual de resultados.
+     *
+     * @param carreraId ID de la carrera
+     * @return Carrera con temporada y circuito cargados
+     */
+    private Carrera cargarCarreraEditable(Long carreraId) {
+        Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
+        if (carreraOpt.isEmpty()) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+
+        Carrera carrera = carreraOpt.get();
+
+        // Validar fecha de congelación
+        if (!ConfiguracionTemporada.permiteIngresoManual(carrera.getFecha())) {
+            throw new IllegalStateException(
+                    "Esta carrera (" + carrera.getFecha() + ") es anterior a la fecha de congelación. " +
+                            "No se permite ingreso manual de resultados."
+            );
+        }
+        return carrera;
+    }
+
+    /**
+     * Carga en una sola consulta los pilotos referenciados por los resultados.
+     *
+     * @param resultados Resultados a ingresar
+     * @return Pilotos por ID
+     */
+    private Map<Long, Piloto> cargarPilotos(List<ResultadoDTO> resultados) {
+        Set<Long> ids = new HashSet<>();
+        for (ResultadoDTO dto : resultados) {
+            if (dto.getPilotoId() != null) {
+                ids.add(dto.getPilotoId());
+            }
+        }
+        return pilotoDAO.findByIds(ids);
+    }
+
+    /**
+     * Asigna constructor a los resultados históricos que aún no lo tienen.
+     * Los resultados nuevos ya lo guardan al ingresarse, así que tras la primera ejecución
+     * solo hay trabajo si se cargan datos externos.
+     *
+     * @return Número de resultados actualizados
+     */
+    public int completarConstructoresPendientes() {
+        int actualizados = resultadoDAO.asignarConstructoresPendientes();
+        if (actualizados > 0) {
+            // Los resultados completados pueden ser de temporadas congeladas ya selladas
+            ArchivoTemporadas.invalidarTodo();
+        }
+        return actualizados;
+    }
+
+    /**
+     * Interpreta el tiempo en texto de los resultados históricos que aún no tienen
+     * columnas numéricas de tiempo.
+     *
+     * @return Número de resultados escritos, incluidos los marcados como no interpretables
+     */
+    public int completarTiemposPendientes() {
+        int actualizados = resultadoDAO.asignarTiemposPendientes();
+        if (actualizados > 0) {
+            ArchivoTemporadas.invalidarTodo();
+        }
+        return actualizados;
+    }
+
+    /**
+     * Reconstruye los resúmenes de carrera si no cuadran con los resultados guardados.
+     * El calendario los lee sin volver a la tabla de resultados, así que las carreras
+     * históricas sin resumen aparecerían sin podio.
+     * Pensado para el arranque, antes de aceptar ingresos de resultados.
+     *
+     * @return Número de filas reconstruidas, 0 si ya estaban al día
+     */
+    public int reconstruirResumenesSiDesincronizados() {
+        if (resumenCarreraDAO.estaSincronizado()) {
+            logger.debug("Los resúmenes de carrera cuadran con los resultados");
+            return 0;
+        }
+        logger.warn("Los resúmenes de carrera no cuadran con los resultados; se reconstruyen");
+        return resumenCarreraDAO.reconstruirTodos();
+    }
+
+    /**
+     * Obtiene la clasificación de una carrera ordenada por tiempo:
+     * vueltas perdidas y diferencia con el ganador.
+     *
+     * @param carreraId ID de la carrera
+     * @return Resultados clasificados con tiempo interpretable
+     */
+    public List<Resultado> obtenerResultadosPorTiempo(Long carreraId) {
+        return resultadoDAO.findByCarreraOrdenTiempo(carreraId);
+    }
+
     /**
      * Obtiene los resultados de una carrera.
      *
@@ -240,7 +573,8 @@ public class ResultadoService {
             em.getTransaction().begin();
 
             // Verificar permiso
-            if (!permiteIngresoManual(carreraId)) {
+            Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
+            if (carreraOpt.isEmpty() || !ConfiguracionTemporada.permiteIngresoManual(carreraOpt.get().getFecha())) {
                 throw new IllegalStateException(
                         "No se pueden eliminar resultados de carreras anteriores a la fecha de congelación"
                 );
@@ -263,9 +597,15 @@ public class ResultadoService {
             //     .setParameter("carreraId", carreraId)
             //     .executeUpdate();
 
+            resumenCarreraDAO.eliminar(em, carreraId);
+            trayectoriaPilotoDAO.aplicar(em, resultados, List.of());
+            parrillaTemporadaDAO.aplicarResultados(em, carreraOpt.get().getTemporada().getAnio(), resultados, List.of());
+
             em.getTransaction().commit();
             logger.info("Se eliminaron {} resultados", eliminados);
 
+            EventosResultados.publicar(crearCambio(carreraOpt.get(), resultados, List.of()));
+
             return eliminados;
 
         } catch (Exception e) {
@@ -278,4 +618,39 @@ public class ResultadoService {
             JPAUtil.close(em);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructor al que se atribuye un resultado según las etapas del piloto.
+     *
+     * @param em EntityManager de la transacción en curso
+     * @param piloto Piloto del resultado
+     * @param fecha Fecha de la carrera
+     * @return Referencia al constructor atribuido, o null si el piloto no tiene
+     */
+    private Constructor constructorEnFecha(EntityManager em, Piloto piloto, LocalDate fecha) {
+        Long constructorId = IndiceEtapas.getInstancia().getConstructorAtribuido(piloto, fecha);
+        return constructorId != null ? em.getReference(Constructor.class, constructorId) : null;
+    }
+
+    /**
+     * Crea el cambio que se notificará a los modelos de lectura en memoria tras confirmar.
+     *
+     * @param carrera Carrera afectada (con temporada cargada)
+     * @param anteriores Resultados que dejaron de existir
+     * @param nuevos Resultados escritos
+     * @return Cambio con copias inmutables de los resultados
+     */
+    private CambioResultados crearCambio(Carrera carrera, List<Resultado> anteriores, List<Resultado> nuevos) {
+        List<FilaResultado> filasAnteriores = new ArrayList<>(anteriores.size());
+        for (Resultado r : anteriores) {
+            filasAnteriores.add(FilaResultado.de(r, carrera));
+        }
+        List<FilaResultado> filasNuevas = new ArrayList<>(nuevos.size());
+        for (Resultado r : nuevos) {
+            filasNuevas.add(FilaResultado.de(r, carrera));
+        }
+
+        return new CambioResultados(
+                carrera.getId(), carrera.getTemporada().getAnio(), carrera.getFecha(), filasAnteriores, filasNuevas);
+    }
+}
@@ -0,0 +1,305 @@
+package co.com.service;
+
+import co.com.config.ConfiguracionTemporada;
+import co.com.dao.ParrillaTemporadaDAO;
+import co.com.dao.PilotoDAO;
+import co.com.dao.ResultadoSesionDAO;
+import co.com.index.IndiceEtapas;
+import co.com.model.Carrera;
+import co.com.model.Constructor;
+import co.com.model.ParrillaTemporada;
+import co.com.model.Piloto;
+import co.com.model.ResultadoSesion;
+import co.com.model.TipoSesion;
+import co.com.timing.TiempoCarrera;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Servicio de entrenamientos libres y clasificación.
+ * Cada sesión se reemplaza completa y se inserta por lotes JDBC, como el sprint.
+ * Al escribir una etapa de clasificación se recalcula la pole y se mantienen
+ * las cifras de parrilla de la temporada en la misma transacción.
+ */
+public class SesionService {
+    private static final Logger logger = LoggerFactory.getLogger(SesionService.class);
+
+    private static final List<TipoSesion> CLASIFICACION = List.of(TipoSesion.Q1, TipoSesion.Q2, TipoSesion.Q3);
+    private static final List<TipoSesion> SHOOTOUT = List.of(TipoSesion.SQ1, TipoSesion.SQ2, TipoSesion.SQ3);
+
+    private final ResultadoSesionDAO resultadoSesionDAO;
+    private final ParrillaTemporadaDAO parrillaTemporadaDAO;
+    private final PilotoDAO pilotoDAO;
+
+    public SesionService() {
+        this.resultadoSesionDAO = new ResultadoSesionDAO();
+        this.parrillaTemporadaDAO = new ParrillaTemporadaDAO();
+        this.pilotoDAO = new PilotoDAO();
+    }
+
+    /**
+     * DTO para ingresar el resultado de un piloto en una sesión.
+     */
+    public static class ResultadoSesionDTO {
+        private Long pilotoId;
+        private Integer posicion;
+        private String mejorVuelta;
+        private Integer vueltas;
+
+        // Constructor, getters y setters
+        public ResultadoSesionDTO() {}
+
+        public ResultadoSesionDTO(Long pilotoId, Integer posicion, String mejorVuelta) {
+            this.pilotoId = pilotoId;
+            this.posicion = posicion;
+            this.mejorVuelta = mejorVuelta;
+        }
+
+        // Getters y Setters
+        public Long getPilotoId() { return pilotoId; }
+        public void setPilotoId(Long pilotoId) { this.pilotoId = pilotoId; }
+
+        public Integer getPosicion() { return posicion; }
+        public void setPosicion(Integer posicion) { this.posicion = posicion; }
+
+        public String getMejorVuelta() { return mejorVuelta; }
+        public void setMejorVuelta(String mejorVuelta) { this.mejorVuelta = mejorVuelta; }
+
+        public Integer getVueltas() { return vueltas; }
+        public void setVueltas(Integer vueltas) { this.vueltas = vueltas; }
+    }
+
+    /**
+     * Ingresa los resultados de una sesión, reemplazando los que hubiera.
+     *
+     * @param carreraId ID de la carrera del fin de semana
+     * @param tipo Sesión
+     * @param resultados Resultados de los pilotos; la mejor vuelta en formato "1:23.456"
+     * @return Número de resultados ingresados
+     */
+    public int ingresarResultadosSesion(Long carreraId, TipoSesion tipo, List<ResultadoSesionDTO> resultados) {
+        logger.info("Ingresando resultados de {} para carrera ID: {}", tipo, carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            // El bloqueo de la carrera ordena las escrituras de sus sesiones: la pole anterior
+            // se lee después, con la misma transacción, y no puede moverse dos veces
+            Carrera carrera = cargarCarreraEditable(em, carreraId);
+
+            List<ResultadoSesion> clasificacion = List.of();
+            Long poleAnterior = null;
+            if (tipo.isClasificacion()) {
+                clasificacion = resultadoSesionDAO.findByCarreraTipos(em, carreraId, etapas(tipo.isSprint()));
+                List<Long> orden = clasificacionFinal(clasificacion);
+                poleAnterior = orden.isEmpty() ? null : orden.get(0);
+            }
+
+            int eliminados = resultadoSesionDAO.deleteByCarreraTipo(em, carreraId, tipo);
+            if (eliminados > 0) {
+                logger.warn("La sesión {} de la carrera {} ya tenía {} resultados. Se reemplazan.",
+                        tipo, carreraId, eliminados);
+            }
+
+            List<ResultadoSesion> nuevos = crearResultados(em, carrera, tipo, resultados);
+            resultadoSesionDAO.insertBatch(em, nuevos);
+
+            if (tipo.isClasificacion()) {
+                List<ResultadoSesion> actual = new ArrayList<>(nuevos);
+                for (ResultadoSesion rs : clasificacion) {
+                    if (rs.getTipo() != tipo) {
+                        actual.add(rs);
+                    }
+                }
+                List<Long> orden = clasificacionFinal(actual);
+                Long poleNueva = orden.isEmpty() ? null : orden.get(0);
+                if (!Objects.equals(poleAnterior, poleNueva)) {
+                    parrillaTemporadaDAO.cambiarPole(em, carrera.getTemporada().getAnio(),
+                            poleAnterior, poleNueva, tipo.isSprint());
+                }
+            }
+
+            em.getTransaction().commit();
+            logger.info("Se ingresaron {} resultados de {} para la carrera {}",
+                    nuevos.size(), tipo, carrera.getNombreGp());
+            return nuevos.size();
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al ingresar resultados de sesión", e);
+            throw new RuntimeException("Error al ingresar resultados de sesión: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    private List<ResultadoSesion> crearResultados(EntityManager em, Carrera carrera, TipoSesion tipo,
+                                                  List<ResultadoSesionDTO> resultados) {
+        Set<Long> ids = new HashSet<>();
+        for (ResultadoSesionDTO dto : resultados) {
+            if (dto.getPilotoId() != null) {
+                ids.add(dto.getPilotoId());
+            }
+        }
+        Map<Long, Piloto> pilotos = pilotoDAO.findByIds(ids);
+
+        List<ResultadoSesion> nuevos = new ArrayList<>(resultados.size());
+        for (ResultadoSesionDTO dto : resultados) {
+            Piloto piloto = pilotos.get(dto.getPilotoId());
+            if (piloto == null) {
+                logger.warn("Piloto con ID {} no existe, se omite", dto.getPilotoId());
+                continue;
+            }
+
+            ResultadoSesion resultado = new ResultadoSesion();
+            resultado.setCarrera(carrera);
+            resultado.setTipo(tipo);
+            resultado.setPiloto(piloto);
+            Long constructorId = IndiceEtapas.getInstancia().getConstructorAtribuido(piloto, carrera.getFecha());
+            resultado.setConstructor(constructorId != null ? em.getReference(Constructor.class, constructorId) : null);
+            resultado.setPosicion(dto.getPosicion());
+            resultado.setVueltas(dto.getVueltas());
+
+            long codigo = TiempoCarrera.parsear(dto.getMejorVuelta());
+            if (TiempoCarrera.tipo(codigo) == TiempoCarrera.TIPO_ABSOLUTO) {
+                resultado.setMejorVueltaMs((int) TiempoCarrera.valor(codigo));
+            } else if (dto.getMejorVuelta() != null && !dto.getMejorVuelta().isBlank()) {
+                logger.warn("Mejor vuelta '{}' del piloto {} no reconocida, se deja vacía",
+                        dto.getMejorVuelta(), piloto.getId());
+            }
+            nuevos.add(resultado);
+        }
+        return nuevos;
+    }
+
+    /**
+     * Obtiene los resultados de una sesión.
+     *
+     * @param carreraId ID de la carrera
+     * @param tipo Sesión
+     * @return Resultados ordenados por posición
+     */
+    public List<ResultadoSesion> obtenerResultadosSesion(Long carreraId, TipoSesion tipo) {
+        return resultadoSesionDAO.findByCarreraTipo(carreraId, tipo);
+    }
+
+    /**
+     * Puesto de salida de cada piloto según la clasificación (o el shootout) guardada,
+     * sin penalizaciones de parrilla.
+     *
+     * @param carreraId ID de la carrera
+     * @param sprint true para la parrilla del sprint
+     * @return Puesto desde 1 por ID de piloto, vacío si no hay clasificación
+     */
+    public Map<Long, Integer> obtenerParrilla(Long carreraId, boolean sprint) {
+        List<Long> orden = clasificacionFinal(resultadoSesionDAO.findByCarreraTipos(carreraId, etapas(sprint)));
+        Map<Long, Integer> parrilla = new LinkedHashMap<>();
+        for (int i = 0; i < orden.size(); i++) {
+            parrilla.put(orden.get(i), i + 1);
+        }
+        return parrilla;
+    }
+
+    /**
+     * @param anio Año de la temporada
+     * @param limite Número de pilotos
+     * @return Pilotos con más poles de la temporada
+     */
+    public List<ParrillaTemporada> obtenerLideresPoles(int anio, int limite) {
+        return parrillaTemporadaDAO.findLideresPoles(anio, limite);
+    }
+
+    /**
+     * @param anio Año de la temporada
+     * @param limite Número de pilotos
+     * @return Pilotos que más puestos ganaron de la salida a la meta en la temporada
+     */
+    public List<ParrillaTemporada> obtenerLideresPosicionesGanadas(int anio, int limite) {
+        return parrillaTemporadaDAO.findLideresPosicionesGanadas(anio, limite);
+    }
+
+    /**
+     * Recalcula las cifras de parrilla de todas las temporadas desde las clasificaciones
+     * y los resultados guardados.
+     *
+     * @return Número de filas insertadas o actualizadas
+     */
+    public int reconstruirCifrasParrilla() {
+        return parrillaTemporadaDAO.reconstruirTodas();
+    }
+
+    /**
+     * Reconstruye las cifras de parrilla si no cuadran con las clasificaciones y los resultados
+     * guardados: la tabla se mantiene por diferencias, y descontar resultados que nunca se sumaron
+     * dejaría carreras comparadas o posiciones ganadas negativas.
+     * Pensado para el arranque, antes de aceptar ingresos de resultados.
+     *
+     * @return Número de filas reconstruidas, 0 si ya estaban al día
+     */
+    public int reconstruirCifrasParrillaSiDesincronizadas() {
+        if (parrillaTemporadaDAO.estaSincronizada()) {
+            logger.debug("Las cifras de parrilla cuadran con los resultados");
+            return 0;
+        }
+        logger.warn("Las cifras de parrilla no cuadran con los resultados; se reconstruyen");
+        return reconstruirCifrasParrilla();
+    }
+
+    private static List<TipoSesion> etapas(boolean sprint) {
+        return sprint ? SHOOTOUT : CLASIFICACION;
+    }
+
+    /**
+     * Orden final de una clasificación por etapas: primero los pilotos de la última etapa
+     * disputada por su posición en ella, después los eliminados en cada etapa anterior.
+     *
+     * @param etapas Resultados de las etapas de una misma clasificación
+     * @return IDs de piloto en orden de parrilla
+     */
+    static List<Long> clasificacionFinal(List<ResultadoSesion> etapas) {
+        List<ResultadoSesion> ordenados = new ArrayList<>(etapas);
+        ordenados.sort(Comparator
+                .comparingInt((ResultadoSesion rs) -> -rs.getTipo().getEtapa())
+                .thenComparing(ResultadoSesion::getPosicion, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Set<Long> vistos = new HashSet<>();
+        List<Long> orden = new ArrayList<>(ordenados.size());
+        for (ResultadoSesion rs : ordenados) {
+            Long pilotoId = rs.getPiloto().getId();
+            if (vistos.add(pilotoId)) {
+                orden.add(pilotoId);
+            }
+        }
+        return orden;
+    }
+
+    private Carrera cargarCarreraEditable(EntityManager em, Long carreraId) {
+        Carrera carrera = em.find(Carrera.class, carreraId, LockModeType.PESSIMISTIC_WRITE);
+        if (carrera == null) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+
+        if (!ConfiguracionTemporada.permiteIngresoManual(carrera.getFecha())) {
+            throw new IllegalStateException(
+                    "Esta carrera (" + carrera.getFecha() + ") es anterior a la fecha de congelación. " +
+                            "No se permite ingreso manual de resultados de sesión."
+            );
+        }
+        return carrera;
+    }
+}
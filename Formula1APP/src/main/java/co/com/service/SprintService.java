@@ -0,0 +1,230 @@
+package co.com.service;
+
+import co.com.config.ConfiguracionTemporada;
+import co.com.constants.F1PointsSystem;
+import co.com.dao.CarreraDAO;
+import co.com.dao.PilotoDAO;
+import co.com.dao.ResultadoSprintDAO;
+import co.com.dao.TrayectoriaPilotoDAO;
+import co.com.event.CambioResultados;
+import co.com.event.EventosResultados;
+import co.com.event.FilaResultado;
+import co.com.index.IndiceEtapas;
+import co.com.model.Carrera;
+import co.com.model.Constructor;
+import co.com.model.Piloto;
+import co.com.model.ResultadoSprint;
+import co.com.service.ResultadoService.ResultadoDTO;
+import co.com.timing.TiemposClasificacion;
+import co.com.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Servicio de resultados de sprint.
+ * Sigue las mismas reglas que {@link ResultadoService}: solo carreras posteriores a la congelación,
+ * reemplazo completo de los resultados anteriores y puntos calculados automáticamente.
+ * Los resultados se insertan por lotes JDBC dentro de la transacción JPA.
+ */
+public class SprintService {
+    private static final Logger logger = LoggerFactory.getLogger(SprintService.class);
+
+    private final ResultadoSprintDAO resultadoSprintDAO;
+    private final TrayectoriaPilotoDAO trayectoriaPilotoDAO;
+    private final CarreraDAO carreraDAO;
+    private final PilotoDAO pilotoDAO;
+    private final SesionService sesionService;
+
+    public SprintService() {
+        this.resultadoSprintDAO = new ResultadoSprintDAO();
+        this.trayectoriaPilotoDAO = new TrayectoriaPilotoDAO();
+        this.carreraDAO = new CarreraDAO();
+        this.pilotoDAO = new PilotoDAO();
+        this.sesionService = new SesionService();
+    }
+
+    /**
+     * Ingresa los resultados del sprint de una carrera, reemplazando los que hubiera.
+     *
+     * @param carreraId ID de la carrera
+     * @param resultados Resultados de los pilotos (la vuelta rápida no puntúa en el sprint)
+     * @return Número de resultados ingresados
+     */
+    public int ingresarResultadosSprint(Long carreraId, List<ResultadoDTO> resultados) {
+        logger.info("Ingresando resultados de sprint para carrera ID: {}", carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            CambioResultados cambio = ingresarResultados(em, carrera, resultados);
+
+            em.getTransaction().commit();
+            logger.info("Se ingresaron {} resultados de sprint para la carrera {}",
+                    cambio.getNuevos().size(), carrera.getNombreGp());
+
+            EventosResultados.publicar(cambio);
+
+            return cambio.getNuevos().size();
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al ingresar resultados de sprint", e);
+            throw new RuntimeException("Error al ingresar resultados de sprint: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    /**
+     * Reemplaza los resultados del sprint de una carrera dentro de una transacción existente.
+     * Los anteriores se borran con una sola sentencia y los nuevos se insertan por lotes.
+     *
+     * @param em EntityManager existente (debe estar en transacción)
+     * @param carrera Carrera editable con su temporada cargada
+     * @param resultados Resultados de los pilotos
+     * @return Cambio a publicar cuando se confirme la transacción
+     */
+    CambioResultados ingresarResultados(EntityManager em, Carrera carrera, List<ResultadoDTO> resultados) {
+        Long carreraId = carrera.getId();
+
+        List<ResultadoSprint> anteriores = resultadoSprintDAO.findByCarrera(carreraId);
+        if (!anteriores.isEmpty()) {
+            int eliminados = resultadoSprintDAO.deleteByCarrera(em, carreraId);
+            logger.warn("El sprint de la carrera {} ya tenía {} resultados. Se reemplazan.", carreraId, eliminados);
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (ResultadoDTO dto : resultados) {
+            if (dto.getPilotoId() != null) {
+                ids.add(dto.getPilotoId());
+            }
+        }
+        Map<Long, Piloto> pilotos = pilotoDAO.findByIds(ids);
+        Map<Long, Integer> parrilla = sesionService.obtenerParrilla(carreraId, true);
+
+        List<ResultadoSprint> nuevos = new ArrayList<>(resultados.size());
+        for (ResultadoDTO dto : resultados) {
+            Piloto piloto = pilotos.get(dto.getPilotoId());
+            if (piloto == null) {
+                logger.warn("Piloto con ID {} no existe, se omite", dto.getPilotoId());
+                continue;
+            }
+
+            ResultadoSprint resultado = new ResultadoSprint();
+            resultado.setCarrera(carrera);
+            resultado.setPiloto(piloto);
+            Long constructorId = IndiceEtapas.getInstancia().getConstructorAtribuido(piloto, carrera.getFecha());
+            resultado.setConstructor(constructorId != null ? em.getReference(Constructor.class, constructorId) : null);
+            resultado.setPosicionFinal(dto.getPosicionFinal());
+            resultado.setPosicionSalida(dto.getPosicionSalida() != null
+                    ? dto.getPosicionSalida()
+                    : parrilla.get(piloto.getId()));
+            resultado.setVueltas(dto.getVueltas());
+            resultado.setTiempo(dto.getTiempo());
+            resultado.setRetirado(dto.getRetirado() != null ? dto.getRetirado() : false);
+            resultado.setMotivoRetiro(dto.getMotivoRetiro());
+
+            BigDecimal puntos = resultado.getRetirado() || dto.getPosicionFinal() == null
+                    ? BigDecimal.ZERO
+                    : F1PointsSystem.getSprintPointsForPosition(dto.getPosicionFinal());
+            resultado.setPuntosObtenidos(puntos);
+
+            nuevos.add(resultado);
+        }
+
+        TiemposClasificacion.asignar(nuevos);
+        resultadoSprintDAO.insertBatch(em, nuevos);
+        trayectoriaPilotoDAO.aplicarSprint(em, anteriores, nuevos);
+
+        List<FilaResultado> filasAnteriores = new ArrayList<>(anteriores.size());
+        for (ResultadoSprint rs : anteriores) {
+            filasAnteriores.add(FilaResultado.de(rs, carrera));
+        }
+        List<FilaResultado> filasNuevas = new ArrayList<>(nuevos.size());
+        for (ResultadoSprint rs : nuevos) {
+            filasNuevas.add(FilaResultado.de(rs, carrera));
+        }
+        return new CambioResultados(carreraId, carrera.getTemporada().getAnio(), carrera.getFecha(),
+                filasAnteriores, filasNuevas, true);
+    }
+
+    /**
+     * Obtiene los resultados del sprint de una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @return Lista de resultados ordenados por posición
+     */
+    public List<ResultadoSprint> obtenerResultadosSprint(Long carreraId) {
+        return resultadoSprintDAO.findByCarrera(carreraId);
+    }
+
+    /**
+     * Elimina todos los resultados del sprint de una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @return Número de resultados eliminados
+     */
+    public int eliminarResultadosSprint(Long carreraId) {
+        logger.info("Eliminando resultados de sprint de carrera ID: {}", carreraId);
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            Carrera carrera = cargarCarreraEditable(carreraId);
+            List<ResultadoSprint> anteriores = resultadoSprintDAO.findByCarrera(carreraId);
+            int eliminados = resultadoSprintDAO.deleteByCarrera(em, carreraId);
+            trayectoriaPilotoDAO.aplicarSprint(em, anteriores, List.of());
+
+            em.getTransaction().commit();
+            logger.info("Se eliminaron {} resultados de sprint", eliminados);
+
+            List<FilaResultado> filasAnteriores = new ArrayList<>(anteriores.size());
+            for (ResultadoSprint rs : anteriores) {
+                filasAnteriores.add(FilaResultado.de(rs, carrera));
+            }
+            EventosResultados.publicar(new CambioResultados(carreraId, carrera.getTemporada().getAnio(),
+                    carrera.getFecha(), filasAnteriores, List.of(), true));
+
+            return eliminados;
+
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            logger.error("Error al eliminar resultados de sprint", e);
+            throw new RuntimeException("Error al eliminar resultados de sprint: " + e.getMessage(), e);
+        } finally {
+            JPAUtil.close(em);
+        }
+    }
+
+    private Carrera cargarCarreraEditable(Long carreraId) {
+        Optional<Carrera> carreraOpt = carreraDAO.findById(carreraId);
+        if (carreraOpt.isEmpty()) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+
+        Carrera carrera = carreraOpt.get();
+        if (!ConfiguracionTemporada.permiteIngresoManual(carrera.getFecha())) {
+            throw new IllegalStateException(
+                    "Esta carrera (" + carrera.getFecha() + ") es anterior a la fecha de congelación. " +
+                            "No se permite ingreso manual de resultados de sprint."
+            );
+        }
+        return carrera;
+    }
+}
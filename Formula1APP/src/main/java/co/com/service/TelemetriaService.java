@@ -0,0 +1,119 @@
+package co.com.service;
+
+import co.com.telemetria.AlmacenTelemetria;
+import co.com.telemetria.ConsumidorResumen;
+import co.com.telemetria.ConsumidorTelemetria;
+import co.com.telemetria.NivelResumen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Servicio de telemetría de los coches.
+ * La telemetría no va a MySQL: se guarda comprimida en un {@link AlmacenTelemetria} local.
+ */
+public class TelemetriaService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetriaService.class);
+
+    public static final Path DIRECTORIO_POR_DEFECTO = Paths.get("telemetria");
+
+    private final AlmacenTelemetria almacen;
+
+    public TelemetriaService() {
+        this(DIRECTORIO_POR_DEFECTO);
+    }
+
+    public TelemetriaService(Path directorio) {
+        this.almacen = new AlmacenTelemetria(directorio);
+    }
+
+    /**
+     * Registra una muestra de telemetría de un coche.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param tiempoMs Marca de tiempo en milisegundos (creciente por coche)
+     * @param velocidad Velocidad en km/h
+     * @param acelerador Acelerador (0 a 1)
+     * @param freno Freno (0 a 1)
+     * @param marcha Marcha engranada
+     * @param rpm Revoluciones del motor
+     */
+    public void registrarMuestra(long carreraId, long pilotoId, long tiempoMs,
+                                 float velocidad, float acelerador, float freno, int marcha, int rpm) {
+        almacen.agregar(carreraId, pilotoId, tiempoMs, velocidad, acelerador, freno, marcha, rpm);
+    }
+
+    /**
+     * Recorre la telemetría de un coche en una ventana de tiempo.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param desde Inicio de la ventana en milisegundos (inclusive)
+     * @param hasta Fin de la ventana en milisegundos (inclusive)
+     * @param consumidor Receptor de las muestras
+     * @return Número de muestras entregadas
+     */
+    public int consultar(long carreraId, long pilotoId, long desde, long hasta, ConsumidorTelemetria consumidor) {
+        return almacen.consultar(carreraId, pilotoId, desde, hasta, consumidor);
+    }
+
+    /**
+     * Marca el inicio de una vuelta de un coche para el resumen por vuelta.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param tiempoMs Instante en que cruza la línea
+     */
+    public void marcarVuelta(long carreraId, long pilotoId, long tiempoMs) {
+        almacen.marcarVuelta(carreraId, pilotoId, tiempoMs);
+    }
+
+    /**
+     * Recorre la telemetría resumida de un coche con el nivel más grueso que cumple la resolución.
+     * Una vista de la carrera completa con resolución de minutos lee solo los resúmenes por vuelta.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param desde Inicio de la ventana en milisegundos (inclusive)
+     * @param hasta Fin de la ventana en milisegundos (inclusive)
+     * @param resolucionMs Ancho máximo aceptable de cada intervalo
+     * @param consumidor Receptor de los intervalos
+     * @return Nivel usado
+     */
+    public NivelResumen consultarResumen(long carreraId, long pilotoId, long desde, long hasta,
+                                         long resolucionMs, ConsumidorResumen consumidor) {
+        return almacen.consultarResumen(carreraId, pilotoId, desde, hasta, resolucionMs, consumidor);
+    }
+
+    /**
+     * Cierra los bloques abiertos de una carrera al terminar la sesión.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public void finalizarCarrera(long carreraId) {
+        almacen.cerrarCarrera(carreraId);
+        logger.info("Telemetría de la carrera {} cerrada. {}", carreraId, almacen.getEstadisticas());
+    }
+
+    /**
+     * @return Relación de compresión de la telemetría almacenada
+     */
+    public double getRatioCompresion() {
+        return almacen.getRatioCompresion();
+    }
+
+    /**
+     * @return Estadísticas del almacén de telemetría
+     */
+    public String getEstadisticas() {
+        return almacen.getEstadisticas();
+    }
+
+    @Override
+    public void close() {
+        almacen.close();
+    }
+}
@@ -1,7 +1,12 @@
 package co.com.service;
 
 
+import co.com.cache.ResumenTemporadaCache;
 import co.com.dao.*;
+import co.com.dto.ResumenTemporada;
+import co.com.dto.Sugerencia;
+import co.com.index.Autocompletado;
+import co.com.index.IndiceTextos;
 import co.com.model.Carrera;
 import co.com.model.Temporada;
 import co.com.util.JPAUtil;
@@ -9,9 +14,12 @@ import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class TemporadaService {
     private static final Logger logger = LoggerFactory.getLogger(TemporadaService.class);
@@ -35,8 +43,33 @@ public class TemporadaService {
      * @return Número de carreras copiadas
      */
     public int copiarEstructuraTemporada(int anioOrigen, int anioDestino) {
-        logger.info("Copiando estructura de temporada {} a {}", anioOrigen, anioDestino);
+        return copiarEstructuraTemporada(anioOrigen, List.of(anioDestino)).get(anioDestino);
+    }
 
+    /**
+     * Copia la estructura de carreras de una temporada a varias temporadas destino.
+     * La copia se hace en el servidor con un único INSERT ... SELECT, desplazando cada fecha
+     * tantos años como separen origen y destino y conservando la hora de salida, por lo que su coste no depende
+     * del número de carreras de la temporada origen.
+     *
+     * @param anioOrigen Año de la temporada origen (ej: 2024)
+     * @param aniosDestino Años de las temporadas destino (ej: 2025, 2026)
+     * @return Número de carreras copiadas por cada año destino
+     */
+    public Map<Integer, Integer> copiarEstructuraTemporada(int anioOrigen, List<Integer> aniosDestino) {
+        Set<Integer> destinos = new LinkedHashSet<>(aniosDestino);
+        if (destinos.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una temporada destino");
+        }
+        if (destinos.contains(anioOrigen)) {
+            throw new IllegalArgumentException("La temporada destino no puede ser la temporada origen: " + anioOrigen);
+        }
+
+        for (Integer anioDestino : destinos) {
+            logger.info("Copiando estructura de temporada {} a {}", anioOrigen, anioDestino);
+        }
+
+        Map<Integer, Integer> copiadas = new LinkedHashMap<>();
         EntityManager em = JPAUtil.getEntityManager();
         try {
             em.getTransaction().begin();
@@ -47,53 +80,47 @@ public class TemporadaService {
                 throw new IllegalArgumentException("No existe la temporada origen: " + anioOrigen);
             }
 
-            // Crear o obtener temporada destino
-            Temporada temporadaDestino = temporadaDAO.findByAnio(anioDestino)
-                    .orElseGet(() -> {
-                        Temporada nueva = new Temporada(anioDestino);
-                        em.persist(nueva);
-                        logger.info("Temporada {} creada", anioDestino);
-                        return nueva;
-                    });
-
-            // Obtener carreras de la temporada origen
-            List<Carrera> carrerasOrigen = carreraDAO.findByTemporada(anioOrigen);
-
-            if (carrerasOrigen.isEmpty()) {
+            // Crear las temporadas destino que aún no existan
+            for (Integer anioDestino : destinos) {
+                if (temporadaDAO.findByAnio(anioDestino).isEmpty()) {
+                    em.persist(new Temporada(anioDestino));
+                    logger.info("Temporada {} creada", anioDestino);
+                }
+            }
+            em.flush(); // Las temporadas nuevas deben tener ID antes del INSERT ... SELECT
+
+            // Copiar todas las carreras a todos los destinos en una sola sentencia
+            int insertadas = em.createNativeQuery(
+                            "INSERT INTO carrera (nombre_gp, circuito_id, temporada_id, fecha, hora_inicio, gp_numero) " +
+                                    "SELECT c.nombre_gp, c.circuito_id, t.id, " +
+                                    "DATE_ADD(c.fecha, INTERVAL (t.anio - :anioOrigen) YEAR), c.hora_inicio, c.gp_numero " +
+                                    "FROM carrera c " +
+                                    "JOIN temporada t ON t.anio IN (:destinos) " +
+                                    "WHERE c.temporada_id = :origenId")
+                    .setParameter("anioOrigen", anioOrigen)
+                    .setParameter("destinos", destinos)
+                    .setParameter("origenId", temporadaOrigenOpt.get().getId())
+                    .executeUpdate();
+
+            if (insertadas == 0) {
                 logger.warn("No hay carreras en la temporada origen {}", anioOrigen);
                 em.getTransaction().rollback();
-                return 0;
-            }
-
-            int carrerasCopiadas = 0;
-
-            // Copiar cada carrera
-            for (Carrera carreraOrigen : carrerasOrigen) {
-                Carrera carreraNueva = new Carrera();
-                carreraNueva.setNombreGp(carreraOrigen.getNombreGp());
-                carreraNueva.setCircuito(carreraOrigen.getCircuito());
-                carreraNueva.setTemporada(temporadaDestino);
-                carreraNueva.setGpNumero(carreraOrigen.getGpNumero());
-
-                // Ajustar fecha al año siguiente (mismo mes y día si es posible)
-                LocalDate fechaOrigen = carreraOrigen.getFecha();
-                if (fechaOrigen != null) {
-                    LocalDate fechaNueva = fechaOrigen.plusYears(1);
-                    carreraNueva.setFecha(fechaNueva);
-                }
-
-                em.persist(carreraNueva);
-                carrerasCopiadas++;
-
-                logger.debug("Carrera copiada: {} (GP #{})",
-                        carreraNueva.getNombreGp(), carreraNueva.getGpNumero());
+                destinos.forEach(anio -> copiadas.put(anio, 0));
+                return copiadas;
             }
 
             em.getTransaction().commit();
-            logger.info("Se copiaron {} carreras de {} a {}",
-                    carrerasCopiadas, anioOrigen, anioDestino);
+            indexarCarreras(em, destinos);
+
+            // Cada destino recibe una copia completa del calendario origen
+            int carrerasCopiadas = insertadas / destinos.size();
+            for (Integer anioDestino : destinos) {
+                copiadas.put(anioDestino, carrerasCopiadas);
+                logger.info("Se copiaron {} carreras de {} a {}",
+                        carrerasCopiadas, anioOrigen, anioDestino);
+            }
 
-            return carrerasCopiadas;
+            return copiadas;
 
         } catch (Exception e) {
             if (em.getTransaction().isActive()) {
@@ -106,6 +133,70 @@ public class TemporadaService {
         }
     }
 
+    /**
+     * Añade al índice de texto y al autocompletado las carreras de las temporadas destino. El INSERT ... SELECT
+     * no pasa por {@link CarreraDAO}, que es quien los mantiene al guardar una carrera.
+     * Las carreras que ya estaban en el destino se vuelven a indexar, lo que no cambia nada.
+     * Un fallo aquí no deshace la copia, ya confirmada: se corrige al reconstruir los índices.
+     */
+    private void indexarCarreras(EntityManager em, Set<Integer> destinos) {
+        try {
+            List<Object[]> carreras = em.createQuery(
+                            "SELECT c.id, c.nombreGp FROM Carrera c WHERE c.temporada.anio IN :destinos",
+                            Object[].class)
+                    .setParameter("destinos", destinos)
+                    .getResultList();
+            for (Object[] fila : carreras) {
+                IndiceTextos.carreraGuardada((Long) fila[0], (String) fila[1]);
+                Autocompletado.actualizar(Sugerencia.Tipo.CARRERA, (Long) fila[0], (String) fila[1]);
+            }
+            logger.debug("{} carreras de las temporadas {} indexadas tras la copia", carreras.size(), destinos);
+        } catch (Exception e) {
+            logger.warn("No se pudieron indexar las carreras copiadas a {}", destinos, e);
+        }
+    }
+
+    /**
+     * Obtiene el resumen de panel de una temporada.
+     *
+     * @param anio Año de la temporada
+     * @return Optional con el resumen si la temporada existe
+     */
+    public Optional<ResumenTemporada> obtenerResumen(int anio) {
+        return Optional.ofNullable(obtenerResumenes(List.of(anio)).get(anio));
+    }
+
+    /**
+     * Obtiene los resúmenes de panel de varias temporadas.
+     * Los que no están en caché se calculan juntos en una sola consulta y se cachean por temporada.
+     *
+     * @param anios Años de las temporadas
+     * @return Resumen por año (solo temporadas existentes)
+     */
+    public Map<Integer, ResumenTemporada> obtenerResumenes(List<Integer> anios) {
+        Map<Integer, ResumenTemporada> resumenes = new LinkedHashMap<>();
+        Set<Integer> pendientes = new LinkedHashSet<>();
+
+        for (Integer anio : anios) {
+            Optional<ResumenTemporada> cacheado = ResumenTemporadaCache.obtener(anio);
+            if (cacheado.isPresent()) {
+                resumenes.put(anio, cacheado.get());
+            } else {
+                pendientes.add(anio);
+            }
+        }
+
+        if (!pendientes.isEmpty()) {
+            Map<Integer, ResumenTemporada> calculados = temporadaDAO.obtenerResumenes(pendientes);
+            calculados.values().forEach(ResumenTemporadaCache::guardar);
+            resumenes.putAll(calculados);
+            logger.debug("Resúmenes calculados: {} (en caché: {})",
+                    calculados.size(), anios.size() - pendientes.size());
+        }
+
+        return resumenes;
+    }
+
     /**
      * Inicializa la temporada 2025 heredando de 2024.
      *
@@ -0,0 +1,108 @@
+package co.com.service;
+
+import co.com.dao.TrayectoriaPilotoDAO;
+import co.com.model.TrayectoriaPiloto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Servicio de cifras de trayectoria de los pilotos (todas las temporadas).
+ * Las cifras se mantienen al escribir resultados; este servicio las consulta
+ * y permite reconstruirlas por completo desde la tabla de resultados.
+ */
+public class TrayectoriaService {
+    private static final Logger logger = LoggerFactory.getLogger(TrayectoriaService.class);
+
+    // El pool JDBC tiene 10 conexiones; se deja margen para el resto de la aplicación
+    private static final int MAX_HILOS_RECONSTRUCCION = 4;
+
+    private final TrayectoriaPilotoDAO trayectoriaPilotoDAO;
+
+    public TrayectoriaService() {
+        this.trayectoriaPilotoDAO = new TrayectoriaPilotoDAO();
+    }
+
+    /**
+     * Obtiene la trayectoria de un piloto con una única búsqueda por clave primaria.
+     *
+     * @param pilotoId ID del piloto
+     * @return Optional con la trayectoria si el piloto tiene resultados
+     */
+    public Optional<TrayectoriaPiloto> obtenerTrayectoria(Long pilotoId) {
+        return trayectoriaPilotoDAO.findByPiloto(pilotoId);
+    }
+
+    /**
+     * Reconstruye las trayectorias si no cuadran con los resultados guardados: la tabla se mantiene
+     * por diferencias, y descontar resultados que nunca se sumaron dejaría cifras negativas.
+     * Pensado para el arranque, antes de aceptar ingresos de resultados.
+     *
+     * @return Número de trayectorias reconstruidas, 0 si ya estaban al día
+     */
+    public int reconstruirSiDesincronizada() {
+        if (trayectoriaPilotoDAO.estaSincronizada()) {
+            logger.debug("Las trayectorias de pilotos cuadran con los resultados");
+            return 0;
+        }
+        logger.warn("Las trayectorias de pilotos no cuadran con los resultados; se reconstruyen");
+        return reconstruirTodo();
+    }
+
+    /**
+     * Reconstruye todas las trayectorias desde las tablas de resultados y de sprints.
+     * Divide los pilotos en rangos de ID y procesa cada rango en paralelo con su propia conexión.
+     * Debe ejecutarse sin ingresos de resultados en curso.
+     *
+     * @return Número de trayectorias reconstruidas
+     */
+    public int reconstruirTodo() {
+        long inicio = System.nanoTime();
+        logger.info("Iniciando reconstrucción completa de trayectorias de pilotos");
+
+        trayectoriaPilotoDAO.eliminarTodas();
+
+        long[] rango = trayectoriaPilotoDAO.obtenerRangoPilotos();
+        if (rango.length == 0) {
+            logger.info("No hay resultados; no se reconstruyó ninguna trayectoria");
+            return 0;
+        }
+
+        int hilos = Math.min(MAX_HILOS_RECONSTRUCCION, Runtime.getRuntime().availableProcessors());
+        long tramo = (rango[1] - rango[0]) / hilos + 1;
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Integer>> tareas = new ArrayList<>();
+            for (long desde = rango[0]; desde <= rango[1]; desde += tramo) {
+                long inicioTramo = desde;
+                long finTramo = Math.min(rango[1], desde + tramo - 1);
+                tareas.add(executor.submit(() -> trayectoriaPilotoDAO.reconstruirRango(inicioTramo, finTramo)));
+            }
+
+            int total = 0;
+            for (Future<Integer> tarea : tareas) {
+                total += tarea.get();
+            }
+
+            logger.info("Reconstrucción de trayectorias completada: {} pilotos en {} ms ({} hilos)",
+                    total, (System.nanoTime() - inicio) / 1_000_000, hilos);
+            return total;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Reconstrucción de trayectorias interrumpida", e);
+        } catch (Exception e) {
+            logger.error("Error en la reconstrucción de trayectorias", e);
+            throw new RuntimeException("Error al reconstruir trayectorias: " + e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
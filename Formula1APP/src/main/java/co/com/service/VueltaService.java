@@ -0,0 +1,113 @@
+package co.com.service;
+
+import co.com.cache.RepeticionCache;
+import co.com.dao.TiempoVueltaDAO;
+import co.com.dto.EstadoCarrera;
+import co.com.model.TiempoVuelta;
+import co.com.timing.IngestaVueltas;
+import co.com.timing.LoteVueltas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Servicio de tiempos de vuelta.
+ * Las vueltas en directo entran por la ingesta por lotes; las consultas leen de la base de datos.
+ */
+public class VueltaService {
+    private static final Logger logger = LoggerFactory.getLogger(VueltaService.class);
+
+    private final TiempoVueltaDAO tiempoVueltaDAO;
+    private final IngestaVueltas ingesta;
+
+    public VueltaService() {
+        this.tiempoVueltaDAO = new TiempoVueltaDAO();
+        this.ingesta = new IngestaVueltas(tiempoVueltaDAO);
+    }
+
+    /**
+     * Arranca la ingesta de vueltas en directo.
+     */
+    public void iniciarIngesta() {
+        ingesta.iniciar();
+    }
+
+    /**
+     * Escribe las vueltas pendientes y detiene la ingesta.
+     */
+    public void detenerIngesta() {
+        ingesta.close();
+    }
+
+    /**
+     * Registra una vuelta recién completada.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param numeroVuelta Número de vuelta (desde 1)
+     * @param tiempoMs Tiempo de la vuelta en milisegundos
+     * @param posicion Posición al cerrar la vuelta (null si no se conoce)
+     * @return false si la base de datos va retrasada y la vuelta no se pudo encolar
+     * @throws IllegalArgumentException si la vuelta no es válida o la carrera o el piloto no existen
+     */
+    public boolean registrarVuelta(long carreraId, long pilotoId, int numeroVuelta, int tiempoMs, Integer posicion) {
+        boolean registrada = ingesta.registrar(carreraId, pilotoId, numeroVuelta, tiempoMs,
+                posicion != null ? posicion : LoteVueltas.SIN_POSICION);
+        if (!registrada) {
+            logger.warn("Vuelta {} del piloto {} rechazada: buffer de ingesta lleno", numeroVuelta, pilotoId);
+        }
+        return registrada;
+    }
+
+    /**
+     * @return Estadísticas de la ingesta de vueltas
+     */
+    public String getEstadisticasIngesta() {
+        return ingesta.getEstadisticas();
+    }
+
+    /**
+     * Obtiene el orden de carrera, las diferencias y los intervalos en un instante de la carrera.
+     * La repetición se construye en el primer acceso y queda en caché.
+     *
+     * @param carreraId ID de la carrera
+     * @param instanteMs Milisegundos desde la salida
+     * @return Estado de la carrera en ese instante
+     */
+    public EstadoCarrera obtenerEstadoEn(Long carreraId, long instanteMs) {
+        return RepeticionCache.obtener(carreraId).estadoEn(instanteMs);
+    }
+
+    /**
+     * Obtiene el estado de la carrera cuando el líder cierra una vuelta.
+     *
+     * @param carreraId ID de la carrera
+     * @param vuelta Vuelta del líder (0 = salida)
+     * @return Estado de la carrera en esa vuelta
+     */
+    public EstadoCarrera obtenerEstadoEnVuelta(Long carreraId, int vuelta) {
+        return RepeticionCache.obtener(carreraId).estadoEnVuelta(vuelta);
+    }
+
+    /**
+     * Obtiene las vueltas de un piloto en una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @return Vueltas ordenadas por número
+     */
+    public List<TiempoVuelta> obtenerVueltas(Long carreraId, Long pilotoId) {
+        return tiempoVueltaDAO.findByCarreraPiloto(carreraId, pilotoId);
+    }
+
+    /**
+     * Obtiene todas las vueltas de una carrera.
+     *
+     * @param carreraId ID de la carrera
+     * @return Vueltas ordenadas por piloto y número de vuelta
+     */
+    public List<TiempoVuelta> obtenerVueltasCarrera(Long carreraId) {
+        return tiempoVueltaDAO.findByCarrera(carreraId);
+    }
+}
@@ -0,0 +1,698 @@
+package co.com.telemetria;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén local de telemetría por coche y carrera, solo de escritura al final.
+ * Cada serie (carrera, piloto) se divide en bloques de hasta
+ * {@link BloqueAbierto#MUESTRAS_POR_BLOQUE} muestras comprimidas por columnas: marcas de tiempo
+ * con doble diferencia, velocidad, acelerador y freno con XOR, y marcha y RPM por diferencias.
+ * Los bloques cerrados se escriben en segmentos de tamaño fijo mapeados en memoria;
+ * el índice de bloques se reconstruye al abrir leyendo solo las cabeceras.
+ * Además mantiene resúmenes por serie (1 s, 10 s y por vuelta) que se actualizan con cada
+ * muestra; las consultas resumidas usan el nivel más grueso que cumple la resolución pedida.
+ * Al sellar un bloque se guarda su resumen parcial en el archivo de resúmenes del segmento,
+ * así que al reabrir los resúmenes se rehacen uniendo esos parciales; solo se descomprimen
+ * los bloques sin resumen (p. ej. si se interrumpió la escritura).
+ *
+ * Pensado para un único hilo escritor; lecturas y escrituras se serializan en el almacén.
+ */
+public class AlmacenTelemetria implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AlmacenTelemetria.class);
+
+    private static final int MAGIA = 0x544C4D31;
+    // magia, carrera, piloto, inicio, fin, muestras y bytes de cada columna
+    private static final int CABECERA = 4 + 8 * 4 + 4 + 4 * BloqueAbierto.COLUMNAS;
+    // Marca de tiempo (8) + tres float (12) + dos int (8) sin comprimir
+    private static final int BYTES_MUESTRA_CRUDA = 28;
+    // carrera, piloto e instante de cada marca de vuelta
+    private static final int BYTES_MARCA_VUELTA = 24;
+    private static final String ARCHIVO_VUELTAS = "vueltas.tlv";
+    private static final int MAGIA_RESUMEN = 0x544C5231;
+    // magia, posición del bloque, la cabecera del bloque desde la carrera hasta las muestras y bytes del cuerpo
+    private static final int CABECERA_RESUMEN = 4 + 4 + 8 * 4 + 4 + 4;
+
+    private final Path directorio;
+    private final List<Segmento> segmentos = new ArrayList<>();
+    private final Map<Long, Map<Long, Serie>> series = new HashMap<>();
+    private final ByteBuffer temporal = ByteBuffer.allocate(BloqueAbierto.BYTES_POR_COLUMNA * BloqueAbierto.COLUMNAS);
+    private final ByteBuffer marca = ByteBuffer.allocate(BYTES_MARCA_VUELTA);
+    private FileChannel vueltas;
+    private boolean cerrado;
+
+    /**
+     * Abre el almacén del directorio indicado, creándolo si no existe.
+     *
+     * @param directorio Directorio de los segmentos
+     */
+    public AlmacenTelemetria(Path directorio) {
+        this.directorio = directorio;
+        try {
+            Files.createDirectories(directorio);
+            cargarSegmentos();
+            cargarVueltas();
+        } catch (IOException e) {
+            logger.error("Error al abrir el almacén de telemetría en " + directorio, e);
+            throw new RuntimeException("Error al abrir el almacén de telemetría", e);
+        }
+    }
+
+    private void cargarSegmentos() throws IOException {
+        List<Path> rutas = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "segmento-*.tlm")) {
+            for (Path ruta : archivos) {
+                rutas.add(ruta);
+            }
+        }
+        rutas.sort(null);
+
+        int bloques = 0;
+        int conResumen = 0;
+        for (int numero = 0; numero < rutas.size(); numero++) {
+            Segmento segmento = Segmento.abrir(directorio, numero);
+            ByteBuffer vista = segmento.vista();
+            Map<Integer, Serie.Bloque> porPosicion = new HashMap<>();
+            int posicion = 0;
+            while (posicion + CABECERA <= Segmento.TAMANO && vista.getInt(posicion) == MAGIA) {
+                int bytes = 0;
+                for (int c = 0; c < BloqueAbierto.COLUMNAS; c++) {
+                    bytes += vista.getInt(posicion + 40 + 4 * c);
+                }
+                Serie.Bloque bloque = new Serie.Bloque(
+                        numero, posicion, vista.getLong(posicion + 20), vista.getLong(posicion + 28),
+                        vista.getInt(posicion + 36), CABECERA + bytes);
+                serie(vista.getLong(posicion + 4), vista.getLong(posicion + 12)).agregarBloque(bloque);
+                porPosicion.put(posicion, bloque);
+                posicion += CABECERA + bytes;
+                bloques++;
+            }
+            segmento.setPosicion(posicion);
+            segmentos.add(segmento);
+            conResumen += cargarResumenes(segmento, porPosicion);
+        }
+        logger.info("Almacén de telemetría abierto en {}: {} segmentos, {} bloques ({} con resumen), {} series",
+                directorio, segmentos.size(), bloques, conResumen, contarSeries());
+    }
+
+    /**
+     * Enlaza cada bloque del segmento con su resumen guardado. Un registro solo vale si repite
+     * la cabecera del bloque de su posición: tras una escritura interrumpida la posición puede
+     * haberse reutilizado para otro bloque.
+     *
+     * @return Número de bloques con resumen
+     */
+    private int cargarResumenes(Segmento segmento, Map<Integer, Serie.Bloque> porPosicion) throws IOException {
+        FileChannel canal = segmento.resumenes();
+        ByteBuffer vista = segmento.vista();
+        long tamano = canal.size();
+        long posicion = 0;
+        int enlazados = 0;
+        while (posicion + CABECERA_RESUMEN <= tamano) {
+            ByteBuffer cabecera = segmento.leerResumen(posicion, CABECERA_RESUMEN);
+            int cuerpo = cabecera.getInt(CABECERA_RESUMEN - 4);
+            if (cabecera.getInt(0) != MAGIA_RESUMEN || cuerpo < 0 || posicion + CABECERA_RESUMEN + cuerpo > tamano) {
+                break;
+            }
+            Serie.Bloque bloque = porPosicion.get(cabecera.getInt(4));
+            if (bloque != null && mismaCabecera(vista, bloque.posicion, cabecera)) {
+                if (bloque.resumen < 0) {
+                    enlazados++;
+                }
+                bloque.resumen = posicion;
+            }
+            posicion += CABECERA_RESUMEN + cuerpo;
+        }
+        // Un registro incompleto al final (escritura interrumpida) se descarta y se sobrescribe
+        canal.truncate(posicion);
+        return enlazados;
+    }
+
+    private static boolean mismaCabecera(ByteBuffer vista, int posicionBloque, ByteBuffer cabecera) {
+        // carrera, piloto, inicio, fin y muestras
+        for (int i = 0; i < 8 * 4 + 4; i++) {
+            if (vista.get(posicionBloque + 4 + i) != cabecera.get(8 + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void cargarVueltas() throws IOException {
+        vueltas = FileChannel.open(directorio.resolve(ARCHIVO_VUELTAS),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Un registro incompleto al final (escritura interrumpida) se descarta y se sobrescribe
+        long completos = vueltas.size() / BYTES_MARCA_VUELTA;
+        ByteBuffer lectura = ByteBuffer.allocate(BYTES_MARCA_VUELTA * 1024);
+        long posicion = 0;
+        long fin = completos * BYTES_MARCA_VUELTA;
+        while (posicion < fin) {
+            lectura.clear().limit((int) Math.min(lectura.capacity(), fin - posicion));
+            while (lectura.hasRemaining()) {
+                posicion += vueltas.read(lectura, posicion);
+            }
+            lectura.flip();
+            while (lectura.remaining() >= BYTES_MARCA_VUELTA) {
+                serie(lectura.getLong(), lectura.getLong()).agregarVuelta(lectura.getLong());
+            }
+        }
+        vueltas.position(fin);
+        vueltas.truncate(fin);
+    }
+
+    /**
+     * Agrega una muestra. Las marcas de tiempo de cada serie deben ser crecientes.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param tiempoMs Marca de tiempo en milisegundos
+     * @param velocidad Velocidad en km/h
+     * @param acelerador Acelerador (0 a 1)
+     * @param freno Freno (0 a 1)
+     * @param marcha Marcha engranada
+     * @param rpm Revoluciones del motor
+     */
+    public synchronized void agregar(long carreraId, long pilotoId, long tiempoMs,
+                                     float velocidad, float acelerador, float freno, int marcha, int rpm) {
+        if (cerrado) {
+            throw new IllegalStateException("El almacén de telemetría está cerrado");
+        }
+        Serie serie = serie(carreraId, pilotoId);
+        if (tiempoMs < serie.ultimoTiempo) {
+            throw new IllegalArgumentException("Muestra fuera de orden para el piloto " + pilotoId +
+                    ": " + tiempoMs + " < " + serie.ultimoTiempo);
+        }
+        if (serie.abierto == null) {
+            serie.abierto = new BloqueAbierto();
+        }
+
+        BloqueAbierto bloque = serie.abierto;
+        bloque.agregar(tiempoMs, velocidad, acelerador, freno, marcha, rpm);
+        serie.ultimoTiempo = tiempoMs;
+        for (ResumenSerie resumen : resumenes(serie)) {
+            if (resumen != null) {
+                resumen.agregar(tiempoMs, velocidad, acelerador, freno, marcha, rpm);
+            }
+        }
+        if (bloque.lleno()) {
+            cerrarBloque(serie);
+        }
+    }
+
+    private void cerrarBloque(Serie serie) {
+        BloqueAbierto bloque = serie.abierto;
+        if (bloque == null || bloque.muestras == 0) {
+            return;
+        }
+        int total = CABECERA + bloque.bytes();
+        Segmento segmento = segmentoConEspacio(total);
+        int posicion = segmento.getPosicion();
+        ByteBuffer region = segmento.reservar(total);
+
+        region.position(posicion + 4);
+        region.putLong(serie.carreraId);
+        region.putLong(serie.pilotoId);
+        region.putLong(bloque.inicio);
+        region.putLong(bloque.fin);
+        region.putInt(bloque.muestras);
+        for (EscritorBits e : bloque.escritores) {
+            region.putInt(e.bytes());
+        }
+        for (EscritorBits e : bloque.escritores) {
+            e.copiarA(region);
+        }
+        // La marca se escribe al final: un bloque a medias no se reconoce al reabrir
+        region.putInt(posicion, MAGIA);
+
+        Serie.Bloque sellado = new Serie.Bloque(segmento.getNumero(), posicion,
+                bloque.inicio, bloque.fin, bloque.muestras, total);
+        serie.agregarBloque(sellado);
+        guardarResumen(serie, segmento, sellado);
+        bloque.reiniciar();
+    }
+
+    /**
+     * Guarda el resumen parcial de un bloque recién sellado: sus trozos de 1 s, 10 s y por vuelta,
+     * cortados en las marcas de vuelta ya registradas. Si no se puede guardar, al reabrir
+     * el bloque se descomprime como antes.
+     */
+    private void guardarResumen(Serie serie, Segmento segmento, Serie.Bloque bloque) {
+        ResumenSerie[] parciales = nuevosResumenes();
+        ResumenSerie porVuelta = parciales[NivelResumen.POR_VUELTA.ordinal()];
+        // Las marcas anteriores o iguales al inicio del bloque se cortan al unir los parciales
+        int[] siguienteVuelta = {0};
+        while (siguienteVuelta[0] < serie.numeroVueltas && serie.vueltas[siguienteVuelta[0]] <= bloque.inicio) {
+            siguienteVuelta[0]++;
+        }
+        decodificar(bloque, Long.MIN_VALUE, Long.MAX_VALUE, (t, vel, acel, fre, mar, rev) -> {
+            while (siguienteVuelta[0] < serie.numeroVueltas && serie.vueltas[siguienteVuelta[0]] <= t) {
+                porVuelta.cortar();
+                siguienteVuelta[0]++;
+            }
+            for (ResumenSerie parcial : parciales) {
+                if (parcial != null) {
+                    parcial.agregar(t, vel, acel, fre, mar, rev);
+                }
+            }
+        });
+
+        int cuerpo = 0;
+        for (ResumenSerie parcial : parciales) {
+            if (parcial != null) {
+                parcial.cortar();
+                cuerpo += parcial.bytesSerializados();
+            }
+        }
+        ByteBuffer registro = ByteBuffer.allocate(CABECERA_RESUMEN + cuerpo);
+        registro.putInt(MAGIA_RESUMEN).putInt(bloque.posicion);
+        registro.putLong(serie.carreraId).putLong(serie.pilotoId);
+        registro.putLong(bloque.inicio).putLong(bloque.fin).putInt(bloque.muestras);
+        registro.putInt(cuerpo);
+        for (ResumenSerie parcial : parciales) {
+            if (parcial != null) {
+                parcial.escribir(registro);
+            }
+        }
+        registro.flip();
+        try {
+            bloque.resumen = segmento.agregarResumen(registro);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar el resumen del bloque en " + segmento.getRuta()
+                    + "; se descomprimirá al reabrir", e);
+        }
+    }
+
+    /**
+     * Lee el resumen parcial guardado de un bloque.
+     *
+     * @return Resúmenes indexados por {@link NivelResumen#ordinal()}, o null si el bloque no tiene
+     */
+    private ResumenSerie[] leerResumen(Serie.Bloque bloque) {
+        if (bloque.resumen < 0) {
+            return null;
+        }
+        Segmento segmento = segmentos.get(bloque.segmento);
+        try {
+            int cuerpo = segmento.leerResumen(bloque.resumen, CABECERA_RESUMEN).getInt(CABECERA_RESUMEN - 4);
+            ByteBuffer lectura = segmento.leerResumen(bloque.resumen + CABECERA_RESUMEN, cuerpo);
+            ResumenSerie[] parciales = new ResumenSerie[NivelResumen.values().length];
+            for (NivelResumen nivel : NivelResumen.values()) {
+                if (nivel != NivelResumen.CRUDO) {
+                    parciales[nivel.ordinal()] = ResumenSerie.leer(lectura, nivel.getAnchoMs());
+                }
+            }
+            return parciales;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("No se pudo leer el resumen del bloque en " + segmento.getRuta() + "; se descomprime", e);
+            return null;
+        }
+    }
+
+    private Segmento segmentoConEspacio(int bytes) {
+        Segmento actual = segmentos.isEmpty() ? null : segmentos.get(segmentos.size() - 1);
+        if (actual != null && actual.getLibres() >= bytes) {
+            return actual;
+        }
+        try {
+            if (actual != null) {
+                actual.forzar();
+            }
+            Segmento nuevo = Segmento.abrir(directorio, segmentos.size());
+            segmentos.add(nuevo);
+            logger.debug("Nuevo segmento de telemetría: {}", nuevo.getRuta());
+            return nuevo;
+        } catch (IOException e) {
+            logger.error("Error al crear segmento de telemetría", e);
+            throw new RuntimeException("Error al crear segmento de telemetría", e);
+        }
+    }
+
+    /**
+     * Marca el inicio de una vuelta de un coche: cierra el intervalo por vuelta en curso.
+     * Debe registrarse al cruzar la línea, antes de las muestras posteriores a ese instante.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param tiempoMs Instante en que empieza la vuelta
+     */
+    public synchronized void marcarVuelta(long carreraId, long pilotoId, long tiempoMs) {
+        if (cerrado) {
+            throw new IllegalStateException("El almacén de telemetría está cerrado");
+        }
+        Serie serie = serie(carreraId, pilotoId);
+        if (serie.numeroVueltas > 0 && tiempoMs < serie.vueltas[serie.numeroVueltas - 1]) {
+            throw new IllegalArgumentException("Marca de vuelta fuera de orden para el piloto " + pilotoId);
+        }
+        try {
+            marca.clear();
+            marca.putLong(carreraId).putLong(pilotoId).putLong(tiempoMs).flip();
+            while (marca.hasRemaining()) {
+                vueltas.write(marca);
+            }
+        } catch (IOException e) {
+            logger.error("Error al guardar marca de vuelta", e);
+            throw new RuntimeException("Error al guardar marca de vuelta", e);
+        }
+        serie.agregarVuelta(tiempoMs);
+        if (serie.resumenes != null) {
+            serie.resumenes[NivelResumen.POR_VUELTA.ordinal()].cortar();
+        }
+    }
+
+    /**
+     * Recorre las muestras de un coche en una ventana de tiempo, en orden.
+     * Solo se descomprimen los bloques que se solapan con la ventana.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param desde Inicio de la ventana en milisegundos (inclusive)
+     * @param hasta Fin de la ventana en milisegundos (inclusive)
+     * @param consumidor Receptor de las muestras
+     * @return Número de muestras entregadas
+     */
+    public synchronized int consultar(long carreraId, long pilotoId, long desde, long hasta,
+                                      ConsumidorTelemetria consumidor) {
+        Map<Long, Serie> porPiloto = series.get(carreraId);
+        Serie serie = porPiloto != null ? porPiloto.get(pilotoId) : null;
+        if (serie == null || desde > hasta) {
+            return 0;
+        }
+
+        int entregadas = 0;
+        for (int i = serie.primerBloque(desde); i < serie.bloques.size(); i++) {
+            Serie.Bloque bloque = serie.bloques.get(i);
+            if (bloque.inicio > hasta) {
+                return entregadas;
+            }
+            entregadas += decodificar(bloque, desde, hasta, consumidor);
+        }
+
+        BloqueAbierto abierto = serie.abierto;
+        if (abierto != null && abierto.muestras > 0 && abierto.inicio <= hasta && abierto.fin >= desde) {
+            temporal.clear();
+            int[] longitudes = new int[BloqueAbierto.COLUMNAS];
+            for (int c = 0; c < longitudes.length; c++) {
+                longitudes[c] = abierto.escritores[c].bytes();
+                abierto.escritores[c].copiarA(temporal);
+            }
+            entregadas += decodificar(temporal, 0, longitudes, abierto.muestras, desde, hasta, consumidor);
+        }
+        return entregadas;
+    }
+
+    /**
+     * Recorre el resumen de un coche en una ventana de tiempo usando el nivel más grueso
+     * cuyo intervalo no supera la resolución pedida. El nivel por vuelta se usa si la vuelta
+     * más larga de la serie cabe en la resolución; si ningún nivel cabe se recorren las muestras.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param desde Inicio de la ventana en milisegundos (inclusive)
+     * @param hasta Fin de la ventana en milisegundos (inclusive)
+     * @param resolucionMs Ancho máximo aceptable de cada intervalo
+     * @param consumidor Receptor de los intervalos
+     * @return Nivel usado
+     */
+    public synchronized NivelResumen consultarResumen(long carreraId, long pilotoId, long desde, long hasta,
+                                                      long resolucionMs, ConsumidorResumen consumidor) {
+        Map<Long, Serie> porPiloto = series.get(carreraId);
+        Serie serie = porPiloto != null ? porPiloto.get(pilotoId) : null;
+        if (serie == null || desde > hasta) {
+            return NivelResumen.CRUDO;
+        }
+
+        ResumenSerie[] resumenes = resumenes(serie);
+        ResumenSerie porVuelta = resumenes[NivelResumen.POR_VUELTA.ordinal()];
+        if (serie.numeroVueltas > 0 && porVuelta.duracionMaxima() > 0 && porVuelta.duracionMaxima() <= resolucionMs) {
+            porVuelta.consultar(desde, hasta, consumidor);
+            return NivelResumen.POR_VUELTA;
+        }
+        for (NivelResumen nivel : new NivelResumen[]{NivelResumen.DIEZ_SEGUNDOS, NivelResumen.UN_SEGUNDO}) {
+            if (nivel.getAnchoMs() <= resolucionMs) {
+                resumenes[nivel.ordinal()].consultar(desde, hasta, consumidor);
+                return nivel;
+            }
+        }
+
+        float[] minimos = new float[ResumenSerie.CANALES];
+        float[] maximos = new float[ResumenSerie.CANALES];
+        float[] medias = new float[ResumenSerie.CANALES];
+        consultar(carreraId, pilotoId, desde, hasta, (t, vel, acel, fre, mar, rev) -> {
+            minimos[0] = vel;
+            minimos[1] = acel;
+            minimos[2] = fre;
+            minimos[3] = mar;
+            minimos[4] = rev;
+            System.arraycopy(minimos, 0, maximos, 0, minimos.length);
+            System.arraycopy(minimos, 0, medias, 0, minimos.length);
+            consumidor.intervalo(t, t, 1, minimos, maximos, medias);
+        });
+        return NivelResumen.CRUDO;
+    }
+
+    /**
+     * Obtiene los resúmenes de una serie, reconstruyéndolos desde sus bloques la primera vez.
+     * Una serie nueva empieza con resúmenes vacíos; al reabrir el almacén se unen los resúmenes
+     * guardados de los bloques y solo se descomprimen los que no tienen.
+     */
+    private ResumenSerie[] resumenes(Serie serie) {
+        if (serie.resumenes != null) {
+            return serie.resumenes;
+        }
+        ResumenSerie[] resumenes = nuevosResumenes();
+        ResumenSerie unSegundo = resumenes[NivelResumen.UN_SEGUNDO.ordinal()];
+        ResumenSerie diezSegundos = resumenes[NivelResumen.DIEZ_SEGUNDOS.ordinal()];
+        ResumenSerie porVuelta = resumenes[NivelResumen.POR_VUELTA.ordinal()];
+
+        int[] siguienteVuelta = {0};
+        ConsumidorTelemetria acumular = (t, vel, acel, fre, mar, rev) -> {
+            while (siguienteVuelta[0] < serie.numeroVueltas && serie.vueltas[siguienteVuelta[0]] <= t) {
+                porVuelta.cortar();
+                siguienteVuelta[0]++;
+            }
+            unSegundo.agregar(t, vel, acel, fre, mar, rev);
+            diezSegundos.agregar(t, vel, acel, fre, mar, rev);
+            porVuelta.agregar(t, vel, acel, fre, mar, rev);
+        };
+        int descomprimidos = 0;
+        for (Serie.Bloque bloque : serie.bloques) {
+            ResumenSerie[] parciales = leerResumen(bloque);
+            if (parciales == null) {
+                decodificar(bloque, Long.MIN_VALUE, Long.MAX_VALUE, acumular);
+                descomprimidos++;
+                continue;
+            }
+            for (NivelResumen nivel : new NivelResumen[]{NivelResumen.UN_SEGUNDO, NivelResumen.DIEZ_SEGUNDOS}) {
+                ResumenSerie parcial = parciales[nivel.ordinal()];
+                for (int i = 0; i < parcial.tamano(); i++) {
+                    resumenes[nivel.ordinal()].combinar(parcial, i);
+                }
+            }
+            // Los trozos por vuelta de un bloque ya están cortados en sus marcas; falta cortar entre bloques
+            ResumenSerie vueltas = parciales[NivelResumen.POR_VUELTA.ordinal()];
+            for (int i = 0; i < vueltas.tamano(); i++) {
+                while (siguienteVuelta[0] < serie.numeroVueltas && serie.vueltas[siguienteVuelta[0]] <= vueltas.inicio(i)) {
+                    porVuelta.cortar();
+                    siguienteVuelta[0]++;
+                }
+                porVuelta.combinar(vueltas, i);
+            }
+        }
+        if (siguienteVuelta[0] < serie.numeroVueltas) {
+            porVuelta.cortar();
+        }
+
+        if (!serie.bloques.isEmpty()) {
+            logger.debug("Resúmenes reconstruidos para carrera {} piloto {} desde {} bloques ({} descomprimidos)",
+                    serie.carreraId, serie.pilotoId, serie.bloques.size(), descomprimidos);
+        }
+        serie.resumenes = resumenes;
+        return resumenes;
+    }
+
+    private static ResumenSerie[] nuevosResumenes() {
+        ResumenSerie[] resumenes = new ResumenSerie[NivelResumen.values().length];
+        for (NivelResumen nivel : NivelResumen.values()) {
+            if (nivel != NivelResumen.CRUDO) {
+                resumenes[nivel.ordinal()] = new ResumenSerie(nivel.getAnchoMs());
+            }
+        }
+        return resumenes;
+    }
+
+    private int decodificar(Serie.Bloque bloque, long desde, long hasta, ConsumidorTelemetria consumidor) {
+        ByteBuffer vista = segmentos.get(bloque.segmento).vista();
+        int[] longitudes = new int[BloqueAbierto.COLUMNAS];
+        for (int c = 0; c < longitudes.length; c++) {
+            longitudes[c] = vista.getInt(bloque.posicion + 40 + 4 * c);
+        }
+        return decodificar(vista, bloque.posicion + CABECERA, longitudes, bloque.muestras, desde, hasta, consumidor);
+    }
+
+    private static int decodificar(ByteBuffer fuente, int inicio, int[] longitudes, int muestras,
+                                   long desde, long hasta, ConsumidorTelemetria consumidor) {
+        int[] offsets = new int[longitudes.length];
+        int offset = inicio;
+        for (int c = 0; c < longitudes.length; c++) {
+            offsets[c] = offset;
+            offset += longitudes[c];
+        }
+        ColumnaEntera.Lector tiempo = new ColumnaEntera.Lector(new LectorBits(fuente, offsets[0]), true);
+        ColumnaFlotante.Lector velocidad = new ColumnaFlotante.Lector(new LectorBits(fuente, offsets[1]));
+        ColumnaFlotante.Lector acelerador = new ColumnaFlotante.Lector(new LectorBits(fuente, offsets[2]));
+        ColumnaFlotante.Lector freno = new ColumnaFlotante.Lector(new LectorBits(fuente, offsets[3]));
+        ColumnaEntera.Lector marcha = new ColumnaEntera.Lector(new LectorBits(fuente, offsets[4]), false);
+        ColumnaEntera.Lector rpm = new ColumnaEntera.Lector(new LectorBits(fuente, offsets[5]), false);
+
+        int entregadas = 0;
+        for (int i = 0; i < muestras; i++) {
+            // Las columnas dependen de la muestra anterior, así que se leen todas aunque se descarten
+            long t = tiempo.siguiente();
+            float vel = velocidad.siguiente();
+            float acel = acelerador.siguiente();
+            float fre = freno.siguiente();
+            int mar = (int) marcha.siguiente();
+            int rev = (int) rpm.siguiente();
+            if (t > hasta) {
+                break;
+            }
+            if (t >= desde) {
+                consumidor.muestra(t, vel, acel, fre, mar, rev);
+                entregadas++;
+            }
+        }
+        return entregadas;
+    }
+
+    /**
+     * Cierra el bloque abierto de cada coche de una carrera, p. ej. al terminar la sesión.
+     *
+     * @param carreraId ID de la carrera
+     */
+    public synchronized void cerrarCarrera(long carreraId) {
+        Map<Long, Serie> porPiloto = series.get(carreraId);
+        if (porPiloto == null) {
+            return;
+        }
+        for (Serie serie : porPiloto.values()) {
+            cerrarBloque(serie);
+            serie.abierto = null;
+        }
+        forzar();
+    }
+
+    /**
+     * Obtiene la relación entre el tamaño sin comprimir y el comprimido de todas las muestras.
+     *
+     * @return Relación de compresión (p. ej. 8.0 = ocho veces más pequeño), o 0 sin muestras
+     */
+    public synchronized double getRatioCompresion() {
+        long muestras = 0;
+        long bytes = 0;
+        for (Map<Long, Serie> porPiloto : series.values()) {
+            for (Serie serie : porPiloto.values()) {
+                muestras += serie.muestras;
+                bytes += serie.bytes;
+                if (serie.abierto != null && serie.abierto.muestras > 0) {
+                    muestras += serie.abierto.muestras;
+                    bytes += CABECERA + serie.abierto.bytes();
+                }
+            }
+        }
+        return bytes == 0 ? 0.0 : (double) muestras * BYTES_MUESTRA_CRUDA / bytes;
+    }
+
+    /**
+     * Obtiene estadísticas del almacén.
+     *
+     * @return String con estadísticas
+     */
+    public synchronized String getEstadisticas() {
+        long muestras = 0;
+        long bytes = 0;
+        long bytesResumenes = 0;
+        for (Map<Long, Serie> porPiloto : series.values()) {
+            for (Serie serie : porPiloto.values()) {
+                muestras += serie.muestras;
+                bytes += serie.bytes;
+                if (serie.resumenes != null) {
+                    for (ResumenSerie resumen : serie.resumenes) {
+                        bytesResumenes += resumen != null ? resumen.bytes() : 0;
+                    }
+                }
+            }
+        }
+        return String.format(
+                "Telemetría - Series: %d, Muestras escritas: %d, Bytes: %d, Segmentos: %d, Compresión: %.1fx, Resúmenes: %d bytes",
+                contarSeries(), muestras, bytes, segmentos.size(), getRatioCompresion(), bytesResumenes
+        );
+    }
+
+    /**
+     * Cierra todos los bloques abiertos y fuerza los segmentos a disco.
+     */
+    @Override
+    public synchronized void close() {
+        if (cerrado) {
+            return;
+        }
+        for (Map<Long, Serie> porPiloto : series.values()) {
+            for (Serie serie : porPiloto.values()) {
+                cerrarBloque(serie);
+                serie.abierto = null;
+            }
+        }
+        forzar();
+        try {
+            vueltas.force(false);
+            vueltas.close();
+        } catch (IOException e) {
+            logger.error("Error al cerrar el archivo de marcas de vuelta", e);
+        }
+        for (Segmento segmento : segmentos) {
+            try {
+                segmento.cerrar();
+            } catch (IOException e) {
+                logger.error("Error al cerrar los resúmenes de " + segmento.getRuta(), e);
+            }
+        }
+        cerrado = true;
+        logger.info("Almacén de telemetría cerrado. {}", getEstadisticas());
+    }
+
+    private void forzar() {
+        if (!segmentos.isEmpty()) {
+            segmentos.get(segmentos.size() - 1).forzar();
+        }
+    }
+
+    private Serie serie(long carreraId, long pilotoId) {
+        Map<Long, Serie> porPiloto = series.computeIfAbsent(carreraId, id -> new HashMap<>());
+        Serie serie = porPiloto.get(pilotoId);
+        if (serie == null) {
+            serie = new Serie(carreraId, pilotoId);
+            porPiloto.put(pilotoId, serie);
+        }
+        return serie;
+    }
+
+    private int contarSeries() {
+        int total = 0;
+        for (Map<Long, Serie> porPiloto : series.values()) {
+            total += porPiloto.size();
+        }
+        return total;
+    }
+}
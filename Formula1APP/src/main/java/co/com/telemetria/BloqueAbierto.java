@@ -0,0 +1,90 @@
+package co.com.telemetria;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bloque de telemetría que se está escribiendo, una columna comprimida por campo.
+ * Se comprime sobre memoria fuera del heap reservada una sola vez por serie
+ * y reutilizada tras cada cierre, así que agregar muestras no crea objetos.
+ */
+final class BloqueAbierto {
+
+    static final int COLUMNAS = 6;
+    static final int MUESTRAS_POR_BLOQUE = 1024;
+    // Peor caso de una muestra en la columna más cara (64 + 4 bits) redondeado hacia arriba
+    static final int BYTES_POR_COLUMNA = MUESTRAS_POR_BLOQUE * 9 + 64;
+    private static final int BITS_MARGEN = 128;
+
+    final EscritorBits[] escritores = new EscritorBits[COLUMNAS];
+    private final ColumnaEntera tiempo;
+    private final ColumnaFlotante velocidad;
+    private final ColumnaFlotante acelerador;
+    private final ColumnaFlotante freno;
+    private final ColumnaEntera marcha;
+    private final ColumnaEntera rpm;
+
+    int muestras;
+    long inicio;
+    long fin;
+
+    BloqueAbierto() {
+        ByteBuffer memoria = ByteBuffer.allocateDirect(BYTES_POR_COLUMNA * COLUMNAS);
+        for (int c = 0; c < COLUMNAS; c++) {
+            memoria.limit((c + 1) * BYTES_POR_COLUMNA).position(c * BYTES_POR_COLUMNA);
+            escritores[c] = new EscritorBits(memoria.slice());
+        }
+        this.tiempo = new ColumnaEntera(escritores[0], true);
+        this.velocidad = new ColumnaFlotante(escritores[1]);
+        this.acelerador = new ColumnaFlotante(escritores[2]);
+        this.freno = new ColumnaFlotante(escritores[3]);
+        this.marcha = new ColumnaEntera(escritores[4], false);
+        this.rpm = new ColumnaEntera(escritores[5], false);
+    }
+
+    void agregar(long tiempoMs, float vel, float acel, float fre, int mar, int revoluciones) {
+        if (muestras == 0) {
+            inicio = tiempoMs;
+        }
+        tiempo.agregar(tiempoMs);
+        velocidad.agregar(vel);
+        acelerador.agregar(acel);
+        freno.agregar(fre);
+        marcha.agregar(mar);
+        rpm.agregar(revoluciones);
+        muestras++;
+        fin = tiempoMs;
+    }
+
+    /**
+     * @return true si el bloque debe cerrarse antes de la siguiente muestra
+     */
+    boolean lleno() {
+        if (muestras >= MUESTRAS_POR_BLOQUE) {
+            return true;
+        }
+        for (EscritorBits e : escritores) {
+            if (e.bitsLibres() < BITS_MARGEN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int bytes() {
+        int total = 0;
+        for (EscritorBits e : escritores) {
+            total += e.bytes();
+        }
+        return total;
+    }
+
+    void reiniciar() {
+        tiempo.reiniciar();
+        velocidad.reiniciar();
+        acelerador.reiniciar();
+        freno.reiniciar();
+        marcha.reiniciar();
+        rpm.reiniciar();
+        muestras = 0;
+    }
+}
@@ -0,0 +1,101 @@
+package co.com.telemetria;
+
+/**
+ * Columna de enteros codificada por diferencias con cubetas de tamaño variable al estilo Gorilla.
+ * Con doble diferencia (marcas de tiempo a frecuencia casi constante) la mayoría
+ * de las muestras ocupan un solo bit; con diferencia simple sirve para marcha y RPM.
+ */
+final class ColumnaEntera {
+
+    private final EscritorBits bits;
+    private final boolean dobleDiferencia;
+    private boolean vacia = true;
+    private long anterior;
+    private long diferenciaAnterior;
+
+    ColumnaEntera(EscritorBits bits, boolean dobleDiferencia) {
+        this.bits = bits;
+        this.dobleDiferencia = dobleDiferencia;
+    }
+
+    void agregar(long valor) {
+        if (vacia) {
+            bits.escribir(valor, 64);
+            anterior = valor;
+            vacia = false;
+            return;
+        }
+
+        long diferencia = valor - anterior;
+        long codigo = dobleDiferencia ? diferencia - diferenciaAnterior : diferencia;
+        anterior = valor;
+        diferenciaAnterior = diferencia;
+
+        // Zigzag: los valores pequeños, positivos o negativos, quedan con pocos bits
+        long zigzag = (codigo << 1) ^ (codigo >> 63);
+        if (zigzag == 0) {
+            bits.escribir(0, 1);
+        } else if (zigzag < (1L << 7)) {
+            bits.escribir(0b10, 2);
+            bits.escribir(zigzag, 7);
+        } else if (zigzag < (1L << 9)) {
+            bits.escribir(0b110, 3);
+            bits.escribir(zigzag, 9);
+        } else if (zigzag < (1L << 12)) {
+            bits.escribir(0b1110, 4);
+            bits.escribir(zigzag, 12);
+        } else {
+            bits.escribir(0b1111, 4);
+            bits.escribir(zigzag, 64);
+        }
+    }
+
+    void reiniciar() {
+        bits.reiniciar();
+        vacia = true;
+        anterior = 0;
+        diferenciaAnterior = 0;
+    }
+
+    /**
+     * Estado de lectura de una columna ya escrita.
+     */
+    static final class Lector {
+        private final LectorBits bits;
+        private final boolean dobleDiferencia;
+        private boolean vacia = true;
+        private long anterior;
+        private long diferenciaAnterior;
+
+        Lector(LectorBits bits, boolean dobleDiferencia) {
+            this.bits = bits;
+            this.dobleDiferencia = dobleDiferencia;
+        }
+
+        long siguiente() {
+            if (vacia) {
+                vacia = false;
+                anterior = bits.leer(64);
+                return anterior;
+            }
+
+            long zigzag;
+            if (!bits.leerBit()) {
+                zigzag = 0;
+            } else if (!bits.leerBit()) {
+                zigzag = bits.leer(7);
+            } else if (!bits.leerBit()) {
+                zigzag = bits.leer(9);
+            } else if (!bits.leerBit()) {
+                zigzag = bits.leer(12);
+            } else {
+                zigzag = bits.leer(64);
+            }
+            long codigo = (zigzag >>> 1) ^ -(zigzag & 1);
+            long diferencia = dobleDiferencia ? diferenciaAnterior + codigo : codigo;
+            anterior += diferencia;
+            diferenciaAnterior = diferencia;
+            return anterior;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package co.com.telemetria;
+
+/**
+ * Columna de valores float comprimida con XOR al estilo Gorilla.
+ * Cada valor se guarda como el XOR con el anterior: un bit si es igual, y si no,
+ * solo los bits significativos, reutilizando la ventana de ceros anterior cuando cabe.
+ */
+final class ColumnaFlotante {
+
+    private final EscritorBits bits;
+    private boolean vacia = true;
+    private int anterior;
+    private int cerosIniciales = -1;
+    private int cerosFinales;
+
+    ColumnaFlotante(EscritorBits bits) {
+        this.bits = bits;
+    }
+
+    void agregar(float valor) {
+        int actual = Float.floatToRawIntBits(valor);
+        if (vacia) {
+            bits.escribir(actual, 32);
+            anterior = actual;
+            vacia = false;
+            return;
+        }
+
+        int xor = actual ^ anterior;
+        anterior = actual;
+        if (xor == 0) {
+            bits.escribir(0, 1);
+            return;
+        }
+
+        int iniciales = Integer.numberOfLeadingZeros(xor);
+        int finales = Integer.numberOfTrailingZeros(xor);
+        if (cerosIniciales >= 0 && iniciales >= cerosIniciales && finales >= cerosFinales) {
+            // Cabe en la ventana anterior
+            bits.escribir(0b10, 2);
+            bits.escribir(xor >>> cerosFinales, 32 - cerosIniciales - cerosFinales);
+        } else {
+            int significativos = 32 - iniciales - finales;
+            bits.escribir(0b11, 2);
+            bits.escribir(iniciales, 5);
+            bits.escribir(significativos - 1, 5);
+            bits.escribir(xor >>> finales, significativos);
+            cerosIniciales = iniciales;
+            cerosFinales = finales;
+        }
+    }
+
+    void reiniciar() {
+        bits.reiniciar();
+        vacia = true;
+        cerosIniciales = -1;
+        cerosFinales = 0;
+    }
+
+    /**
+     * Estado de lectura de una columna ya escrita.
+     */
+    static final class Lector {
+        private final LectorBits bits;
+        private boolean vacia = true;
+        private int anterior;
+        private int cerosIniciales;
+        private int cerosFinales;
+
+        Lector(LectorBits bits) {
+            this.bits = bits;
+        }
+
+        float siguiente() {
+            if (vacia) {
+                vacia = false;
+                anterior = (int) bits.leer(32);
+                return Float.intBitsToFloat(anterior);
+            }
+            if (bits.leerBit()) {
+                if (bits.leerBit()) {
+                    cerosIniciales = (int) bits.leer(5);
+                    int significativos = (int) bits.leer(5) + 1;
+                    cerosFinales = 32 - cerosIniciales - significativos;
+                }
+                int significativos = 32 - cerosIniciales - cerosFinales;
+                anterior ^= (int) bits.leer(significativos) << cerosFinales;
+            }
+            return Float.intBitsToFloat(anterior);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package co.com.telemetria;
+
+/**
+ * Recibe los intervalos de una consulta de telemetría resumida.
+ * Los arrays de canales se reutilizan entre llamadas y siguen el orden
+ * velocidad, acelerador, freno, marcha y RPM; deben copiarse si se quieren conservar.
+ */
+@FunctionalInterface
+public interface ConsumidorResumen {
+
+    /**
+     * @param inicio Primera muestra del intervalo en milisegundos
+     * @param fin Última muestra del intervalo en milisegundos
+     * @param muestras Muestras del intervalo
+     * @param minimos Mínimo de cada canal
+     * @param maximos Máximo de cada canal
+     * @param medias Media de cada canal
+     */
+    void intervalo(long inicio, long fin, int muestras, float[] minimos, float[] maximos, float[] medias);
+}
@@ -0,0 +1,18 @@
+package co.com.telemetria;
+
+/**
+ * Recibe las muestras de una consulta de telemetría sin crear un objeto por muestra.
+ */
+@FunctionalInterface
+public interface ConsumidorTelemetria {
+
+    /**
+     * @param tiempoMs Marca de tiempo en milisegundos
+     * @param velocidad Velocidad en km/h
+     * @param acelerador Acelerador (0 a 1)
+     * @param freno Freno (0 a 1)
+     * @param marcha Marcha engranada (0 = punto muerto)
+     * @param rpm Revoluciones del motor
+     */
+    void muestra(long tiempoMs, float velocidad, float acelerador, float freno, int marcha, int rpm);
+}
@@ -0,0 +1,87 @@
+package co.com.telemetria;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Escritura de bits de mayor a menor peso sobre un buffer de capacidad fija.
+ * Los bits se acumulan en un long y se vuelcan al buffer de 64 en 64.
+ */
+final class EscritorBits {
+
+    private final ByteBuffer destino;
+    private long acumulador;
+    private int ocupados;
+
+    EscritorBits(ByteBuffer destino) {
+        this.destino = destino;
+    }
+
+    /**
+     * Escribe los {@code bits} bits de menor peso de {@code valor}.
+     *
+     * @param valor Valor a escribir
+     * @param bits Número de bits (1 a 64)
+     */
+    void escribir(long valor, int bits) {
+        while (bits > 0) {
+            int n = Math.min(64 - ocupados, bits);
+            long parte = (valor >>> (bits - n)) & mascara(n);
+            acumulador = n == 64 ? parte : (acumulador << n) | parte;
+            ocupados += n;
+            bits -= n;
+            if (ocupados == 64) {
+                destino.putLong(acumulador);
+                acumulador = 0;
+                ocupados = 0;
+            }
+        }
+    }
+
+    /**
+     * @return Bits escritos desde el último reinicio
+     */
+    long bits() {
+        return destino.position() * 8L + ocupados;
+    }
+
+    /**
+     * @return Bytes que ocupa el contenido, con el último byte completado con ceros
+     */
+    int bytes() {
+        return destino.position() + (ocupados + 7) / 8;
+    }
+
+    /**
+     * @return Bits que aún caben en el buffer
+     */
+    long bitsLibres() {
+        return destino.capacity() * 8L - bits();
+    }
+
+    /**
+     * Copia el contenido escrito sin modificar el estado del escritor.
+     *
+     * @param salida Buffer donde se copian {@link #bytes()} bytes
+     */
+    void copiarA(ByteBuffer salida) {
+        ByteBuffer completos = destino.duplicate();
+        completos.flip();
+        salida.put(completos);
+        if (ocupados > 0) {
+            long alineado = acumulador << (64 - ocupados);
+            for (int i = 0; i < (ocupados + 7) / 8; i++) {
+                salida.put((byte) (alineado >>> (56 - 8 * i)));
+            }
+        }
+    }
+
+    void reiniciar() {
+        destino.clear();
+        acumulador = 0;
+        ocupados = 0;
+    }
+
+    static long mascara(int bits) {
+        return bits == 64 ? -1L : (1L << bits) - 1;
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.telemetria;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lectura de bits de mayor a menor peso con accesos absolutos sobre un buffer,
+ * que puede ser una región mapeada de un segmento.
+ */
+final class LectorBits {
+
+    private final ByteBuffer fuente;
+    private final int inicio;
+    private long posicion;
+
+    /**
+     * @param fuente Buffer con los datos
+     * @param inicio Byte donde empieza la columna dentro del buffer
+     */
+    LectorBits(ByteBuffer fuente, int inicio) {
+        this.fuente = fuente;
+        this.inicio = inicio;
+    }
+
+    long leer(int bits) {
+        long resultado = 0;
+        while (bits > 0) {
+            int indice = inicio + (int) (posicion >>> 3);
+            int disponibles = 8 - (int) (posicion & 7);
+            int n = Math.min(disponibles, bits);
+            int b = fuente.get(indice) & 0xFF;
+            resultado = (resultado << n) | ((b >>> (disponibles - n)) & ((1 << n) - 1));
+            bits -= n;
+            posicion += n;
+        }
+        return resultado;
+    }
+
+    boolean leerBit() {
+        return leer(1) != 0;
+    }
+}
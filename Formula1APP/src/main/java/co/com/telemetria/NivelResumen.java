@@ -0,0 +1,25 @@
+package co.com.telemetria;
+
+/**
+ * Niveles de resolución de la telemetría, del más fino al más grueso.
+ */
+public enum NivelResumen {
+    CRUDO(1),
+    UN_SEGUNDO(1_000),
+    DIEZ_SEGUNDOS(10_000),
+    // Intervalos de ancho variable delimitados por las marcas de vuelta
+    POR_VUELTA(0);
+
+    private final long anchoMs;
+
+    NivelResumen(long anchoMs) {
+        this.anchoMs = anchoMs;
+    }
+
+    /**
+     * @return Ancho fijo de cada intervalo en milisegundos, o 0 si depende de las vueltas
+     */
+    public long getAnchoMs() {
+        return anchoMs;
+    }
+}
@@ -0,0 +1,261 @@
+package co.com.telemetria;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Un nivel de resumen (mínimo, máximo y media por canal) de una serie de telemetría.
+ * Los intervalos cerrados se guardan en arrays primitivos por columna que crecen al duplicar;
+ * el intervalo en curso se acumula aparte y también se devuelve en las consultas.
+ * Se guarda la suma de cada canal y no la media para poder unir sin pérdida los resúmenes
+ * parciales de bloques consecutivos (ver {@link #combinar}).
+ */
+final class ResumenSerie {
+
+    static final int CANALES = 5;
+    private static final int CAPACIDAD_INICIAL = 64;
+    // inicio, fin, muestras y mínimo, máximo y suma de cada canal
+    private static final int BYTES_INTERVALO = 8 + 8 + 4 + CANALES * (4 + 4 + 8);
+
+    private final long anchoMs;
+
+    private int tamano;
+    private long[] inicios = new long[CAPACIDAD_INICIAL];
+    private long[] fines = new long[CAPACIDAD_INICIAL];
+    private int[] muestras = new int[CAPACIDAD_INICIAL];
+    private final float[][] minimos = new float[CANALES][CAPACIDAD_INICIAL];
+    private final float[][] maximos = new float[CANALES][CAPACIDAD_INICIAL];
+    private final double[][] sumas = new double[CANALES][CAPACIDAD_INICIAL];
+
+    // Intervalo en curso
+    private long cubeta = Long.MIN_VALUE;
+    private long inicioActual;
+    private long finActual;
+    private int muestrasActual;
+    private final float[] minActual = new float[CANALES];
+    private final float[] maxActual = new float[CANALES];
+    private final double[] sumaActual = new double[CANALES];
+
+    // Arrays reutilizados para entregar intervalos al consumidor
+    private final float[] salidaMin = new float[CANALES];
+    private final float[] salidaMax = new float[CANALES];
+    private final float[] salidaMedia = new float[CANALES];
+
+    /**
+     * @param anchoMs Ancho de cada intervalo, o 0 si los intervalos se cortan con {@link #cortar()}
+     */
+    ResumenSerie(long anchoMs) {
+        this.anchoMs = anchoMs;
+    }
+
+    void agregar(long t, float velocidad, float acelerador, float freno, float marcha, float rpm) {
+        abrir(t);
+        acumular(0, velocidad);
+        acumular(1, acelerador);
+        acumular(2, freno);
+        acumular(3, marcha);
+        acumular(4, rpm);
+        finActual = t;
+        muestrasActual++;
+    }
+
+    /**
+     * Suma al intervalo en curso el intervalo cerrado {@code i} de otro resumen del mismo nivel,
+     * cortando antes si empieza en otra cubeta. Mínimos, máximos, sumas y recuentos se combinan
+     * sin pérdida, así que unir en orden los trozos de bloques consecutivos da los mismos
+     * intervalos que agregar sus muestras. En el nivel por vuelta el llamador corta en las marcas.
+     *
+     * @param parcial Resumen de un tramo posterior a todo lo ya agregado
+     * @param i Índice del intervalo cerrado de {@code parcial}
+     */
+    void combinar(ResumenSerie parcial, int i) {
+        abrir(parcial.inicios[i]);
+        for (int c = 0; c < CANALES; c++) {
+            minActual[c] = Math.min(minActual[c], parcial.minimos[c][i]);
+            maxActual[c] = Math.max(maxActual[c], parcial.maximos[c][i]);
+            sumaActual[c] += parcial.sumas[c][i];
+        }
+        finActual = parcial.fines[i];
+        muestrasActual += parcial.muestras[i];
+    }
+
+    /**
+     * Corta si {@code t} cae en otra cubeta y prepara el intervalo en curso si está vacío.
+     */
+    private void abrir(long t) {
+        if (anchoMs > 0) {
+            long nueva = Math.floorDiv(t, anchoMs);
+            if (nueva != cubeta) {
+                cortar();
+                cubeta = nueva;
+            }
+        }
+        if (muestrasActual == 0) {
+            inicioActual = t;
+            Arrays.fill(minActual, Float.POSITIVE_INFINITY);
+            Arrays.fill(maxActual, Float.NEGATIVE_INFINITY);
+            Arrays.fill(sumaActual, 0.0);
+        }
+    }
+
+    private void acumular(int canal, float valor) {
+        minActual[canal] = Math.min(minActual[canal], valor);
+        maxActual[canal] = Math.max(maxActual[canal], valor);
+        sumaActual[canal] += valor;
+    }
+
+    /**
+     * Cierra el intervalo en curso, si tiene muestras.
+     */
+    void cortar() {
+        if (muestrasActual == 0) {
+            return;
+        }
+        if (tamano == inicios.length) {
+            crecer(tamano * 2);
+        }
+        inicios[tamano] = inicioActual;
+        fines[tamano] = finActual;
+        muestras[tamano] = muestrasActual;
+        for (int c = 0; c < CANALES; c++) {
+            minimos[c][tamano] = minActual[c];
+            maximos[c][tamano] = maxActual[c];
+            sumas[c][tamano] = sumaActual[c];
+        }
+        tamano++;
+        muestrasActual = 0;
+    }
+
+    private void crecer(int capacidad) {
+        inicios = Arrays.copyOf(inicios, capacidad);
+        fines = Arrays.copyOf(fines, capacidad);
+        muestras = Arrays.copyOf(muestras, capacidad);
+        for (int c = 0; c < CANALES; c++) {
+            minimos[c] = Arrays.copyOf(minimos[c], capacidad);
+            maximos[c] = Arrays.copyOf(maximos[c], capacidad);
+            sumas[c] = Arrays.copyOf(sumas[c], capacidad);
+        }
+    }
+
+    /**
+     * @return Número de intervalos cerrados
+     */
+    int tamano() {
+        return tamano;
+    }
+
+    /**
+     * @return Primera muestra del intervalo cerrado {@code i}
+     */
+    long inicio(int i) {
+        return inicios[i];
+    }
+
+    /**
+     * @return Duración máxima de los intervalos cerrados en milisegundos
+     */
+    long duracionMaxima() {
+        long maxima = 0;
+        for (int i = 0; i < tamano; i++) {
+            maxima = Math.max(maxima, fines[i] - inicios[i]);
+        }
+        return maxima;
+    }
+
+    /**
+     * Entrega los intervalos que se solapan con la ventana, incluido el que está en curso.
+     *
+     * @return Número de intervalos entregados
+     */
+    int consultar(long desde, long hasta, ConsumidorResumen consumidor) {
+        // Primer intervalo que termina en la ventana o después
+        int lo = 0;
+        int hi = tamano;
+        while (lo < hi) {
+            int medio = (lo + hi) >>> 1;
+            if (fines[medio] < desde) {
+                lo = medio + 1;
+            } else {
+                hi = medio;
+            }
+        }
+
+        int entregados = 0;
+        for (int i = lo; i < tamano && inicios[i] <= hasta; i++) {
+            for (int c = 0; c < CANALES; c++) {
+                salidaMin[c] = minimos[c][i];
+                salidaMax[c] = maximos[c][i];
+                salidaMedia[c] = (float) (sumas[c][i] / muestras[i]);
+            }
+            consumidor.intervalo(inicios[i], fines[i], muestras[i], salidaMin, salidaMax, salidaMedia);
+            entregados++;
+        }
+
+        if (muestrasActual > 0 && inicioActual <= hasta && finActual >= desde) {
+            for (int c = 0; c < CANALES; c++) {
+                salidaMin[c] = minActual[c];
+                salidaMax[c] = maxActual[c];
+                salidaMedia[c] = (float) (sumaActual[c] / muestrasActual);
+            }
+            consumidor.intervalo(inicioActual, finActual, muestrasActual, salidaMin, salidaMax, salidaMedia);
+            entregados++;
+        }
+        return entregados;
+    }
+
+    /**
+     * @return Bytes aproximados que ocupan los intervalos cerrados
+     */
+    long bytes() {
+        return (long) tamano * BYTES_INTERVALO;
+    }
+
+    /**
+     * @return Bytes que ocupan los intervalos cerrados con {@link #escribir}
+     */
+    int bytesSerializados() {
+        return 4 + tamano * BYTES_INTERVALO;
+    }
+
+    /**
+     * Escribe los intervalos cerrados; el intervalo en curso no se guarda.
+     *
+     * @param destino Buffer con al menos {@link #bytesSerializados()} bytes libres
+     */
+    void escribir(ByteBuffer destino) {
+        destino.putInt(tamano);
+        for (int i = 0; i < tamano; i++) {
+            destino.putLong(inicios[i]).putLong(fines[i]).putInt(muestras[i]);
+            for (int c = 0; c < CANALES; c++) {
+                destino.putFloat(minimos[c][i]).putFloat(maximos[c][i]).putDouble(sumas[c][i]);
+            }
+        }
+    }
+
+    /**
+     * Lee intervalos escritos con {@link #escribir}.
+     *
+     * @param fuente Buffer posicionado al inicio de los intervalos
+     * @param anchoMs Ancho del nivel, como en el constructor
+     * @return Resumen con los intervalos leídos cerrados y sin intervalo en curso
+     */
+    static ResumenSerie leer(ByteBuffer fuente, long anchoMs) {
+        ResumenSerie resumen = new ResumenSerie(anchoMs);
+        int tamano = fuente.getInt();
+        if (tamano > CAPACIDAD_INICIAL) {
+            resumen.crecer(tamano);
+        }
+        for (int i = 0; i < tamano; i++) {
+            resumen.inicios[i] = fuente.getLong();
+            resumen.fines[i] = fuente.getLong();
+            resumen.muestras[i] = fuente.getInt();
+            for (int c = 0; c < CANALES; c++) {
+                resumen.minimos[c][i] = fuente.getFloat();
+                resumen.maximos[c][i] = fuente.getFloat();
+                resumen.sumas[c][i] = fuente.getDouble();
+            }
+        }
+        resumen.tamano = tamano;
+        return resumen;
+    }
+}
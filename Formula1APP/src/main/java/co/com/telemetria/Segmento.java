@@ -0,0 +1,136 @@
+package co.com.telemetria;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de tamaño fijo con bloques de telemetría uno tras otro, mapeado en memoria.
+ * El archivo se crea ya con su tamaño final relleno de ceros, así que el primer
+ * bloque con marca 0 indica el final de los datos.
+ * Junto a él se guarda un archivo de resúmenes de los bloques, solo de escritura al final,
+ * cuyo formato define {@link AlmacenTelemetria}.
+ */
+final class Segmento {
+
+    static final int TAMANO = 8 * 1024 * 1024;
+
+    private final int numero;
+    private final Path ruta;
+    private final MappedByteBuffer mapa;
+    private final FileChannel resumenes;
+    private int posicion;
+
+    private Segmento(int numero, Path ruta, MappedByteBuffer mapa, FileChannel resumenes) {
+        this.numero = numero;
+        this.ruta = ruta;
+        this.mapa = mapa;
+        this.resumenes = resumenes;
+    }
+
+    /**
+     * Abre o crea el segmento y lo mapea completo en lectura y escritura.
+     */
+    static Segmento abrir(Path directorio, int numero) throws IOException {
+        Path ruta = directorio.resolve(String.format("segmento-%06d.tlm", numero));
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(ruta,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO);
+        }
+        FileChannel resumenes = FileChannel.open(directorio.resolve(String.format("segmento-%06d.tlr", numero)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segmento(numero, ruta, mapa, resumenes);
+    }
+
+    int getNumero() {
+        return numero;
+    }
+
+    Path getRuta() {
+        return ruta;
+    }
+
+    int getPosicion() {
+        return posicion;
+    }
+
+    void setPosicion(int posicion) {
+        this.posicion = posicion;
+    }
+
+    int getLibres() {
+        return TAMANO - posicion;
+    }
+
+    /**
+     * @return Vista del segmento completo para accesos absolutos
+     */
+    ByteBuffer vista() {
+        return mapa.duplicate();
+    }
+
+    /**
+     * Reserva {@code bytes} bytes al final de los datos.
+     *
+     * @return Vista posicionada al inicio de la región reservada
+     */
+    ByteBuffer reservar(int bytes) {
+        ByteBuffer region = mapa.duplicate();
+        region.position(posicion);
+        region.limit(posicion + bytes);
+        posicion += bytes;
+        return region;
+    }
+
+    /**
+     * @return Canal del archivo de resúmenes de los bloques
+     */
+    FileChannel resumenes() {
+        return resumenes;
+    }
+
+    /**
+     * Agrega un registro al final del archivo de resúmenes.
+     *
+     * @return Posición del registro en el archivo
+     */
+    long agregarResumen(ByteBuffer registro) throws IOException {
+        long inicio = resumenes.size();
+        long escrito = inicio;
+        while (registro.hasRemaining()) {
+            escrito += resumenes.write(registro, escrito);
+        }
+        return inicio;
+    }
+
+    /**
+     * Lee {@code bytes} bytes del archivo de resúmenes.
+     *
+     * @return Buffer listo para leer
+     */
+    ByteBuffer leerResumen(long posicion, int bytes) throws IOException {
+        ByteBuffer lectura = ByteBuffer.allocate(bytes);
+        long leido = posicion;
+        while (lectura.hasRemaining()) {
+            int n = resumenes.read(lectura, leido);
+            if (n < 0) {
+                throw new IOException("Resumen incompleto en " + ruta + " posición " + posicion);
+            }
+            leido += n;
+        }
+        return lectura.flip();
+    }
+
+    void forzar() {
+        mapa.force();
+    }
+
+    void cerrar() throws IOException {
+        resumenes.close();
+    }
+}
@@ -0,0 +1,92 @@
+package co.com.telemetria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Telemetría de un coche en una carrera: ubicación de los bloques ya escritos
+ * y, si la serie está recibiendo datos, el bloque abierto.
+ */
+final class Serie {
+
+    final long carreraId;
+    final long pilotoId;
+    final List<Bloque> bloques = new ArrayList<>();
+
+    BloqueAbierto abierto;
+    long ultimoTiempo = Long.MIN_VALUE;
+    long muestras;
+    long bytes;
+
+    // Niveles de resumen indexados por NivelResumen.ordinal(); null hasta el primer uso
+    ResumenSerie[] resumenes;
+
+    // Marcas de inicio de vuelta en milisegundos, crecientes
+    long[] vueltas = new long[0];
+    int numeroVueltas;
+
+    Serie(long carreraId, long pilotoId) {
+        this.carreraId = carreraId;
+        this.pilotoId = pilotoId;
+    }
+
+    void agregarBloque(Bloque bloque) {
+        bloques.add(bloque);
+        ultimoTiempo = Math.max(ultimoTiempo, bloque.fin);
+        muestras += bloque.muestras;
+        bytes += bloque.bytes;
+    }
+
+    void agregarVuelta(long tiempoMs) {
+        if (numeroVueltas == vueltas.length) {
+            vueltas = Arrays.copyOf(vueltas, Math.max(8, numeroVueltas * 2));
+        }
+        vueltas[numeroVueltas++] = tiempoMs;
+    }
+
+    /**
+     * Busca el primer bloque que termina en {@code desde} o después.
+     * Los bloques de una serie están ordenados por tiempo.
+     *
+     * @return Índice del bloque, o el número de bloques si no hay ninguno
+     */
+    int primerBloque(long desde) {
+        int lo = 0;
+        int hi = bloques.size() - 1;
+        int resultado = bloques.size();
+        while (lo <= hi) {
+            int medio = (lo + hi) >>> 1;
+            if (bloques.get(medio).fin >= desde) {
+                resultado = medio;
+                hi = medio - 1;
+            } else {
+                lo = medio + 1;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Ubicación de un bloque cerrado dentro de los segmentos.
+     */
+    static final class Bloque {
+        final int segmento;
+        final int posicion;
+        final long inicio;
+        final long fin;
+        final int muestras;
+        final int bytes;
+        // Posición de su resumen en el archivo de resúmenes del segmento, o -1 si no tiene
+        long resumen = -1;
+
+        Bloque(int segmento, int posicion, long inicio, long fin, int muestras, int bytes) {
+            this.segmento = segmento;
+            this.posicion = posicion;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.muestras = muestras;
+            this.bytes = bytes;
+        }
+    }
+}
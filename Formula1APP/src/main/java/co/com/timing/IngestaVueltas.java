@@ -0,0 +1,133 @@
+package co.com.timing;
+
+import co.com.cache.EntidadesExistentes;
+import co.com.cache.RepeticionCache;
+import co.com.dao.TiempoVueltaDAO;
+import co.com.ingesta.IngestaPorLotes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ingesta de tiempos de vuelta a medida que se producen.
+ * Las vueltas pasan por una {@link IngestaPorLotes}: un buffer acotado y un único hilo que las escribe
+ * por lotes JDBC cuando hay un lote completo o pasa el intervalo máximo de espera. Si la base de datos
+ * se retrasa, {@link #registrar} bloquea a los productores hasta la espera máxima y después devuelve false.
+ * Tras escribir cada lote se descartan las repeticiones en caché de sus carreras.
+ * La carrera y el piloto se validan al registrar la vuelta; si aun así la base de datos rechaza
+ * una fila (por ejemplo, porque se borró la carrera), se descarta esa fila y no se reintenta.
+ */
+public class IngestaVueltas implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(IngestaVueltas.class);
+
+    public static final int CAPACIDAD_POR_DEFECTO = 65_536;
+    public static final int TAMANO_LOTE_POR_DEFECTO = 1_000;
+    public static final long INTERVALO_POR_DEFECTO_MS = 250;
+    public static final long ESPERA_PRODUCTOR_POR_DEFECTO_MS = 2_000;
+
+    private final IngestaPorLotes<LoteVueltas> ingesta;
+
+    public IngestaVueltas(TiempoVueltaDAO tiempoVueltaDAO) {
+        this(tiempoVueltaDAO, CAPACIDAD_POR_DEFECTO, TAMANO_LOTE_POR_DEFECTO,
+                INTERVALO_POR_DEFECTO_MS, ESPERA_PRODUCTOR_POR_DEFECTO_MS);
+    }
+
+    /**
+     * @param tiempoVueltaDAO DAO que escribe los lotes
+     * @param capacidad Vueltas pendientes máximas en memoria
+     * @param tamanoLote Vueltas por lote JDBC
+     * @param intervaloMs Espera máxima antes de escribir un lote incompleto
+     * @param esperaProductorMs Espera máxima de un productor con el buffer lleno
+     */
+    public IngestaVueltas(TiempoVueltaDAO tiempoVueltaDAO, int capacidad, int tamanoLote,
+                          long intervaloMs, long esperaProductorMs) {
+        this.ingesta = new IngestaPorLotes<>("vueltas", LoteVueltas::new, lote -> {
+            tiempoVueltaDAO.insertarLote(lote);
+            invalidarRepeticiones(lote);
+        }, capacidad, tamanoLote, intervaloMs, esperaProductorMs);
+    }
+
+    /**
+     * Arranca el hilo escritor.
+     */
+    public void iniciar() {
+        ingesta.iniciar();
+    }
+
+    /**
+     * Registra una vuelta. Si el buffer está lleno espera a que el escritor libere espacio.
+     *
+     * @param carreraId ID de la carrera
+     * @param pilotoId ID del piloto
+     * @param numeroVuelta Número de vuelta (desde 1)
+     * @param tiempoMs Tiempo de la vuelta en milisegundos
+     * @param posicion Posición al cerrar la vuelta, o {@link LoteVueltas#SIN_POSICION}
+     * @return false si el buffer siguió lleno durante toda la espera y la vuelta no se registró
+     * @throws IllegalArgumentException si la vuelta no es válida o la carrera o el piloto no existen
+     */
+    public boolean registrar(long carreraId, long pilotoId, int numeroVuelta, int tiempoMs, int posicion) {
+        if (numeroVuelta <= 0 || tiempoMs <= 0) {
+            throw new IllegalArgumentException("Vuelta inválida: " + numeroVuelta + " / " + tiempoMs + " ms");
+        }
+        if (posicion < 0) {
+            throw new IllegalArgumentException("Posición inválida: " + posicion);
+        }
+        if (!ingesta.isActiva()) {
+            throw new IllegalStateException("La ingesta de vueltas no está iniciada");
+        }
+        // Una clave foránea inválida haría fallar el lote entero más tarde, en el hilo escritor
+        if (!EntidadesExistentes.existeCarrera(carreraId)) {
+            throw new IllegalArgumentException("No existe la carrera con ID: " + carreraId);
+        }
+        if (!EntidadesExistentes.existePiloto(pilotoId)) {
+            throw new IllegalArgumentException("No existe el piloto con ID: " + pilotoId);
+        }
+        return ingesta.agregar((lote, i) -> lote.poner(i, carreraId, pilotoId, numeroVuelta, tiempoMs, posicion));
+    }
+
+    /**
+     * Descarta las repeticiones en caché de las carreras del lote recién escrito.
+     * Un lote suele traer una sola carrera, así que basta con saltar repeticiones consecutivas.
+     */
+    private static void invalidarRepeticiones(LoteVueltas lote) {
+        long anterior = -1;
+        for (int i = 0; i < lote.getTamano(); i++) {
+            long carreraId = lote.getCarreraId(i);
+            if (carreraId != anterior) {
+                RepeticionCache.invalidar(carreraId);
+                anterior = carreraId;
+            }
+        }
+    }
+
+    /**
+     * Deja de aceptar vueltas, escribe las pendientes y espera al hilo escritor.
+     */
+    @Override
+    public void close() {
+        if (!ingesta.isActiva()) {
+            return;
+        }
+        ingesta.close();
+        logger.info("Ingesta de vueltas cerrada. {}", getEstadisticas());
+    }
+
+    /**
+     * @return Vueltas pendientes de escribir
+     */
+    public int getPendientes() {
+        return ingesta.getPendientes();
+    }
+
+    /**
+     * Obtiene estadísticas de la ingesta.
+     *
+     * @return String con estadísticas
+     */
+    public String getEstadisticas() {
+        return String.format(
+                "Vueltas - Recibidas: %d, Escritas: %d, Rechazadas: %d, Descartadas: %d, Pendientes: %d, Lotes: %d",
+                ingesta.getRecibidas(), ingesta.getEscritas(), ingesta.getRechazadas(),
+                ingesta.getDescartadas(), ingesta.getPendientes(), ingesta.getLotes()
+        );
+    }
+}
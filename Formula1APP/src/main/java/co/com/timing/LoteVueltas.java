@@ -0,0 +1,72 @@
+package co.com.timing;
+
+import co.com.ingesta.LoteColumnas;
+
+/**
+ * Lote reutilizable de vueltas en arrays primitivos.
+ * Lo llena la ingesta de {@link IngestaVueltas} y lo escribe {@link co.com.dao.TiempoVueltaDAO};
+ * el mismo lote se reutiliza en cada descarga para no generar basura.
+ */
+public final class LoteVueltas extends LoteColumnas<LoteVueltas> {
+
+    /** Valor de posición que indica que no se conoce */
+    public static final int SIN_POSICION = 0;
+
+    final long[] carreras;
+    final long[] pilotos;
+    final int[] vueltas;
+    final int[] tiempos;
+    final int[] posiciones;
+
+    public LoteVueltas(int capacidad) {
+        this.carreras = new long[capacidad];
+        this.pilotos = new long[capacidad];
+        this.vueltas = new int[capacidad];
+        this.tiempos = new int[capacidad];
+        this.posiciones = new int[capacidad];
+    }
+
+    void poner(int i, long carreraId, long pilotoId, int vuelta, int tiempoMs, int posicion) {
+        carreras[i] = carreraId;
+        pilotos[i] = pilotoId;
+        vueltas[i] = vuelta;
+        tiempos[i] = tiempoMs;
+        posiciones[i] = posicion;
+    }
+
+    @Override
+    protected void copiarFila(int desde, LoteVueltas destino, int hacia) {
+        destino.poner(hacia, carreras[desde], pilotos[desde], vueltas[desde], tiempos[desde], posiciones[desde]);
+    }
+
+    @Override
+    public String describirFila(int i) {
+        return "carrera " + carreras[i] + ", piloto " + pilotos[i] + ", vuelta " + vueltas[i]
+                + ", " + tiempos[i] + " ms";
+    }
+
+    @Override
+    public int getCapacidad() {
+        return carreras.length;
+    }
+
+    public long getCarreraId(int i) {
+        return carreras[i];
+    }
+
+    public long getPilotoId(int i) {
+        return pilotos[i];
+    }
+
+    public int getNumeroVuelta(int i) {
+        return vueltas[i];
+    }
+
+    public int getTiempoMs(int i) {
+        return tiempos[i];
+    }
+
+    public int getPosicion(int i) {
+        return posiciones[i];
+    }
+}
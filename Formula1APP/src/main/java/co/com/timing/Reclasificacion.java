@@ -0,0 +1,144 @@
+package co.com.timing;
+
+import co.com.constants.F1PointsSystem;
+import co.com.dto.Penalizacion;
+import co.com.model.Resultado;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recalcula en memoria la clasificación de una carrera tras las sanciones de los comisarios.
+ *
+ * <p>Primero se suman las penalizaciones de tiempo y se reordenan los pilotos que terminaron
+ * en la vuelta del líder con tiempo numérico; los doblados conservan su puesto relativo.
+ * Después se aplican las pérdidas de puestos, en el orden recibido, y por último las
+ * descalificaciones. Se renumeran posiciones, se recalculan los puntos y se reescriben
+ * el tiempo y la diferencia de quienes cambian respecto al nuevo ganador.
+ */
+public final class Reclasificacion {
+
+    public static final String MOTIVO_DESCALIFICADO = "Descalificado";
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private Reclasificacion() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Aplica las penalizaciones modificando los resultados recibidos.
+     *
+     * @param resultados Clasificación completa de la carrera
+     * @param penalizaciones Sanciones a aplicar
+     * @throws IllegalArgumentException si una sanción se refiere a un piloto sin resultado clasificado,
+     *                                  o si una de tiempo recae en un piloto sin tiempo numérico
+     */
+    public static void aplicar(List<Resultado> resultados, List<Penalizacion> penalizaciones) {
+        List<Resultado> clasificados = new ArrayList<>();
+        for (Resultado r : resultados) {
+            if (r.getPosicionFinal() != null && !Boolean.TRUE.equals(r.getRetirado())) {
+                clasificados.add(r);
+            }
+        }
+        clasificados.sort(Comparator.comparing(Resultado::getPosicionFinal));
+
+        Map<Long, Resultado> porPiloto = new HashMap<>();
+        for (Resultado r : clasificados) {
+            porPiloto.put(r.getPiloto().getId(), r);
+        }
+        for (Penalizacion p : penalizaciones) {
+            if (!porPiloto.containsKey(p.getPilotoId())) {
+                throw new IllegalArgumentException("El piloto " + p.getPilotoId() + " no tiene resultado clasificado");
+            }
+        }
+
+        aplicarTiempos(clasificados, porPiloto, penalizaciones);
+
+        for (Penalizacion p : penalizaciones) {
+            if (p.getTipo() == Penalizacion.Tipo.POSICIONES) {
+                Resultado r = porPiloto.get(p.getPilotoId());
+                int desde = clasificados.indexOf(r);
+                int hasta = (int) Math.min(desde + p.getValor(), clasificados.size() - 1);
+                clasificados.remove(desde);
+                clasificados.add(hasta, r);
+            }
+        }
+
+        for (Penalizacion p : penalizaciones) {
+            if (p.getTipo() == Penalizacion.Tipo.DESCALIFICACION) {
+                Resultado r = porPiloto.get(p.getPilotoId());
+                if (clasificados.remove(r)) {
+                    r.setPosicionFinal(null);
+                    r.setRetirado(true);
+                    r.setMotivoRetiro(MOTIVO_DESCALIFICADO);
+                    r.setVueltaRapida(false);
+                    r.setPuntosObtenidos(BigDecimal.ZERO);
+                }
+            }
+        }
+
+        for (int i = 0; i < clasificados.size(); i++) {
+            Resultado r = clasificados.get(i);
+            int posicion = i + 1;
+            r.setPosicionFinal(posicion);
+            r.setPuntosObtenidos(F1PointsSystem.calculatePoints(posicion, Boolean.TRUE.equals(r.getVueltaRapida())));
+        }
+    }
+
+    /**
+     * Suma las penalizaciones de tiempo y reordena el bloque de pilotos en la vuelta del líder,
+     * que ocupa los primeros puestos de la clasificación.
+     */
+    private static void aplicarTiempos(List<Resultado> clasificados, Map<Long, Resultado> porPiloto,
+                                       List<Penalizacion> penalizaciones) {
+        boolean hayTiempo = false;
+        for (Penalizacion p : penalizaciones) {
+            if (p.getTipo() == Penalizacion.Tipo.TIEMPO) {
+                Resultado r = porPiloto.get(p.getPilotoId());
+                if (r.getTiempoMs() == null || !Integer.valueOf(0).equals(r.getVueltasPerdidas())) {
+                    throw new IllegalArgumentException(
+                            "El piloto " + p.getPilotoId() + " no tiene tiempo total en la vuelta del líder");
+                }
+                r.setTiempoMs(r.getTiempoMs() + p.getValor());
+                hayTiempo = true;
+            }
+        }
+        if (!hayTiempo) {
+            return;
+        }
+
+        int bloque = 0;
+        while (bloque < clasificados.size()
+                && clasificados.get(bloque).getTiempoMs() != null
+                && Integer.valueOf(0).equals(clasificados.get(bloque).getVueltasPerdidas())) {
+            bloque++;
+        }
+        // sort es estable: a igualdad de tiempo se respeta el orden de llegada
+        clasificados.subList(0, bloque).sort(Comparator.comparing(Resultado::getTiempoMs));
+
+        long referencia = clasificados.get(0).getTiempoMs();
+        for (int i = 0; i < bloque; i++) {
+            Resultado r = clasificados.get(i);
+            long diferencia = r.getTiempoMs() - referencia;
+            boolean cambia = r.getDiferenciaMs() == null || r.getDiferenciaMs() != diferencia;
+            if (i == 0) {
+                // El ganador muestra el tiempo total, que también cambia si fue sancionado
+                long codigo = TiempoCarrera.parsear(r.getTiempo());
+                cambia |= TiempoCarrera.tipo(codigo) != TiempoCarrera.TIPO_ABSOLUTO
+                        || TiempoCarrera.valor(codigo) != r.getTiempoMs();
+            }
+            if (cambia) {
+                r.setDiferenciaMs(diferencia);
+                r.setTiempo(i == 0
+                        ? TiempoCarrera.formatearTotal(r.getTiempoMs())
+                        : TiempoCarrera.formatearDiferencia(diferencia));
+            }
+        }
+    }
+}
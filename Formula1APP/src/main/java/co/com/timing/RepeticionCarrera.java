@@ -0,0 +1,206 @@
+package co.com.timing;
+
+import co.com.dto.EstadoCarrera;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Repetición de una carrera a partir de sus tiempos de vuelta.
+ * Guarda para cada coche el tiempo acumulado al cerrar cada vuelta; el estado en un instante
+ * se obtiene con una búsqueda binaria por coche, en O(coches · log vueltas), sin recorrer vueltas.
+ * El estado al cierre de cada vuelta del líder se precalcula en paralelo al construir. Es inmutable.
+ */
+public final class RepeticionCarrera {
+
+    // Un coche con menos vueltas que el ganador se da por retirado pasado este múltiplo de su última vuelta
+    private static final int FACTOR_RETIRO = 2;
+
+    private final long carreraId;
+    private final long[] pilotoIds;
+    // acumulados[i][k]: milisegundos desde la salida hasta que el coche i cierra la vuelta k; [i][0] = 0
+    private final long[][] acumulados;
+    private final long[] retiro;
+    private final int vueltasCarrera;
+    private final EstadoCarrera[] porVuelta;
+
+    /**
+     * @param carreraId ID de la carrera
+     * @param tiempos Tiempos de vuelta en milisegundos por piloto
+     */
+    public RepeticionCarrera(long carreraId, Map<Long, int[]> tiempos) {
+        this.carreraId = carreraId;
+        int n = tiempos.size();
+        this.pilotoIds = new long[n];
+        int[][] vueltas = new int[n][];
+        int i = 0;
+        for (Map.Entry<Long, int[]> entrada : tiempos.entrySet()) {
+            pilotoIds[i] = entrada.getKey();
+            vueltas[i] = entrada.getValue();
+            i++;
+        }
+
+        this.acumulados = new long[n][];
+        IntStream.range(0, n).parallel().forEach(c -> {
+            long[] acumulado = new long[vueltas[c].length + 1];
+            for (int k = 0; k < vueltas[c].length; k++) {
+                acumulado[k + 1] = acumulado[k] + vueltas[c][k];
+            }
+            acumulados[c] = acumulado;
+        });
+
+        int maximo = 0;
+        for (int[] v : vueltas) {
+            maximo = Math.max(maximo, v.length);
+        }
+        this.vueltasCarrera = maximo;
+
+        this.retiro = new long[n];
+        for (int c = 0; c < n; c++) {
+            int completadas = vueltas[c].length;
+            retiro[c] = completadas < vueltasCarrera && completadas > 0
+                    ? acumulados[c][completadas] + (long) FACTOR_RETIRO * vueltas[c][completadas - 1]
+                    : Long.MAX_VALUE;
+        }
+
+        this.porVuelta = new EstadoCarrera[vueltasCarrera + 1];
+        IntStream.rangeClosed(0, vueltasCarrera).parallel()
+                .forEach(v -> porVuelta[v] = estadoEn(instanteVuelta(v)));
+    }
+
+    /**
+     * Calcula el orden de carrera en un instante.
+     *
+     * @param instanteMs Milisegundos desde la salida
+     * @return Estado de la carrera
+     */
+    public EstadoCarrera estadoEn(long instanteMs) {
+        long t = Math.max(0, instanteMs);
+        int n = pilotoIds.length;
+        int[] completadas = new int[n];
+        boolean[] retirado = new boolean[n];
+        int[] orden = new int[n];
+        for (int c = 0; c < n; c++) {
+            completadas[c] = vueltasHasta(acumulados[c], t);
+            retirado[c] = t >= retiro[c];
+            orden[c] = c;
+        }
+
+        // Inserción: con una veintena de coches es más rápido que ordenar objetos
+        for (int a = 1; a < n; a++) {
+            int actual = orden[a];
+            int b = a - 1;
+            while (b >= 0 && antes(actual, orden[b], completadas, retirado)) {
+                orden[b + 1] = orden[b];
+                b--;
+            }
+            orden[b + 1] = actual;
+        }
+
+        long[] ids = new long[n];
+        int[] vueltas = new int[n];
+        long[] diferencia = new long[n];
+        int[] perdidas = new int[n];
+        long[] intervalo = new long[n];
+        boolean[] retirados = new boolean[n];
+        int lider = n > 0 ? orden[0] : -1;
+
+        for (int p = 0; p < n; p++) {
+            int c = orden[p];
+            int k = completadas[c];
+            long cruce = acumulados[c][k];
+            ids[p] = pilotoIds[c];
+            vueltas[p] = k;
+            retirados[p] = retirado[c];
+            if (p == 0) {
+                continue;
+            }
+            // Vueltas que el líder ya había cerrado cuando este coche cruzó la meta por última vez
+            perdidas[p] = Math.max(0, vueltasHasta(acumulados[lider], cruce) - k);
+            diferencia[p] = k < acumulados[lider].length ? cruce - acumulados[lider][k] : 0;
+            int delante = orden[p - 1];
+            intervalo[p] = k < acumulados[delante].length ? cruce - acumulados[delante][k] : 0;
+        }
+
+        return new EstadoCarrera(t, lider >= 0 ? completadas[lider] : 0,
+                ids, vueltas, diferencia, perdidas, intervalo, retirados);
+    }
+
+    /**
+     * Obtiene el estado en el instante en que el líder cierra una vuelta (precalculado).
+     *
+     * @param vuelta Vuelta del líder (0 = salida)
+     * @return Estado de la carrera
+     */
+    public EstadoCarrera estadoEnVuelta(int vuelta) {
+        return porVuelta[Math.max(0, Math.min(vuelta, vueltasCarrera))];
+    }
+
+    /**
+     * @return true si el coche a va por delante del coche b
+     */
+    private boolean antes(int a, int b, int[] completadas, boolean[] retirado) {
+        if (retirado[a] != retirado[b]) {
+            return !retirado[a];
+        }
+        if (completadas[a] != completadas[b]) {
+            return completadas[a] > completadas[b];
+        }
+        int k = completadas[a];
+        if (acumulados[a][k] != acumulados[b][k]) {
+            return acumulados[a][k] < acumulados[b][k];
+        }
+        // Empate en la última línea (p. ej. en la salida): decide el orden en la siguiente
+        long siguienteA = k + 1 < acumulados[a].length ? acumulados[a][k + 1] : Long.MAX_VALUE;
+        long siguienteB = k + 1 < acumulados[b].length ? acumulados[b][k + 1] : Long.MAX_VALUE;
+        return siguienteA < siguienteB;
+    }
+
+    /**
+     * @return Vueltas cerradas hasta el instante t inclusive
+     */
+    private static int vueltasHasta(long[] acumulado, long t) {
+        int pos = Arrays.binarySearch(acumulado, t);
+        if (pos < 0) {
+            return -pos - 2;
+        }
+        // Con vueltas de 0 ms puede haber valores repetidos: se toma el último
+        while (pos + 1 < acumulado.length && acumulado[pos + 1] == t) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private long instanteVuelta(int vuelta) {
+        long primero = Long.MAX_VALUE;
+        for (long[] acumulado : acumulados) {
+            if (vuelta < acumulado.length) {
+                primero = Math.min(primero, acumulado[vuelta]);
+            }
+        }
+        return primero == Long.MAX_VALUE ? 0 : primero;
+    }
+
+    public long getCarreraId() {
+        return carreraId;
+    }
+
+    /**
+     * @return Vueltas de la carrera (las del coche que más completó)
+     */
+    public int getVueltasCarrera() {
+        return vueltasCarrera;
+    }
+
+    /**
+     * @return Milisegundos desde la salida hasta que el último coche cruza la meta
+     */
+    public long getDuracionMs() {
+        long duracion = 0;
+        for (long[] acumulado : acumulados) {
+            duracion = Math.max(duracion, acumulado[acumulado.length - 1]);
+        }
+        return duracion;
+    }
+}
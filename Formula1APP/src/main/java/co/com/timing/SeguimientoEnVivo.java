@@ -0,0 +1,393 @@
+package co.com.timing;
+
+import co.com.constants.F1PointsSystem;
+import co.com.dto.ClasificacionEnVivo;
+import co.com.dto.EstadoCarrera;
+import co.com.service.ResultadoService.ResultadoDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Seguimiento en directo de una carrera.
+ * Un único hilo (el de la señal de cronometraje) aplica los eventos sobre un estado mutable
+ * sin bloqueos: cada vuelta solo recoloca al coche que la cerró y solo los pilotos cuyos puntos
+ * provisionales cambian se recolocan en el campeonato. Tras cada evento se publica una
+ * {@link ClasificacionEnVivo} inmutable en un campo volátil, que los lectores leen sin esperar.
+ */
+public final class SeguimientoEnVivo {
+
+    private final long carreraId;
+    private final AtomicReference<Thread> escritor = new AtomicReference<>();
+
+    // Estado por coche, indexado por hueco
+    private final Map<Long, Integer> huecos = new HashMap<>();
+    private long[] pilotoIds = new long[0];
+    private long[][] cruces = new long[0][];
+    private int[] vueltas = new int[0];
+    private boolean[] retirado = new boolean[0];
+    private String[] motivoRetiro = new String[0];
+    private int[] vueltasLideradas = new int[0];
+    private long[] puntosProvisionales = new long[0];
+    private int coches;
+
+    // Orden de carrera: orden[p] es el hueco en la posición p + 1; posicionDe es la inversa
+    private int[] orden = new int[0];
+    private int[] posicionDe = new int[0];
+
+    private int vueltaLider;
+    // Por vuelta: hueco que la cerró antes y en qué instante; los eventos pueden llegar desordenados
+    private int[] liderVuelta = new int[80];
+    private long[] cruceLiderVuelta = new long[80];
+    private int vueltaRapidaHueco = -1;
+    private long vueltaRapidaMs = Long.MAX_VALUE;
+
+    // Campeonato provisional: puntos de la temporada antes de la carrera más los provisionales
+    private final Map<Long, Integer> indiceCampeonato = new HashMap<>();
+    private long[] campeonatoIds;
+    private long[] campeonatoPuntos;
+    private int[] campeonatoOrden;
+    private int[] campeonatoPosicion;
+
+    private long version;
+    private boolean finalizado;
+    private volatile ClasificacionEnVivo clasificacion;
+
+    /**
+     * @param carreraId ID de la carrera
+     * @param parrilla Pilotos en orden de salida
+     * @param puntosTemporada Puntos en centésimas de cada piloto antes de la carrera
+     */
+    public SeguimientoEnVivo(long carreraId, List<Long> parrilla, Map<Long, Long> puntosTemporada) {
+        this.carreraId = carreraId;
+
+        int m = puntosTemporada.size();
+        campeonatoIds = new long[m];
+        campeonatoPuntos = new long[m];
+        int i = 0;
+        for (Map.Entry<Long, Long> entrada : puntosTemporada.entrySet()) {
+            campeonatoIds[i] = entrada.getKey();
+            campeonatoPuntos[i] = entrada.getValue();
+            indiceCampeonato.put(entrada.getKey(), i);
+            i++;
+        }
+        campeonatoOrden = new int[m];
+        campeonatoPosicion = new int[m];
+        for (int k = 0; k < m; k++) {
+            campeonatoOrden[k] = k;
+        }
+        // Orden inicial; después cada cambio solo mueve al piloto afectado
+        campeonatoOrden = Arrays.stream(campeonatoOrden).boxed()
+                .sorted(this::compararCampeonato)
+                .mapToInt(Integer::intValue).toArray();
+        for (int p = 0; p < m; p++) {
+            campeonatoPosicion[campeonatoOrden[p]] = p;
+        }
+
+        for (Long pilotoId : parrilla) {
+            hueco(pilotoId);
+        }
+        publicar();
+    }
+
+    /**
+     * Aplica una vuelta completada. Los duplicados y las vueltas fuera de secuencia se ignoran.
+     *
+     * @param pilotoId ID del piloto
+     * @param numeroVuelta Número de vuelta (desde 1)
+     * @param tiempoMs Tiempo de la vuelta en milisegundos
+     * @return true si la vuelta cambió el estado
+     */
+    public boolean registrarVuelta(long pilotoId, int numeroVuelta, int tiempoMs) {
+        comprobarEscritor();
+        int c = hueco(pilotoId);
+        if (retirado[c] || numeroVuelta != vueltas[c] + 1 || tiempoMs <= 0) {
+            return false;
+        }
+
+        if (numeroVuelta == cruces[c].length) {
+            cruces[c] = Arrays.copyOf(cruces[c], cruces[c].length * 2);
+        }
+        cruces[c][numeroVuelta] = cruces[c][numeroVuelta - 1] + tiempoMs;
+        vueltas[c] = numeroVuelta;
+
+        // Lideró la vuelta quien la cerró antes, aunque su evento no llegara primero
+        if (numeroVuelta == liderVuelta.length) {
+            liderVuelta = Arrays.copyOf(liderVuelta, numeroVuelta * 2);
+            cruceLiderVuelta = Arrays.copyOf(cruceLiderVuelta, numeroVuelta * 2);
+        }
+        if (numeroVuelta > vueltaLider) {
+            vueltaLider = numeroVuelta;
+            liderVuelta[numeroVuelta] = c;
+            cruceLiderVuelta[numeroVuelta] = cruces[c][numeroVuelta];
+            vueltasLideradas[c]++;
+        } else if (cruces[c][numeroVuelta] < cruceLiderVuelta[numeroVuelta]) {
+            vueltasLideradas[liderVuelta[numeroVuelta]]--;
+            liderVuelta[numeroVuelta] = c;
+            cruceLiderVuelta[numeroVuelta] = cruces[c][numeroVuelta];
+            vueltasLideradas[c]++;
+        }
+        if (tiempoMs < vueltaRapidaMs) {
+            vueltaRapidaMs = tiempoMs;
+            vueltaRapidaHueco = c;
+        }
+
+        subir(c);
+        publicar();
+        return true;
+    }
+
+    /**
+     * Aplica el abandono de un piloto: pasa detrás de todos los que siguen en carrera.
+     *
+     * @param pilotoId ID del piloto
+     * @param motivo Motivo del abandono
+     */
+    public void registrarAbandono(long pilotoId, String motivo) {
+        comprobarEscritor();
+        int c = hueco(pilotoId);
+        if (retirado[c]) {
+            return;
+        }
+        retirado[c] = true;
+        motivoRetiro[c] = motivo;
+        bajar(c);
+        publicar();
+    }
+
+    /**
+     * @return Última instantánea publicada
+     */
+    public ClasificacionEnVivo getClasificacion() {
+        return clasificacion;
+    }
+
+    public long getCarreraId() {
+        return carreraId;
+    }
+
+    /**
+     * Cierra el seguimiento y convierte el orden final en resultados para {@link co.com.service.ResultadoService}.
+     * Los tiempos se escriben en el formato de {@link TiempoCarrera}.
+     *
+     * Puede volver a llamarse si guardar los resultados falla: el estado ya no cambia y devuelve el mismo orden.
+     *
+     * @return Resultados en orden de llegada
+     */
+    public List<ResultadoDTO> finalizar() {
+        comprobarHilo();
+        finalizado = true;
+
+        List<ResultadoDTO> resultados = new ArrayList<>(coches);
+        int lider = coches > 0 ? orden[0] : -1;
+        for (int p = 0; p < coches; p++) {
+            int c = orden[p];
+            int k = vueltas[c];
+            ResultadoDTO dto = new ResultadoDTO(pilotoIds[c], p + 1);
+            dto.setVueltas(k);
+            dto.setRetirado(retirado[c]);
+            dto.setMotivoRetiro(motivoRetiro[c]);
+            dto.setVuelaRapida(c == vueltaRapidaHueco);
+            if (!retirado[c] && k > 0) {
+                if (p == 0) {
+                    dto.setTiempo(TiempoCarrera.formatearTotal(cruces[c][k]));
+                } else if (k < vueltas[lider]) {
+                    dto.setTiempo(TiempoCarrera.formatearVueltas(vueltas[lider] - k));
+                } else {
+                    dto.setTiempo(TiempoCarrera.formatearDiferencia(cruces[c][k] - cruces[lider][k]));
+                }
+            }
+            resultados.add(dto);
+        }
+        return resultados;
+    }
+
+    private void comprobarEscritor() {
+        comprobarHilo();
+        if (finalizado) {
+            throw new IllegalStateException("El seguimiento de la carrera " + carreraId + " está finalizado");
+        }
+    }
+
+    private void comprobarHilo() {
+        Thread actual = Thread.currentThread();
+        if (!escritor.compareAndSet(null, actual) && escritor.get() != actual) {
+            throw new IllegalStateException("El seguimiento de la carrera " + carreraId + " ya tiene otro hilo escritor");
+        }
+    }
+
+    private int hueco(long pilotoId) {
+        Integer existente = huecos.get(pilotoId);
+        if (existente != null) {
+            return existente;
+        }
+        int c = coches++;
+        if (c == pilotoIds.length) {
+            int capacidad = Math.max(24, c * 2);
+            pilotoIds = Arrays.copyOf(pilotoIds, capacidad);
+            cruces = Arrays.copyOf(cruces, capacidad);
+            vueltas = Arrays.copyOf(vueltas, capacidad);
+            retirado = Arrays.copyOf(retirado, capacidad);
+            motivoRetiro = Arrays.copyOf(motivoRetiro, capacidad);
+            vueltasLideradas = Arrays.copyOf(vueltasLideradas, capacidad);
+            puntosProvisionales = Arrays.copyOf(puntosProvisionales, capacidad);
+            orden = Arrays.copyOf(orden, capacidad);
+            posicionDe = Arrays.copyOf(posicionDe, capacidad);
+        }
+        pilotoIds[c] = pilotoId;
+        cruces[c] = new long[80];
+        orden[c] = c;
+        posicionDe[c] = c;
+        huecos.put(pilotoId, c);
+
+        // Un piloto sin puntos en la temporada entra al final del campeonato
+        if (!indiceCampeonato.containsKey(pilotoId)) {
+            int j = campeonatoIds.length;
+            campeonatoIds = Arrays.copyOf(campeonatoIds, j + 1);
+            campeonatoPuntos = Arrays.copyOf(campeonatoPuntos, j + 1);
+            campeonatoOrden = Arrays.copyOf(campeonatoOrden, j + 1);
+            campeonatoPosicion = Arrays.copyOf(campeonatoPosicion, j + 1);
+            campeonatoIds[j] = pilotoId;
+            campeonatoOrden[j] = j;
+            campeonatoPosicion[j] = j;
+            indiceCampeonato.put(pilotoId, j);
+            subirCampeonato(j);
+        }
+        return c;
+    }
+
+    /**
+     * @return true si el hueco a va por delante del hueco b
+     */
+    private boolean antes(int a, int b) {
+        if (retirado[a] != retirado[b]) {
+            return !retirado[a];
+        }
+        if (vueltas[a] != vueltas[b]) {
+            return vueltas[a] > vueltas[b];
+        }
+        // En la vuelta 0 se mantiene el orden de parrilla
+        return vueltas[a] > 0 && cruces[a][vueltas[a]] < cruces[b][vueltas[b]];
+    }
+
+    private void subir(int c) {
+        int p = posicionDe[c];
+        while (p > 0 && antes(c, orden[p - 1])) {
+            intercambiar(orden, posicionDe, p, p - 1);
+            p--;
+        }
+    }
+
+    private void bajar(int c) {
+        int p = posicionDe[c];
+        while (p + 1 < coches && antes(orden[p + 1], c)) {
+            intercambiar(orden, posicionDe, p, p + 1);
+            p++;
+        }
+    }
+
+    private static void intercambiar(int[] orden, int[] posicion, int p, int q) {
+        int a = orden[p];
+        int b = orden[q];
+        orden[p] = b;
+        orden[q] = a;
+        posicion[b] = p;
+        posicion[a] = q;
+    }
+
+    private int compararCampeonato(int a, int b) {
+        int c = Long.compare(campeonatoPuntos[b], campeonatoPuntos[a]);
+        return c != 0 ? c : Long.compare(campeonatoIds[a], campeonatoIds[b]);
+    }
+
+    private void subirCampeonato(int j) {
+        int p = campeonatoPosicion[j];
+        while (p > 0 && compararCampeonato(j, campeonatoOrden[p - 1]) < 0) {
+            intercambiar(campeonatoOrden, campeonatoPosicion, p, p - 1);
+            p--;
+        }
+    }
+
+    private void bajarCampeonato(int j) {
+        int p = campeonatoPosicion[j];
+        while (p + 1 < campeonatoOrden.length && compararCampeonato(campeonatoOrden[p + 1], j) < 0) {
+            intercambiar(campeonatoOrden, campeonatoPosicion, p, p + 1);
+            p++;
+        }
+    }
+
+    /**
+     * Recalcula puntos provisionales, ajusta el campeonato de los pilotos cuyos puntos
+     * cambiaron y publica una instantánea nueva.
+     */
+    private void publicar() {
+        int n = coches;
+        long[] ids = new long[n];
+        int[] vueltasOrden = new int[n];
+        long[] diferencia = new long[n];
+        int[] perdidas = new int[n];
+        long[] intervalo = new long[n];
+        boolean[] retirados = new boolean[n];
+        int[] lideradas = new int[n];
+        long[] puntos = new long[n];
+        int lider = n > 0 ? orden[0] : -1;
+
+        for (int p = 0; p < n; p++) {
+            int c = orden[p];
+            int k = vueltas[c];
+            ids[p] = pilotoIds[c];
+            vueltasOrden[p] = k;
+            retirados[p] = retirado[c];
+            lideradas[p] = vueltasLideradas[c];
+
+            long nuevos = retirado[c] ? 0
+                    : F1PointsSystem.calculatePoints(p + 1, c == vueltaRapidaHueco).movePointRight(2).longValue();
+            if (nuevos != puntosProvisionales[c]) {
+                int j = indiceCampeonato.get(pilotoIds[c]);
+                campeonatoPuntos[j] += nuevos - puntosProvisionales[c];
+                puntosProvisionales[c] = nuevos;
+                if (nuevos > 0) {
+                    subirCampeonato(j);
+                }
+                bajarCampeonato(j);
+            }
+            puntos[p] = nuevos;
+
+            if (p > 0 && k > 0) {
+                long cruce = cruces[c][k];
+                perdidas[p] = Math.max(0, vueltasHasta(lider, cruce) - k);
+                // Un retirado puede haber dado más vueltas que el líder actual
+                diferencia[p] = k <= vueltas[lider] ? cruce - cruces[lider][k] : 0;
+                int delante = orden[p - 1];
+                intervalo[p] = k <= vueltas[delante] ? cruce - cruces[delante][k] : 0;
+            }
+        }
+
+        int m = campeonatoOrden.length;
+        long[] campeonato = new long[m];
+        long[] campeonatoTotales = new long[m];
+        for (int p = 0; p < m; p++) {
+            campeonato[p] = campeonatoIds[campeonatoOrden[p]];
+            campeonatoTotales[p] = campeonatoPuntos[campeonatoOrden[p]];
+        }
+
+        EstadoCarrera estado = new EstadoCarrera(lider >= 0 ? cruces[lider][vueltas[lider]] : 0, vueltaLider,
+                ids, vueltasOrden, diferencia, perdidas, intervalo, retirados);
+        clasificacion = new ClasificacionEnVivo(carreraId, version++, estado, lideradas, puntos,
+                vueltaRapidaHueco >= 0 ? pilotoIds[vueltaRapidaHueco] : 0,
+                vueltaRapidaHueco >= 0 ? vueltaRapidaMs : 0,
+                campeonato, campeonatoTotales);
+    }
+
+    /**
+     * @return Vueltas que el coche había cerrado hasta el instante indicado
+     */
+    private int vueltasHasta(int c, long instante) {
+        int pos = Arrays.binarySearch(cruces[c], 0, vueltas[c] + 1, instante);
+        return pos >= 0 ? pos : -pos - 2;
+    }
+}
@@ -0,0 +1,202 @@
+package co.com.timing;
+
+/**
+ * Parser de los tiempos de clasificación tal como se escriben en los resultados:
+ * tiempo total ("1:32:45.123"), diferencia con el ganador ("+5.231s", "+1:02.5")
+ * o vueltas perdidas ("+1 Lap", "+2 vueltas").
+ *
+ * <p>Trabaja directamente sobre el {@link CharSequence}, sin expresiones regulares ni subcadenas,
+ * y devuelve el resultado empaquetado en un {@code long}: el tipo en los 4 bits altos
+ * y el valor (milisegundos o vueltas) en el resto. Así no crea ningún objeto por tiempo leído.
+ */
+public final class TiempoCarrera {
+
+    /** Texto vacío o que no se reconoce como tiempo. */
+    public static final long INVALIDO = -1L;
+
+    public static final int TIPO_INVALIDO = 0;
+    public static final int TIPO_ABSOLUTO = 1;
+    public static final int TIPO_DIFERENCIA = 2;
+    public static final int TIPO_VUELTAS = 3;
+
+    /**
+     * Vueltas perdidas que se guardan cuando hay texto pero no es un tiempo (p. ej. "DNF"),
+     * para distinguirlo de un tiempo aún no interpretado. Las consultas por tiempo solo leen valores >= 0.
+     */
+    public static final int VUELTAS_NO_INTERPRETABLE = -1;
+
+    private static final int BITS_VALOR = 60;
+    private static final long MASCARA_VALOR = (1L << BITS_VALOR) - 1;
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private TiempoCarrera() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    public static int tipo(long codigo) {
+        return codigo < 0 ? TIPO_INVALIDO : (int) (codigo >>> BITS_VALOR);
+    }
+
+    public static long valor(long codigo) {
+        return codigo & MASCARA_VALOR;
+    }
+
+    private static long codificar(int tipo, long valor) {
+        return ((long) tipo << BITS_VALOR) | valor;
+    }
+
+    /**
+     * Interpreta un tiempo de clasificación.
+     * Acepta hasta tres grupos separados por ':' (h:mm:ss, mm:ss o ss), fracción de
+     * hasta milisegundos (los dígitos sobrantes se ignoran) y sufijo 's' opcional.
+     * Con '+' delante es una diferencia; "+N" seguido de una palabra que empieza por
+     * 'L' o 'V' son vueltas perdidas.
+     *
+     * @param texto Texto a interpretar (puede ser null)
+     * @return Código empaquetado, o {@link #INVALIDO}
+     */
+    public static long parsear(CharSequence texto) {
+        if (texto == null) {
+            return INVALIDO;
+        }
+        int i = 0;
+        int fin = texto.length();
+        while (i < fin && texto.charAt(i) <= ' ') {
+            i++;
+        }
+        while (fin > i && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        if (i == fin) {
+            return INVALIDO;
+        }
+
+        boolean diferencia = texto.charAt(i) == '+';
+        if (diferencia) {
+            i++;
+            while (i < fin && texto.charAt(i) == ' ') {
+                i++;
+            }
+        }
+
+        long acumulado = 0;
+        long grupo = 0;
+        int digitosGrupo = 0;
+        int grupos = 1;
+
+        // Parte entera: grupos de dígitos separados por ':'
+        while (i < fin) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                grupo = grupo * 10 + (c - '0');
+                if (++digitosGrupo > 9) {
+                    return INVALIDO;
+                }
+            } else if (c == ':') {
+                if (digitosGrupo == 0 || ++grupos > 3 || (grupos > 2 && grupo >= 60)) {
+                    return INVALIDO;
+                }
+                acumulado = acumulado * 60 + grupo;
+                grupo = 0;
+                digitosGrupo = 0;
+            } else {
+                break;
+            }
+            i++;
+        }
+        if (digitosGrupo == 0) {
+            return INVALIDO;
+        }
+        if (grupos > 1 && grupo >= 60) {
+            return INVALIDO;
+        }
+
+        // "+1 Lap", "+2 Laps", "+1 vuelta"
+        if (diferencia && grupos == 1) {
+            int j = i;
+            while (j < fin && texto.charAt(j) == ' ') {
+                j++;
+            }
+            if (j < fin) {
+                char c = texto.charAt(j);
+                if (c == 'L' || c == 'l' || c == 'V' || c == 'v') {
+                    for (int k = j + 1; k < fin; k++) {
+                        if (!Character.isLetter(texto.charAt(k))) {
+                            return INVALIDO;
+                        }
+                    }
+                    return codificar(TIPO_VUELTAS, grupo);
+                }
+            }
+        }
+
+        long milisegundos = (acumulado * 60 + grupo) * 1000;
+
+        // Fracción: se toman hasta tres dígitos
+        if (i < fin && texto.charAt(i) == '.') {
+            i++;
+            int digitos = 0;
+            long fraccion = 0;
+            while (i < fin) {
+                char c = texto.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (digitos < 3) {
+                    fraccion = fraccion * 10 + (c - '0');
+                }
+                digitos++;
+                i++;
+            }
+            if (digitos == 0) {
+                return INVALIDO;
+            }
+            for (int d = Math.min(digitos, 3); d < 3; d++) {
+                fraccion *= 10;
+            }
+            milisegundos += fraccion;
+        }
+
+        if (i < fin && (texto.charAt(i) == 's' || texto.charAt(i) == 'S')) {
+            i++;
+        }
+        if (i != fin) {
+            return INVALIDO;
+        }
+        return codificar(diferencia ? TIPO_DIFERENCIA : TIPO_ABSOLUTO, milisegundos);
+    }
+
+    /**
+     * Escribe un tiempo total en el formato que acepta {@link #parsear}.
+     *
+     * @param milisegundos Tiempo total
+     * @return Texto como "1:32:45.123"
+     */
+    public static String formatearTotal(long milisegundos) {
+        long segundos = milisegundos / 1000;
+        return String.format("%d:%02d:%02d.%03d",
+                segundos / 3600, (segundos / 60) % 60, segundos % 60, milisegundos % 1000);
+    }
+
+    /**
+     * Escribe una diferencia con el ganador en el formato que acepta {@link #parsear}.
+     *
+     * @param milisegundos Diferencia
+     * @return Texto como "+5.231s"
+     */
+    public static String formatearDiferencia(long milisegundos) {
+        return String.format("+%d.%03ds", milisegundos / 1000, milisegundos % 1000);
+    }
+
+    /**
+     * Escribe vueltas perdidas en el formato que acepta {@link #parsear}.
+     *
+     * @param vueltas Vueltas perdidas
+     * @return Texto como "+1 Lap" o "+2 Laps"
+     */
+    public static String formatearVueltas(int vueltas) {
+        return vueltas == 1 ? "+1 Lap" : "+" + vueltas + " Laps";
+    }
+}
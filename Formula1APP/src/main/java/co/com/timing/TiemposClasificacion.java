@@ -0,0 +1,69 @@
+package co.com.timing;
+
+import co.com.model.ResultadoCronometrado;
+
+import java.util.List;
+
+/**
+ * Rellena las columnas numéricas de tiempo de los resultados de una misma carrera.
+ * El tiempo de referencia es el menor tiempo total escrito; con él se completan
+ * el tiempo total de quienes tienen solo diferencia y la diferencia de quienes tienen solo tiempo total.
+ */
+public final class TiemposClasificacion {
+
+    /**
+     * Constructor privado para prevenir instanciación
+     */
+    private TiemposClasificacion() {
+        throw new UnsupportedOperationException("Esta es una clase utilitaria y no debe ser instanciada");
+    }
+
+    /**
+     * Interpreta el tiempo en texto de cada resultado y asigna tiempo total,
+     * diferencia con el ganador y vueltas perdidas. Los textos que no son un tiempo
+     * (p. ej. "DNF") dejan tiempo y diferencia en null y las vueltas perdidas en
+     * {@link TiempoCarrera#VUELTAS_NO_INTERPRETABLE}; sin texto las tres quedan en null.
+     *
+     * @param resultados Resultados de una misma carrera
+     */
+    public static void asignar(List<? extends ResultadoCronometrado> resultados) {
+        long referencia = Long.MAX_VALUE;
+
+        for (ResultadoCronometrado r : resultados) {
+            long codigo = TiempoCarrera.parsear(r.getTiempo());
+            long valor = TiempoCarrera.valor(codigo);
+            r.setTiempoMs(null);
+            r.setDiferenciaMs(null);
+            r.setVueltasPerdidas(null);
+
+            switch (TiempoCarrera.tipo(codigo)) {
+                case TiempoCarrera.TIPO_ABSOLUTO -> {
+                    r.setTiempoMs(valor);
+                    r.setVueltasPerdidas(0);
+                    referencia = Math.min(referencia, valor);
+                }
+                case TiempoCarrera.TIPO_DIFERENCIA -> {
+                    r.setDiferenciaMs(valor);
+                    r.setVueltasPerdidas(0);
+                }
+                case TiempoCarrera.TIPO_VUELTAS -> r.setVueltasPerdidas((int) valor);
+                default -> {
+                    if (r.getTiempo() != null) {
+                        r.setVueltasPerdidas(TiempoCarrera.VUELTAS_NO_INTERPRETABLE);
+                    }
+                }
+            }
+        }
+
+        if (referencia == Long.MAX_VALUE) {
+            return;
+        }
+        for (ResultadoCronometrado r : resultados) {
+            if (r.getTiempoMs() != null) {
+                r.setDiferenciaMs(r.getTiempoMs() - referencia);
+            } else if (r.getDiferenciaMs() != null) {
+                r.setTiempoMs(referencia + r.getDiferenciaMs());
+            }
+        }
+    }
+}
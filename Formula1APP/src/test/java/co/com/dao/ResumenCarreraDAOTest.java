@@ -0,0 +1,84 @@
+package co.com.dao;
+
+import co.com.dto.CarreraCalendario;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResumenCarreraDAOTest {
+
+    /**
+     * ResultSet de una sola fila que sigue la semántica de JDBC: los getters primitivos devuelven 0
+     * para NULL y wasNull() se refiere a la última columna leída.
+     */
+    private static ResultSet fila(Map<String, Object> valores) {
+        Object[] ultima = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("wasNull")) {
+                        return ultima[0] == null;
+                    }
+                    Object valor = valores.get((String) args[0]);
+                    ultima[0] = valor;
+                    return switch (metodo.getName()) {
+                        case "getLong" -> valor != null ? ((Number) valor).longValue() : 0L;
+                        case "getInt" -> valor != null ? ((Number) valor).intValue() : 0;
+                        case "getObject" -> valor != null ? ((Class<?>) args[1]).cast(valor) : null;
+                        case "getString", "getDate" -> valor;
+                        default -> throw new UnsupportedOperationException(metodo.getName());
+                    };
+                });
+    }
+
+    private static Map<String, Object> carrera() {
+        Map<String, Object> valores = new HashMap<>();
+        valores.put("id", 7L);
+        valores.put("gp_numero", 3);
+        valores.put("nombre_gp", "Gran Premio de Australia");
+        valores.put("fecha", Date.valueOf(LocalDate.of(2024, 3, 24)));
+        valores.put("circuito", "Albert Park");
+        return valores;
+    }
+
+    @Test
+    void mapeaLosRetirosDeUnaCarreraConResumen() throws Exception {
+        Map<String, Object> valores = carrera();
+        valores.put("ganador", "Carlos Sainz");
+        valores.put("segundo", "Charles Leclerc");
+        valores.put("tercero", "Lando Norris");
+        // La vuelta rápida es la última columna de texto: con wasNull() tras ella los retiros se perdían
+        valores.put("vuelta_rapida", null);
+        valores.put("retiros", 4);
+
+        CarreraCalendario c = ResumenCarreraDAO.mapearCalendario(fila(valores));
+
+        assertEquals(7L, c.getCarreraId());
+        assertEquals(3, c.getGpNumero());
+        assertEquals(LocalDate.of(2024, 3, 24), c.getFecha());
+        assertEquals("Carlos Sainz", c.getGanador());
+        assertNull(c.getVueltaRapida());
+        assertEquals(4, c.getRetiros());
+    }
+
+    @Test
+    void distingueCeroRetirosDeCarreraSinResumen() throws Exception {
+        Map<String, Object> conResumen = carrera();
+        conResumen.put("ganador", "Max Verstappen");
+        conResumen.put("vuelta_rapida", "Max Verstappen");
+        conResumen.put("retiros", 0);
+        assertEquals(0, ResumenCarreraDAO.mapearCalendario(fila(conResumen)).getRetiros());
+
+        Map<String, Object> sinResumen = carrera();
+        sinResumen.put("vuelta_rapida", "dato inconsistente");
+        sinResumen.put("retiros", null);
+        assertNull(ResumenCarreraDAO.mapearCalendario(fila(sinResumen)).getRetiros());
+    }
+}
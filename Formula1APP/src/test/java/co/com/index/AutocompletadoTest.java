@@ -0,0 +1,93 @@
+package co.com.index;
+
+import co.com.dto.Sugerencia;
+import co.com.dto.Sugerencia.Tipo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompletadoTest {
+
+    private static Autocompletado nombres() {
+        Autocompletado a = new Autocompletado();
+        a.cargar(List.of(
+                new Sugerencia(Tipo.PILOTO, 1L, "Lewis Hamilton", 0),
+                new Sugerencia(Tipo.PILOTO, 2L, "Max Verstappen", 0),
+                new Sugerencia(Tipo.PILOTO, 3L, "Nico Hülkenberg", 0),
+                new Sugerencia(Tipo.PILOTO, 4L, "Lando Norris", 0),
+                new Sugerencia(Tipo.CONSTRUCTOR, 1L, "McLaren", 0),
+                new Sugerencia(Tipo.CONSTRUCTOR, 2L, "Mercedes", 0),
+                new Sugerencia(Tipo.CIRCUITO, 1L, "Autódromo Hermanos Rodríguez", 0),
+                new Sugerencia(Tipo.CARRERA, 10L, "Gran Premio de México", 0),
+                new Sugerencia(Tipo.CARRERA, 35L, "Gran Premio de México", 0),
+                new Sugerencia(Tipo.CARRERA, 36L, "Gran Premio de Mónaco", 0)
+        ));
+        return a;
+    }
+
+    private static String primera(List<Sugerencia> sugerencias) {
+        return sugerencias.isEmpty() ? null : sugerencias.get(0).getTexto();
+    }
+
+    @Test
+    void completaLaUltimaPalabraComoPrefijo() {
+        Autocompletado a = nombres();
+        List<Sugerencia> me = a.sugerir("me", 10);
+        // Mercedes y una sola vez el GP de México
+        assertEquals(2, me.size());
+        // Con el mismo coste va primero el nombre más corto; la primera palabra del nombre pesa menos
+        assertEquals("Mercedes", primera(me));
+        assertEquals(0, me.get(0).getErrores());
+
+        assertEquals("Max Verstappen", primera(a.sugerir("max vers", 10)));
+        assertEquals("Nico Hülkenberg", primera(a.sugerir("hulk", 10)));
+        assertTrue(a.sugerir("", 10).isEmpty());
+    }
+
+    @Test
+    void toleraErroresDeTecleo() {
+        Autocompletado a = nombres();
+        List<Sugerencia> hamilton = a.sugerir("hamliton", 5);
+        assertEquals("Lewis Hamilton", primera(hamilton));
+        assertEquals(1, hamilton.get(0).getErrores());
+
+        assertEquals("Max Verstappen", primera(a.sugerir("verstapen", 5)));
+        assertEquals("McLaren", primera(a.sugerir("mclarne", 5)));
+        // Las palabras cortas no admiten errores
+        assertTrue(a.sugerir("xa", 5).isEmpty());
+    }
+
+    @Test
+    void filtraPorTipoYAgrupaLasCarrerasDelMismoGp() {
+        Autocompletado a = nombres();
+        List<Sugerencia> mexico = a.sugerir("mexico", Tipo.CARRERA, 10);
+        assertEquals(1, mexico.size());
+        assertEquals(35L, mexico.get(0).getId());
+
+        for (Sugerencia s : a.sugerir("m", Tipo.CONSTRUCTOR, 10)) {
+            assertEquals(Tipo.CONSTRUCTOR, s.getTipo());
+        }
+        assertEquals("Autódromo Hermanos Rodríguez", primera(a.sugerir("rodriguez", Tipo.CIRCUITO, 10)));
+    }
+
+    @Test
+    void recargarUnNombreSustituyeAlAnterior() {
+        Autocompletado a = nombres();
+        a.cargar(List.of(new Sugerencia(Tipo.CONSTRUCTOR, 2L, "Mercedes-AMG Petronas", 0)));
+        assertEquals("Mercedes-AMG Petronas", primera(a.sugerir("petronas", 5)));
+        assertEquals(1, a.sugerir("mercedes", Tipo.CONSTRUCTOR, 5).size());
+    }
+
+    @Test
+    void distanciaConIntercambioDeLetras() {
+        assertArrayEquals(new int[]{0, 0}, Autocompletado.distancias("monaco", "monaco", 2));
+        assertArrayEquals(new int[]{1, 1}, Autocompletado.distancias("monaoc", "monaco", 2));
+        // "verst" es prefijo exacto de "verstappen", pero está a 5 letras de la palabra completa
+        assertArrayEquals(new int[]{3, 0}, Autocompletado.distancias("verst", "verstappen", 2));
+        assertArrayEquals(new int[]{2, 2}, Autocompletado.distancias("zzz", "abc", 1));
+    }
+}
@@ -0,0 +1,83 @@
+package co.com.index;
+
+import co.com.event.CambioResultados;
+import co.com.event.FilaResultado;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClasificacionIndexadaTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2024, 3, 2);
+
+    private static FilaResultado fila(long resultadoId, long pilotoId, int posicion, String puntos) {
+        return new FilaResultado(resultadoId, 1L, pilotoId, "Piloto " + pilotoId, null,
+                2024, FECHA, posicion, new BigDecimal(puntos), false, null, false);
+    }
+
+    private static CambioResultados cambio(List<FilaResultado> anteriores, List<FilaResultado> nuevos) {
+        return new CambioResultados(1L, 2024, FECHA, anteriores, nuevos);
+    }
+
+    @Test
+    void ordenaPorPuntosYDesempataPorVictorias() {
+        ClasificacionIndexada indice = new ClasificacionIndexada(2024);
+        indice.aplicar(cambio(List.of(), List.of(fila(1, 10, 2, "18"), fila(2, 20, 1, "25"), fila(3, 30, 3, "15"))));
+
+        ClasificacionIndexada.Instantanea instantanea = indice.getInstantanea();
+        assertEquals(OptionalInt.of(1), instantanea.getPosicion(20L));
+        assertEquals(OptionalInt.of(2), instantanea.getPosicion(10L));
+        assertEquals(OptionalInt.of(3), instantanea.getPosicion(30L));
+        assertTrue(instantanea.getPosicion(99L).isEmpty());
+
+        List<Map<String, Object>> podio = instantanea.getRango(1, 2);
+        assertEquals(20L, podio.get(0).get("id"));
+        assertEquals(1, podio.get(0).get("victorias"));
+    }
+
+    @Test
+    void aplicarDosVecesElMismoCambioNoSumaDosVeces() {
+        ClasificacionIndexada indice = new ClasificacionIndexada(2024);
+        CambioResultados insercion = cambio(List.of(), List.of(fila(1, 10, 1, "25")));
+        indice.aplicar(insercion);
+        indice.aplicar(insercion);
+
+        Map<String, Object> lider = indice.getInstantanea().getRango(1, 1).get(0);
+        assertEquals(new BigDecimal("25.00"), lider.get("puntos"));
+        assertEquals(1, lider.get("victorias"));
+    }
+
+    @Test
+    void unCambioYaIncluidoEnLaCargaNoSeRestaDeMas() {
+        ClasificacionIndexada indice = new ClasificacionIndexada(2024);
+        // La carga ya leyó la corrección: el piloto terminó segundo
+        indice.aplicar(cambio(List.of(), List.of(fila(1, 10, 2, "18"))));
+        // Llega después el cambio que la produjo
+        indice.aplicar(cambio(List.of(fila(1, 10, 1, "25")), List.of(fila(1, 10, 2, "18"))));
+
+        Map<String, Object> lider = indice.getInstantanea().getRango(1, 1).get(0);
+        assertEquals(new BigDecimal("18.00"), lider.get("puntos"));
+        assertEquals(0, lider.get("victorias"));
+    }
+
+    @Test
+    void lasInstantaneasAnterioresNoCambian() {
+        ClasificacionIndexada indice = new ClasificacionIndexada(2024);
+        indice.aplicar(cambio(List.of(), List.of(fila(1, 10, 1, "25"), fila(2, 20, 2, "18"))));
+        ClasificacionIndexada.Instantanea antes = indice.getInstantanea();
+
+        indice.aplicar(cambio(List.of(fila(1, 10, 1, "25")), List.of()));
+
+        assertEquals(OptionalInt.of(1), antes.getPosicion(10L));
+        assertEquals(2, antes.tamano());
+        assertTrue(indice.getInstantanea().getPosicion(10L).isEmpty());
+        assertEquals(OptionalInt.of(1), indice.getInstantanea().getPosicion(20L));
+    }
+}
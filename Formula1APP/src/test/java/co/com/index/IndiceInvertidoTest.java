@@ -0,0 +1,73 @@
+package co.com.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndiceInvertidoTest {
+
+    private static IndiceInvertido carreras() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1, "Gran Premio de Mónaco");
+        indice.indexar(2, "Gran Premio de México");
+        indice.indexar(3, "Gran Premio de São Paulo");
+        indice.indexar(4, "Gran Premio de Miami");
+        indice.indexar(300, "Gran Premio de Emilia-Romaña");
+        return indice;
+    }
+
+    @Test
+    void ignoraMayusculasYAcentos() {
+        IndiceInvertido indice = carreras();
+        assertArrayEquals(new long[]{1}, indice.buscar("MONACO"));
+        assertArrayEquals(new long[]{2}, indice.buscar("mexico"));
+        assertArrayEquals(new long[]{3}, indice.buscar("sao paulo"));
+        assertArrayEquals(new long[]{300}, indice.buscar("emilia romana"));
+    }
+
+    @Test
+    void todasLasPalabrasYLaUltimaComoPrefijo() {
+        IndiceInvertido indice = carreras();
+        assertArrayEquals(new long[]{1, 2, 4}, indice.buscar("m"));
+        assertArrayEquals(new long[]{4}, indice.buscar("premio mi"));
+        assertArrayEquals(new long[]{2}, indice.buscar("premio mex"));
+        // Solo la última palabra es prefijo
+        assertArrayEquals(new long[0], indice.buscar("pre mexico"));
+        assertArrayEquals(new long[0], indice.buscar("premio brasil"));
+        assertArrayEquals(new long[0], indice.buscar("  "));
+    }
+
+    @Test
+    void reindexarYEliminarActualizanLasListas() {
+        IndiceInvertido indice = carreras();
+        indice.indexar(2, "Gran Premio de la Ciudad de México");
+        assertArrayEquals(new long[]{2}, indice.buscar("ciudad"));
+        assertArrayEquals(new long[]{2}, indice.buscar("mexico"));
+
+        indice.indexar(4, "Gran Premio de Las Vegas");
+        assertArrayEquals(new long[]{1, 2}, indice.buscar("m"));
+
+        indice.eliminar(1);
+        assertArrayEquals(new long[0], indice.buscar("monaco"));
+        assertArrayEquals(new long[]{2, 3, 4, 300}, indice.buscar("gran premio"));
+        // "monaco" ya no tiene documentos y deja de contar como término
+        assertEquals(4, indice.getEstadisticas()[2]);
+    }
+
+    @Test
+    void aceptaIdsFueraDeOrden() {
+        IndiceInvertido indice = new IndiceInvertido();
+        for (long id : new long[]{1_000_000, 5, 70_000, 130, 5}) {
+            indice.indexar(id, "Fallo hidráulico");
+        }
+        assertArrayEquals(new long[]{5, 130, 70_000, 1_000_000}, indice.buscar("hidraul"));
+
+        List<Long> recorridos = new ArrayList<>();
+        indice.recorrer("fallo", recorridos::add);
+        assertEquals(List.of(5L, 130L, 70_000L, 1_000_000L), recorridos);
+    }
+}
@@ -0,0 +1,155 @@
+package co.com.ingesta;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestaPorLotesTest {
+
+    /**
+     * Lote mínimo con una sola columna de enteros.
+     */
+    static final class LoteEnteros extends LoteColumnas<LoteEnteros> {
+        private final long[] valores;
+
+        LoteEnteros(int capacidad) {
+            this.valores = new long[capacidad];
+        }
+
+        @Override
+        public int getCapacidad() {
+            return valores.length;
+        }
+
+        @Override
+        protected void copiarFila(int desde, LoteEnteros destino, int hacia) {
+            destino.valores[hacia] = valores[desde];
+        }
+
+        @Override
+        public String describirFila(int i) {
+            return "valor=" + valores[i];
+        }
+
+        long get(int i) {
+            return valores[i];
+        }
+    }
+
+    private static IngestaPorLotes<LoteEnteros> crear(EscritorLotes<LoteEnteros> escritor) {
+        return new IngestaPorLotes<>("pruebas", LoteEnteros::new, escritor, 64, 16, 10, 1_000);
+    }
+
+    private static void agregar(IngestaPorLotes<LoteEnteros> ingesta, long valor) {
+        assertTrue(ingesta.agregar((lote, i) -> lote.valores[i] = valor));
+    }
+
+    @Test
+    void escribeTodasLasFilasEnOrden() {
+        List<Long> escritas = Collections.synchronizedList(new ArrayList<>());
+        IngestaPorLotes<LoteEnteros> ingesta = crear(lote -> {
+            for (int i = 0; i < lote.getTamano(); i++) {
+                escritas.add(lote.get(i));
+            }
+        });
+        ingesta.iniciar();
+        for (long v = 0; v < 200; v++) {
+            agregar(ingesta, v);
+        }
+        ingesta.close();
+
+        assertEquals(200, escritas.size());
+        for (int v = 0; v < 200; v++) {
+            assertEquals(v, escritas.get(v));
+        }
+        assertEquals(200, ingesta.getEscritas());
+        assertEquals(0, ingesta.getDescartadas());
+        assertEquals(0, ingesta.getPendientes());
+    }
+
+    @Test
+    void descartaSoloLaFilaQueRechazaLaBaseDeDatos() {
+        List<Long> escritas = Collections.synchronizedList(new ArrayList<>());
+        IngestaPorLotes<LoteEnteros> ingesta = crear(lote -> {
+            for (int i = 0; i < lote.getTamano(); i++) {
+                if (lote.get(i) == 13) {
+                    throw new RuntimeException("Error al insertar lote",
+                            new SQLIntegrityConstraintViolationException("FK piloto_id", "23000"));
+                }
+            }
+            for (int i = 0; i < lote.getTamano(); i++) {
+                escritas.add(lote.get(i));
+            }
+        });
+        ingesta.iniciar();
+        for (long v = 0; v < 40; v++) {
+            agregar(ingesta, v);
+        }
+        ingesta.close();
+
+        assertEquals(39, escritas.size());
+        assertFalse(escritas.contains(13L));
+        assertEquals(39, ingesta.getEscritas());
+        assertEquals(1, ingesta.getDescartadas());
+    }
+
+    @Test
+    void reintentaLosErroresTransitorios() {
+        AtomicInteger fallos = new AtomicInteger();
+        List<Long> escritas = Collections.synchronizedList(new ArrayList<>());
+        IngestaPorLotes<LoteEnteros> ingesta = crear(lote -> {
+            if (fallos.getAndIncrement() < 2) {
+                throw new RuntimeException("Error al insertar lote",
+                        new SQLTransientConnectionException("timeout", "08S01"));
+            }
+            for (int i = 0; i < lote.getTamano(); i++) {
+                escritas.add(lote.get(i));
+            }
+        });
+        ingesta.iniciar();
+        for (long v = 0; v < 5; v++) {
+            agregar(ingesta, v);
+        }
+        ingesta.close();
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), escritas);
+        assertEquals(0, ingesta.getDescartadas());
+    }
+
+    @Test
+    void rechazaFilasSinIniciar() {
+        IngestaPorLotes<LoteEnteros> ingesta = crear(lote -> { });
+        assertThrows(IllegalStateException.class, () -> ingesta.agregar((lote, i) -> { }));
+    }
+
+    @Test
+    void clasificaLosErroresDefinitivos() {
+        assertTrue(IngestaPorLotes.esDefinitivo(
+                new RuntimeException(new SQLIntegrityConstraintViolationException("dup", "23000"))));
+        assertTrue(IngestaPorLotes.esDefinitivo(
+                new RuntimeException(new SQLException("Data too long for column 'usuario'", "22001"))));
+
+        BatchUpdateException lote = new BatchUpdateException("lote", "HY000", new int[0]);
+        lote.setNextException(new SQLException("FK", "23000"));
+        assertTrue(IngestaPorLotes.esDefinitivo(new RuntimeException(lote)));
+
+        assertFalse(IngestaPorLotes.esDefinitivo(
+                new RuntimeException(new SQLNonTransientConnectionException("caída", "08S01"))));
+        assertFalse(IngestaPorLotes.esDefinitivo(new RuntimeException(new ConnectException("refused"))));
+        assertFalse(IngestaPorLotes.esDefinitivo(new RuntimeException("Error al insertar lote")));
+    }
+}
@@ -0,0 +1,98 @@
+package co.com.timing;
+
+import co.com.dto.EstadoCarrera;
+import co.com.service.ResultadoService.ResultadoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeguimientoEnVivoTest {
+
+    private static final long A = 1;
+    private static final long B = 2;
+    private static final long C = 3;
+
+    private static SeguimientoEnVivo carrera(Long... parrilla) {
+        return new SeguimientoEnVivo(99, List.of(parrilla), Map.of());
+    }
+
+    private static EstadoCarrera estado(SeguimientoEnVivo seguimiento) {
+        return seguimiento.getClasificacion().getEstado();
+    }
+
+    @Test
+    void calculaDiferenciaConElLiderEIntervaloConElDeDelante() {
+        SeguimientoEnVivo s = carrera(A, B, C);
+        s.registrarVuelta(A, 1, 90_000);
+        s.registrarVuelta(B, 1, 91_000);
+        s.registrarVuelta(C, 1, 91_500);
+        s.registrarVuelta(A, 2, 90_000);
+        s.registrarVuelta(B, 2, 90_500);
+        s.registrarVuelta(C, 2, 91_000);
+
+        EstadoCarrera e = estado(s);
+        assertEquals(A, e.getPilotoId(1));
+        assertEquals(0, e.getDiferenciaLider(1));
+        assertEquals(B, e.getPilotoId(2));
+        assertEquals(1_500, e.getDiferenciaLider(2));
+        assertEquals(1_500, e.getIntervalo(2));
+        assertEquals(C, e.getPilotoId(3));
+        assertEquals(2_500, e.getDiferenciaLider(3));
+        assertEquals(1_000, e.getIntervalo(3));
+    }
+
+    @Test
+    void usaLaVueltaDelDoblado() {
+        SeguimientoEnVivo s = carrera(A, B);
+        s.registrarVuelta(A, 1, 60_000);
+        s.registrarVuelta(B, 1, 130_000);
+        s.registrarVuelta(A, 2, 60_000);
+        s.registrarVuelta(A, 3, 60_000);
+
+        EstadoCarrera e = estado(s);
+        assertEquals(B, e.getPilotoId(2));
+        assertEquals(1, e.getVueltas(2));
+        // Cuando B cerró su primera vuelta, A ya había cerrado la segunda
+        assertEquals(70_000, e.getDiferenciaLider(2));
+        assertEquals(1, e.getVueltasPerdidas(2));
+    }
+
+    @Test
+    void noLeeVueltasQueElLiderNoHaDado() {
+        SeguimientoEnVivo s = carrera(A, B);
+        // Más vueltas que la capacidad inicial de cruces, para que el retirado tenga un array más largo
+        for (int v = 1; v <= 100; v++) {
+            s.registrarVuelta(A, v, 80_000);
+        }
+        s.registrarVuelta(B, 1, 85_000);
+        s.registrarAbandono(A, "Motor");
+
+        EstadoCarrera e = estado(s);
+        assertEquals(B, e.getPilotoId(1));
+        assertEquals(A, e.getPilotoId(2));
+        assertTrue(e.isRetirado(2));
+        assertEquals(100, e.getVueltas(2));
+        assertEquals(0, e.getDiferenciaLider(2));
+        assertEquals(0, e.getIntervalo(2));
+    }
+
+    @Test
+    void finalizarPuedeRepetirseSiGuardarFalla() {
+        SeguimientoEnVivo s = carrera(A, B);
+        s.registrarVuelta(B, 1, 90_000);
+        s.registrarVuelta(A, 1, 91_000);
+
+        List<ResultadoDTO> primero = s.finalizar();
+        List<ResultadoDTO> segundo = s.finalizar();
+        assertEquals(primero.size(), segundo.size());
+        for (int i = 0; i < primero.size(); i++) {
+            assertEquals(primero.get(i).getPilotoId(), segundo.get(i).getPilotoId());
+            assertEquals(primero.get(i).getTiempo(), segundo.get(i).getTiempo());
+        }
+        assertEquals(B, (long) primero.get(0).getPilotoId());
+    }
+}